@@ -0,0 +1,19 @@
+package com.example.bank.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * WebFlux and R2DBC variant of the bank REST API, on its own database.
+ * 
+ * Scans only this package, the MVC application classes on the classpath are
+ * used for their DTOs, validation rules, and exceptions.
+ */
+@SpringBootApplication
+public class ReactiveBankApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(ReactiveBankApplication.class, args);
+	}
+
+}
@@ -0,0 +1,27 @@
+package com.example.bank.reactive.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.hateoas.config.EnableHypermediaSupport;
+import org.springframework.hateoas.config.EnableHypermediaSupport.HypermediaType;
+import org.springframework.hateoas.mediatype.hal.HalConfiguration;
+import org.springframework.hateoas.support.WebStack;
+import org.springframework.http.MediaType;
+
+/**
+ * HAL links on WebFlux, which Spring Boot only auto-configures for Spring MVC.
+ */
+@Configuration
+@EnableHypermediaSupport(type = HypermediaType.HAL, stacks = WebStack.WEBFLUX)
+public class HypermediaConfig {
+
+    /**
+     * Render HAL for {@code application/json} too, like Spring Boot does for the
+     * MVC application, so both return the same JSON.
+     */
+    @Bean
+    public HalConfiguration halConfiguration() {
+        return new HalConfiguration().withMediaType(MediaType.APPLICATION_JSON);
+    }
+
+}
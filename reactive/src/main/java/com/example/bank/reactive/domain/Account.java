@@ -0,0 +1,42 @@
+package com.example.bank.reactive.domain;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import com.example.bank.domain.AccountType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Row of the {@code account} table, holding the account balance.
+ */
+@AllArgsConstructor
+@Builder
+@Data
+@NoArgsConstructor
+@Table("account")
+public class Account {
+
+    @Builder.Default
+    private BigDecimal balance = BigDecimal.ZERO;
+
+    private Long customerId;
+
+    @Builder.Default
+    private LocalDateTime dateCreated = LocalDateTime.now();
+
+    @Builder.Default
+    private LocalDateTime dateUpdated = LocalDateTime.now();
+
+    @Id
+    private Long id;
+
+    private AccountType type;
+
+}
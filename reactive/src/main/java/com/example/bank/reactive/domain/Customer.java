@@ -0,0 +1,36 @@
+package com.example.bank.reactive.domain;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Row of the {@code customer} table.
+ */
+@AllArgsConstructor
+@Builder
+@Data
+@NoArgsConstructor
+@Table("customer")
+public class Customer {
+
+    @Builder.Default
+    private LocalDateTime dateCreated = LocalDateTime.now();
+
+    @Builder.Default
+    private LocalDateTime dateUpdated = LocalDateTime.now();
+
+    @Id
+    private Long id;
+
+    private String name;
+
+    private Long ssn;
+
+}
@@ -0,0 +1,50 @@
+package com.example.bank.reactive.domain;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import com.example.bank.domain.TransactionTransferType;
+import com.example.bank.domain.TransactionType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Row of the {@code transaction} table.
+ */
+@AllArgsConstructor
+@Builder
+@Data
+@NoArgsConstructor
+@Table("transaction")
+public class Transaction {
+
+    private Long accountId;
+
+    private BigDecimal amount;
+
+    @Builder.Default
+    private BigDecimal currentBalance = BigDecimal.ZERO;
+
+    private Long customerId;
+
+    @Builder.Default
+    private LocalDateTime dateCreated = LocalDateTime.now();
+
+    private String description;
+
+    @Id
+    private Long id;
+
+    private Boolean isCurrent;
+
+    private TransactionTransferType transferType;
+
+    private TransactionType type;
+
+}
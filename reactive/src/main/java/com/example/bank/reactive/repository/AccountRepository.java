@@ -0,0 +1,51 @@
+package com.example.bank.reactive.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+
+import com.example.bank.reactive.domain.Account;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link R2dbcRepository} for {@link Account} objects.
+ */
+public interface AccountRepository extends R2dbcRepository<Account, Long> {
+
+    /**
+     * @param customerId
+     * @return all account(s) for given customerId
+     */
+    Flux<Account> findByCustomerId(Long customerId);
+
+    /**
+     * Read and lock the given accounts until the database transaction ends, in
+     * ID order so transactions locking overlapping accounts do not deadlock.
+     * 
+     * @param accountIds
+     * @return the account(s) found
+     */
+    @Query("select * from account where id in (:accountIds) order by id for update")
+    Flux<Account> lockByIdIn(@Param("accountIds") Collection<Long> accountIds);
+
+    /**
+     * Set the balance of an account locked by {@link #lockByIdIn(Collection)}.
+     * 
+     * @param accountId
+     * @param balance
+     * @param dateUpdated
+     * @return the number of updated rows
+     */
+    @Modifying
+    @Query("update account set balance = :balance, date_updated = :dateUpdated where id = :accountId")
+    Mono<Integer> updateBalance(@Param("accountId") Long accountId, @Param("balance") BigDecimal balance,
+            @Param("dateUpdated") LocalDateTime dateUpdated);
+
+}
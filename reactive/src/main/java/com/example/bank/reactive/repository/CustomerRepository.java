@@ -0,0 +1,20 @@
+package com.example.bank.reactive.repository;
+
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+
+import com.example.bank.reactive.domain.Customer;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link R2dbcRepository} for {@link Customer} objects.
+ */
+public interface CustomerRepository extends R2dbcRepository<Customer, Long> {
+
+    /**
+     * @param ssn
+     * @return true if a {@link Customer} with given ssn already exists
+     */
+    Mono<Boolean> existsCustomerBySsn(Long ssn);
+
+}
@@ -0,0 +1,34 @@
+package com.example.bank.reactive.repository;
+
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+
+import com.example.bank.reactive.domain.Transaction;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link R2dbcRepository} for {@link Transaction} objects.
+ */
+public interface TransactionRepository extends R2dbcRepository<Transaction, Long> {
+
+    /**
+     * @param accountId
+     * @return all transaction(s) for given accountId
+     */
+    Flux<Transaction> findByAccountId(Long accountId);
+
+    /**
+     * Unflag the current transaction of an account before a new one is written.
+     * 
+     * @param accountId
+     * @return the number of updated rows
+     */
+    @Modifying
+    @Query("update transaction set is_current = false where account_id = :accountId and is_current = true")
+    Mono<Integer> clearCurrent(@Param("accountId") Long accountId);
+
+}
@@ -0,0 +1,64 @@
+package com.example.bank.reactive.service;
+
+import org.springframework.validation.annotation.Validated;
+
+import com.example.bank.dto.CreateAccountDto;
+import com.example.bank.exception.AccountNotFoundException;
+import com.example.bank.exception.CustomerNotFoundException;
+import com.example.bank.reactive.domain.Account;
+import com.example.bank.reactive.domain.Customer;
+
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Interface for reactive {@link Account} banking operations, with the
+ * validation rules of the MVC application's {@code AccountService}.
+ * 
+ * Validation failures and business rejections are signalled as errors of the
+ * returned publisher.
+ */
+@Validated
+public interface AccountService {
+
+        /**
+         * Create a new {@link Account} for banking operations.
+         * 
+         * @param createAccountDto the {@link CreateAccountDto} to process
+         * @return the newly created {@link Account}
+         * @throws ConstraintViolationException validation failure on
+         *                                      {@link CreateAccountDto}
+         * @throws CustomerNotFoundException    if {@link Customer} does not exist
+         */
+        Mono<Account> create(@NotNull(message = "Missing create account DTO") @Valid CreateAccountDto createAccountDto);
+
+        /**
+         * @param accountId
+         * @return true if the {@link Account} with accountId exists
+         */
+        Mono<Boolean> exists(
+                        @Min(value = 1L, message = "Invalid account ID") @NotNull(message = "Missing account ID") Long accountId);
+
+        /**
+         * @param customerId
+         * @return the {@link Account} object(s) of the given customerId
+         * @throws CustomerNotFoundException if {@link Customer} does not exist
+         * @throws AccountNotFoundException  if the {@link Customer} has no
+         *                                   {@link Account}
+         */
+        Flux<Account> findAccountsByCustomerId(
+                        @Min(value = 1L, message = "Invalid customer ID") @NotNull(message = "Missing customer ID") Long customerId);
+
+        /**
+         * @param accountId
+         * @return the {@link Account} for the given accountId
+         * @throws AccountNotFoundException if {@link Account} does not exist
+         */
+        Mono<Account> findById(
+                        @Min(value = 1L, message = "Invalid account ID") @NotNull(message = "Missing account ID") Long accountId);
+
+}
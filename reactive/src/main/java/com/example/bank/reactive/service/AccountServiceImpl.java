@@ -0,0 +1,66 @@
+package com.example.bank.reactive.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.example.bank.dto.CreateAccountDto;
+import com.example.bank.exception.AccountNotFoundException;
+import com.example.bank.exception.CustomerNotFoundException;
+import com.example.bank.reactive.domain.Account;
+import com.example.bank.reactive.repository.AccountRepository;
+
+import jakarta.transaction.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive business logic for accounts.
+ */
+@Service
+@Transactional
+public class AccountServiceImpl implements AccountService {
+
+    @Autowired
+    private AccountRepository repository;
+
+    @Autowired
+    private CustomerService customerService;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<Account> create(CreateAccountDto createAccountDto) {
+        return customerService.findById(createAccountDto.getCustomerId())
+                .flatMap(customer -> repository.save(Account.builder().customerId(customer.getId())
+                        .type(createAccountDto.getType()).build()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<Boolean> exists(Long accountId) {
+        return repository.existsById(accountId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Flux<Account> findAccountsByCustomerId(Long customerId) {
+        return customerService.exists(customerId)
+                .flatMapMany(exists -> exists
+                        ? repository.findByCustomerId(customerId).switchIfEmpty(Flux.error(AccountNotFoundException::new))
+                        : Flux.<Account>error(new CustomerNotFoundException()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<Account> findById(Long accountId) {
+        return repository.findById(accountId).switchIfEmpty(Mono.error(AccountNotFoundException::new));
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.example.bank.reactive.service;
+
+import org.springframework.validation.annotation.Validated;
+
+import com.example.bank.dto.CreateCustomerDto;
+import com.example.bank.exception.CustomerExistsWithSsnException;
+import com.example.bank.exception.CustomerNotFoundException;
+import com.example.bank.reactive.domain.Customer;
+
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Interface for reactive {@link Customer} banking operations, with the
+ * validation rules of the MVC application's {@code CustomerService}.
+ * 
+ * Validation failures and business rejections are signalled as errors of the
+ * returned publisher.
+ */
+@Validated
+public interface CustomerService {
+
+        /**
+         * Create a new {@link Customer} for banking operations.
+         * 
+         * @param createCustomerDto the {@link CreateCustomerDto} to process
+         * @return The newly created {@link Customer}.
+         * @throws ConstraintViolationException   validation failure on
+         *                                        {@link CreateCustomerDto}
+         * @throws CustomerExistsWithSsnException a {@link Customer} with
+         *                                        {@link Customer#getSsn()} already
+         *                                        exists
+         */
+        Mono<Customer> create(
+                        @NotNull(message = "Missing create customer DTO") @Valid CreateCustomerDto createCustomerDto);
+
+        /**
+         * @param customerId
+         * @return true if the {@link Customer} with customerId exists
+         */
+        Mono<Boolean> exists(
+                        @Min(value = 1L, message = "Invalid customer ID") @NotNull(message = "Missing customer ID") Long customerId);
+
+        /**
+         * @return all {@link Customer} object(s)
+         * @throws CustomerNotFoundException if no {@link Customer} exists
+         */
+        Flux<Customer> findAll();
+
+        /**
+         * @param customerId
+         * @return the {@link Customer} for the given customerId
+         * @throws CustomerNotFoundException if {@link Customer} does not exist
+         */
+        Mono<Customer> findById(
+                        @Min(value = 1L, message = "Invalid customer ID") @NotNull(message = "Missing customer ID") Long customerId);
+
+}
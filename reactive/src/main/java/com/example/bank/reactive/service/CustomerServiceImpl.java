@@ -0,0 +1,61 @@
+package com.example.bank.reactive.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.example.bank.dto.CreateCustomerDto;
+import com.example.bank.exception.CustomerExistsWithSsnException;
+import com.example.bank.exception.CustomerNotFoundException;
+import com.example.bank.reactive.domain.Customer;
+import com.example.bank.reactive.repository.CustomerRepository;
+
+import jakarta.transaction.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive business logic for customers.
+ */
+@Service
+@Transactional
+public class CustomerServiceImpl implements CustomerService {
+
+    @Autowired
+    private CustomerRepository repository;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<Customer> create(CreateCustomerDto createCustomerDto) {
+        return repository.existsCustomerBySsn(createCustomerDto.getSsn())
+                .flatMap(exists -> exists ? Mono.<Customer>error(new CustomerExistsWithSsnException())
+                        : repository.save(Customer.builder().name(createCustomerDto.getName())
+                                .ssn(createCustomerDto.getSsn()).build()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<Boolean> exists(Long customerId) {
+        return repository.existsById(customerId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Flux<Customer> findAll() {
+        return repository.findAll().switchIfEmpty(Flux.error(CustomerNotFoundException::new));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<Customer> findById(Long customerId) {
+        return repository.findById(customerId).switchIfEmpty(Mono.error(CustomerNotFoundException::new));
+    }
+
+}
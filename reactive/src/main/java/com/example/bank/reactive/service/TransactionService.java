@@ -0,0 +1,153 @@
+package com.example.bank.reactive.service;
+
+import java.util.List;
+
+import org.springframework.validation.annotation.Validated;
+
+import com.example.bank.domain.TransactionTransferType;
+import com.example.bank.dto.BatchTransferResultDto;
+import com.example.bank.dto.CreateDepositDto;
+import com.example.bank.dto.CreateTransferDto;
+import com.example.bank.dto.CreateWithdrawlDto;
+import com.example.bank.exception.AccountDoesNotBelongToCustomerException;
+import com.example.bank.exception.AccountNotFoundException;
+import com.example.bank.exception.DepositMustBeGreaterThanZeroException;
+import com.example.bank.exception.TransactionHasInsufficientFundsException;
+import com.example.bank.exception.TransactionNotFoundException;
+import com.example.bank.exception.TransactionSourceCannotEqualDestination;
+import com.example.bank.exception.TransferMustBeGreaterThanZeroException;
+import com.example.bank.reactive.domain.Account;
+import com.example.bank.reactive.domain.Transaction;
+
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Interface for reactive {@link Transaction} banking operations, with the
+ * validation rules of the MVC application's {@code TransactionService}.
+ * 
+ * Validation failures and business rejections are signalled as errors of the
+ * returned publisher.
+ */
+@Validated
+public interface TransactionService {
+
+        /**
+         * Maximum number of transfers accepted by
+         * {@link #processTransfers(List)}.
+         */
+        int MAX_BATCH_SIZE = com.example.bank.service.TransactionService.MAX_BATCH_SIZE;
+
+        /**
+         * @param transactionId
+         * @return the {@link Transaction} for the given transactionId
+         * @throws TransactionNotFoundException if {@link Transaction} does not exist
+         */
+        Mono<Transaction> findById(
+                        @Min(value = 1L, message = "Invalid transaction ID") @NotNull(message = "Missing transaction ID") Long transactionId);
+
+        /**
+         * @param accountId
+         * @return the {@link Transaction} object(s) of the given accountId
+         * @throws AccountNotFoundException     if {@link Account} does not exist
+         * @throws TransactionNotFoundException if the {@link Account} has no
+         *                                      {@link Transaction}
+         */
+        Flux<Transaction> findTransactionsByAccountId(
+                        @Min(value = 1L, message = "Invalid account ID") @NotNull(message = "Missing account ID") Long accountId);
+
+        /**
+         * Process a {@link CreateDepositDto}.
+         * 
+         * @param createDepositDto the {@link CreateDepositDto} to process
+         * @return the newly created, and current, {@link Transaction} account
+         * @throws AccountDoesNotBelongToCustomerException validation failure where
+         *                                                 {@link CreateDepositDto#getAccountId()}
+         *                                                 does not align with
+         *                                                 {@link CreateDepositDto#getCustomerId()}
+         * @throws AccountNotFoundException                if {@link Account} object(s)
+         *                                                 not found
+         * @throws ConstraintViolationException            validation failure on
+         *                                                 {@link CreateDepositDto}
+         * @throws DepositMustBeGreaterThanZeroException   {@link CreateDepositDto#getAmount()}
+         *                                                 is not greater than zero
+         */
+        Mono<Transaction> process(
+                        @NotNull(message = "Missing create deposit DTO") @Valid CreateDepositDto createDepositDto);
+
+        /**
+         * Process a {@link CreateTransferDto}.
+         * 
+         * @param createTransferDto the {@link CreateTransferDto} to process
+         * @return the newly created, and current, {@link Transaction} objects for both
+         *         {@link TransactionTransferType#SOURCE} and
+         *         {@link TransactionTransferType#DESTINATION}
+         * @throws AccountDoesNotBelongToCustomerException  validation failure where
+         *                                                  {@link CreateTransferDto#getAccountId()}
+         *                                                  does not align with
+         *                                                  {@link CreateTransferDto#getCustomerId()}
+         * @throws AccountNotFoundException                 if {@link Account} object(s)
+         *                                                  not found
+         * @throws ConstraintViolationException             validation failure on
+         *                                                  {@link CreateTransferDto}
+         * @throws TransactionHasInsufficientFundsException the source
+         *                                                  {@link CreateTransferDto#getAccountId()}
+         *                                                  does not have enough funds
+         *                                                  to support the transfer
+         * @throws TransferMustBeGreaterThanZeroException   {@link CreateTransferDto#getAmount()}
+         *                                                  is not greater than zero
+         * @throws TransactionSourceCannotEqualDestination  validation failure where
+         *                                                  {@link CreateTransferDto#getAccountId()}
+         *                                                  attempt transfer into
+         *                                                  {@link CreateTransferDto#getDestinationAccountId()}
+         */
+        Mono<List<Transaction>> process(
+                        @NotNull(message = "Missing create transfer DTO") @Valid CreateTransferDto createTransferDto);
+
+        /**
+         * Process a batch of {@link CreateTransferDto} objects in one database
+         * transaction, holding the locks of every account involved.
+         * 
+         * A transfer rejected by a domain exception, such as
+         * {@link TransactionHasInsufficientFundsException}, is reported in its
+         * {@link BatchTransferResultDto} and does not affect the other transfers.
+         * 
+         * @param createTransferDtos the {@link CreateTransferDto} objects to process
+         * @return a {@link BatchTransferResultDto} for each transfer, in the given
+         *         order
+         * @throws ConstraintViolationException validation failure on any
+         *                                      {@link CreateTransferDto}, nothing is
+         *                                      processed
+         */
+        Mono<List<BatchTransferResultDto>> processTransfers(
+                        @NotEmpty(message = "Missing create transfer DTOs") @Size(max = MAX_BATCH_SIZE, message = "Too many transfers in batch") List<@NotNull(message = "Missing create transfer DTO") @Valid CreateTransferDto> createTransferDtos);
+
+        /**
+         * Process a {@link CreateWithdrawlDto}.
+         * 
+         * @param createWithdrawlDto the {@link CreateWithdrawlDto} to process
+         * @return the newly created, and current, {@link Transaction}
+         *         object
+         * @throws AccountDoesNotBelongToCustomerException  validation failure where
+         *                                                  {@link CreateWithdrawlDto#getAccountId()}
+         *                                                  does not align with
+         *                                                  {@link CreateWithdrawlDto#getCustomerId()}
+         * @throws ConstraintViolationException             validation failure on
+         *                                                  {@link CreateWithdrawlDto}
+         * @throws TransactionHasInsufficientFundsException {@link CreateWithdrawlDto#getAccountId()}
+         *                                                  does not have enough funds
+         *                                                  to support the transfer
+         * @throws TransferMustBeGreaterThanZeroException   {@link CreateWithdrawlDto#getAmount()}
+         *                                                  is not greater than zero, as
+         *                                                  in the MVC application
+         */
+        Mono<Transaction> process(
+                        @NotNull(message = "Missing create withdrawl DTO") @Valid CreateWithdrawlDto createWithdrawlDto);
+
+}
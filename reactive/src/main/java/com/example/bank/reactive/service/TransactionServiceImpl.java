@@ -0,0 +1,266 @@
+package com.example.bank.reactive.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.example.bank.domain.TransactionTransferType;
+import com.example.bank.domain.TransactionType;
+import com.example.bank.dto.AbstractCreateTransactionDto;
+import com.example.bank.dto.BatchTransferResultDto;
+import com.example.bank.dto.CreateDepositDto;
+import com.example.bank.dto.CreateTransferDto;
+import com.example.bank.dto.CreateWithdrawlDto;
+import com.example.bank.exception.AccountDoesNotBelongToCustomerException;
+import com.example.bank.exception.AccountNotFoundException;
+import com.example.bank.exception.BusinessRejectionException;
+import com.example.bank.exception.DepositMustBeGreaterThanZeroException;
+import com.example.bank.exception.TransactionHasInsufficientFundsException;
+import com.example.bank.exception.TransactionNotFoundException;
+import com.example.bank.exception.TransactionSourceCannotEqualDestination;
+import com.example.bank.exception.TransferMustBeGreaterThanZeroException;
+import com.example.bank.reactive.domain.Account;
+import com.example.bank.reactive.domain.Transaction;
+import com.example.bank.reactive.repository.AccountRepository;
+import com.example.bank.reactive.repository.TransactionRepository;
+
+import jakarta.transaction.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive business logic for transactions.
+ * 
+ * Writes read and lock their accounts in one statement, check the balance on
+ * the locked rows, then update the balance and insert the transaction. No
+ * thread waits on the database in between, a request only holds an R2DBC
+ * connection.
+ */
+@Service
+@Transactional
+public class TransactionServiceImpl implements TransactionService {
+
+    // Preallocated rejections, stackless and holding only their message
+    private static final AccountDoesNotBelongToCustomerException ACCOUNT_DOES_NOT_BELONG_TO_CUSTOMER =
+            new AccountDoesNotBelongToCustomerException();
+
+    private static final AccountNotFoundException ACCOUNT_NOT_FOUND = new AccountNotFoundException();
+
+    private static final DepositMustBeGreaterThanZeroException DEPOSIT_MUST_BE_GREATER_THAN_ZERO =
+            new DepositMustBeGreaterThanZeroException();
+
+    private static final TransactionHasInsufficientFundsException TRANSACTION_HAS_INSUFFICIENT_FUNDS =
+            new TransactionHasInsufficientFundsException();
+
+    private static final TransactionSourceCannotEqualDestination TRANSACTION_SOURCE_CANNOT_EQUAL_DESTINATION =
+            new TransactionSourceCannotEqualDestination();
+
+    private static final TransferMustBeGreaterThanZeroException TRANSFER_MUST_BE_GREATER_THAN_ZERO =
+            new TransferMustBeGreaterThanZeroException();
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionRepository repository;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<Transaction> findById(Long transactionId) {
+        return repository.findById(transactionId).switchIfEmpty(Mono.error(TransactionNotFoundException::new));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Flux<Transaction> findTransactionsByAccountId(Long accountId) {
+        return accountService.exists(accountId)
+                .flatMapMany(exists -> exists
+                        ? repository.findByAccountId(accountId)
+                                .switchIfEmpty(Flux.error(TransactionNotFoundException::new))
+                        : Flux.<Transaction>error(ACCOUNT_NOT_FOUND));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<Transaction> process(CreateDepositDto createDepositDto) {
+        if (createDepositDto.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            return Mono.error(DEPOSIT_MUST_BE_GREATER_THAN_ZERO);
+        }
+
+        return lockAccounts(Collections.singleton(createDepositDto.getAccountId()))
+                .flatMap(accounts -> getOwnedAccount(createDepositDto, accounts))
+                .flatMap(account -> post(account, createDepositDto.getAmount(), createDepositDto.getDescription(),
+                        TransactionType.DEPOSIT, null));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<List<Transaction>> process(CreateTransferDto createTransferDto) {
+        if (createTransferDto.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            return Mono.error(TRANSFER_MUST_BE_GREATER_THAN_ZERO);
+        }
+
+        return lockAccounts(Arrays.asList(createTransferDto.getAccountId(), createTransferDto.getDestinationAccountId()))
+                .flatMap(accounts -> transfer(createTransferDto, accounts));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<List<BatchTransferResultDto>> processTransfers(List<CreateTransferDto> createTransferDtos) {
+        Set<Long> accountIds = new HashSet<>();
+        for (CreateTransferDto createTransferDto : createTransferDtos) {
+            accountIds.add(createTransferDto.getAccountId());
+            accountIds.add(createTransferDto.getDestinationAccountId());
+        }
+
+        // Every account locked up front, the transfers then run one after the other
+        // against the locked balances
+        return lockAccounts(accountIds)
+                .flatMap(accounts -> Flux.range(0, createTransferDtos.size())
+                        .concatMap(index -> processTransfer(index, createTransferDtos.get(index), accounts))
+                        .collectList());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<Transaction> process(CreateWithdrawlDto createWithdrawlDto) {
+        if (createWithdrawlDto.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            // The rejection of the MVC application, so both return the same error
+            return Mono.error(TRANSFER_MUST_BE_GREATER_THAN_ZERO);
+        }
+
+        return lockAccounts(Collections.singleton(createWithdrawlDto.getAccountId()))
+                .flatMap(accounts -> getOwnedAccount(createWithdrawlDto, accounts))
+                .flatMap(account -> {
+                    if (account.getBalance().compareTo(createWithdrawlDto.getAmount()) < 0) {
+                        return Mono.error(TRANSACTION_HAS_INSUFFICIENT_FUNDS);
+                    }
+                    // Typed as a transfer, as the MVC application does
+                    return post(account, createWithdrawlDto.getAmount().negate(), createWithdrawlDto.getDescription(),
+                            TransactionType.TRANSFER, null);
+                });
+    }
+
+    /**
+     * Process one transfer of a batch, reporting rejections in the result.
+     */
+    private Mono<BatchTransferResultDto> processTransfer(int index, CreateTransferDto createTransferDto,
+            Map<Long, Account> accounts) {
+        Mono<List<Transaction>> transfer = createTransferDto.getAmount().compareTo(BigDecimal.ZERO) <= 0
+                ? Mono.error(TRANSFER_MUST_BE_GREATER_THAN_ZERO)
+                : transfer(createTransferDto, accounts);
+
+        return transfer
+                .map(transactions -> BatchTransferResultDto.builder().index(index).success(true)
+                        .sourceTransactionId(transactions.get(0).getId())
+                        .destinationTransactionId(transactions.get(1).getId()).build())
+                .onErrorResume(BusinessRejectionException.class,
+                        rejection -> Mono.just(BatchTransferResultDto.builder().index(index).success(false)
+                                .error(rejection.getClass().getSimpleName())
+                                .message(rejection.getMessage()).build()));
+    }
+
+    /**
+     * Transfer between locked accounts, rejecting before anything is written.
+     */
+    private Mono<List<Transaction>> transfer(CreateTransferDto createTransferDto, Map<Long, Account> accounts) {
+        Account sourceAccount = accounts.get(createTransferDto.getAccountId());
+        if (sourceAccount == null) {
+            return Mono.error(ACCOUNT_NOT_FOUND);
+        }
+
+        if (!createTransferDto.getCustomerId().equals(sourceAccount.getCustomerId())) {
+            return Mono.error(ACCOUNT_DOES_NOT_BELONG_TO_CUSTOMER);
+        }
+
+        Account destinationAccount = accounts.get(createTransferDto.getDestinationAccountId());
+        if (destinationAccount == null) {
+            return Mono.error(ACCOUNT_NOT_FOUND);
+        }
+
+        if (destinationAccount.getId().equals(sourceAccount.getId())) {
+            return Mono.error(TRANSACTION_SOURCE_CANNOT_EQUAL_DESTINATION);
+        }
+
+        if (sourceAccount.getBalance().compareTo(createTransferDto.getAmount()) < 0) {
+            return Mono.error(TRANSACTION_HAS_INSUFFICIENT_FUNDS);
+        }
+
+        return post(sourceAccount, createTransferDto.getAmount().negate(), createTransferDto.getDescription(),
+                TransactionType.TRANSFER, TransactionTransferType.SOURCE)
+                .concatWith(post(destinationAccount, createTransferDto.getAmount(), createTransferDto.getDescription(),
+                        TransactionType.TRANSFER, TransactionTransferType.DESTINATION))
+                .collectList();
+    }
+
+    /**
+     * @return the locked account of the DTO if it belongs to the DTO customer
+     */
+    private Mono<Account> getOwnedAccount(AbstractCreateTransactionDto createTransactionDto,
+            Map<Long, Account> accounts) {
+        Account account = accounts.get(createTransactionDto.getAccountId());
+        if (account == null) {
+            return Mono.error(ACCOUNT_NOT_FOUND);
+        }
+
+        if (!createTransactionDto.getCustomerId().equals(account.getCustomerId())) {
+            return Mono.error(ACCOUNT_DOES_NOT_BELONG_TO_CUSTOMER);
+        }
+
+        return Mono.just(account);
+    }
+
+    /**
+     * Read and lock the given accounts until the database transaction ends.
+     * 
+     * @return the {@link Account} of each account found, by account ID
+     */
+    private Mono<Map<Long, Account>> lockAccounts(Collection<Long> accountIds) {
+        return accountRepository.lockByIdIn(accountIds).collectMap(Account::getId);
+    }
+
+    /**
+     * Add the signed amount to the balance of a locked account, and insert its
+     * transaction as the current one.
+     */
+    private Mono<Transaction> post(Account account, BigDecimal amount, String description, TransactionType type,
+            TransactionTransferType transferType) {
+        return Mono.defer(() -> {
+            BigDecimal balance = account.getBalance().add(amount);
+            account.setBalance(balance);
+
+            Transaction transaction = Transaction.builder().accountId(account.getId()).amount(amount)
+                    .currentBalance(balance).customerId(account.getCustomerId()).description(description)
+                    .isCurrent(true).transferType(transferType).type(type).build();
+
+            return accountRepository.updateBalance(account.getId(), balance, transaction.getDateCreated())
+                    .then(repository.clearCurrent(account.getId()))
+                    .then(repository.save(transaction));
+        });
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.example.bank.reactive.web.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.bank.dto.CreateAccountDto;
+import com.example.bank.exception.AccountDoesNotBelongToCustomerException;
+import com.example.bank.reactive.service.AccountService;
+import com.example.bank.reactive.web.exception.GlobalExceptionHandling;
+import com.example.bank.reactive.web.link.ResourceLinks;
+import com.example.bank.reactive.web.resource.AccountResource;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive account REST API operations, same routes and JSON as the MVC
+ * application.
+ * 
+ * @see AccountService for service layer business logic
+ * @see GlobalExceptionHandling for exception handling
+ */
+@RestController
+@RequestMapping("api")
+public class AccountController {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private ResourceLinks links;
+
+    @PostMapping(path = "customers/{customerId}/accounts", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<ResponseEntity<AccountResource>> createAccount(CreateAccountDto createAccountDto,
+            @PathVariable Long customerId,
+            ServerHttpRequest request) {
+        String baseUri = links.getBaseUri(request);
+
+        // Always the customer of the path, not a customerId request parameter
+        createAccountDto.setCustomerId(customerId);
+
+        return accountService.create(createAccountDto).map(account -> {
+            AccountResource resource = new AccountResource(account);
+
+            Link selfRelLink = links.account(baseUri, account.getId(), customerId, IanaLinkRelations.SELF);
+            resource.add(selfRelLink);
+            resource.add(getCommonLinks(baseUri, account.getId(), account.getCustomerId()));
+
+            return ResponseEntity.created(selfRelLink.toUri()).body(resource);
+        });
+    }
+
+    @GetMapping("customers/{customerId}/accounts/{accountId}")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<ResponseEntity<AccountResource>> getAccount(@PathVariable Long accountId,
+            @PathVariable Long customerId,
+            ServerHttpRequest request) {
+        String baseUri = links.getBaseUri(request);
+
+        return accountService.findById(accountId).map(account -> {
+            if (!customerId.equals(account.getCustomerId())) {
+                throw new AccountDoesNotBelongToCustomerException();
+            }
+
+            AccountResource resource = new AccountResource(account);
+
+            resource.add(links.account(baseUri, account.getId(), customerId, IanaLinkRelations.SELF));
+            resource.add(getCommonLinks(baseUri, account.getId(), account.getCustomerId()));
+
+            return ResponseEntity.ok().body(resource);
+        });
+    }
+
+    @GetMapping("customers/{customerId}/accounts")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<ResponseEntity<List<AccountResource>>> getAccounts(@PathVariable Long customerId,
+            ServerHttpRequest request) {
+        String baseUri = links.getBaseUri(request);
+
+        return accountService.findAccountsByCustomerId(customerId).map(account -> {
+            AccountResource resource = new AccountResource(account);
+
+            resource.add(links.account(baseUri, account.getId(), account.getCustomerId(), IanaLinkRelations.SELF));
+            resource.add(getCommonLinks(baseUri, account.getId(), account.getCustomerId()));
+
+            return resource;
+        }).collectList().map(resources -> ResponseEntity.ok().body(resources));
+    }
+
+    private List<Link> getCommonLinks(String baseUri, Long accountId, Long customerId) {
+        List<Link> transactionLinks = new ArrayList<>();
+        transactionLinks.add(links.accounts(baseUri, customerId, IanaLinkRelations.COLLECTION));
+        transactionLinks.add(links.customer(baseUri, customerId, IanaLinkRelations.ORIGINAL));
+        transactionLinks.add(links.transactions(baseUri, accountId, customerId, IanaLinkRelations.RELATED));
+        return transactionLinks;
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.example.bank.reactive.web.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.bank.dto.CreateCustomerDto;
+import com.example.bank.reactive.service.CustomerService;
+import com.example.bank.reactive.web.exception.GlobalExceptionHandling;
+import com.example.bank.reactive.web.link.ResourceLinks;
+import com.example.bank.reactive.web.resource.CustomerResource;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive customer REST API operations, same routes and JSON as the MVC
+ * application.
+ * 
+ * @see CustomerService for service layer business logic
+ * @see GlobalExceptionHandling for exception handling
+ */
+@RestController
+@RequestMapping("api")
+public class CustomerController {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private ResourceLinks links;
+
+    @PostMapping(path = "customers", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<ResponseEntity<CustomerResource>> createCustomer(CreateCustomerDto createCustomerDto,
+            ServerHttpRequest request) {
+        String baseUri = links.getBaseUri(request);
+
+        return customerService.create(createCustomerDto).map(created -> {
+            CustomerResource customer = new CustomerResource(created);
+
+            Link selfRelLink = links.customer(baseUri, customer.getId(), IanaLinkRelations.SELF);
+            customer.add(selfRelLink);
+            customer.add(getCommonLinks(baseUri, customer.getId()));
+
+            return ResponseEntity.created(selfRelLink.toUri()).body(customer);
+        });
+    }
+
+    @GetMapping("customers")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<ResponseEntity<List<CustomerResource>>> getAllCustomer(ServerHttpRequest request) {
+        String baseUri = links.getBaseUri(request);
+
+        return customerService.findAll().map(customer -> {
+            CustomerResource resource = new CustomerResource(customer);
+
+            resource.add(links.customer(baseUri, customer.getId(), IanaLinkRelations.SELF));
+            resource.add(getCommonLinks(baseUri, customer.getId()));
+
+            return resource;
+        }).collectList().map(resources -> ResponseEntity.ok().body(resources));
+    }
+
+    @GetMapping("customers/{customerId}")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<ResponseEntity<CustomerResource>> getCustomer(@PathVariable Long customerId,
+            ServerHttpRequest request) {
+        String baseUri = links.getBaseUri(request);
+
+        return customerService.findById(customerId).map(found -> {
+            CustomerResource customer = new CustomerResource(found);
+
+            customer.add(links.customer(baseUri, customer.getId(), IanaLinkRelations.SELF));
+            customer.add(getCommonLinks(baseUri, customer.getId()));
+
+            return ResponseEntity.ok().body(customer);
+        });
+    }
+
+    private List<Link> getCommonLinks(String baseUri, Long customerId) {
+        List<Link> accountLinks = new ArrayList<>();
+        accountLinks.add(links.accounts(baseUri, customerId, IanaLinkRelations.RELATED));
+        return accountLinks;
+    }
+
+}
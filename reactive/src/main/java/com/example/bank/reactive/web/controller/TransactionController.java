@@ -0,0 +1,214 @@
+package com.example.bank.reactive.web.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.bank.domain.TransactionTransferType;
+import com.example.bank.dto.BatchTransferResultDto;
+import com.example.bank.dto.CreateDepositDto;
+import com.example.bank.dto.CreateTransferDto;
+import com.example.bank.dto.CreateWithdrawlDto;
+import com.example.bank.exception.TransactionDoesNotBelongToAccountException;
+import com.example.bank.exception.TransactionDoesNotBelongToCustomerException;
+import com.example.bank.reactive.domain.Transaction;
+import com.example.bank.reactive.service.TransactionService;
+import com.example.bank.reactive.web.exception.GlobalExceptionHandling;
+import com.example.bank.reactive.web.link.ResourceLinks;
+import com.example.bank.reactive.web.resource.TransactionResource;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive transaction REST API operations, same routes and JSON as the MVC
+ * application.
+ * 
+ * The export, history, idempotency, and read model features of the MVC
+ * application are not part of the reactive API.
+ * 
+ * @see TransactionService for service layer business logic
+ * @see GlobalExceptionHandling for exception handling
+ */
+@RestController
+@RequestMapping("api")
+public class TransactionController {
+
+    @Autowired
+    private ResourceLinks links;
+
+    @Autowired
+    private TransactionService service;
+
+    @GetMapping("customers/{customerId}/accounts/{accountId}/transactions/{transactionId}")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<ResponseEntity<TransactionResource>> getTransaction(@PathVariable Long accountId,
+            @PathVariable Long customerId,
+            @PathVariable Long transactionId,
+            ServerHttpRequest request) {
+        String baseUri = links.getBaseUri(request);
+
+        return service.findById(transactionId).map(transaction -> {
+            if (!accountId.equals(transaction.getAccountId())) {
+                throw new TransactionDoesNotBelongToAccountException();
+            }
+
+            if (!customerId.equals(transaction.getCustomerId())) {
+                throw new TransactionDoesNotBelongToCustomerException();
+            }
+
+            TransactionResource resource = new TransactionResource(transaction);
+
+            resource.add(links.transaction(baseUri, accountId, customerId, transactionId, IanaLinkRelations.SELF));
+
+            return ResponseEntity.ok().body(resource);
+        });
+    }
+
+    @GetMapping("customers/{customerId}/accounts/{accountId}/transactions")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<ResponseEntity<List<TransactionResource>>> getAllTransactions(@PathVariable Long accountId,
+            @PathVariable Long customerId,
+            ServerHttpRequest request) {
+        String baseUri = links.getBaseUri(request);
+
+        return service.findTransactionsByAccountId(accountId).map(transaction -> {
+            if (!accountId.equals(transaction.getAccountId())) {
+                throw new TransactionDoesNotBelongToAccountException();
+            }
+
+            if (!customerId.equals(transaction.getCustomerId())) {
+                throw new TransactionDoesNotBelongToCustomerException();
+            }
+
+            TransactionResource resource = new TransactionResource(transaction);
+
+            resource.add(links.transaction(baseUri, accountId, customerId, transaction.getId(),
+                    IanaLinkRelations.SELF));
+
+            return resource;
+        }).collectList().map(resources -> ResponseEntity.ok().body(resources));
+    }
+
+    @PostMapping("customers/{customerId}/accounts/{accountId}/transactions/deposits")
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<ResponseEntity<TransactionResource>> processDeposit(@PathVariable Long accountId,
+            @PathVariable Long customerId,
+            CreateDepositDto createDepositDto,
+            ServerHttpRequest request) {
+        String baseUri = links.getBaseUri(request);
+
+        createDepositDto.setAccountId(accountId);
+        createDepositDto.setCustomerId(customerId);
+
+        return service.process(createDepositDto).map(transaction -> {
+            TransactionResource resource = new TransactionResource(transaction);
+
+            Link selfRelLink = links.transaction(baseUri, accountId, customerId, transaction.getId(),
+                    IanaLinkRelations.SELF);
+            resource.add(selfRelLink);
+            resource.add(getCommonLinks(baseUri, transaction.getCustomerId(), transaction.getId()));
+
+            return ResponseEntity.created(selfRelLink.toUri()).body(resource);
+        });
+    }
+
+    @PostMapping("customers/{customerId}/accounts/{accountId}/transactions/transfers/{destinationAccountId}")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<ResponseEntity<List<TransactionResource>>> processTransfer(@PathVariable Long accountId,
+            @PathVariable Long customerId,
+            @PathVariable Long destinationAccountId,
+            CreateTransferDto createTransferDto,
+            ServerHttpRequest request) {
+        String baseUri = links.getBaseUri(request);
+
+        createTransferDto.setAccountId(accountId);
+        createTransferDto.setCustomerId(customerId);
+        createTransferDto.setDestinationAccountId(destinationAccountId);
+
+        return service.process(createTransferDto).map(transactions -> {
+            List<TransactionResource> resources = new ArrayList<>();
+            for (Transaction transaction : transactions) {
+                TransactionResource resource = new TransactionResource(transaction);
+
+                resource.add(links.transaction(baseUri, transaction.getId(), transaction.getCustomerId(),
+                        transaction.getId(), IanaLinkRelations.SELF));
+
+                if (TransactionTransferType.DESTINATION.equals(transaction.getTransferType())) {
+                    resource.add(links.transaction(baseUri, transaction.getId(), transaction.getCustomerId(),
+                            transaction.getId(), IanaLinkRelations.ORIGINAL));
+                } else if (TransactionTransferType.SOURCE.equals(transaction.getTransferType())) {
+                    resource.add(links.transaction(baseUri, transaction.getId(), transaction.getCustomerId(),
+                            transaction.getId(), IanaLinkRelations.PAYMENT));
+                }
+
+                resource.add(getCommonLinks(baseUri, transaction.getCustomerId(), transaction.getId()));
+
+                resources.add(resource);
+            }
+
+            return ResponseEntity.ok().body(resources);
+        });
+    }
+
+    @PostMapping(path = "customers/{customerId}/accounts/{accountId}/transactions/transfers", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<ResponseEntity<List<BatchTransferResultDto>>> processTransfers(@PathVariable Long accountId,
+            @PathVariable Long customerId,
+            @RequestBody List<CreateTransferDto> createTransferDtos) {
+
+        for (CreateTransferDto createTransferDto : createTransferDtos) {
+            if (createTransferDto != null) {
+                createTransferDto.setAccountId(accountId);
+                createTransferDto.setCustomerId(customerId);
+            }
+        }
+
+        return service.processTransfers(createTransferDtos).map(results -> ResponseEntity.ok().body(results));
+    }
+
+    @PostMapping("customers/{customerId}/accounts/{accountId}/transactions/withdrawls")
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<ResponseEntity<TransactionResource>> processWithdrawl(@PathVariable Long accountId,
+            @PathVariable Long customerId,
+            CreateWithdrawlDto createWithdrawlDto,
+            ServerHttpRequest request) {
+        String baseUri = links.getBaseUri(request);
+
+        createWithdrawlDto.setAccountId(accountId);
+        createWithdrawlDto.setCustomerId(customerId);
+
+        return service.process(createWithdrawlDto).map(transaction -> {
+            TransactionResource resource = new TransactionResource(transaction);
+
+            Link selfRelLink = links.transaction(baseUri, transaction.getAccountId(), transaction.getCustomerId(),
+                    transaction.getId(), IanaLinkRelations.SELF);
+            resource.add(selfRelLink);
+            resource.add(getCommonLinks(baseUri, transaction.getCustomerId(), transaction.getId()));
+
+            return ResponseEntity.created(selfRelLink.toUri()).body(resource);
+        });
+    }
+
+    private List<Link> getCommonLinks(String baseUri, Long accountId, Long customerId) {
+        List<Link> transactionLinks = new ArrayList<>();
+        transactionLinks.add(links.account(baseUri, customerId, accountId, IanaLinkRelations.ORIGINAL));
+        transactionLinks.add(links.customer(baseUri, customerId, IanaLinkRelations.ORIGINAL));
+        transactionLinks.add(links.transactions(baseUri, accountId, customerId, IanaLinkRelations.COLLECTION));
+        return transactionLinks;
+    }
+
+}
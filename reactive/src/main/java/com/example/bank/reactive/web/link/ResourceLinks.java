@@ -0,0 +1,99 @@
+package com.example.bank.reactive.web.link;
+
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.example.bank.reactive.web.controller.AccountController;
+import com.example.bank.reactive.web.controller.CustomerController;
+import com.example.bank.reactive.web.controller.TransactionController;
+import com.example.bank.web.link.LinkTemplate;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Builds the HATEOAS links of the reactive REST API from the same
+ * {@link LinkTemplate} objects as the MVC application, so both produce the
+ * same hrefs.
+ * 
+ * There is no request bound to the thread on WebFlux, each method takes the
+ * base URI resolved by {@link #getBaseUri(ServerHttpRequest)} followed by the
+ * arguments of the controller route it links to, in the same order.
+ */
+@Component
+public class ResourceLinks {
+
+    private LinkTemplate account;
+
+    private LinkTemplate accounts;
+
+    private LinkTemplate customer;
+
+    private LinkTemplate transaction;
+
+    private LinkTemplate transactions;
+
+    @PostConstruct
+    public void compile() {
+        account = LinkTemplate.of(AccountController.class, "getAccount", "accountId", "customerId");
+        accounts = LinkTemplate.of(AccountController.class, "getAccounts", "customerId");
+        customer = LinkTemplate.of(CustomerController.class, "getCustomer", "customerId");
+        transaction = LinkTemplate.of(TransactionController.class, "getTransaction", "accountId", "customerId",
+                "transactionId");
+        transactions = LinkTemplate.of(TransactionController.class, "getAllTransactions", "accountId",
+                "customerId");
+    }
+
+    /**
+     * @see AccountController#getAccount(Long, Long, ServerHttpRequest)
+     */
+    public Link account(String baseUri, Long accountId, Long customerId, LinkRelation relation) {
+        return Link.of(account.expand(baseUri, accountId, customerId), relation);
+    }
+
+    /**
+     * @see AccountController#getAccounts(Long, ServerHttpRequest)
+     */
+    public Link accounts(String baseUri, Long customerId, LinkRelation relation) {
+        return Link.of(accounts.expand(baseUri, customerId), relation);
+    }
+
+    /**
+     * @see CustomerController#getCustomer(Long, ServerHttpRequest)
+     */
+    public Link customer(String baseUri, Long customerId, LinkRelation relation) {
+        return Link.of(customer.expand(baseUri, customerId), relation);
+    }
+
+    /**
+     * @see TransactionController#getTransaction(Long, Long, Long, ServerHttpRequest)
+     */
+    public Link transaction(String baseUri, Long accountId, Long customerId, Long transactionId,
+            LinkRelation relation) {
+        return Link.of(transaction.expand(baseUri, accountId, customerId, transactionId), relation);
+    }
+
+    /**
+     * @see TransactionController#getAllTransactions(Long, Long, ServerHttpRequest)
+     */
+    public Link transactions(String baseUri, Long accountId, Long customerId, LinkRelation relation) {
+        return Link.of(transactions.expand(baseUri, accountId, customerId), relation);
+    }
+
+    /**
+     * @param request
+     * @return the scheme, host, port, and context path of the given request,
+     *         without a trailing slash
+     */
+    public String getBaseUri(ServerHttpRequest request) {
+        String baseUri = UriComponentsBuilder.fromUri(request.getURI())
+                .replacePath(request.getPath().contextPath().value())
+                .replaceQuery(null)
+                .fragment(null)
+                .build().toUriString();
+        return baseUri.endsWith("/") ? baseUri.substring(0, baseUri.length() - 1) : baseUri;
+    }
+
+}
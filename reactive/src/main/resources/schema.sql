@@ -0,0 +1,37 @@
+-- The customer, account, and transaction tables of the MVC application, with two
+-- differences: the balance is a column of the account row, where the MVC
+-- application keeps it in a separate account_balance table, and the account has
+-- no version column, writes lock the row instead
+create table if not exists customer (
+    id bigint generated by default as identity primary key,
+    date_created timestamp not null,
+    date_updated timestamp not null,
+    name varchar(32) not null,
+    ssn bigint not null unique
+);
+
+create table if not exists account (
+    id bigint generated by default as identity primary key,
+    balance numeric(38, 2) not null default 0,
+    customer_id bigint not null references customer (id),
+    date_created timestamp not null,
+    date_updated timestamp not null,
+    type varchar(8) not null
+);
+
+create index if not exists idx_account_customer on account (customer_id);
+
+create table if not exists transaction (
+    id bigint generated by default as identity primary key,
+    account_id bigint not null references account (id),
+    amount numeric(38, 2) not null,
+    current_balance numeric(38, 2) not null,
+    customer_id bigint not null references customer (id),
+    date_created timestamp not null,
+    description varchar(32),
+    is_current boolean not null,
+    transfer_type varchar(11),
+    type varchar(9) not null
+);
+
+create index if not exists idx_transaction_account_current on transaction (account_id, is_current);
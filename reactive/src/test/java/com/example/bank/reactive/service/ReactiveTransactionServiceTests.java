@@ -0,0 +1,160 @@
+package com.example.bank.reactive.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.bank.domain.AccountType;
+import com.example.bank.dto.BatchTransferResultDto;
+import com.example.bank.dto.CreateAccountDto;
+import com.example.bank.dto.CreateCustomerDto;
+import com.example.bank.dto.CreateDepositDto;
+import com.example.bank.dto.CreateTransferDto;
+import com.example.bank.dto.CreateWithdrawlDto;
+import com.example.bank.exception.AccountDoesNotBelongToCustomerException;
+import com.example.bank.exception.TransactionHasInsufficientFundsException;
+import com.example.bank.reactive.domain.Account;
+import com.example.bank.reactive.domain.Customer;
+import com.example.bank.reactive.domain.Transaction;
+
+import jakarta.validation.ConstraintViolationException;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+/**
+ * Deposits, withdrawls, and transfers through the reactive services, with the
+ * validation rules and rejections of the MVC application. Runs on its own
+ * database.
+ */
+@SpringBootTest(properties = "spring.r2dbc.url=r2dbc:h2:mem:///reactiveservices")
+class ReactiveTransactionServiceTests {
+
+    private static final int CONCURRENT_DEPOSITS = 200;
+
+    private static final AtomicLong SSN = new AtomicLong(123540000L);
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    private Customer customer;
+
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        CreateCustomerDto createCustomerDto = new CreateCustomerDto();
+        createCustomerDto.setName("Reactive");
+        createCustomerDto.setSsn(SSN.incrementAndGet());
+        customer = customerService.create(createCustomerDto).block();
+
+        account = createAccount(AccountType.CHECKING);
+    }
+
+    @Test
+    void concurrentDepositsKeepOneCurrentTransaction() {
+        Flux.range(0, CONCURRENT_DEPOSITS)
+                .flatMap(i -> transactionService.process(deposit(BigDecimal.ONE)), 32)
+                .then().block();
+
+        BigDecimal expected = new BigDecimal(CONCURRENT_DEPOSITS);
+        assertEquals(0, expected.compareTo(accountService.findById(account.getId()).block().getBalance()));
+
+        List<Transaction> current = transactionService.findTransactionsByAccountId(account.getId())
+                .filter(Transaction::getIsCurrent).collectList().block();
+        assertEquals(1, current.size());
+        assertEquals(0, expected.compareTo(current.get(0).getCurrentBalance()));
+    }
+
+    @Test
+    void rejectionsAreErrorSignals() {
+        transactionService.process(deposit(BigDecimal.TEN)).block();
+
+        StepVerifier.create(transactionService.process(withdrawl(new BigDecimal("10.01"))))
+                .expectError(TransactionHasInsufficientFundsException.class)
+                .verify();
+
+        CreateDepositDto createDepositDto = deposit(BigDecimal.ONE);
+        createDepositDto.setCustomerId(Long.MAX_VALUE);
+        StepVerifier.create(transactionService.process(createDepositDto))
+                .expectError(AccountDoesNotBelongToCustomerException.class)
+                .verify();
+
+        assertEquals(0, BigDecimal.TEN.compareTo(accountService.findById(account.getId()).block().getBalance()));
+    }
+
+    @Test
+    void invalidDtoFailsValidation() {
+        StepVerifier.create(transactionService.process(deposit(new BigDecimal("0.001"))))
+                .expectError(ConstraintViolationException.class)
+                .verify();
+    }
+
+    @Test
+    void transfersMoveFundsOrReportRejections() {
+        Account destination = createAccount(AccountType.SAVINGS);
+        transactionService.process(deposit(new BigDecimal("50.00"))).block();
+
+        List<Transaction> transactions = transactionService.process(transfer(destination, new BigDecimal("20.00")))
+                .block();
+        assertEquals(2, transactions.size());
+        assertEquals(0, new BigDecimal("30.00").compareTo(transactions.get(0).getCurrentBalance()));
+        assertEquals(0, new BigDecimal("20.00").compareTo(transactions.get(1).getCurrentBalance()));
+
+        List<BatchTransferResultDto> results = transactionService.processTransfers(List.of(
+                transfer(destination, new BigDecimal("25.00")),
+                transfer(destination, new BigDecimal("25.00")))).block();
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals(TransactionHasInsufficientFundsException.class.getSimpleName(), results.get(1).getError());
+
+        assertEquals(0, new BigDecimal("5.00").compareTo(accountService.findById(account.getId()).block().getBalance()));
+        assertEquals(0,
+                new BigDecimal("45.00").compareTo(accountService.findById(destination.getId()).block().getBalance()));
+    }
+
+    private Account createAccount(AccountType type) {
+        return accountService.create(CreateAccountDto.builder().customerId(customer.getId()).type(type).build())
+                .block();
+    }
+
+    private CreateDepositDto deposit(BigDecimal amount) {
+        CreateDepositDto createDepositDto = new CreateDepositDto();
+        createDepositDto.setAccountId(account.getId());
+        createDepositDto.setCustomerId(customer.getId());
+        createDepositDto.setAmount(amount);
+        return createDepositDto;
+    }
+
+    private CreateTransferDto transfer(Account destination, BigDecimal amount) {
+        CreateTransferDto createTransferDto = new CreateTransferDto();
+        createTransferDto.setAccountId(account.getId());
+        createTransferDto.setCustomerId(customer.getId());
+        createTransferDto.setDestinationAccountId(destination.getId());
+        createTransferDto.setAmount(amount);
+        return createTransferDto;
+    }
+
+    private CreateWithdrawlDto withdrawl(BigDecimal amount) {
+        CreateWithdrawlDto createWithdrawlDto = new CreateWithdrawlDto();
+        createWithdrawlDto.setAccountId(account.getId());
+        createWithdrawlDto.setCustomerId(customer.getId());
+        createWithdrawlDto.setAmount(amount);
+        return createWithdrawlDto;
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.example.bank.benchmark;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.bank.domain.Account;
+import com.example.bank.domain.Customer;
+import com.example.bank.service.AccountService;
+
+/**
+ * Account lookups through {@link AccountService} for randomly picked seeded
+ * customers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 5)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+public class AccountServiceBenchmarks {
+
+    private AccountService accountService;
+
+    private List<Customer> customers;
+
+    @Setup
+    public void setUp() {
+        BenchmarkContext context = BenchmarkContext.get();
+        accountService = context.getBean(AccountService.class);
+        customers = context.getCustomers();
+    }
+
+    @Benchmark
+    public List<Account> findAccountsByCustomerId() {
+        Customer customer = customers.get(ThreadLocalRandom.current().nextInt(customers.size()));
+        return accountService.findAccountsByCustomerId(customer.getId());
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.example.bank.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.bank.domain.Account;
+import com.example.bank.dto.BatchTransferResultDto;
+import com.example.bank.dto.CreateTransferDto;
+import com.example.bank.service.TransactionResult;
+import com.example.bank.service.TransactionService;
+
+/**
+ * Transfers per second from one account to {@value #BATCH_SIZE} others, for
+ * example payroll, sent one {@link TransactionService#process(CreateTransferDto)}
+ * call each or as one {@link TransactionService#processTransfers(List)} batch.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Measurement(iterations = 5, time = 5)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+public class BatchTransferBenchmarks {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    private static final int BATCH_SIZE = TransactionService.MAX_BATCH_SIZE;
+
+    private final List<CreateTransferDto> createTransferDtos = new ArrayList<>(BATCH_SIZE);
+
+    private int next;
+
+    private TransactionService transactionService;
+
+    @Setup
+    public void setUp() {
+        BenchmarkContext context = BenchmarkContext.get();
+        transactionService = context.getBean(TransactionService.class);
+
+        List<Account> accounts = context.getAccounts();
+        Account source = accounts.get(0);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            Account destination = accounts.get(1 + i % (accounts.size() - 1));
+
+            CreateTransferDto createTransferDto = new CreateTransferDto();
+            createTransferDto.setAccountId(source.getId());
+            createTransferDto.setCustomerId(source.getCustomer().getId());
+            createTransferDto.setDestinationAccountId(destination.getId());
+            createTransferDto.setAmount(AMOUNT);
+            createTransferDto.setDescription("Benchmark payroll");
+            createTransferDtos.add(createTransferDto);
+        }
+    }
+
+    @Benchmark
+    public TransactionResult<?> singleTransfers() {
+        CreateTransferDto createTransferDto = createTransferDtos.get(next);
+        next = (next + 1) % BATCH_SIZE;
+        return transactionService.tryProcess(createTransferDto);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<BatchTransferResultDto> batchTransfers() {
+        return transactionService.processTransfers(createTransferDtos);
+    }
+
+}
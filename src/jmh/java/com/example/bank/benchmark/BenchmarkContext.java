@@ -0,0 +1,185 @@
+package com.example.bank.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.bank.BankApplication;
+import com.example.bank.domain.Account;
+import com.example.bank.domain.AccountType;
+import com.example.bank.domain.Customer;
+import com.example.bank.dto.CreateAccountDto;
+import com.example.bank.dto.CreateCustomerDto;
+import com.example.bank.dto.CreateDepositDto;
+import com.example.bank.dto.CreateTransferDto;
+import com.example.bank.service.AccountService;
+import com.example.bank.service.CustomerService;
+import com.example.bank.service.TransactionService;
+
+/**
+ * Application context shared by the benchmarks of a forked JVM, started once
+ * against an embedded H2 database seeded with {@value #CUSTOMERS} customers,
+ * one or two accounts each, and {@value #TRANSFERS_PER_ACCOUNT} transfers per
+ * account on top of an opening deposit.
+ *
+ * The seed is fixed so every run, and every commit, measures the same data set.
+ * Each profile, i.e. {@value #JOURNAL_PROFILE}, and each set of property
+ * overrides gets its own context and database.
+ */
+public final class BenchmarkContext {
+
+    public static final int CUSTOMERS = 1_000;
+
+    public static final int TRANSFERS_PER_ACCOUNT = 20;
+
+    /**
+     * Profile of the default, JPA, storage engine.
+     */
+    public static final String DEFAULT_PROFILE = "default";
+
+    /**
+     * Profile of the journal storage engine.
+     */
+    public static final String JOURNAL_PROFILE = "journal";
+
+    /**
+     * Profile queueing deposits and withdrawls for group commit.
+     */
+    public static final String GROUP_COMMIT_PROFILE = "group-commit";
+
+    /**
+     * Profile splitting the balance of hot accounts across slots.
+     */
+    public static final String HOT_ACCOUNTS_PROFILE = "hot-accounts";
+
+    private static final long SEED = 42L;
+
+    private static final Map<String, BenchmarkContext> INSTANCES = new HashMap<>();
+
+    private final ConfigurableApplicationContext context;
+
+    private final List<Account> accounts = new ArrayList<>();
+
+    private final List<Customer> customers = new ArrayList<>();
+
+    private BenchmarkContext(String profile, String... properties) {
+        context = new SpringApplicationBuilder(BankApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles(profile)
+                .properties(
+                        "bank.journal.directory=build/jmh-journal/" + System.nanoTime(),
+                        "spring.datasource.url=jdbc:h2:mem:benchmark-" + profile + "-" + INSTANCES.size(),
+                        "spring.h2.console.enabled=false")
+                .properties(properties)
+                // Default properties rank below application.yml, which logs at DEBUG
+                .run("--logging.level.com.example.bank=WARN");
+        seed();
+    }
+
+    /**
+     * @return the default profile context of this JVM, started and seeded on
+     *         first use
+     */
+    public static BenchmarkContext get() {
+        return get(DEFAULT_PROFILE);
+    }
+
+    /**
+     * @param profile the Spring profile to activate
+     * @return the context of this JVM for the profile, started and seeded on
+     *         first use
+     */
+    public static BenchmarkContext get(String profile) {
+        return get(profile, new String[0]);
+    }
+
+    /**
+     * @param profile    the Spring profile to activate
+     * @param properties property overrides, i.e. bank.group-commit.window-micros=100
+     * @return the context of this JVM for the profile and properties, started
+     *         and seeded on first use
+     */
+    public static synchronized BenchmarkContext get(String profile, String... properties) {
+        String key = profile + Arrays.toString(properties);
+        BenchmarkContext context = INSTANCES.get(key);
+        if (context == null) {
+            context = new BenchmarkContext(profile, properties);
+            INSTANCES.put(key, context);
+        }
+        return context;
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public List<Account> getAccounts() {
+        return accounts;
+    }
+
+    public List<Customer> getCustomers() {
+        return customers;
+    }
+
+    private void seed() {
+        AccountService accountService = getBean(AccountService.class);
+        CustomerService customerService = getBean(CustomerService.class);
+        TransactionService transactionService = getBean(TransactionService.class);
+        Random random = new Random(SEED);
+
+        for (int i = 0; i < CUSTOMERS; i++) {
+            CreateCustomerDto createCustomerDto = new CreateCustomerDto();
+            createCustomerDto.setName("Customer " + i);
+            createCustomerDto.setSsn(100_010_001L + i);
+            Customer customer = customerService.create(createCustomerDto);
+            customers.add(customer);
+
+            int accountCount = 1 + random.nextInt(2);
+            for (int j = 0; j < accountCount; j++) {
+                Account account = accountService.create(CreateAccountDto.builder().customerId(customer.getId())
+                        .type(j == 0 ? AccountType.CHECKING : AccountType.SAVINGS).build());
+                accounts.add(account);
+
+                CreateDepositDto createDepositDto = new CreateDepositDto();
+                createDepositDto.setAccountId(account.getId());
+                createDepositDto.setCustomerId(customer.getId());
+                createDepositDto.setAmount(new BigDecimal(1_000_000 + random.nextInt(1_000_000)));
+                createDepositDto.setDescription("Opening deposit");
+                transactionService.process(createDepositDto);
+            }
+        }
+
+        List<CreateTransferDto> createTransferDtos = new ArrayList<>();
+        for (int i = 0; i < accounts.size() * TRANSFERS_PER_ACCOUNT; i++) {
+            Account source = accounts.get(random.nextInt(accounts.size()));
+            Account destination = accounts.get(random.nextInt(accounts.size()));
+            if (source.getId().equals(destination.getId())) {
+                continue;
+            }
+            CreateTransferDto createTransferDto = new CreateTransferDto();
+            createTransferDto.setAccountId(source.getId());
+            createTransferDto.setCustomerId(source.getCustomer().getId());
+            createTransferDto.setDestinationAccountId(destination.getId());
+            createTransferDto.setAmount(new BigDecimal(1 + random.nextInt(500)));
+            createTransferDto.setDescription("Seed transfer");
+            createTransferDtos.add(createTransferDto);
+
+            if (createTransferDtos.size() == TransactionService.MAX_BATCH_SIZE) {
+                transactionService.processTransfers(createTransferDtos);
+                createTransferDtos = new ArrayList<>();
+            }
+        }
+        if (!createTransferDtos.isEmpty()) {
+            transactionService.processTransfers(createTransferDtos);
+        }
+    }
+
+}
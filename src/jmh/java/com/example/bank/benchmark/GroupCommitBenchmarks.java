@@ -0,0 +1,108 @@
+package com.example.bank.benchmark;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.bank.domain.Account;
+import com.example.bank.dto.CreateDepositDto;
+import com.example.bank.dto.CreateWithdrawlDto;
+import com.example.bank.service.GroupCommitQueue;
+import com.example.bank.service.TransactionResult;
+import com.example.bank.service.TransactionService;
+
+/**
+ * Throughput and latency of deposits and withdrawls between random accounts,
+ * one in {@value #WITHDRAWL_EVERY} a withdrawl, written synchronously or
+ * through the {@link GroupCommitQueue} at different batch windows.
+ *
+ * A window of {@code sync} is the default synchronous mode, the others are the
+ * microseconds the writer waits for more requests after the first. Run with
+ * {@code -prof gc} or compare the sample time percentiles for the latency
+ * each window adds.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@Fork(1)
+@Measurement(iterations = 5, time = 5)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Threads(32)
+@Warmup(iterations = 3, time = 5)
+public class GroupCommitBenchmarks {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    private static final String SYNC = "sync";
+
+    private static final AtomicLong THREAD_SEEDS = new AtomicLong(42L);
+
+    private static final int WITHDRAWL_EVERY = 4;
+
+    @Param({ SYNC, "0", "100", "500", "2000" })
+    public String windowMicros;
+
+    @Param({ "256" })
+    public int batchSize;
+
+    private List<Account> accounts;
+
+    private TransactionService transactionService;
+
+    @Setup
+    public void setUp() {
+        BenchmarkContext context = SYNC.equals(windowMicros) ? BenchmarkContext.get()
+                : BenchmarkContext.get(BenchmarkContext.GROUP_COMMIT_PROFILE,
+                        "bank.group-commit.batch-size=" + batchSize,
+                        "bank.group-commit.window-micros=" + windowMicros);
+        accounts = context.getAccounts();
+        transactionService = context.getBean(TransactionService.class);
+    }
+
+    /**
+     * Per thread random accounts, seeded so every run draws the same ones.
+     */
+    @State(Scope.Thread)
+    public static class Operations {
+
+        private final Random random = new Random(THREAD_SEEDS.getAndIncrement());
+
+        private int next;
+
+    }
+
+    @Benchmark
+    public TransactionResult<?> depositWithdrawlMix(Operations operations) {
+        Account account = accounts.get(operations.random.nextInt(accounts.size()));
+        if (operations.next++ % WITHDRAWL_EVERY == 0) {
+            CreateWithdrawlDto createWithdrawlDto = new CreateWithdrawlDto();
+            createWithdrawlDto.setAccountId(account.getId());
+            createWithdrawlDto.setCustomerId(account.getCustomer().getId());
+            createWithdrawlDto.setAmount(AMOUNT);
+            createWithdrawlDto.setDescription("Benchmark withdrawl");
+            return transactionService.tryProcess(createWithdrawlDto);
+        }
+
+        CreateDepositDto createDepositDto = new CreateDepositDto();
+        createDepositDto.setAccountId(account.getId());
+        createDepositDto.setCustomerId(account.getCustomer().getId());
+        createDepositDto.setAmount(AMOUNT);
+        createDepositDto.setDescription("Benchmark deposit");
+        return transactionService.tryProcess(createDepositDto);
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.example.bank.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.bank.domain.Account;
+import com.example.bank.dto.CreateDepositDto;
+import com.example.bank.ledger.HotAccounts;
+import com.example.bank.service.TransactionResult;
+import com.example.bank.service.TransactionService;
+
+/**
+ * Contention of 64 threads depositing to a single account, with its balance in
+ * one row or split across {@link HotAccounts} slots.
+ *
+ * A slot count of {@code none} is the default profile, every deposit queues on
+ * the account lock and its balance and version rows.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@Fork(1)
+@Measurement(iterations = 5, time = 5)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Threads(64)
+@Warmup(iterations = 3, time = 5)
+public class HotAccountBenchmarks {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    private static final String NONE = "none";
+
+    @Param({ NONE, "4", "16", "64" })
+    public String slots;
+
+    private CreateDepositDto createDepositDto;
+
+    private TransactionService transactionService;
+
+    @Setup
+    public void setUp() {
+        BenchmarkContext context = NONE.equals(slots) ? BenchmarkContext.get()
+                : BenchmarkContext.get(BenchmarkContext.HOT_ACCOUNTS_PROFILE, "bank.hot-accounts.slots=" + slots);
+        transactionService = context.getBean(TransactionService.class);
+
+        Account account = context.getAccounts().get(0);
+        if (!NONE.equals(slots)) {
+            context.getBean(HotAccounts.class).add(account.getId());
+        }
+
+        createDepositDto = new CreateDepositDto();
+        createDepositDto.setAccountId(account.getId());
+        createDepositDto.setCustomerId(account.getCustomer().getId());
+        createDepositDto.setAmount(AMOUNT);
+        createDepositDto.setDescription("Benchmark deposit");
+    }
+
+    @Benchmark
+    public TransactionResult<?> depositToSingleAccount() {
+        return transactionService.tryProcess(createDepositDto);
+    }
+
+}
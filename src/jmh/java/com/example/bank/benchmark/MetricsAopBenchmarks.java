@@ -0,0 +1,73 @@
+package com.example.bank.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.stereotype.Service;
+
+import com.example.bank.aop.MetricsAop;
+
+/**
+ * Overhead of {@link MetricsAop} per service call, against a proxy of the same
+ * trivial {@link Service} without the aspect. The aspect is the application
+ * bean, recording into the application meter registry.
+ * 
+ * The difference between {@link #timed()} and {@link #untimed()} is the cost of
+ * the timer, kept under one microsecond.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+public class MetricsAopBenchmarks {
+
+    private NoopService timedService;
+
+    private NoopService untimedService;
+
+    @Setup
+    public void setUp() {
+        MetricsAop metricsAop = BenchmarkContext.get().getBean(MetricsAop.class);
+
+        AspectJProxyFactory timedFactory = new AspectJProxyFactory(new NoopService());
+        timedFactory.setProxyTargetClass(true);
+        timedFactory.addAspect(metricsAop);
+        timedService = timedFactory.getProxy();
+
+        AspectJProxyFactory untimedFactory = new AspectJProxyFactory(new NoopService());
+        untimedFactory.setProxyTargetClass(true);
+        untimedService = untimedFactory.getProxy();
+    }
+
+    @Benchmark
+    public Long timed() {
+        return timedService.find(1L);
+    }
+
+    @Benchmark
+    public Long untimed() {
+        return untimedService.find(1L);
+    }
+
+    @Service
+    public static class NoopService {
+
+        public Long find(Long accountId) {
+            return accountId;
+        }
+
+    }
+
+}
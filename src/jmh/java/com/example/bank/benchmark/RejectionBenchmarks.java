@@ -0,0 +1,114 @@
+package com.example.bank.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.bank.domain.Account;
+import com.example.bank.domain.Transaction;
+import com.example.bank.dto.CreateDepositDto;
+import com.example.bank.dto.CreateWithdrawlDto;
+import com.example.bank.exception.BusinessRejectionException;
+import com.example.bank.service.TransactionResult;
+import com.example.bank.service.TransactionService;
+
+/**
+ * Withdrawl throughput when a share of the withdrawls is rejected for
+ * insufficient funds, through the throwing {@link TransactionService} process
+ * method and through tryProcess returning a {@link TransactionResult}.
+ * 
+ * Compare each method at 0% and 30% rejections, rejected withdrawls stop at the
+ * ledger check so they are expected to raise throughput rather than lower it.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Measurement(iterations = 5, time = 5)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 5)
+public class RejectionBenchmarks {
+
+    /**
+     * Length of the repeating accept and reject pattern.
+     */
+    private static final int PATTERN_LENGTH = 100;
+
+    @Param({ "0", "30" })
+    public int rejectionPercent;
+
+    private CreateWithdrawlDto acceptedWithdrawlDto;
+
+    private CreateWithdrawlDto rejectedWithdrawlDto;
+
+    private boolean[] rejections;
+
+    private int next;
+
+    private TransactionService transactionService;
+
+    @Setup
+    public void setUp() {
+        BenchmarkContext context = BenchmarkContext.get();
+        transactionService = context.getBean(TransactionService.class);
+
+        Account account = context.getAccounts().get(1);
+
+        // Cover every accepted withdrawl of a run
+        CreateDepositDto createDepositDto = new CreateDepositDto();
+        createDepositDto.setAccountId(account.getId());
+        createDepositDto.setCustomerId(account.getCustomer().getId());
+        createDepositDto.setAmount(new BigDecimal("1000000000.00"));
+        createDepositDto.setDescription("Benchmark funding");
+        transactionService.process(createDepositDto);
+
+        acceptedWithdrawlDto = withdrawl(account, new BigDecimal("1.00"));
+        rejectedWithdrawlDto = withdrawl(account, new BigDecimal("1000000000000.00"));
+
+        // Spread the rejections evenly over the pattern
+        rejections = new boolean[PATTERN_LENGTH];
+        for (int i = 0; i < PATTERN_LENGTH; i++) {
+            rejections[i] = (i * rejectionPercent) % PATTERN_LENGTH < rejectionPercent;
+        }
+    }
+
+    @Benchmark
+    public Transaction process() {
+        try {
+            return transactionService.process(nextWithdrawlDto());
+        } catch (BusinessRejectionException exception) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public TransactionResult<Transaction> tryProcess() {
+        return transactionService.tryProcess(nextWithdrawlDto());
+    }
+
+    private CreateWithdrawlDto nextWithdrawlDto() {
+        boolean rejected = rejections[next];
+        next = (next + 1) % PATTERN_LENGTH;
+        return rejected ? rejectedWithdrawlDto : acceptedWithdrawlDto;
+    }
+
+    private static CreateWithdrawlDto withdrawl(Account account, BigDecimal amount) {
+        CreateWithdrawlDto createWithdrawlDto = new CreateWithdrawlDto();
+        createWithdrawlDto.setAccountId(account.getId());
+        createWithdrawlDto.setCustomerId(account.getCustomer().getId());
+        createWithdrawlDto.setAmount(amount);
+        createWithdrawlDto.setDescription("Benchmark withdrawl");
+        return createWithdrawlDto;
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.example.bank.benchmark;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.example.bank.domain.Account;
+import com.example.bank.web.controller.AccountController;
+import com.example.bank.web.controller.CustomerController;
+import com.example.bank.web.controller.TransactionController;
+import com.example.bank.web.link.ResourceLinks;
+import com.example.bank.web.resource.AccountResource;
+import com.example.bank.web.resource.CustomerResource;
+import com.example.bank.web.resource.TransactionResource;
+
+/**
+ * Controller resource and HATEOAS link assembly, called directly with a bound
+ * request so links resolve against a host as they would over HTTP.
+ * 
+ * {@link #accountSelfLink()} and {@link #accountSelfLinkTemplate()} build the
+ * same link with {@code linkTo(methodOn(...))} and with {@link ResourceLinks},
+ * the per-link cost the controllers pay for every resource.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 5)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 5)
+public class ResourceAssemblyBenchmarks {
+
+    private Account account;
+
+    private AccountController accountController;
+
+    private CustomerController customerController;
+
+    private ResourceLinks links;
+
+    private TransactionController transactionController;
+
+    @Setup
+    public void setUp() {
+        BenchmarkContext context = BenchmarkContext.get();
+        accountController = context.getBean(AccountController.class);
+        customerController = context.getBean(CustomerController.class);
+        transactionController = context.getBean(TransactionController.class);
+        links = context.getBean(ResourceLinks.class);
+        account = context.getAccounts().get(0);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/customers");
+        request.setServerName("localhost");
+        request.setServerPort(8080);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public Link accountSelfLink() {
+        return linkTo(methodOn(AccountController.class).getAccount(account.getId(), account.getCustomer().getId()))
+                .withSelfRel();
+    }
+
+    @Benchmark
+    public Link accountSelfLinkTemplate() {
+        return links.account(account.getId(), account.getCustomer().getId(), IanaLinkRelations.SELF);
+    }
+
+    @Benchmark
+    public ResponseEntity<List<AccountResource>> getAccounts() {
+        return accountController.getAccounts(account.getCustomer().getId(), null);
+    }
+
+    @Benchmark
+    public ResponseEntity<List<TransactionResource>> getAllTransactions() {
+        return transactionController.getAllTransactions(account.getId(), account.getCustomer().getId(), null);
+    }
+
+    @Benchmark
+    public ResponseEntity<CustomerResource> getCustomer() {
+        return customerController.getCustomer(account.getCustomer().getId());
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.example.bank.benchmark;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.bank.domain.Account;
+import com.example.bank.dto.CreateDepositDto;
+import com.example.bank.dto.CreateTransferDto;
+import com.example.bank.journal.Journal;
+import com.example.bank.service.TransactionResult;
+import com.example.bank.service.TransactionService;
+
+/**
+ * Throughput of a deposit and transfer mix between random accounts on the JPA
+ * storage engine and on the {@link Journal}, one in {@value #DEPOSIT_EVERY}
+ * operations a deposit.
+ *
+ * Several threads write at once so the journal forces are shared between
+ * them, compare the two backends at the same thread count.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Measurement(iterations = 5, time = 5)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Threads(8)
+@Warmup(iterations = 3, time = 5)
+public class StorageEngineBenchmarks {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    private static final int DEPOSIT_EVERY = 5;
+
+    private static final AtomicLong THREAD_SEEDS = new AtomicLong(42L);
+
+    @Param({ BenchmarkContext.DEFAULT_PROFILE, BenchmarkContext.JOURNAL_PROFILE })
+    public String backend;
+
+    private List<Account> accounts;
+
+    private TransactionService transactionService;
+
+    @Setup
+    public void setUp() {
+        BenchmarkContext context = BenchmarkContext.get(backend);
+        accounts = context.getAccounts();
+        transactionService = context.getBean(TransactionService.class);
+    }
+
+    /**
+     * Per thread random accounts, seeded so every run draws the same ones.
+     */
+    @State(Scope.Thread)
+    public static class Operations {
+
+        private final Random random = new Random(THREAD_SEEDS.getAndIncrement());
+
+        private int next;
+
+    }
+
+    @Benchmark
+    public TransactionResult<?> depositTransferMix(Operations operations) {
+        Account source = accounts.get(operations.random.nextInt(accounts.size()));
+        if (operations.next++ % DEPOSIT_EVERY == 0) {
+            CreateDepositDto createDepositDto = new CreateDepositDto();
+            createDepositDto.setAccountId(source.getId());
+            createDepositDto.setCustomerId(source.getCustomer().getId());
+            createDepositDto.setAmount(AMOUNT);
+            createDepositDto.setDescription("Benchmark deposit");
+            return transactionService.tryProcess(createDepositDto);
+        }
+
+        Account destination = accounts.get(operations.random.nextInt(accounts.size()));
+        CreateTransferDto createTransferDto = new CreateTransferDto();
+        createTransferDto.setAccountId(source.getId());
+        createTransferDto.setCustomerId(source.getCustomer().getId());
+        createTransferDto.setDestinationAccountId(destination.getId());
+        createTransferDto.setAmount(AMOUNT);
+        createTransferDto.setDescription("Benchmark transfer");
+
+        // A source drawn as its own destination is rejected, as in production
+        return transactionService.tryProcess(createTransferDto);
+    }
+
+}
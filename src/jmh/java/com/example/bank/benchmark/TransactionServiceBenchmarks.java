@@ -0,0 +1,94 @@
+package com.example.bank.benchmark;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.bank.domain.Account;
+import com.example.bank.domain.Transaction;
+import com.example.bank.dto.CreateDepositDto;
+import com.example.bank.dto.CreateTransferDto;
+import com.example.bank.dto.CreateWithdrawlDto;
+import com.example.bank.service.TransactionService;
+
+/**
+ * Deposits, withdrawls, and transfers through {@link TransactionService}, each
+ * one a committed database transaction.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 5)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+public class TransactionServiceBenchmarks {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    private CreateDepositDto createDepositDto;
+
+    private CreateTransferDto createTransferDto;
+
+    private CreateWithdrawlDto createWithdrawlDto;
+
+    private TransactionService transactionService;
+
+    @Setup
+    public void setUp() {
+        BenchmarkContext context = BenchmarkContext.get();
+        transactionService = context.getBean(TransactionService.class);
+
+        List<Account> accounts = context.getAccounts();
+        Account source = accounts.get(0);
+        Account destination = accounts.get(accounts.size() - 1);
+
+        createDepositDto = new CreateDepositDto();
+        createDepositDto.setAccountId(source.getId());
+        createDepositDto.setCustomerId(source.getCustomer().getId());
+        createDepositDto.setAmount(AMOUNT);
+        createDepositDto.setDescription("Benchmark deposit");
+
+        createWithdrawlDto = new CreateWithdrawlDto();
+        createWithdrawlDto.setAccountId(source.getId());
+        createWithdrawlDto.setCustomerId(source.getCustomer().getId());
+        createWithdrawlDto.setAmount(AMOUNT);
+        createWithdrawlDto.setDescription("Benchmark withdrawl");
+
+        createTransferDto = new CreateTransferDto();
+        createTransferDto.setAccountId(source.getId());
+        createTransferDto.setCustomerId(source.getCustomer().getId());
+        createTransferDto.setDestinationAccountId(destination.getId());
+        createTransferDto.setAmount(AMOUNT);
+        createTransferDto.setDescription("Benchmark transfer");
+    }
+
+    @Benchmark
+    public Transaction deposit() {
+        return transactionService.process(createDepositDto);
+    }
+
+    @Benchmark
+    public List<Transaction> transfer() {
+        return transactionService.process(createTransferDto);
+    }
+
+    /**
+     * The seeded opening deposit covers every withdrawl of a run.
+     */
+    @Benchmark
+    public Transaction withdrawl() {
+        return transactionService.process(createWithdrawlDto);
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.example.bank.benchmark;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.bank.dto.CreateCustomerDto;
+import com.example.bank.validation.ValidSsnImpl;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+
+/**
+ * {@link ValidSsnImpl} on its own for a valid SSN, and through Bean Validation
+ * for an invalid one, which also builds the constraint violation message.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+public class ValidSsnBenchmarks {
+
+    private static final Long VALID_SSN = 123456789L;
+
+    private CreateCustomerDto invalidCreateCustomerDto;
+
+    private Validator validator;
+
+    private ValidatorFactory validatorFactory;
+
+    private final ValidSsnImpl validSsn = new ValidSsnImpl();
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+
+        invalidCreateCustomerDto = new CreateCustomerDto();
+        invalidCreateCustomerDto.setName("Invalid");
+        invalidCreateCustomerDto.setSsn(123006789L);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return validSsn.isValid(VALID_SSN, null);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreateCustomerDto>> validateInvalid() {
+        return validator.validate(invalidCreateCustomerDto);
+    }
+
+}
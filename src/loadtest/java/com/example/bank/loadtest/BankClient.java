@@ -0,0 +1,144 @@
+package com.example.bank.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Client for the REST API calls used by load runs. Requests are built here and
+ * either sent blocking, to seed and verify, or asynchronously by the load
+ * generators.
+ */
+public class BankClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    private final URI baseUri;
+
+    private final HttpClient client;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public BankClient(HttpClient client, URI baseUri) {
+        this.baseUri = baseUri;
+        this.client = client;
+    }
+
+    public HttpRequest createCustomerRequest(String name) {
+        return post("/api/customers?name=" + name + "&ssn=" + randomSsn());
+    }
+
+    public HttpRequest createAccountRequest(long customerId) {
+        return post("/api/customers/" + customerId + "/accounts?type=CHECKING");
+    }
+
+    public HttpRequest depositRequest(long customerId, long accountId, String amount) {
+        return post(accountPath(customerId, accountId) + "/transactions/deposits?amount=" + amount
+                + "&description=load");
+    }
+
+    public HttpRequest transferRequest(long customerId, long accountId, long destinationAccountId, String amount) {
+        return post(accountPath(customerId, accountId) + "/transactions/transfers/" + destinationAccountId
+                + "?amount=" + amount + "&description=load");
+    }
+
+    public HttpRequest withdrawlRequest(long customerId, long accountId, String amount) {
+        return post(accountPath(customerId, accountId) + "/transactions/withdrawls?amount=" + amount
+                + "&description=load");
+    }
+
+    public HttpRequest historyRequest(long customerId, long accountId) {
+        return get(accountPath(customerId, accountId) + "/transactions/history?size=20");
+    }
+
+    /**
+     * @return the ID of the new customer
+     */
+    public long createCustomer(String name) throws IOException, InterruptedException {
+        return send(createCustomerRequest(name)).get("id").asLong();
+    }
+
+    /**
+     * @return the ID of the new checking account
+     */
+    public long createAccount(long customerId) throws IOException, InterruptedException {
+        return send(createAccountRequest(customerId)).get("id").asLong();
+    }
+
+    /**
+     * @return the ID of the deposit transaction
+     */
+    public long deposit(long customerId, long accountId, String amount) throws IOException, InterruptedException {
+        return send(depositRequest(customerId, accountId, amount)).get("id").asLong();
+    }
+
+    /**
+     * @return the account resource
+     */
+    public JsonNode getAccount(long customerId, long accountId) throws IOException, InterruptedException {
+        return send(get(accountPath(customerId, accountId)));
+    }
+
+    /**
+     * @return the array of every transaction resource of the account
+     */
+    public JsonNode getTransactions(long customerId, long accountId) throws IOException, InterruptedException {
+        return send(get(accountPath(customerId, accountId) + "/transactions"));
+    }
+
+    /**
+     * @return the ledger consistency check, or null when the actuator endpoint
+     *         is not exposed
+     */
+    public JsonNode getLedger() throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(get("/actuator/ledger"), HttpResponse.BodyHandlers.ofString());
+        return response.statusCode() == 200 ? objectMapper.readTree(response.body()) : null;
+    }
+
+    public URI resolve(String path) {
+        return baseUri.resolve(path);
+    }
+
+    private JsonNode send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " returned "
+                    + response.statusCode() + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path) {
+        return HttpRequest.newBuilder(resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    private static String accountPath(long customerId, long accountId) {
+        return "/api/customers/" + customerId + "/accounts/" + accountId;
+    }
+
+    /**
+     * @return an SSN that passes the application's validation, area 100-599
+     */
+    private static long randomSsn() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return random.nextLong(100, 600) * 1_000_000L + random.nextLong(10, 100) * 10_000L + random.nextLong(1_000, 10_000);
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.example.bank.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Closed-loop benchmark of a running application: each simulated client sends
+ * its next request as soon as the previous one completes, alternating between
+ * the customer, account, and transaction history reads.
+ *
+ * Arguments are the base URL, a comma separated list of client counts, and the
+ * seconds to run each count. Prints one CSV line per client count so runs in
+ * the thread-pool and {@code virtual-threads} modes can be compared.
+ */
+public class ConcurrencyBenchmark {
+
+    private static final int SEED_DEPOSITS = 50;
+
+    public static void main(String[] args) throws Exception {
+        URI baseUri = URI.create(args.length > 0 ? args[0] : "http://localhost:8080");
+        int[] clientCounts = Arrays.stream((args.length > 1 ? args[1] : "1000,2500,5000,10000").split(","))
+                .mapToInt(count -> Integer.parseInt(count.trim()))
+                .toArray();
+        Duration duration = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 30);
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+
+        BankClient bank = new BankClient(client, baseUri);
+        long customerId = bank.createCustomer("Benchmark");
+        long accountId = bank.createAccount(customerId);
+        for (int i = 0; i < SEED_DEPOSITS; i++) {
+            bank.deposit(customerId, accountId, "100.00");
+        }
+
+        String accountPath = "/api/customers/" + customerId + "/accounts/" + accountId;
+        List<URI> uris = List.of(
+                bank.resolve("/api/customers/" + customerId),
+                bank.resolve(accountPath),
+                bank.resolve(accountPath + "/transactions/history?size=20"));
+
+        // Warm up the server before measuring
+        run(client, uris, 100, Duration.ofSeconds(10));
+
+        System.out.println("clients,requests,errors,throughput_per_s,p50_ms,p99_ms,max_ms");
+        for (int clients : clientCounts) {
+            LatencyRecorder recorder = run(client, uris, clients, duration);
+            System.out.printf("%d,%d,%d,%.1f,%.2f,%.2f,%.2f%n",
+                    clients,
+                    recorder.getCount(),
+                    recorder.getErrors(),
+                    recorder.getCount() / (double) duration.toSeconds(),
+                    recorder.getPercentileMillis(50),
+                    recorder.getPercentileMillis(99),
+                    recorder.getPercentileMillis(100));
+        }
+    }
+
+    static LatencyRecorder run(HttpClient client, List<URI> uris, int clients, Duration duration)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        LatencyRecorder recorder = new LatencyRecorder();
+        CountDownLatch done = new CountDownLatch(clients);
+
+        List<HttpRequest> requests = new ArrayList<>();
+        for (URI uri : uris) {
+            requests.add(HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build());
+        }
+
+        for (int i = 0; i < clients; i++) {
+            send(client, requests, i, deadline, recorder, done);
+        }
+        done.await();
+        return recorder;
+    }
+
+    private static void send(HttpClient client, List<HttpRequest> requests, int sequence, long deadline,
+            LatencyRecorder recorder, CountDownLatch done) {
+        if (System.nanoTime() >= deadline) {
+            done.countDown();
+            return;
+        }
+        long start = System.nanoTime();
+        client.sendAsync(requests.get(sequence % requests.size()), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    recorder.record(System.nanoTime() - start, error == null && response.statusCode() < 400);
+                    send(client, requests, sequence + 1, deadline, recorder, done);
+                });
+    }
+
+}
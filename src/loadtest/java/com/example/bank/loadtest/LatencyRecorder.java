@@ -0,0 +1,52 @@
+package com.example.bank.loadtest;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Request latencies of a run in an HdrHistogram, recorded in nanoseconds with
+ * three significant digits.
+ */
+public class LatencyRecorder {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final LongAdder errors = new LongAdder();
+
+    private final Histogram histogram = new ConcurrentHistogram(3);
+
+    public void record(long latencyNanos, boolean success) {
+        if (!success) {
+            errors.increment();
+        }
+        histogram.recordValue(Math.max(1, latencyNanos));
+    }
+
+    public long getCount() {
+        return histogram.getTotalCount();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return the latency at the given percentile in milliseconds
+     */
+    public double getPercentileMillis(double percentile) {
+        return histogram.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+    }
+
+    /**
+     * Write the percentile distribution in milliseconds, in the HdrHistogram
+     * format plotted by its online viewer.
+     */
+    public void writePercentileDistribution(PrintStream output) {
+        histogram.outputPercentileDistribution(output, NANOS_PER_MILLI);
+    }
+
+}
@@ -0,0 +1,331 @@
+package com.example.bank.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Open-loop load generator: requests are started at a fixed arrival rate
+ * whether or not earlier ones completed, and latency is measured from the
+ * intended start so a stalled server is not hidden by a slowed down client.
+ *
+ * Arguments are {@code name=value} pairs:
+ * <ul>
+ * <li>{@code baseUrl} of the running application, default
+ * http://localhost:8080</li>
+ * <li>{@code rate} requests per second, default 200</li>
+ * <li>{@code seconds} to run, default 60</li>
+ * <li>{@code accounts} to seed with an opening deposit, default 100</li>
+ * <li>{@code mix} relative weights per {@link LoadOperation}, default
+ * customer=2,deposit=25,withdrawl=20,transfer=40,history=13</li>
+ * <li>{@code maxInFlight} requests before new ones are dropped and counted as
+ * errors, default 10000</li>
+ * <li>{@code reportDir} for the HdrHistogram percentile distributions, default
+ * build/reports/loadtest</li>
+ * </ul>
+ *
+ * Once the run drains, money conservation, one current transaction per
+ * account, and non-negative balances are checked through the REST API and the
+ * ledger actuator endpoint. The process exits with status 1 when a check fails.
+ */
+public class LoadGenerator {
+
+    private static final BigDecimal OPENING_DEPOSIT = new BigDecimal("1000.00");
+
+    private final List<long[]> accounts = new ArrayList<>();
+
+    private final BankClient bank;
+
+    private final HttpClient client;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final Map<String, String> options;
+
+    private final Map<LoadOperation, LatencyRecorder> recorders = new EnumMap<>(LoadOperation.class);
+
+    private final Map<LoadOperation, LongAdder> rejections = new EnumMap<>(LoadOperation.class);
+
+    /**
+     * Cents deposited and withdrawn by requests with a known outcome, and by
+     * requests that failed without one (timeouts, server errors).
+     */
+    private final LongAdder depositedCents = new LongAdder();
+
+    private final LongAdder uncertainDepositedCents = new LongAdder();
+
+    private final LongAdder uncertainWithdrawnCents = new LongAdder();
+
+    private final LongAdder withdrawnCents = new LongAdder();
+
+    private LoadGenerator(Map<String, String> options) {
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        this.bank = new BankClient(client, URI.create(options.getOrDefault("baseUrl", "http://localhost:8080")));
+        for (LoadOperation operation : LoadOperation.values()) {
+            recorders.put(operation, new LatencyRecorder());
+            rejections.put(operation, new LongAdder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator > 0 && separator < arg.length() - 1) {
+                options.put(arg.substring(0, separator), arg.substring(separator + 1));
+            }
+        }
+
+        LoadGenerator generator = new LoadGenerator(options);
+        generator.seed();
+        generator.run();
+        generator.report();
+        if (!generator.verify()) {
+            System.exit(1);
+        }
+    }
+
+    private void seed() throws IOException, InterruptedException {
+        int accountCount = Integer.parseInt(options.getOrDefault("accounts", "100"));
+        if (accountCount < 2) {
+            throw new IllegalArgumentException("Transfers need at least 2 accounts");
+        }
+        for (int i = 0; i < accountCount; i++) {
+            long customerId = bank.createCustomer("Load" + i);
+            long accountId = bank.createAccount(customerId);
+            bank.deposit(customerId, accountId, OPENING_DEPOSIT.toPlainString());
+            depositedCents.add(OPENING_DEPOSIT.movePointRight(2).longValueExact());
+            accounts.add(new long[] { customerId, accountId });
+        }
+        System.out.printf("Seeded %d account(s) with %s each%n", accountCount, OPENING_DEPOSIT);
+    }
+
+    private void run() throws InterruptedException {
+        double rate = Double.parseDouble(options.getOrDefault("rate", "200"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("seconds", "60")));
+        int maxInFlight = Integer.parseInt(options.getOrDefault("maxInFlight", "10000"));
+        LoadOperation[] schedule = parseMix(
+                options.getOrDefault("mix", "customer=2,deposit=25,withdrawl=20,transfer=40,history=13"));
+
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        System.out.printf("Running %.0f request(s) per second for %d second(s)%n", rate, duration.toSeconds());
+
+        for (long i = 0;; i++) {
+            long intendedStart = start + i * intervalNanos;
+            if (intendedStart >= end) {
+                break;
+            }
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            LoadOperation operation = schedule[ThreadLocalRandom.current().nextInt(schedule.length)];
+            if (inFlight.get() >= maxInFlight) {
+                recorders.get(operation).record(System.nanoTime() - intendedStart, false);
+                continue;
+            }
+            send(operation, intendedStart);
+        }
+
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(90);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(100);
+        }
+    }
+
+    private void send(LoadOperation operation, long intendedStart) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int index = random.nextInt(accounts.size());
+        long[] account = accounts.get(index);
+        long cents = random.nextLong(100, 10_000);
+        String amount = BigDecimal.valueOf(cents, 2).toPlainString();
+
+        HttpRequest request;
+        switch (operation) {
+            case CUSTOMER:
+                request = bank.createCustomerRequest("Load");
+                break;
+            case DEPOSIT:
+                request = bank.depositRequest(account[0], account[1], amount);
+                break;
+            case WITHDRAWL:
+                request = bank.withdrawlRequest(account[0], account[1], amount);
+                break;
+            case TRANSFER:
+                // Any other seeded account
+                long[] destination = accounts.get((index + 1 + random.nextInt(accounts.size() - 1)) % accounts.size());
+                request = bank.transferRequest(account[0], account[1], destination[1], amount);
+                break;
+            default:
+                request = bank.historyRequest(account[0], account[1]);
+                break;
+        }
+
+        inFlight.incrementAndGet();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    long latency = System.nanoTime() - intendedStart;
+                    int status = error == null ? response.statusCode() : 0;
+                    boolean known = status > 0 && status < 500;
+                    recorders.get(operation).record(latency, known);
+                    if (status >= 400 && status < 500) {
+                        rejections.get(operation).increment();
+                    }
+                    recordMoney(operation, status, cents);
+                    inFlight.decrementAndGet();
+                });
+    }
+
+    private void recordMoney(LoadOperation operation, int status, long cents) {
+        boolean uncertain = status == 0 || status >= 500;
+        if (status >= 300 && !uncertain) {
+            return;
+        }
+        if (operation == LoadOperation.DEPOSIT) {
+            (uncertain ? uncertainDepositedCents : depositedCents).add(cents);
+        } else if (operation == LoadOperation.WITHDRAWL) {
+            (uncertain ? uncertainWithdrawnCents : withdrawnCents).add(cents);
+        }
+    }
+
+    private void report() throws IOException {
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("seconds", "60")));
+        Path reportDir = Path.of(options.getOrDefault("reportDir", "build/reports/loadtest"));
+        Files.createDirectories(reportDir);
+
+        System.out.println("operation,requests,errors,rejected,throughput_per_s,p50_ms,p90_ms,p99_ms,p999_ms,max_ms");
+        for (LoadOperation operation : LoadOperation.values()) {
+            LatencyRecorder recorder = recorders.get(operation);
+            if (recorder.getCount() == 0) {
+                continue;
+            }
+            System.out.printf("%s,%d,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f,%.2f%n",
+                    operation,
+                    recorder.getCount(),
+                    recorder.getErrors(),
+                    rejections.get(operation).sum(),
+                    recorder.getCount() / (double) duration.toSeconds(),
+                    recorder.getPercentileMillis(50),
+                    recorder.getPercentileMillis(90),
+                    recorder.getPercentileMillis(99),
+                    recorder.getPercentileMillis(99.9),
+                    recorder.getPercentileMillis(100));
+
+            try (PrintStream output = new PrintStream(
+                    Files.newOutputStream(reportDir.resolve(operation.name().toLowerCase() + ".hgrm")))) {
+                recorder.writePercentileDistribution(output);
+            }
+        }
+        System.out.println("Percentile distributions written to " + reportDir.toAbsolutePath());
+    }
+
+    /**
+     * @return true when every invariant holds for the seeded accounts
+     */
+    private boolean verify() throws IOException, InterruptedException {
+        boolean valid = true;
+        if (inFlight.get() > 0) {
+            System.out.printf("FAIL %d request(s) still in flight, checks may be off%n", inFlight.get());
+            valid = false;
+        }
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (long[] account : accounts) {
+            BigDecimal balance = bank.getAccount(account[0], account[1]).get("balance").decimalValue();
+            total = total.add(balance);
+            if (balance.signum() < 0) {
+                System.out.printf("FAIL account %d has negative balance %s%n", account[1], balance);
+                valid = false;
+            }
+
+            int current = 0;
+            for (JsonNode transaction : bank.getTransactions(account[0], account[1])) {
+                BigDecimal currentBalance = transaction.get("currentBalance").decimalValue();
+                if (currentBalance.signum() < 0) {
+                    System.out.printf("FAIL transaction %d of account %d has negative balance %s%n",
+                            transaction.get("id").asLong(), account[1], currentBalance);
+                    valid = false;
+                }
+                if (transaction.get("isCurrent").asBoolean()) {
+                    current++;
+                    if (currentBalance.compareTo(balance) != 0) {
+                        System.out.printf("FAIL account %d balance %s differs from current transaction %s%n",
+                                account[1], balance, currentBalance);
+                        valid = false;
+                    }
+                }
+            }
+            if (current != 1) {
+                System.out.printf("FAIL account %d has %d current transaction(s)%n", account[1], current);
+                valid = false;
+            }
+        }
+
+        BigDecimal expected = BigDecimal.valueOf(depositedCents.sum() - withdrawnCents.sum(), 2);
+        BigDecimal lowest = expected.subtract(BigDecimal.valueOf(uncertainWithdrawnCents.sum(), 2));
+        BigDecimal highest = expected.add(BigDecimal.valueOf(uncertainDepositedCents.sum(), 2));
+        if (total.compareTo(lowest) < 0 || total.compareTo(highest) > 0) {
+            System.out.printf("FAIL money not conserved, total balance %s expected %s (between %s and %s)%n",
+                    total, expected, lowest, highest);
+            valid = false;
+        } else {
+            System.out.printf("Money conserved, total balance %s expected %s%n", total, expected);
+        }
+
+        JsonNode ledger = bank.getLedger();
+        if (ledger == null) {
+            System.out.println("Ledger endpoint not exposed, skipped ledger check");
+        } else if (!ledger.get("consistent").asBoolean()) {
+            System.out.println("FAIL ledger discrepancies " + ledger.get("discrepancies"));
+            valid = false;
+        }
+
+        System.out.println(valid ? "All invariants hold" : "Invariant check FAILED");
+        return valid;
+    }
+
+    /**
+     * @param mix i.e. deposit=3,transfer=1
+     * @return the operations repeated by weight, picked from at random
+     */
+    private static LoadOperation[] parseMix(String mix) {
+        List<LoadOperation> schedule = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] weight = entry.trim().split("=");
+            LoadOperation operation = LoadOperation.valueOf(weight[0].trim().toUpperCase());
+            for (int i = 0; i < Integer.parseInt(weight[1].trim()); i++) {
+                schedule.add(operation);
+            }
+        }
+        if (schedule.isEmpty()) {
+            throw new IllegalArgumentException("Empty operation mix: " + mix);
+        }
+        return schedule.toArray(new LoadOperation[0]);
+    }
+
+}
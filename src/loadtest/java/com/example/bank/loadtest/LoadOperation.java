@@ -0,0 +1,12 @@
+package com.example.bank.loadtest;
+
+/**
+ * Request types driven by {@link LoadGenerator}, in the order they are reported.
+ */
+public enum LoadOperation {
+    CUSTOMER,
+    DEPOSIT,
+    WITHDRAWL,
+    TRANSFER,
+    HISTORY
+}
@@ -0,0 +1,87 @@
+package com.example.bank.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Side-by-side {@link ConcurrencyBenchmark} of the MVC application and the
+ * reactive module, each running on its own port: at every client count the
+ * same closed loop is run against one stack, then the other.
+ *
+ * Clients alternate between the customer, account, and transaction list
+ * reads, the routes both stacks serve. Every in-flight request holds its own
+ * connection, so the client counts are the open connections each stack keeps.
+ *
+ * Arguments are the MVC base URL, the reactive base URL, a comma separated
+ * list of client counts, and the seconds to run each count. Prints one CSV
+ * line per stack and client count.
+ */
+public class StackComparison {
+
+    private static final int SEED_DEPOSITS = 50;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, URI> stacks = new LinkedHashMap<>();
+        stacks.put("mvc", URI.create(args.length > 0 ? args[0] : "http://localhost:8080"));
+        stacks.put("reactive", URI.create(args.length > 1 ? args[1] : "http://localhost:8081"));
+        int[] clientCounts = Arrays.stream((args.length > 2 ? args[2] : "1000,2500,5000,10000").split(","))
+                .mapToInt(count -> Integer.parseInt(count.trim()))
+                .toArray();
+        Duration duration = Duration.ofSeconds(args.length > 3 ? Long.parseLong(args[3]) : 30);
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+
+        Map<String, List<URI>> uris = new LinkedHashMap<>();
+        for (Map.Entry<String, URI> stack : stacks.entrySet()) {
+            uris.put(stack.getKey(), seed(new BankClient(client, stack.getValue())));
+        }
+
+        // Warm up both servers before measuring
+        for (List<URI> stackUris : uris.values()) {
+            ConcurrencyBenchmark.run(client, stackUris, 100, Duration.ofSeconds(10));
+        }
+
+        System.out.println("stack,clients,requests,errors,throughput_per_s,p50_ms,p99_ms,max_ms");
+        for (int clients : clientCounts) {
+            for (Map.Entry<String, List<URI>> stack : uris.entrySet()) {
+                LatencyRecorder recorder = ConcurrencyBenchmark.run(client, stack.getValue(), clients, duration);
+                System.out.printf("%s,%d,%d,%d,%.1f,%.2f,%.2f,%.2f%n",
+                        stack.getKey(),
+                        clients,
+                        recorder.getCount(),
+                        recorder.getErrors(),
+                        recorder.getCount() / (double) duration.toSeconds(),
+                        recorder.getPercentileMillis(50),
+                        recorder.getPercentileMillis(99),
+                        recorder.getPercentileMillis(100));
+            }
+        }
+    }
+
+    /**
+     * Create a customer and an account with transactions on one stack.
+     *
+     * @return the URIs the clients read
+     */
+    private static List<URI> seed(BankClient bank) throws Exception {
+        long customerId = bank.createCustomer("Benchmark");
+        long accountId = bank.createAccount(customerId);
+        for (int i = 0; i < SEED_DEPOSITS; i++) {
+            bank.deposit(customerId, accountId, "100.00");
+        }
+
+        String accountPath = "/api/customers/" + customerId + "/accounts/" + accountId;
+        return List.of(
+                bank.resolve("/api/customers/" + customerId),
+                bank.resolve(accountPath),
+                bank.resolve(accountPath + "/transactions"));
+    }
+
+}
@@ -3,8 +3,10 @@ package com.example.bank;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @EnableAspectJAutoProxy
+@EnableScheduling
 @SpringBootApplication
 public class BankApplication {
 
@@ -6,6 +6,8 @@ import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
 import org.springframework.stereotype.Component;
 
+import com.example.bank.exception.BusinessRejectionException;
+
 import lombok.extern.slf4j.Slf4j;
 
 @Aspect
@@ -23,11 +25,21 @@ public class LoggingAop {
     /**
      * Handle all Spring {@link Service} exception logging via AOP.
      * 
+     * A {@link BusinessRejectionException} is an expected outcome, it is logged
+     * at debug level without the arguments.
+     * 
      * @param joinPoint
      * @param exception
      */
     @AfterThrowing(pointcut = "springServices()", throwing = "exception")
     public void logAfterThrowingSpringServices(JoinPoint joinPoint, Throwable exception) {
+        if (exception instanceof BusinessRejectionException) {
+            if (log.isDebugEnabled()) {
+                log.debug("{}.{} rejected = {}", joinPoint.getSignature().getDeclaringTypeName(),
+                        joinPoint.getSignature().getName(), exception.getClass().getSimpleName());
+            }
+            return;
+        }
         log.error("{}.{}({}) exception = {} message = {}", joinPoint.getSignature().getDeclaringTypeName(),
                 joinPoint.getSignature().getName(), joinPoint.getArgs(), exception.getClass(),
                 exception.getMessage() != null ? exception.getMessage() : "");
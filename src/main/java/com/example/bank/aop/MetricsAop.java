@@ -0,0 +1,121 @@
+package com.example.bank.aop;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.example.bank.service.TransactionResult;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Time every Spring {@link Service} method call in the {@value #SERVICE_METER}
+ * meter, with a percentile histogram, tagged by class, method, outcome, and
+ * exception.
+ * 
+ * The outcome is {@code success}, {@code rejected} for the application
+ * exceptions of the {@code exception} package, thrown or returned in a
+ * {@link TransactionResult}, or {@code error}. Timers are
+ * registered once per method and exception class, a call only looks them up.
+ * 
+ * Ordered ahead of the retry and transaction advice so the time includes
+ * retries and the commit.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class MetricsAop {
+
+    public static final String SERVICE_METER = "bank.service";
+
+    private static final String REJECTED_EXCEPTION_PACKAGE = "com.example.bank.exception";
+
+    private final Map<Method, MethodTimers> timers = new ConcurrentHashMap<>();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * @param joinPoint
+     * @return the result of the service method
+     * @throws Throwable
+     */
+    @Around("com.example.bank.aop.LoggingAop.springServices()")
+    public Object timeSpringServices(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            MethodTimers methodTimers = getTimers(joinPoint);
+            Timer timer = result instanceof TransactionResult<?> transactionResult && transactionResult.isRejected()
+                    ? methodTimers.getFailure(transactionResult.getRejection())
+                    : methodTimers.success;
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable exception) {
+            getTimers(joinPoint).getFailure(exception).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw exception;
+        }
+    }
+
+    private MethodTimers getTimers(ProceedingJoinPoint joinPoint) {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        return timers.computeIfAbsent(signature.getMethod(),
+                method -> new MethodTimers(signature.getDeclaringType().getSimpleName(), method.getName()));
+    }
+
+    /**
+     * Timers of one service method.
+     */
+    private class MethodTimers {
+
+        private final String type;
+
+        private final String method;
+
+        private final Timer success;
+
+        private final Map<Class<?>, Timer> failures = new ConcurrentHashMap<>();
+
+        MethodTimers(String type, String method) {
+            this.type = type;
+            this.method = method;
+            this.success = register("success", "none");
+        }
+
+        Timer getFailure(Throwable exception) {
+            return failures.computeIfAbsent(exception.getClass(),
+                    exceptionClass -> register(
+                            exceptionClass.getName().startsWith(REJECTED_EXCEPTION_PACKAGE + ".") ? "rejected"
+                                    : "error",
+                            exceptionClass.getSimpleName()));
+        }
+
+        private Timer register(String outcome, String exception) {
+            return Timer.builder(SERVICE_METER)
+                    .description("Spring service method calls")
+                    .tag("class", type)
+                    .tag("method", method)
+                    .tag("outcome", outcome)
+                    .tag("exception", exception)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.of(10, ChronoUnit.MICROS))
+                    .maximumExpectedValue(Duration.ofSeconds(10))
+                    .register(meterRegistry);
+        }
+
+    }
+
+}
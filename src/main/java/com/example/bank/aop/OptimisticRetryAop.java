@@ -0,0 +1,49 @@
+package com.example.bank.aop;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.example.bank.retry.OptimisticRetryExecutor;
+import com.example.bank.service.TransactionService;
+
+/**
+ * Retry {@link TransactionService} writes on optimistic version conflicts.
+ * 
+ * Ordered ahead of the transaction advice so every attempt runs in a new
+ * database transaction, and after {@link MetricsAop} so a retried call is
+ * timed once.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class OptimisticRetryAop {
+
+    @Autowired
+    private OptimisticRetryExecutor retryExecutor;
+
+    /**
+     * {@link Pointcut} for the {@link TransactionService} process and tryProcess
+     * methods
+     */
+    @Pointcut("execution(* com.example.bank.service.TransactionService.process*(..))"
+            + " || execution(* com.example.bank.service.TransactionService.tryProcess(..))")
+    public void transactionServiceWrites() {
+    }
+
+    /**
+     * @param joinPoint
+     * @return the result of the first attempt without a version conflict
+     * @throws Throwable
+     */
+    @Around("transactionServiceWrites()")
+    public Object retryTransactionServiceWrites(ProceedingJoinPoint joinPoint) throws Throwable {
+        return retryExecutor.execute(joinPoint.getSignature().getName(), joinPoint::proceed);
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.example.bank.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.example.bank.replica.ReplicaLag;
+import com.example.bank.replica.ReplicaRoutingDataSource;
+import com.example.bank.service.ReadOnlyTransactional;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Setup a primary and a read replica connection pool when the
+ * {@code read-replica} profile is active, routing {@link ReadOnlyTransactional}
+ * service methods to the replica while it is within
+ * {@code bank.read-replica.max-lag-millis} of the primary.
+ *
+ * The primary uses the {@code spring.datasource} settings, the replica the
+ * same settings with {@code bank.read-replica.datasource.url}.
+ */
+@Configuration
+@Profile("read-replica")
+public class ReadReplicaConfig {
+
+    @Bean
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+            @Value("${bank.read-replica.datasource.url}") String url) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).url(url)
+                .build();
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource, ReplicaLag replicaLag, @Value("${bank.read-replica.max-lag-millis}") long maxLagMillis) {
+        Map<Object, Object> targetDataSources = new HashMap<>();
+        targetDataSources.put(ReplicaRoutingDataSource.Target.PRIMARY, primaryDataSource);
+        targetDataSources.put(ReplicaRoutingDataSource.Target.REPLICA, replicaDataSource);
+
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(replicaLag, maxLagMillis);
+        routingDataSource.setTargetDataSources(targetDataSources);
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+
+        // Defer the routing to the first statement, after the transaction is marked
+        // read-only
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+}
@@ -1,5 +1,9 @@
 package com.example.bank.domain;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -10,6 +14,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -25,6 +30,8 @@ import java.util.Set;
  */
 @AllArgsConstructor
 @Builder
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Cacheable
 @Data
 @Entity
 @NoArgsConstructor
@@ -50,6 +57,13 @@ public class Account {
     @Enumerated(EnumType.STRING)
     private AccountType type;
 
+    /**
+     * Version of the account row, balance changes are versioned on its
+     * {@link AccountBalance}.
+     */
+    @Version
+    private Long version;
+
     @ManyToOne(optional = false)
     private Customer customer;
 
@@ -0,0 +1,42 @@
+package com.example.bank.domain;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Version;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Domain object for the materialized balance of an {@link Account}.
+ *
+ * {@link Transaction} objects remain the immutable journal, this projection
+ * holds one row per account so a debit and its insufficient funds check can
+ * run as one conditional update.
+ */
+@AllArgsConstructor
+@Builder
+@Data
+@Entity
+@NoArgsConstructor
+public class AccountBalance {
+
+    @Id
+    private Long accountId;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private BigDecimal balance = BigDecimal.ZERO;
+
+    /**
+     * Incremented on every balance change, which checks it against the version
+     * the balance was read with.
+     */
+    @Version
+    private Long version;
+
+}
@@ -0,0 +1,56 @@
+package com.example.bank.domain;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Domain object for one sub-balance slot of a hot {@link Account}, whose
+ * balance is its {@link AccountBalance} plus every slot.
+ *
+ * Credits go to a random slot so concurrent credits update different rows,
+ * the slots are consolidated into the {@link AccountBalance} periodically.
+ */
+@AllArgsConstructor
+@Builder
+@Data
+@Entity
+@IdClass(AccountBalanceSlot.Key.class)
+@NoArgsConstructor
+public class AccountBalanceSlot {
+
+    @Id
+    private Long accountId;
+
+    @Id
+    private Integer slot;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private BigDecimal balance = BigDecimal.ZERO;
+
+    /**
+     * Identifier of an {@link AccountBalanceSlot}.
+     */
+    @AllArgsConstructor
+    @Data
+    @NoArgsConstructor
+    public static class Key implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Long accountId;
+
+        private Integer slot;
+
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.example.bank.domain;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Read model row of an {@link Account}, denormalized so account listings read
+ * one table without joins to {@link Customer} or {@link AccountBalance}.
+ *
+ * Written by the read model projector only, behind the write model.
+ */
+@AllArgsConstructor
+@Builder
+@Data
+@Entity
+@NoArgsConstructor
+@Table(indexes = @Index(name = "idx_account_summary_customer", columnList = "customerId, accountId"))
+public class AccountSummary {
+
+    @Id
+    private Long accountId;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private BigDecimal balance = BigDecimal.ZERO;
+
+    @Column(nullable = false)
+    private Long customerId;
+
+    @Column(nullable = false)
+    private LocalDateTime dateCreated;
+
+    @Column(nullable = false)
+    private LocalDateTime dateUpdated;
+
+    /**
+     * The latest {@link Transaction} ID applied, zero before the first.
+     */
+    @Builder.Default
+    @Column(nullable = false)
+    private Long lastTransactionId = 0L;
+
+    @Column(length = 8, nullable = false)
+    @Enumerated(EnumType.STRING)
+    private AccountType type;
+
+}
@@ -0,0 +1,58 @@
+package com.example.bank.domain;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Domain object for the outcome of a request sent with an idempotency key.
+ */
+@AllArgsConstructor
+@Builder
+@Data
+@Entity
+@NoArgsConstructor
+@Table(indexes = @Index(name = "idx_idempotency_record_date", columnList = "dateCreated"))
+public class IdempotencyRecord {
+
+    /**
+     * SQL column length, public for the service layer to validate keys.
+     */
+    public static final int KEY_LENGTH = 64;
+
+    /**
+     * Hours a key is kept, public for every store of keys.
+     */
+    public static final long TTL_HOURS = 24;
+
+    private static final int FINGERPRINT_LENGTH = 255;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private LocalDateTime dateCreated = LocalDateTime.now();
+
+    /**
+     * The request the key was first used for, a reused key must match it.
+     */
+    @Column(length = FINGERPRINT_LENGTH, nullable = false)
+    private String fingerprint;
+
+    @Id
+    @Column(length = KEY_LENGTH)
+    private String idempotencyKey;
+
+    /**
+     * Comma separated {@link Transaction} IDs created by the request, null
+     * until it commits.
+     */
+    private String transactionIds;
+
+}
@@ -8,8 +8,12 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -23,6 +27,11 @@ import lombok.NoArgsConstructor;
 @Data
 @Entity
 @NoArgsConstructor
+@Table(indexes = {
+        @Index(name = "idx_transaction_account_current", columnList = "account_id, isCurrent"),
+        @Index(name = "idx_transaction_account_date", columnList = "account_id, dateCreated desc, id desc"),
+        @Index(name = "idx_transaction_account_transfer_type_date", columnList = "account_id, transferType, dateCreated desc, id desc"),
+        @Index(name = "idx_transaction_account_type_date", columnList = "account_id, type, dateCreated desc, id desc") })
 public class Transaction {
 
     /**
@@ -30,6 +39,12 @@ public class Transaction {
      */
     public static final int DESCRIPTION_LENGTH = 32;
 
+    /**
+     * Identifiers handed out per sequence call, so inserts can be JDBC batched
+     * without a round-trip per row.
+     */
+    private static final int ID_ALLOCATION_SIZE = 50;
+
     @ManyToOne(optional = false)
     private Account account;
 
@@ -51,12 +66,22 @@ public class Transaction {
     private String description;
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq")
+    @SequenceGenerator(name = "transaction_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
     private Boolean isCurrent;
 
+    /**
+     * True if the current balance was computed without the account lock, i.e.
+     * for a hot account, and may be off until a consolidation flags the
+     * transaction as current.
+     */
+    @Builder.Default
+    @Column(nullable = false)
+    private Boolean isProvisional = false;
+
     @Column(length = 11, nullable = true)
     @Enumerated(EnumType.STRING)
     private TransactionTransferType transferType;
@@ -0,0 +1,72 @@
+package com.example.bank.domain;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Read model row of a {@link Transaction}, flattened to the account and
+ * customer IDs so history reads need no joins.
+ *
+ * The ID is the {@link Transaction} ID. Whether the transaction is current is
+ * told by the {@link AccountSummary} at read time, rows are never updated.
+ */
+@AllArgsConstructor
+@Builder
+@Data
+@Entity
+@NoArgsConstructor
+@Table(indexes = @Index(name = "idx_transaction_summary_account", columnList = "accountId, id"))
+public class TransactionSummary {
+
+    @Column(nullable = false)
+    private Long accountId;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    @Column(nullable = false)
+    private BigDecimal currentBalance;
+
+    @Column(nullable = false)
+    private Long customerId;
+
+    @Column(nullable = false)
+    private LocalDateTime dateCreated;
+
+    @Column(length = Transaction.DESCRIPTION_LENGTH, nullable = false)
+    private String description;
+
+    @Id
+    private Long id;
+
+    /**
+     * As projected, a consolidation of a hot account reaches the read model on
+     * the next rebuild.
+     * 
+     * @see Transaction#getIsProvisional()
+     */
+    @Builder.Default
+    @Column(nullable = false)
+    private Boolean isProvisional = false;
+
+    @Column(length = 11, nullable = true)
+    @Enumerated(EnumType.STRING)
+    private TransactionTransferType transferType;
+
+    @Column(length = 9, nullable = false)
+    @Enumerated(EnumType.STRING)
+    private TransactionType type;
+
+}
@@ -0,0 +1,32 @@
+package com.example.bank.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * DTO object for the outcome of one {@link CreateTransferDto} in a batch of
+ * transfers.
+ */
+@Builder
+@Data
+public class BatchTransferResultDto {
+
+    /**
+     * Position of the transfer in the submitted batch.
+     */
+    private int index;
+
+    private boolean success;
+
+    private Long sourceTransactionId;
+
+    private Long destinationTransactionId;
+
+    /**
+     * Simple class name of the domain exception that rejected the transfer.
+     */
+    private String error;
+
+    private String message;
+
+}
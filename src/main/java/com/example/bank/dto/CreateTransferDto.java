@@ -16,7 +16,9 @@ import lombok.EqualsAndHashCode;
 @EqualsAndHashCode(callSuper = true)
 public class CreateTransferDto extends AbstractCreateTransactionDto {
 
-    @JsonIgnore
+    /**
+     * Bound from the request path, or from the JSON body for batch transfers.
+     */
     @Min(value = 1L, message = "Invalid transfer destination account ID")
     @NotNull(message = "Transfer destination account ID required")
     private Long destinationAccountId;
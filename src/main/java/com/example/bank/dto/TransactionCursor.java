@@ -0,0 +1,61 @@
+package com.example.bank.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import com.example.bank.domain.Transaction;
+import com.example.bank.exception.InvalidTransactionCursorException;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Keyset position in a {@link Transaction} history, ordered by
+ * {@link Transaction#getDateCreated()} then {@link Transaction#getId()}.
+ * 
+ * Clients treat the encoded cursor as an opaque string.
+ */
+@AllArgsConstructor
+@Data
+public class TransactionCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private LocalDateTime dateCreated;
+
+    private Long id;
+
+    /**
+     * @param transaction
+     * @return the cursor positioned at the given {@link Transaction}
+     */
+    public static TransactionCursor of(Transaction transaction) {
+        return new TransactionCursor(transaction.getDateCreated(), transaction.getId());
+    }
+
+    /**
+     * @param cursor an encoded cursor
+     * @return the decoded {@link TransactionCursor}
+     * @throws InvalidTransactionCursorException if the cursor cannot be decoded
+     */
+    public static TransactionCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(SEPARATOR);
+            return new TransactionCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.valueOf(value.substring(separator + 1)));
+        } catch (RuntimeException exception) {
+            throw new InvalidTransactionCursorException();
+        }
+    }
+
+    /**
+     * @return the URL safe encoded cursor
+     */
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((dateCreated.toString() + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+}
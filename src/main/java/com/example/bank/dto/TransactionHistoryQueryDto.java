@@ -0,0 +1,78 @@
+package com.example.bank.dto;
+
+import java.time.LocalDateTime;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import com.example.bank.domain.Transaction;
+import com.example.bank.domain.TransactionTransferType;
+import com.example.bank.domain.TransactionType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+/**
+ * DTO object for querying one page of an account transaction history, newest
+ * first.
+ * 
+ * @see TransactionCursor for the after and before cursors
+ */
+@Data
+public class TransactionHistoryQueryDto {
+
+    public static final int DEFAULT_SIZE = 20;
+
+    public static final int MAX_SIZE = 100;
+
+    @JsonIgnore
+    @Min(value = 1L, message = "Invalid account ID")
+    @NotNull(message = "Account ID required")
+    private Long accountId;
+
+    @JsonIgnore
+    @Min(value = 1L, message = "Invalid customer ID")
+    @NotNull(message = "Customer ID required")
+    private Long customerId;
+
+    /**
+     * Cursor of the last transaction seen, to get the next, older, page.
+     */
+    private String after;
+
+    /**
+     * Cursor of the first transaction seen, to get the previous, newer, page.
+     */
+    private String before;
+
+    @Min(value = 1L, message = "Page size must be at least 1")
+    @Max(value = MAX_SIZE, message = "Page size must be at most " + MAX_SIZE)
+    @NotNull(message = "Page size required")
+    private Integer size = DEFAULT_SIZE;
+
+    /**
+     * Inclusive lower bound of {@link Transaction#getDateCreated()}.
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    /**
+     * Exclusive upper bound of {@link Transaction#getDateCreated()}.
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+
+    private TransactionType type;
+
+    private TransactionTransferType transferType;
+
+    @AssertTrue(message = "Only one of after or before cursor allowed")
+    @JsonIgnore
+    public boolean isSingleCursor() {
+        return after == null || before == null;
+    }
+
+}
@@ -1,6 +1,6 @@
 package com.example.bank.exception;
 
-public class AccountDoesNotBelongToCustomerException extends RuntimeException {
+public class AccountDoesNotBelongToCustomerException extends BusinessRejectionException {
 
     public AccountDoesNotBelongToCustomerException() {
         super("Account does not belong to customer");
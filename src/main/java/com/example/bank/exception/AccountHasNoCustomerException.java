@@ -1,6 +1,6 @@
 package com.example.bank.exception;
 
-public class AccountHasNoCustomerException extends RuntimeException {
+public class AccountHasNoCustomerException extends BusinessRejectionException {
 
     public AccountHasNoCustomerException() {
         super("Account has no customer");
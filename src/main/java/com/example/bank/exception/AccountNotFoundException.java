@@ -1,6 +1,6 @@
 package com.example.bank.exception;
 
-public class AccountNotFoundException extends RuntimeException {
+public class AccountNotFoundException extends BusinessRejectionException {
 
     public AccountNotFoundException() {
         super("Account(s) not found");
@@ -0,0 +1,17 @@
+package com.example.bank.exception;
+
+/**
+ * Base class of the exceptions rejecting a request for a business reason, such
+ * as insufficient funds or an unknown account, as opposed to a failure.
+ * 
+ * Rejections are everyday events, so they do not capture a stack trace or
+ * record suppressed exceptions. An instance holds nothing but its message and
+ * can be preallocated and thrown repeatedly.
+ */
+public abstract class BusinessRejectionException extends RuntimeException {
+
+    protected BusinessRejectionException(String message) {
+        super(message, null, false, false);
+    }
+
+}
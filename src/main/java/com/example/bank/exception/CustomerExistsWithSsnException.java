@@ -1,6 +1,6 @@
 package com.example.bank.exception;
 
-public class CustomerExistsWithSsnException extends RuntimeException {
+public class CustomerExistsWithSsnException extends BusinessRejectionException {
 
     public CustomerExistsWithSsnException() {
         super("Customer exists with SSN");
@@ -1,6 +1,6 @@
 package com.example.bank.exception;
 
-public class CustomerNotFoundException extends RuntimeException {
+public class CustomerNotFoundException extends BusinessRejectionException {
 
     public CustomerNotFoundException() {
         super("Customer(s) not found");
@@ -1,6 +1,6 @@
 package com.example.bank.exception;
 
-public class DepositMustBeGreaterThanZeroException extends RuntimeException {
+public class DepositMustBeGreaterThanZeroException extends BusinessRejectionException {
 
     public DepositMustBeGreaterThanZeroException() {
         super("Deposit must be greater than zero");
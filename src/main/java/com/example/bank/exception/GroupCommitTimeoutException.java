@@ -0,0 +1,9 @@
+package com.example.bank.exception;
+
+public class GroupCommitTimeoutException extends RuntimeException {
+
+    public GroupCommitTimeoutException() {
+        super("Request still queued for group commit, it may yet be applied");
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.example.bank.exception;
+
+public class IdempotencyKeyInProgressException extends RuntimeException {
+
+    public IdempotencyKeyInProgressException() {
+        super("Request with idempotency key still in progress");
+    }
+
+}
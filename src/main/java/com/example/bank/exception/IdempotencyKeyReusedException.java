@@ -0,0 +1,9 @@
+package com.example.bank.exception;
+
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    public IdempotencyKeyReusedException() {
+        super("Idempotency key reused for a different request");
+    }
+
+}
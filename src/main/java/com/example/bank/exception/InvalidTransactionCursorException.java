@@ -0,0 +1,9 @@
+package com.example.bank.exception;
+
+public class InvalidTransactionCursorException extends BusinessRejectionException {
+
+    public InvalidTransactionCursorException() {
+        super("Invalid transaction cursor");
+    }
+
+}
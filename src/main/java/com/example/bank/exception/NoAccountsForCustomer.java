@@ -1,6 +1,6 @@
 package com.example.bank.exception;
 
-public class NoAccountsForCustomer extends RuntimeException {
+public class NoAccountsForCustomer extends BusinessRejectionException {
 
     public NoAccountsForCustomer() {
         super("No accounts for customer");
@@ -1,6 +1,6 @@
 package com.example.bank.exception;
 
-public class TransactionDoesNotBelongToAccountException extends RuntimeException {
+public class TransactionDoesNotBelongToAccountException extends BusinessRejectionException {
 
     public TransactionDoesNotBelongToAccountException() {
         super("Transaction does not belong to account");
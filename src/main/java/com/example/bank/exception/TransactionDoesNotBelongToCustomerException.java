@@ -1,6 +1,6 @@
 package com.example.bank.exception;
 
-public class TransactionDoesNotBelongToCustomerException extends RuntimeException {
+public class TransactionDoesNotBelongToCustomerException extends BusinessRejectionException {
 
     public TransactionDoesNotBelongToCustomerException() {
         super("Transaction does not belong to customer");
@@ -1,6 +1,6 @@
 package com.example.bank.exception;
 
-public class TransactionHasInsufficientFundsException extends RuntimeException {
+public class TransactionHasInsufficientFundsException extends BusinessRejectionException {
 
     public TransactionHasInsufficientFundsException() {
         super("Transaction has insufficient funds");
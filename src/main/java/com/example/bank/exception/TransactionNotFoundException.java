@@ -1,6 +1,6 @@
 package com.example.bank.exception;
 
-public class TransactionNotFoundException extends RuntimeException {
+public class TransactionNotFoundException extends BusinessRejectionException {
 
     public TransactionNotFoundException() {
         super("Transaction(s) not found");
@@ -1,6 +1,6 @@
 package com.example.bank.exception;
 
-public class TransactionSourceCannotEqualDestination extends RuntimeException {
+public class TransactionSourceCannotEqualDestination extends BusinessRejectionException {
 
     public TransactionSourceCannotEqualDestination() {
         super("Transaction source cannot equal destination");
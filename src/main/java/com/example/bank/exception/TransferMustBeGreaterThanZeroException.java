@@ -1,6 +1,6 @@
 package com.example.bank.exception;
 
-public class TransferMustBeGreaterThanZeroException extends RuntimeException {
+public class TransferMustBeGreaterThanZeroException extends BusinessRejectionException {
 
     public TransferMustBeGreaterThanZeroException() {
         super("Transfer must be greater than zero");
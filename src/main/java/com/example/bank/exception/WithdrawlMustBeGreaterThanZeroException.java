@@ -1,6 +1,6 @@
 package com.example.bank.exception;
 
-public class WithdrawlMustBeGreaterThanZeroException extends RuntimeException {
+public class WithdrawlMustBeGreaterThanZeroException extends BusinessRejectionException {
 
     public WithdrawlMustBeGreaterThanZeroException() {
         super("Withdrawl must be greater than zero");
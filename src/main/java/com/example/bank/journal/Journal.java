@@ -0,0 +1,830 @@
+package com.example.bank.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.zip.CRC32;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.bank.domain.Account;
+import com.example.bank.domain.IdempotencyRecord;
+import com.example.bank.domain.Transaction;
+import com.example.bank.ledger.BalanceSnapshot;
+import com.example.bank.ledger.BalanceSnapshotStore;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only {@link Transaction} journal in memory-mapped segment files,
+ * active with the {@code journal} profile.
+ *
+ * Transaction IDs are a sequence, so the record of an ID is found by position
+ * alone: segment {@code (id - 1) / segment-records}, at a multiple of
+ * {@link JournalRecord#SIZE}. Each record links to the previous record of its
+ * account, and an in-memory index holds the latest record and balance of every
+ * account. The index is rebuilt by replaying the segments on start-up.
+ *
+ * Records appended together form a group, replayed all or nothing. A flusher
+ * thread forces appended records to disk, every force covering all the records
+ * appended since the last one, and {@link #awaitDurable(long)} blocks until a
+ * record is forced. Records of a restart carry a higher epoch, so records left
+ * past the replayed end by a crash are never replayed after newer ones.
+ *
+ * A group appended for a request with an idempotency key ends with a key
+ * record, see {@link #withIdempotencyKey(String, String, Supplier)}, and the
+ * keys of the last {@value IdempotencyRecord#TTL_HOURS} hours are indexed in
+ * memory alongside the accounts.
+ *
+ * With the {@code snapshots} profile the index is written to a
+ * {@link BalanceSnapshot} periodically, and start-up only replays the records
+ * after the latest snapshot, then reads back from it for the unexpired keys.
+ */
+@Component
+@Profile("journal")
+@Slf4j
+public class Journal {
+
+    private static final String EPOCH_FILE = "journal.epoch";
+
+    private static final String SEGMENT_FILE_FORMAT = "%010d.segment";
+
+    private static final String SNAPSHOT_NAME = "journal";
+
+    private final Map<Long, IndexEntry> index = new ConcurrentHashMap<>();
+
+    private final Map<String, KeyedGroup> keys = new ConcurrentHashMap<>();
+
+    /**
+     * Key for the next group appended by the thread, see
+     * {@link #withIdempotencyKey(String, String, Supplier)}.
+     */
+    private final ThreadLocal<PendingKey> pendingKey = new ThreadLocal<>();
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+
+    private final ReentrantLock durableLock = new ReentrantLock();
+
+    private final Condition appended = durableLock.newCondition();
+
+    private final Condition durable = durableLock.newCondition();
+
+    @Value("${bank.journal.directory}")
+    private String directory;
+
+    /**
+     * Force records to disk before {@link #awaitDurable(long)} returns, else
+     * they are left to the operating system.
+     */
+    @Value("${bank.journal.fsync}")
+    private boolean fsync;
+
+    /**
+     * Time the flusher waits for more appends before forcing.
+     */
+    @Value("${bank.journal.group-commit-micros}")
+    private long groupCommitMicros;
+
+    @Value("${bank.journal.segment-records}")
+    private int segmentRecords;
+
+    @Autowired(required = false)
+    private BalanceSnapshotStore snapshotStore;
+
+    /**
+     * Guarded by appendLock, reused for every record.
+     */
+    private final CRC32 checksum = new CRC32();
+
+    /**
+     * Guarded by appendLock, dates never go backwards so ID order is also date
+     * order.
+     */
+    private LocalDateTime lastDateCreated = LocalDateTime.MIN;
+
+    private int epoch;
+
+    /**
+     * Replaced by appendLock holders when a segment is added.
+     */
+    private volatile MappedByteBuffer[] segments = new MappedByteBuffer[0];
+
+    /**
+     * Highest ID readable, published after its record is written.
+     */
+    private volatile long appendedId;
+
+    /**
+     * Guarded by durableLock, highest ID forced to disk.
+     */
+    private long forcedId;
+
+    private volatile boolean running;
+
+    /**
+     * Guarded by durableLock, set once the flusher exits.
+     */
+    private boolean stopped;
+
+    /**
+     * Guarded by durableLock, the exception that stopped the flusher.
+     */
+    private RuntimeException failure;
+
+    private Thread flusher;
+
+    /**
+     * Replay the segments into the index, from the latest snapshot if any, and
+     * start the flusher.
+     */
+    @PostConstruct
+    public void open() throws IOException {
+        Path path = Paths.get(directory);
+        Files.createDirectories(path);
+        epoch = nextEpoch(path);
+
+        int lastEpoch = 0;
+        long id = 1;
+        LocalDateTime expired = LocalDateTime.now().minusHours(IdempotencyRecord.TTL_HOURS);
+
+        // A snapshot past the replayable journal belongs to other data
+        BalanceSnapshot snapshot = snapshotStore != null
+                ? snapshotStore.readLatest(SNAPSHOT_NAME, this::isGroupEnd)
+                : null;
+        if (snapshot != null && snapshot.getTransactionId() > 0) {
+            for (int i = 0; i < snapshot.size(); i++) {
+                index.put(snapshot.getAccountId(i),
+                        new IndexEntry(snapshot.getLatestTransactionId(i), snapshot.getUnscaledBalance(i)));
+            }
+            appendedId = snapshot.getTransactionId();
+            ByteBuffer buffer = segments[getSegment(appendedId)];
+            lastEpoch = JournalRecord.getEpoch(buffer, getOffset(appendedId));
+            lastDateCreated = JournalRecord.getDateCreated(buffer, getOffset(appendedId));
+            id = appendedId + 1;
+            indexKeysBefore(id, expired);
+        }
+        long replayFromId = id;
+
+        Map<Long, IndexEntry> group = new HashMap<>();
+        long groupFirstId = id;
+        while (true) {
+            if (!isMapped(id)) {
+                break;
+            }
+
+            ByteBuffer buffer = segments[getSegment(id)];
+            int offset = getOffset(id);
+            if (!JournalRecord.isValid(buffer, offset, id) || JournalRecord.getEpoch(buffer, offset) < lastEpoch) {
+                break;
+            }
+            lastEpoch = JournalRecord.getEpoch(buffer, offset);
+
+            boolean key = JournalRecord.isKey(buffer, offset);
+            if (!key) {
+                group.put(JournalRecord.getAccountId(buffer, offset),
+                        new IndexEntry(id, JournalRecord.getCurrentBalance(buffer, offset)));
+            }
+            if (JournalRecord.getRemaining(buffer, offset) == 0) {
+                index.putAll(group);
+                group.clear();
+                if (key) {
+                    indexKey(buffer, offset, groupFirstId, id - 1, expired);
+                }
+                appendedId = id;
+                lastDateCreated = JournalRecord.getDateCreated(buffer, offset);
+                groupFirstId = id + 1;
+            }
+            id++;
+        }
+        forcedId = appendedId;
+
+        log.info("Journal replayed {} record(s) of {} account(s) and {} idempotency key(s) from {}, "
+                + "starting at record {}", appendedId - replayFromId + 1, index.size(), keys.size(),
+                path.toAbsolutePath(), replayFromId);
+
+        running = true;
+        if (fsync) {
+            flusher = new Thread(this::flush, "journal-flusher");
+            flusher.setDaemon(true);
+            flusher.start();
+        }
+    }
+
+    /**
+     * Stop the flusher once every appended record is forced.
+     */
+    @PreDestroy
+    public void close() throws InterruptedException {
+        durableLock.lock();
+        try {
+            running = false;
+            appended.signal();
+        } finally {
+            durableLock.unlock();
+        }
+        if (flusher != null) {
+            flusher.join();
+        }
+    }
+
+    /**
+     * Append transactions as one group, assigning each its ID, date, and
+     * current balance. The caller holds the locks of every {@link Account}
+     * involved and has checked their balances.
+     *
+     * Inside {@link #withIdempotencyKey(String, String, Supplier)} the group
+     * ends with the key record.
+     *
+     * @param transactions the new {@link Transaction} objects
+     * @return the transactions, readable but not yet durable
+     * @throws ArithmeticException if an amount has more than
+     *                             {@value JournalRecord#SCALE} fraction digits
+     */
+    public List<Transaction> append(List<Transaction> transactions) {
+        PendingKey key = pendingKey.get();
+        pendingKey.remove();
+
+        appendLock.lock();
+        try {
+            LocalDateTime dateCreated = LocalDateTime.now();
+            if (dateCreated.isBefore(lastDateCreated)) {
+                dateCreated = lastDateCreated;
+            }
+
+            // Index the group only once it is fully written
+            Map<Long, IndexEntry> group = new HashMap<>();
+            long id = appendedId;
+            for (int i = 0; i < transactions.size(); i++) {
+                Transaction transaction = transactions.get(i);
+                Long accountId = transaction.getAccount().getId();
+
+                IndexEntry previous = group.containsKey(accountId) ? group.get(accountId) : index.get(accountId);
+                long balance = Math.addExact(previous != null ? previous.balance : 0L,
+                        JournalRecord.toUnscaled(transaction.getAmount()));
+
+                transaction.setCurrentBalance(BigDecimal.valueOf(balance, JournalRecord.SCALE));
+                transaction.setDateCreated(dateCreated);
+                transaction.setId(++id);
+                transaction.setIsCurrent(true);
+
+                JournalRecord.write(getSegmentForAppend(id), getOffset(id), transaction,
+                        previous != null ? previous.transactionId : 0L, epoch,
+                        transactions.size() - 1 - i + (key != null ? 1 : 0), checksum);
+                group.put(accountId, new IndexEntry(id, balance));
+            }
+            long lastTransactionId = id;
+            if (key != null) {
+                id++;
+                JournalRecord.writeKey(getSegmentForAppend(id), getOffset(id), id, key.idempotencyKey,
+                        key.fingerprint, dateCreated, epoch, checksum);
+            }
+
+            lastDateCreated = dateCreated;
+            appendedId = id;
+            index.putAll(group);
+            if (key != null) {
+                keys.put(key.idempotencyKey, new KeyedGroup(key.fingerprint,
+                        lastTransactionId - transactions.size() + 1, lastTransactionId, dateCreated));
+            }
+        } finally {
+            appendLock.unlock();
+        }
+
+        if (fsync) {
+            durableLock.lock();
+            try {
+                appended.signal();
+            } finally {
+                durableLock.unlock();
+            }
+        }
+        return transactions;
+    }
+
+    /**
+     * Run an operation appending one group on the calling thread, and end the
+     * group with a key record, so the key is durable exactly when the
+     * transactions it created are.
+     *
+     * @param idempotencyKey
+     * @param fingerprint    the request the key is used for
+     * @param operation      appends the group
+     * @return the result of operation
+     * @throws IllegalStateException if the operation returned without
+     *                               appending
+     */
+    public <T> T withIdempotencyKey(String idempotencyKey, String fingerprint, Supplier<T> operation) {
+        PendingKey key = new PendingKey(idempotencyKey, hash(fingerprint));
+        pendingKey.set(key);
+        try {
+            T result = operation.get();
+            if (pendingKey.get() == key) {
+                throw new IllegalStateException("No journal group appended for the idempotency key");
+            }
+            return result;
+        } finally {
+            pendingKey.remove();
+        }
+    }
+
+    /**
+     * @param idempotencyKey
+     * @return the {@link KeyedGroup} appended for the key, or null if none is
+     *         indexed
+     */
+    public KeyedGroup findIdempotencyKey(String idempotencyKey) {
+        return keys.get(idempotencyKey);
+    }
+
+    /**
+     * Drop the idempotency keys appended before the given date from the index,
+     * their records stay in the journal.
+     *
+     * @param expired
+     */
+    public void evictIdempotencyKeys(LocalDateTime expired) {
+        keys.values().removeIf(group -> group.dateCreated.isBefore(expired));
+    }
+
+    /**
+     * Block until the record of the given ID, and every record before it, is
+     * forced to disk.
+     *
+     * @param transactionId
+     * @throws IllegalStateException if the journal is closed or interrupted
+     *                               first
+     * @throws UncheckedIOException  if forcing failed
+     */
+    public void awaitDurable(long transactionId) {
+        if (!fsync) {
+            return;
+        }
+        durableLock.lock();
+        try {
+            while (forcedId < transactionId) {
+                if (failure != null) {
+                    throw failure;
+                }
+                if (stopped) {
+                    throw new IllegalStateException("Journal closed");
+                }
+                durable.await();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for the journal", exception);
+        } finally {
+            durableLock.unlock();
+        }
+    }
+
+    /**
+     * @param transactionId
+     * @return the {@link Transaction}, or null if not appended or a key record
+     */
+    public Transaction findById(long transactionId) {
+        if (transactionId < 1 || transactionId > appendedId) {
+            return null;
+        }
+        ByteBuffer buffer = segments[getSegment(transactionId)];
+        int offset = getOffset(transactionId);
+        if (JournalRecord.isKey(buffer, offset)) {
+            return null;
+        }
+        Transaction transaction = JournalRecord.read(buffer, offset);
+        transaction.setIsCurrent(getLatestId(transaction.getAccount().getId()) == transactionId);
+        return transaction;
+    }
+
+    /**
+     * Visit the transactions of an account newest first, while the visitor
+     * returns true.
+     *
+     * @param accountId
+     * @param visitor   accepts each {@link Transaction}, false to stop
+     */
+    public void forEachNewestFirst(long accountId, Predicate<Transaction> visitor) {
+        long latestId = getLatestId(accountId);
+        long transactionId = latestId;
+        while (transactionId != 0) {
+            ByteBuffer buffer = segments[getSegment(transactionId)];
+            int offset = getOffset(transactionId);
+
+            Transaction transaction = JournalRecord.read(buffer, offset);
+            transaction.setIsCurrent(transactionId == latestId);
+            if (!visitor.test(transaction)) {
+                return;
+            }
+            transactionId = JournalRecord.getPreviousId(buffer, offset);
+        }
+    }
+
+    /**
+     * @param accountId
+     * @param afterTransactionId zero for all
+     * @return the IDs of the account transactions after the given ID, in order
+     */
+    public long[] findTransactionIds(long accountId, long afterTransactionId) {
+        long[] transactionIds = new long[16];
+        int count = 0;
+        long transactionId = getLatestId(accountId);
+        while (transactionId > afterTransactionId) {
+            if (count == transactionIds.length) {
+                transactionIds = Arrays.copyOf(transactionIds, count * 2);
+            }
+            transactionIds[count++] = transactionId;
+            transactionId = JournalRecord.getPreviousId(segments[getSegment(transactionId)], getOffset(transactionId));
+        }
+
+        long[] ordered = new long[count];
+        for (int i = 0; i < count; i++) {
+            ordered[i] = transactionIds[count - 1 - i];
+        }
+        return ordered;
+    }
+
+    /**
+     * @param accountId
+     * @return the current balance, zero for accounts without transactions
+     */
+    public BigDecimal getBalance(long accountId) {
+        IndexEntry entry = index.get(accountId);
+        return BigDecimal.valueOf(entry != null ? entry.balance : 0L, JournalRecord.SCALE);
+    }
+
+    /**
+     * @param accountIds
+     * @return the current balance per account ID
+     */
+    public Map<Long, BigDecimal> getBalances(Collection<Long> accountIds) {
+        Map<Long, BigDecimal> balances = new HashMap<>();
+        for (Long accountId : accountIds) {
+            balances.put(accountId, getBalance(accountId));
+        }
+        return balances;
+    }
+
+    /**
+     * @param accountId
+     * @return ID of the latest transaction of the account, zero for none
+     */
+    public long getLatestId(long accountId) {
+        IndexEntry entry = index.get(accountId);
+        return entry != null ? entry.transactionId : 0L;
+    }
+
+    /**
+     * @return the highest appended transaction ID
+     */
+    public long getAppendedId() {
+        return appendedId;
+    }
+
+    /**
+     * Write a {@link BalanceSnapshot} of the index with the {@code snapshots}
+     * profile, once every record it covers is forced.
+     */
+    @Scheduled(fixedDelayString = "${bank.snapshot.interval-minutes:5}", timeUnit = TimeUnit.MINUTES)
+    public void snapshot() {
+        if (snapshotStore == null || !running) {
+            return;
+        }
+
+        long transactionId;
+        long[] accountIds;
+        long[] latestTransactionIds;
+        long[] balances;
+        appendLock.lock();
+        try {
+            transactionId = appendedId;
+            accountIds = new long[index.size()];
+            latestTransactionIds = new long[index.size()];
+            balances = new long[index.size()];
+            int i = 0;
+            for (Map.Entry<Long, IndexEntry> entry : index.entrySet()) {
+                accountIds[i] = entry.getKey();
+                latestTransactionIds[i] = entry.getValue().transactionId;
+                balances[i++] = entry.getValue().balance;
+            }
+        } finally {
+            appendLock.unlock();
+        }
+
+        awaitDurable(transactionId);
+        snapshotStore.write(SNAPSHOT_NAME,
+                new BalanceSnapshot(transactionId, accountIds, latestTransactionIds, balances));
+    }
+
+    /**
+     * Force appended records until closed, each force covering every record
+     * appended while the previous one ran.
+     */
+    private void flush() {
+        try {
+            while (true) {
+                durableLock.lock();
+                try {
+                    while (running && forcedId == appendedId) {
+                        appended.await();
+                    }
+                    if (!running && forcedId == appendedId) {
+                        return;
+                    }
+                } finally {
+                    durableLock.unlock();
+                }
+
+                if (groupCommitMicros > 0) {
+                    LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(groupCommitMicros));
+                }
+
+                // Only this thread advances forcedId
+                long fromId = forcedId + 1;
+                long toId = appendedId;
+                force(fromId, toId);
+
+                durableLock.lock();
+                try {
+                    forcedId = toId;
+                    durable.signalAll();
+                } finally {
+                    durableLock.unlock();
+                }
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException exception) {
+            log.error("Journal flush failed", exception);
+            durableLock.lock();
+            try {
+                failure = exception;
+            } finally {
+                durableLock.unlock();
+            }
+        } finally {
+            durableLock.lock();
+            try {
+                stopped = true;
+                durable.signalAll();
+            } finally {
+                durableLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Force the byte range of the given records, one range per segment.
+     */
+    private void force(long fromId, long toId) {
+        MappedByteBuffer[] current = segments;
+        for (int segment = getSegment(fromId); segment <= getSegment(toId); segment++) {
+            int start = segment == getSegment(fromId) ? getOffset(fromId) : 0;
+            int end = segment == getSegment(toId) ? getOffset(toId) + JournalRecord.SIZE
+                    : segmentRecords * JournalRecord.SIZE;
+            current[segment].force(start, end - start);
+        }
+    }
+
+    /**
+     * Index the unexpired key records before the given ID, read back from it
+     * until the records are older than expired. Every record before a snapshot
+     * belongs to a complete group, so a group is found from its key record by
+     * the remaining counts of the records before it.
+     */
+    private void indexKeysBefore(long fromId, LocalDateTime expired) {
+        for (long id = fromId - 1; id > 0; id--) {
+            ByteBuffer buffer = segments[getSegment(id)];
+            int offset = getOffset(id);
+            if (JournalRecord.getDateCreated(buffer, offset).isBefore(expired)) {
+                return;
+            }
+            if (JournalRecord.isKey(buffer, offset)) {
+                long firstId = id;
+                while (firstId > 1 && JournalRecord.getRemaining(segments[getSegment(firstId - 1)],
+                        getOffset(firstId - 1)) == id - firstId + 1) {
+                    firstId--;
+                }
+                indexKey(buffer, offset, firstId, id - 1, expired);
+            }
+        }
+    }
+
+    private void indexKey(ByteBuffer buffer, int offset, long firstTransactionId, long lastTransactionId,
+            LocalDateTime expired) {
+        LocalDateTime dateCreated = JournalRecord.getDateCreated(buffer, offset);
+        if (!dateCreated.isBefore(expired)) {
+            keys.put(JournalRecord.getKey(buffer, offset), new KeyedGroup(JournalRecord.getFingerprint(buffer, offset),
+                    firstTransactionId, lastTransactionId, dateCreated));
+        }
+    }
+
+    /**
+     * @return true if the record of the given ID is intact and ends its group,
+     *         zero for an empty journal
+     */
+    private boolean isGroupEnd(long transactionId) {
+        try {
+            if (transactionId == 0) {
+                return true;
+            }
+            if (!isMapped(transactionId)) {
+                return false;
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        ByteBuffer buffer = segments[getSegment(transactionId)];
+        int offset = getOffset(transactionId);
+        return JournalRecord.isValid(buffer, offset, transactionId)
+                && JournalRecord.getRemaining(buffer, offset) == 0;
+    }
+
+    /**
+     * Map the segments up to the one holding the given ID while their files
+     * exist, for replay.
+     *
+     * @return true if the segment of the given ID is mapped
+     */
+    private boolean isMapped(long transactionId) throws IOException {
+        int segment = getSegment(transactionId);
+        while (segments.length <= segment) {
+            if (!Files.exists(getSegmentPath(segments.length))) {
+                return false;
+            }
+            addSegment(segments.length);
+        }
+        return true;
+    }
+
+    private MappedByteBuffer getSegmentForAppend(long transactionId) {
+        int segment = getSegment(transactionId);
+        if (segment >= segments.length) {
+            try {
+                addSegment(segment);
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+        return segments[segment];
+    }
+
+    private void addSegment(int segment) throws IOException {
+        try (FileChannel channel = FileChannel.open(getSegmentPath(segment), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer[] added = Arrays.copyOf(segments, segment + 1);
+            added[segment] = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    (long) segmentRecords * JournalRecord.SIZE);
+            segments = added;
+        }
+    }
+
+    private Path getSegmentPath(int segment) {
+        return Paths.get(directory, String.format(SEGMENT_FILE_FORMAT, segment));
+    }
+
+    private int getSegment(long transactionId) {
+        return (int) ((transactionId - 1) / segmentRecords);
+    }
+
+    private int getOffset(long transactionId) {
+        return (int) ((transactionId - 1) % segmentRecords) * JournalRecord.SIZE;
+    }
+
+    /**
+     * @return the epoch of this start-up, one more than the last, persisted
+     *         before any record is written
+     */
+    private static int nextEpoch(Path path) throws IOException {
+        Path epochPath = path.resolve(EPOCH_FILE);
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES);
+        try (FileChannel channel = FileChannel.open(epochPath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            int next = 1;
+            if (channel.read(buffer, 0) == Integer.BYTES) {
+                next = buffer.getInt(0) + 1;
+            }
+            buffer.putInt(0, next);
+            buffer.rewind();
+            channel.write(buffer, 0);
+            channel.force(true);
+            return next;
+        }
+    }
+
+    /**
+     * @return the first 8 bytes of the SHA-256 of a request fingerprint
+     */
+    private static long hash(String fingerprint) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256")
+                    .digest(fingerprint.getBytes(StandardCharsets.UTF_8))).getLong();
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    /**
+     * Transactions appended for an idempotency key.
+     */
+    public static final class KeyedGroup {
+
+        private final long fingerprint;
+
+        private final long firstTransactionId;
+
+        private final long lastTransactionId;
+
+        private final LocalDateTime dateCreated;
+
+        KeyedGroup(long fingerprint, long firstTransactionId, long lastTransactionId, LocalDateTime dateCreated) {
+            this.fingerprint = fingerprint;
+            this.firstTransactionId = firstTransactionId;
+            this.lastTransactionId = lastTransactionId;
+            this.dateCreated = dateCreated;
+        }
+
+        /**
+         * @param fingerprint
+         * @return true if the key was used for the given request fingerprint
+         */
+        public boolean matches(String fingerprint) {
+            return this.fingerprint == hash(fingerprint);
+        }
+
+        /**
+         * @return the IDs of the transactions, in append order
+         */
+        public List<Long> getTransactionIds() {
+            return LongStream.rangeClosed(firstTransactionId, lastTransactionId).boxed()
+                    .collect(Collectors.toList());
+        }
+
+    }
+
+    /**
+     * Key waiting for the next group appended by a thread.
+     */
+    private static final class PendingKey {
+
+        private final String idempotencyKey;
+
+        private final long fingerprint;
+
+        PendingKey(String idempotencyKey, long fingerprint) {
+            this.idempotencyKey = idempotencyKey;
+            this.fingerprint = fingerprint;
+        }
+
+    }
+
+    /**
+     * Latest record and balance of one account.
+     */
+    private static final class IndexEntry {
+
+        private final long transactionId;
+
+        /**
+         * Unscaled at {@value JournalRecord#SCALE}.
+         */
+        private final long balance;
+
+        IndexEntry(long transactionId, long balance) {
+            this.transactionId = transactionId;
+            this.balance = balance;
+        }
+
+    }
+
+}
@@ -0,0 +1,273 @@
+package com.example.bank.journal;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.CRC32;
+
+import com.example.bank.domain.Account;
+import com.example.bank.domain.Customer;
+import com.example.bank.domain.Transaction;
+import com.example.bank.domain.TransactionTransferType;
+import com.example.bank.domain.TransactionType;
+
+/**
+ * Fixed layout of one {@link Transaction} in a {@link Journal} segment.
+ *
+ * Amounts and balances are stored as unscaled longs at a scale of
+ * {@value #SCALE}, the date as UTC epoch seconds and nanoseconds, and the
+ * description as up to {@value #DESCRIPTION_BYTES} UTF-8 bytes, enough for any
+ * {@value Transaction#DESCRIPTION_LENGTH} character description. Each record
+ * ends with a CRC32 of the bytes before it, so a record torn by a crash fails
+ * the check on replay.
+ *
+ * A key record ends the group of the transactions created by a request sent
+ * with an idempotency key, so the key is durable exactly when they are. It has
+ * no account, the hash of the request fingerprint in place of the customer,
+ * and the key in place of the description.
+ */
+final class JournalRecord {
+
+    /**
+     * Record size in bytes.
+     */
+    static final int SIZE = 168;
+
+    static final int SCALE = 2;
+
+    private static final int DESCRIPTION_BYTES = 96;
+
+    private static final int ID = 0;
+
+    private static final int ACCOUNT_ID = 8;
+
+    private static final int CUSTOMER_ID = 16;
+
+    private static final int PREVIOUS_ID = 24;
+
+    private static final int AMOUNT = 32;
+
+    private static final int CURRENT_BALANCE = 40;
+
+    private static final int DATE_CREATED_SECONDS = 48;
+
+    private static final int DATE_CREATED_NANOS = 56;
+
+    private static final int EPOCH = 60;
+
+    private static final int TYPE = 64;
+
+    private static final int TRANSFER_TYPE = 65;
+
+    private static final int REMAINING = 66;
+
+    private static final int DESCRIPTION_LENGTH = 67;
+
+    private static final int DESCRIPTION = 68;
+
+    private static final int CHECKSUM = DESCRIPTION + DESCRIPTION_BYTES;
+
+    /**
+     * TYPE of key records, no {@link TransactionType} ordinal.
+     */
+    private static final byte KEY_TYPE = -1;
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private static final TransactionTransferType[] TRANSFER_TYPES = TransactionTransferType.values();
+
+    private JournalRecord() {
+    }
+
+    /**
+     * Write a {@link Transaction} whose ID, date, and current balance are set.
+     *
+     * @param buffer     the segment
+     * @param offset     the record offset in the segment
+     * @param previousId ID of the previous record of the same account, zero for
+     *                   the first
+     * @param epoch      the {@link Journal} epoch writing the record
+     * @param remaining  number of records following in the same group
+     * @param checksum   reused to checksum the record
+     */
+    static void write(ByteBuffer buffer, int offset, Transaction transaction, long previousId, int epoch,
+            int remaining, CRC32 checksum) {
+        byte[] description = transaction.getDescription() != null
+                ? transaction.getDescription().getBytes(StandardCharsets.UTF_8)
+                : null;
+        if (description != null && description.length > DESCRIPTION_BYTES) {
+            throw new IllegalArgumentException("Description longer than " + DESCRIPTION_BYTES + " bytes");
+        }
+
+        buffer.putLong(offset + ID, transaction.getId());
+        buffer.putLong(offset + ACCOUNT_ID, transaction.getAccount().getId());
+        buffer.putLong(offset + CUSTOMER_ID, transaction.getCustomer().getId());
+        buffer.putLong(offset + PREVIOUS_ID, previousId);
+        buffer.putLong(offset + AMOUNT, toUnscaled(transaction.getAmount()));
+        buffer.putLong(offset + CURRENT_BALANCE, toUnscaled(transaction.getCurrentBalance()));
+        buffer.putLong(offset + DATE_CREATED_SECONDS, transaction.getDateCreated().toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(offset + DATE_CREATED_NANOS, transaction.getDateCreated().getNano());
+        buffer.putInt(offset + EPOCH, epoch);
+        buffer.put(offset + TYPE, (byte) transaction.getType().ordinal());
+        buffer.put(offset + TRANSFER_TYPE, (byte) (transaction.getTransferType() != null
+                ? transaction.getTransferType().ordinal() + 1
+                : 0));
+        buffer.put(offset + REMAINING, (byte) remaining);
+        buffer.put(offset + DESCRIPTION_LENGTH, (byte) (description != null ? description.length : -1));
+        if (description != null) {
+            buffer.put(offset + DESCRIPTION, description);
+        }
+
+        seal(buffer, offset, checksum);
+    }
+
+    /**
+     * Write the key record ending a group.
+     *
+     * @param buffer      the segment
+     * @param offset      the record offset in the segment
+     * @param id          the record ID, following the transactions of the group
+     * @param key         the idempotency key
+     * @param fingerprint hash of the request the key was used for
+     * @param dateCreated the date of the group
+     * @param epoch       the {@link Journal} epoch writing the record
+     * @param checksum    reused to checksum the record
+     */
+    static void writeKey(ByteBuffer buffer, int offset, long id, String key, long fingerprint,
+            LocalDateTime dateCreated, int epoch, CRC32 checksum) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > DESCRIPTION_BYTES) {
+            throw new IllegalArgumentException("Idempotency key longer than " + DESCRIPTION_BYTES + " bytes");
+        }
+
+        buffer.putLong(offset + ID, id);
+        buffer.putLong(offset + ACCOUNT_ID, 0L);
+        buffer.putLong(offset + CUSTOMER_ID, fingerprint);
+        buffer.putLong(offset + PREVIOUS_ID, 0L);
+        buffer.putLong(offset + AMOUNT, 0L);
+        buffer.putLong(offset + CURRENT_BALANCE, 0L);
+        buffer.putLong(offset + DATE_CREATED_SECONDS, dateCreated.toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(offset + DATE_CREATED_NANOS, dateCreated.getNano());
+        buffer.putInt(offset + EPOCH, epoch);
+        buffer.put(offset + TYPE, KEY_TYPE);
+        buffer.put(offset + TRANSFER_TYPE, (byte) 0);
+        buffer.put(offset + REMAINING, (byte) 0);
+        buffer.put(offset + DESCRIPTION_LENGTH, (byte) bytes.length);
+        buffer.put(offset + DESCRIPTION, bytes);
+
+        seal(buffer, offset, checksum);
+    }
+
+    /**
+     * @return true if the record at offset holds the given ID and passes its
+     *         checksum
+     */
+    static boolean isValid(ByteBuffer buffer, int offset, long id) {
+        if (buffer.getLong(offset + ID) != id) {
+            return false;
+        }
+        CRC32 checksum = new CRC32();
+        checksum.update(buffer.slice(offset, CHECKSUM));
+        return buffer.getInt(offset + CHECKSUM) == (int) checksum.getValue();
+    }
+
+    /**
+     * @return the {@link Transaction} at offset, with detached {@link Account}
+     *         and {@link Customer} objects holding only their IDs
+     */
+    static Transaction read(ByteBuffer buffer, int offset) {
+        Customer customer = Customer.builder().id(buffer.getLong(offset + CUSTOMER_ID)).build();
+        Account account = Account.builder().id(getAccountId(buffer, offset)).customer(customer).build();
+
+        int transferType = buffer.get(offset + TRANSFER_TYPE);
+
+        String description = null;
+        int descriptionLength = buffer.get(offset + DESCRIPTION_LENGTH);
+        if (descriptionLength >= 0) {
+            byte[] bytes = new byte[descriptionLength];
+            buffer.get(offset + DESCRIPTION, bytes);
+            description = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        return Transaction.builder()
+                .account(account)
+                .amount(BigDecimal.valueOf(buffer.getLong(offset + AMOUNT), SCALE))
+                .currentBalance(BigDecimal.valueOf(getCurrentBalance(buffer, offset), SCALE))
+                .customer(customer)
+                .dateCreated(getDateCreated(buffer, offset))
+                .description(description)
+                .id(buffer.getLong(offset + ID))
+                .transferType(transferType > 0 ? TRANSFER_TYPES[transferType - 1] : null)
+                .type(TYPES[buffer.get(offset + TYPE)])
+                .build();
+    }
+
+    /**
+     * @return true for a key record, which holds no {@link Transaction}
+     */
+    static boolean isKey(ByteBuffer buffer, int offset) {
+        return buffer.get(offset + TYPE) == KEY_TYPE;
+    }
+
+    /**
+     * @return the idempotency key of a key record
+     */
+    static String getKey(ByteBuffer buffer, int offset) {
+        byte[] bytes = new byte[buffer.get(offset + DESCRIPTION_LENGTH)];
+        buffer.get(offset + DESCRIPTION, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return the request fingerprint hash of a key record
+     */
+    static long getFingerprint(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset + CUSTOMER_ID);
+    }
+
+    static long getAccountId(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset + ACCOUNT_ID);
+    }
+
+    static long getCurrentBalance(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset + CURRENT_BALANCE);
+    }
+
+    static LocalDateTime getDateCreated(ByteBuffer buffer, int offset) {
+        return LocalDateTime.ofEpochSecond(buffer.getLong(offset + DATE_CREATED_SECONDS),
+                buffer.getInt(offset + DATE_CREATED_NANOS), ZoneOffset.UTC);
+    }
+
+    static int getEpoch(ByteBuffer buffer, int offset) {
+        return buffer.getInt(offset + EPOCH);
+    }
+
+    static long getPreviousId(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset + PREVIOUS_ID);
+    }
+
+    static int getRemaining(ByteBuffer buffer, int offset) {
+        return buffer.get(offset + REMAINING);
+    }
+
+    /**
+     * @throws ArithmeticException if the amount has more than {@value #SCALE}
+     *                             fraction digits or does not fit a long
+     */
+    static long toUnscaled(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    /**
+     * End the record with a CRC32 of the bytes before the checksum.
+     */
+    private static void seal(ByteBuffer buffer, int offset, CRC32 checksum) {
+        checksum.reset();
+        checksum.update(buffer.slice(offset, CHECKSUM));
+        buffer.putInt(offset + CHECKSUM, (int) checksum.getValue());
+    }
+
+}
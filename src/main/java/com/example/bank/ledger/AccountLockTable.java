@@ -0,0 +1,99 @@
+package com.example.bank.ledger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.stereotype.Component;
+
+import com.example.bank.domain.Account;
+
+/**
+ * Fixed table of {@link ReentrantLock} objects striped by {@link Account} ID.
+ *
+ * Locks for several accounts are always taken in ascending stripe order, which
+ * is lowest account ID first for IDs within the table size, so two threads
+ * locking overlapping accounts can never deadlock. Accounts sharing a stripe
+ * share a lock.
+ */
+@Component
+public class AccountLockTable {
+
+    /**
+     * Number of lock stripes, a power of two.
+     */
+    private static final int STRIPES = 256;
+
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+    public AccountLockTable() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Lock the given accounts in global order, blocking until all locks are held.
+     *
+     * @param accountIds
+     * @return the held locks, to pass to {@link #unlock(List)}
+     */
+    public List<ReentrantLock> lock(Collection<Long> accountIds) {
+        SortedSet<Integer> stripes = new TreeSet<>();
+        for (Long accountId : accountIds) {
+            stripes.add(stripe(accountId));
+        }
+
+        List<ReentrantLock> held = new ArrayList<>(stripes.size());
+        try {
+            for (Integer stripe : stripes) {
+                locks[stripe].lock();
+                held.add(locks[stripe]);
+            }
+        } catch (RuntimeException exception) {
+            unlock(held);
+            throw exception;
+        }
+        return held;
+    }
+
+    /**
+     * Lock every stripe in global order, blocking until no account is locked by
+     * another thread.
+     *
+     * @return the held locks, to pass to {@link #unlock(List)}
+     */
+    public List<ReentrantLock> lockAll() {
+        List<ReentrantLock> held = new ArrayList<>(STRIPES);
+        try {
+            for (ReentrantLock lock : locks) {
+                lock.lock();
+                held.add(lock);
+            }
+        } catch (RuntimeException exception) {
+            unlock(held);
+            throw exception;
+        }
+        return held;
+    }
+
+    /**
+     * Release locks taken by {@link #lock(Collection)} or {@link #lockAll()}, in
+     * reverse order.
+     *
+     * @param held
+     */
+    public void unlock(List<ReentrantLock> held) {
+        for (int i = held.size() - 1; i >= 0; i--) {
+            held.get(i).unlock();
+        }
+    }
+
+    private static int stripe(Long accountId) {
+        return Long.hashCode(accountId) & (STRIPES - 1);
+    }
+
+}
@@ -0,0 +1,317 @@
+package com.example.bank.ledger;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.bank.domain.Account;
+import com.example.bank.domain.AccountBalance;
+import com.example.bank.domain.AccountBalanceSlot;
+import com.example.bank.domain.Transaction;
+import com.example.bank.repository.AccountBalanceRepository;
+import com.example.bank.repository.AccountBalanceSlotRepository;
+import com.example.bank.repository.CurrentBalanceView;
+import com.example.bank.repository.TransactionRepository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Authoritative in-memory {@link Account} balances, one entry per account.
+ *
+ * The ledger is loaded from the current {@link Transaction} rows on start-up.
+ * Balance changes posted inside a database transaction are staged against that
+ * transaction, visible to reads on the same thread, and only applied to the
+ * ledger once the database transaction commits. A rollback discards them.
+ *
+ * Entries are guarded by the {@link AccountLockTable} stripes of their account
+ * ID, the same locks {@link TransferExecutor} holds around balance changes.
+ *
+ * With the {@code snapshots} profile the ledger is written to a
+ * {@link BalanceSnapshot} periodically, and start-up loads the latest snapshot
+ * and only reads the accounts changed after it. Snapshots assume this is the
+ * only instance writing transactions.
+ *
+ * Accounts with {@link AccountBalanceSlot} rows, see {@link HotAccounts}, are
+ * loaded from their {@link AccountBalance} plus their slots instead, their
+ * current transaction is only exact after consolidation.
+ */
+@Component
+@Slf4j
+public class BalanceLedger {
+
+    private static final String SNAPSHOT_NAME = "ledger";
+
+    private final Map<Long, BigDecimal> balances = new ConcurrentHashMap<>();
+
+    @Autowired
+    private AccountBalanceRepository balanceRepository;
+
+    @Autowired
+    private AccountLockTable lockTable;
+
+    @Autowired
+    private TransactionRepository repository;
+
+    @Autowired
+    private AccountBalanceSlotRepository slotRepository;
+
+    @Autowired(required = false)
+    private BalanceSnapshotStore snapshotStore;
+
+    /**
+     * Load the ledger from the latest snapshot, if any, and the current
+     * {@link Transaction} rows of accounts changed after it.
+     */
+    @PostConstruct
+    public void load() {
+        balances.clear();
+
+        // A snapshot newer than the database belongs to other data
+        BalanceSnapshot snapshot = null;
+        if (snapshotStore != null) {
+            long maxTransactionId = repository.findMaxId();
+            snapshot = snapshotStore.readLatest(SNAPSHOT_NAME, transactionId -> transactionId <= maxTransactionId);
+        }
+
+        if (snapshot == null) {
+            for (CurrentBalanceView view : repository.findCurrentBalances()) {
+                balances.put(view.getAccountId(), view.getCurrentBalance());
+            }
+            loadSlotted();
+            log.info("Balance ledger loaded {} account(s)", balances.size());
+            return;
+        }
+
+        for (int i = 0; i < snapshot.size(); i++) {
+            balances.put(snapshot.getAccountId(i), snapshot.getBalance(i));
+        }
+        int changed = 0;
+        for (CurrentBalanceView view : repository.findCurrentBalancesChangedAfter(snapshot.getTransactionId())) {
+            balances.put(view.getAccountId(), view.getCurrentBalance());
+            changed++;
+        }
+        loadSlotted();
+        log.info("Balance ledger loaded {} account(s) from the snapshot at transaction {}, {} changed since",
+                balances.size(), snapshot.getTransactionId(), changed);
+    }
+
+    /**
+     * Write a {@link BalanceSnapshot} of the ledger with the {@code snapshots}
+     * profile.
+     *
+     * Every stripe is held while the balances are copied, so no balance change
+     * is in flight and every {@link Transaction} up to the highest ID is
+     * included.
+     */
+    @Scheduled(fixedDelayString = "${bank.snapshot.interval-minutes:5}", timeUnit = TimeUnit.MINUTES)
+    public void snapshot() {
+        if (snapshotStore == null) {
+            return;
+        }
+
+        long transactionId;
+        long[] accountIds;
+        long[] balanceValues;
+        List<ReentrantLock> held = lockTable.lockAll();
+        try {
+            transactionId = repository.findMaxId();
+            accountIds = new long[balances.size()];
+            balanceValues = new long[balances.size()];
+            int i = 0;
+            for (Map.Entry<Long, BigDecimal> balance : balances.entrySet()) {
+                accountIds[i] = balance.getKey();
+                balanceValues[i++] = BalanceSnapshot.toUnscaled(balance.getValue());
+            }
+        } finally {
+            lockTable.unlock(held);
+        }
+
+        snapshotStore.write(SNAPSHOT_NAME,
+                new BalanceSnapshot(transactionId, accountIds, new long[accountIds.length], balanceValues));
+    }
+
+    /**
+     * @param accountId
+     * @return the balance for the given accountId, including changes posted by the
+     *         current database transaction
+     */
+    public BigDecimal getBalance(Long accountId) {
+        BigDecimal balance = balances.getOrDefault(accountId, BigDecimal.ZERO);
+        Map<Long, BigDecimal> pending = getPending(false);
+        if (pending != null && pending.containsKey(accountId)) {
+            return balance.add(pending.get(accountId));
+        }
+        return balance;
+    }
+
+    /**
+     * @param accountIds
+     * @return the balance for each of the given accountIds, including changes
+     *         posted by the current database transaction
+     */
+    public Map<Long, BigDecimal> getBalances(Collection<Long> accountIds) {
+        Map<Long, BigDecimal> pending = getPending(false);
+        Map<Long, BigDecimal> result = new HashMap<>();
+        for (Long accountId : accountIds) {
+            BigDecimal balance = balances.getOrDefault(accountId, BigDecimal.ZERO);
+            if (pending != null && pending.containsKey(accountId)) {
+                balance = balance.add(pending.get(accountId));
+            }
+            result.put(accountId, balance);
+        }
+        return result;
+    }
+
+    /**
+     * @param accountId
+     * @param amount    the amount to add to the account balance
+     */
+    public void credit(Long accountId, BigDecimal amount) {
+        post(accountId, amount);
+    }
+
+    /**
+     * @param accountId
+     * @param amount    the amount to subtract from the account balance
+     */
+    public void debit(Long accountId, BigDecimal amount) {
+        post(accountId, amount.negate());
+    }
+
+    /**
+     * Compare the ledger against the current {@link Transaction} rows and the
+     * {@link AccountBalance} projection.
+     *
+     * Writes committing while the check runs may show up as transient
+     * discrepancies, run it again to confirm.
+     *
+     * @return the {@link LedgerDiscrepancy} objects, empty when consistent
+     */
+    public List<LedgerDiscrepancy> verify() {
+        Map<Long, BigDecimal> persisted = new HashMap<>();
+        for (CurrentBalanceView view : repository.findCurrentBalances()) {
+            persisted.put(view.getAccountId(), view.getCurrentBalance());
+        }
+
+        Map<Long, BigDecimal> projected = new HashMap<>();
+        for (AccountBalance accountBalance : balanceRepository.findAll()) {
+            projected.put(accountBalance.getAccountId(), accountBalance.getBalance());
+        }
+
+        // Slotted accounts have no exact current transaction between consolidations
+        for (CurrentBalanceView view : slotRepository.sumByAccountId()) {
+            BigDecimal projectedBalance = projected.getOrDefault(view.getAccountId(), BigDecimal.ZERO)
+                    .add(view.getCurrentBalance());
+            projected.put(view.getAccountId(), projectedBalance);
+            persisted.put(view.getAccountId(), projectedBalance);
+        }
+
+        Set<Long> accountIds = new HashSet<>(persisted.keySet());
+        accountIds.addAll(projected.keySet());
+        accountIds.addAll(balances.keySet());
+
+        List<LedgerDiscrepancy> discrepancies = new ArrayList<>();
+        for (Long accountId : accountIds) {
+            BigDecimal ledgerBalance = balances.getOrDefault(accountId, BigDecimal.ZERO);
+            BigDecimal persistedBalance = persisted.getOrDefault(accountId, BigDecimal.ZERO);
+            BigDecimal projectedBalance = projected.getOrDefault(accountId, BigDecimal.ZERO);
+            if (ledgerBalance.compareTo(persistedBalance) != 0 || ledgerBalance.compareTo(projectedBalance) != 0) {
+                discrepancies.add(new LedgerDiscrepancy(accountId, ledgerBalance, persistedBalance, projectedBalance));
+            }
+        }
+        return discrepancies;
+    }
+
+    /**
+     * @return the number of accounts held by the ledger
+     */
+    public int size() {
+        return balances.size();
+    }
+
+    /**
+     * Replace the balances of accounts with {@link AccountBalanceSlot} rows by
+     * their {@link AccountBalance} plus their slots.
+     */
+    private void loadSlotted() {
+        for (CurrentBalanceView view : slotRepository.sumByAccountId()) {
+            BigDecimal balance = balanceRepository.findById(view.getAccountId()).map(AccountBalance::getBalance)
+                    .orElse(BigDecimal.ZERO);
+            balances.put(view.getAccountId(), balance.add(view.getCurrentBalance()));
+        }
+    }
+
+    private void post(Long accountId, BigDecimal delta) {
+        Map<Long, BigDecimal> pending = getPending(true);
+        if (pending == null) {
+            apply(Collections.singletonMap(accountId, delta));
+        } else {
+            pending.merge(accountId, delta, BigDecimal::add);
+        }
+    }
+
+    /**
+     * @param create bind a new pending map to the current database transaction
+     *               if none exists
+     * @return the changes pending for the current database transaction, or null
+     *         when there is no transaction
+     */
+    @SuppressWarnings("unchecked")
+    private Map<Long, BigDecimal> getPending(boolean create) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Map<Long, BigDecimal> pending = (Map<Long, BigDecimal>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null && create) {
+            final Map<Long, BigDecimal> newPending = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, newPending);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    apply(newPending);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(BalanceLedger.this);
+                }
+
+            });
+            pending = newPending;
+        }
+        return pending;
+    }
+
+    /**
+     * Apply committed changes, holding the stripes of every account involved so
+     * multi-account changes are seen as a whole.
+     */
+    private void apply(Map<Long, BigDecimal> deltas) {
+        List<ReentrantLock> held = lockTable.lock(deltas.keySet());
+        try {
+            for (Map.Entry<Long, BigDecimal> delta : deltas.entrySet()) {
+                balances.merge(delta.getKey(), delta.getValue(), BigDecimal::add);
+            }
+        } finally {
+            lockTable.unlock(held);
+        }
+    }
+
+}
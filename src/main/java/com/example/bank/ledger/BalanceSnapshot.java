@@ -0,0 +1,84 @@
+package com.example.bank.ledger;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import com.example.bank.domain.Account;
+import com.example.bank.domain.Transaction;
+
+/**
+ * Balances of every {@link Account} as of one {@link Transaction} ID, held in
+ * parallel arrays so a million accounts stay compact.
+ *
+ * Balances are unscaled longs at a scale of {@value #SCALE}. The latest
+ * transaction ID of each account is only tracked by stores that need it, and
+ * zero otherwise.
+ */
+public final class BalanceSnapshot {
+
+    public static final int SCALE = 2;
+
+    private final long transactionId;
+
+    private final long[] accountIds;
+
+    private final long[] latestTransactionIds;
+
+    private final long[] balances;
+
+    /**
+     * @param transactionId        the highest {@link Transaction} ID covered
+     * @param accountIds
+     * @param latestTransactionIds the latest {@link Transaction} ID of each
+     *                             account, or zeros
+     * @param balances             the unscaled balance of each account
+     */
+    public BalanceSnapshot(long transactionId, long[] accountIds, long[] latestTransactionIds, long[] balances) {
+        if (accountIds.length != latestTransactionIds.length || accountIds.length != balances.length) {
+            throw new IllegalArgumentException("Snapshot arrays differ in length");
+        }
+        this.transactionId = transactionId;
+        this.accountIds = accountIds;
+        this.latestTransactionIds = latestTransactionIds;
+        this.balances = balances;
+    }
+
+    /**
+     * @return the highest {@link Transaction} ID covered
+     */
+    public long getTransactionId() {
+        return transactionId;
+    }
+
+    /**
+     * @return the number of accounts
+     */
+    public int size() {
+        return accountIds.length;
+    }
+
+    public long getAccountId(int index) {
+        return accountIds[index];
+    }
+
+    public long getLatestTransactionId(int index) {
+        return latestTransactionIds[index];
+    }
+
+    public long getUnscaledBalance(int index) {
+        return balances[index];
+    }
+
+    public BigDecimal getBalance(int index) {
+        return BigDecimal.valueOf(balances[index], SCALE);
+    }
+
+    /**
+     * @throws ArithmeticException if the balance has more than {@value #SCALE}
+     *                             fraction digits or does not fit a long
+     */
+    public static long toUnscaled(BigDecimal balance) {
+        return balance.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+}
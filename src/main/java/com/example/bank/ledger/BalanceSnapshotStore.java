@@ -0,0 +1,202 @@
+package com.example.bank.ledger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.LongPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes and reads {@link BalanceSnapshot} files, active with the
+ * {@code snapshots} profile.
+ *
+ * A snapshot file is a header of magic, version, transaction ID, and account
+ * count, then one account ID, latest transaction ID, and unscaled balance per
+ * account, and a CRC32 of everything before it. Files are written aside and
+ * moved into place, named by transaction ID so the newest sorts last, and the
+ * newest {@code bank.snapshot.retained} files of each name are kept.
+ */
+@Component
+@Profile("snapshots")
+@Slf4j
+public class BalanceSnapshotStore {
+
+    private static final int MAGIC = 0x42414c53;
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER_BYTES = 20;
+
+    private static final int ENTRY_BYTES = 24;
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private static final String SUFFIX = ".snapshot";
+
+    @Value("${bank.snapshot.directory}")
+    private String directory;
+
+    @Value("${bank.snapshot.retained}")
+    private int retained;
+
+    /**
+     * Write a snapshot and delete the older snapshots of the same name beyond
+     * those retained.
+     *
+     * @param name     the snapshot owner, i.e. ledger
+     * @param snapshot the {@link BalanceSnapshot} to write
+     * @throws UncheckedIOException if the snapshot could not be written
+     */
+    public void write(String name, BalanceSnapshot snapshot) {
+        try {
+            Path path = Paths.get(directory);
+            Files.createDirectories(path);
+
+            Path file = path.resolve(String.format("%s-%020d%s", name, snapshot.getTransactionId(), SUFFIX));
+            Path temporary = path.resolve(file.getFileName() + ".tmp");
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                CRC32 checksum = new CRC32();
+                ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+                buffer.putInt(MAGIC).putInt(VERSION).putLong(snapshot.getTransactionId()).putInt(snapshot.size());
+                for (int i = 0; i < snapshot.size(); i++) {
+                    if (buffer.remaining() < ENTRY_BYTES) {
+                        drain(buffer, channel, checksum);
+                    }
+                    buffer.putLong(snapshot.getAccountId(i)).putLong(snapshot.getLatestTransactionId(i))
+                            .putLong(snapshot.getUnscaledBalance(i));
+                }
+                drain(buffer, channel, checksum);
+
+                buffer.putInt((int) checksum.getValue());
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            List<Path> files = list(name);
+            for (Path old : files.subList(0, Math.max(0, files.size() - retained))) {
+                Files.deleteIfExists(old);
+            }
+            log.info("Wrote {} snapshot of {} account(s) at transaction {}", name, snapshot.size(),
+                    snapshot.getTransactionId());
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * Read the newest readable snapshot of the given name that the caller
+     * accepts, skipping corrupt files.
+     *
+     * @param name   the snapshot owner, i.e. ledger
+     * @param accept tests the transaction ID of a snapshot, i.e. that it is not
+     *               newer than the data it will be replayed against
+     * @return the {@link BalanceSnapshot}, or null if there is none
+     */
+    public BalanceSnapshot readLatest(String name, LongPredicate accept) {
+        List<Path> files;
+        try {
+            files = list(name);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        Collections.reverse(files);
+
+        for (Path file : files) {
+            try {
+                BalanceSnapshot snapshot = read(file);
+                if (snapshot != null && accept.test(snapshot.getTransactionId())) {
+                    return snapshot;
+                }
+                log.warn("Skipped {} snapshot {}", name, file);
+            } catch (IOException exception) {
+                log.warn("Skipped unreadable {} snapshot {}", name, file, exception);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the snapshot, or null if the file fails its checks
+     */
+    private static BalanceSnapshot read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES + Integer.BYTES) {
+                return null;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            int count = buffer.getInt(16);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                    || size != HEADER_BYTES + (long) count * ENTRY_BYTES + Integer.BYTES) {
+                return null;
+            }
+
+            CRC32 checksum = new CRC32();
+            checksum.update(buffer.slice(0, (int) size - Integer.BYTES));
+            if (buffer.getInt((int) size - Integer.BYTES) != (int) checksum.getValue()) {
+                return null;
+            }
+
+            long[] accountIds = new long[count];
+            long[] latestTransactionIds = new long[count];
+            long[] balances = new long[count];
+            buffer.position(HEADER_BYTES);
+            for (int i = 0; i < count; i++) {
+                accountIds[i] = buffer.getLong();
+                latestTransactionIds[i] = buffer.getLong();
+                balances[i] = buffer.getLong();
+            }
+            return new BalanceSnapshot(buffer.getLong(8), accountIds, latestTransactionIds, balances);
+        }
+    }
+
+    /**
+     * @return the snapshot files of the given name, oldest first
+     */
+    private List<Path> list(String name) throws IOException {
+        Path path = Paths.get(directory);
+        if (!Files.isDirectory(path)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> files = Files.list(path)) {
+            return files.filter(file -> {
+                String fileName = file.getFileName().toString();
+                return fileName.startsWith(name + "-") && fileName.endsWith(SUFFIX);
+            }).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static void drain(ByteBuffer buffer, FileChannel channel, CRC32 checksum) throws IOException {
+        buffer.flip();
+        checksum.update(buffer.duplicate());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+}
@@ -0,0 +1,213 @@
+package com.example.bank.ledger;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.bank.domain.Account;
+import com.example.bank.domain.AccountBalance;
+import com.example.bank.domain.AccountBalanceSlot;
+import com.example.bank.domain.Transaction;
+import com.example.bank.repository.AccountBalanceRepository;
+import com.example.bank.repository.AccountBalanceSlotRepository;
+import com.example.bank.repository.TransactionRepository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hot {@link Account} objects, whose balance is split across
+ * {@code bank.hot-accounts.slots} {@link AccountBalanceSlot} rows besides
+ * their {@link AccountBalance}, active with the {@code hot-accounts} profile.
+ *
+ * Credits go to a random slot without holding the {@link AccountLockTable}
+ * lock of the account, so concurrent credits neither queue on the lock nor on
+ * one balance row. Debits still hold the lock and draw from the balance, or
+ * from a slot covering the amount, consolidating every slot into the balance
+ * when neither does.
+ *
+ * Credits to a hot account are written without being flagged as the current
+ * {@link Transaction}, their current balance is the {@link BalanceLedger}
+ * balance they were written against. Every
+ * {@code bank.hot-accounts.consolidate-seconds} the slots are consolidated and
+ * the newest transaction flagged as current with the exact balance.
+ */
+@Component
+@Profile("hot-accounts & !journal")
+@Slf4j
+public class HotAccounts {
+
+    private final Set<Long> accountIds = ConcurrentHashMap.newKeySet();
+
+    @Value("${bank.hot-accounts.account-ids:}")
+    private List<Long> configuredAccountIds;
+
+    @Value("${bank.hot-accounts.slots}")
+    private int slots;
+
+    @Autowired
+    private AccountBalanceRepository balanceRepository;
+
+    @Autowired
+    private AccountBalanceSlotRepository slotRepository;
+
+    @Autowired
+    private TransactionRepository repository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TransferExecutor transferExecutor;
+
+    /**
+     * Create the slots of the configured accounts that already exist, the
+     * others get theirs when created.
+     */
+    @PostConstruct
+    public void load() {
+        accountIds.addAll(configuredAccountIds);
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Long accountId : accountIds) {
+                if (balanceRepository.existsById(accountId)) {
+                    createSlots(accountId);
+                }
+            }
+        });
+        log.info("{} hot account(s) with {} slot(s) each", accountIds.size(), slots);
+    }
+
+    /**
+     * Make an existing account hot, creating its slots.
+     *
+     * @param accountId
+     */
+    public void add(Long accountId) {
+        transactionTemplate.executeWithoutResult(status -> createSlots(accountId));
+        accountIds.add(accountId);
+    }
+
+    /**
+     * @param accountId
+     * @return true if the given accountId is hot
+     */
+    public boolean isHot(Long accountId) {
+        return accountIds.contains(accountId);
+    }
+
+    /**
+     * Create the slots of the given accountId unless it has them, in the
+     * current database transaction.
+     *
+     * @param accountId
+     */
+    public void createSlots(Long accountId) {
+        if (slotRepository.countByAccountId(accountId) > 0) {
+            return;
+        }
+        List<AccountBalanceSlot> accountSlots = new ArrayList<>(slots);
+        for (int slot = 0; slot < slots; slot++) {
+            accountSlots.add(AccountBalanceSlot.builder().accountId(accountId).slot(slot).build());
+        }
+        slotRepository.saveAll(accountSlots);
+    }
+
+    /**
+     * Add to a random slot of the given accountId, or to its balance if it has
+     * no slots.
+     *
+     * @param accountId
+     * @param amount
+     */
+    public void credit(Long accountId, BigDecimal amount) {
+        if (slotRepository.credit(accountId, ThreadLocalRandom.current().nextInt(slots), amount) == 0) {
+            balanceRepository.credit(accountId, amount);
+        }
+    }
+
+    /**
+     * Subtract from the balance of the given accountId, or from the first slot
+     * covering the amount, or from the balance after consolidating the slots.
+     * The caller holds the account lock.
+     *
+     * @param accountId
+     * @param amount
+     * @return false if the balance and slots together do not cover the amount
+     */
+    public boolean debit(Long accountId, BigDecimal amount) {
+        if (balanceRepository.debit(accountId, amount) > 0) {
+            return true;
+        }
+        for (int slot = 0; slot < slots; slot++) {
+            if (slotRepository.debit(accountId, slot, amount) > 0) {
+                return true;
+            }
+        }
+        // Funds spread across the slots, the slot locks block credits until commit
+        return consolidate(accountId).signum() > 0 && balanceRepository.debit(accountId, amount) > 0;
+    }
+
+    /**
+     * Move the slots of the given accountId into its balance, in the current
+     * database transaction.
+     *
+     * @param accountId
+     * @return the amount moved
+     */
+    public BigDecimal consolidate(Long accountId) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal balance : slotRepository.lockBalances(accountId)) {
+            total = total.add(balance);
+        }
+        if (total.signum() != 0) {
+            slotRepository.clear(accountId);
+            balanceRepository.credit(accountId, total);
+        }
+        return total;
+    }
+
+    /**
+     * Consolidate every hot account, each in its own database transaction while
+     * holding its account lock, and flag its newest {@link Transaction} as
+     * current with the consolidated balance.
+     */
+    @Scheduled(fixedDelayString = "${bank.hot-accounts.consolidate-seconds:5}", timeUnit = TimeUnit.SECONDS)
+    public void consolidateAll() {
+        for (Long accountId : accountIds) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> transferExecutor.execute(
+                        Collections.singleton(accountId), () -> consolidateCurrent(accountId)));
+            } catch (RuntimeException exception) {
+                log.warn("Consolidating hot account {} failed", accountId, exception);
+            }
+        }
+    }
+
+    private Void consolidateCurrent(Long accountId) {
+        // With every slot locked no credit can commit, the committed rows match the
+        // balance read next
+        consolidate(accountId);
+        Long transactionId = repository.findMaxIdByAccountId(accountId);
+        if (transactionId == 0) {
+            return null;
+        }
+        BigDecimal balance = balanceRepository.findById(accountId).map(AccountBalance::getBalance)
+                .orElse(BigDecimal.ZERO);
+        repository.clearCurrentAccountIdTransactions(Collections.singletonMap(accountId, transactionId));
+        repository.markCurrent(transactionId, balance);
+        return null;
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.example.bank.ledger;
+
+import java.math.BigDecimal;
+
+import com.example.bank.domain.AccountBalance;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * An account whose {@link BalanceLedger} balance does not match the persisted
+ * current balance or the {@link AccountBalance} projection.
+ */
+@AllArgsConstructor
+@Data
+public class LedgerDiscrepancy {
+
+    private Long accountId;
+
+    private BigDecimal ledgerBalance;
+
+    private BigDecimal persistedBalance;
+
+    private BigDecimal projectedBalance;
+
+}
@@ -0,0 +1,34 @@
+package com.example.bank.ledger;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint to run the {@link BalanceLedger} consistency check on
+ * demand, at {@code /actuator/ledger}.
+ */
+@Component
+@Endpoint(id = "ledger")
+public class LedgerEndpoint {
+
+    @Autowired
+    private BalanceLedger ledger;
+
+    @ReadOperation
+    public Map<String, Object> verify() {
+        List<LedgerDiscrepancy> discrepancies = ledger.verify();
+
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("accounts", ledger.size());
+        payload.put("consistent", discrepancies.isEmpty());
+        payload.put("discrepancies", discrepancies);
+        return payload;
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.example.bank.ledger;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.bank.domain.Account;
+
+/**
+ * Runs balance changes while holding the {@link AccountLockTable} locks of
+ * every {@link Account} involved.
+ *
+ * Inside a database transaction the locks are held until the transaction
+ * completes, after the {@link BalanceLedger} has applied the committed
+ * changes, so the next writer of the same account always reads the committed
+ * balance. Outside a transaction the locks are released when the work returns.
+ */
+@Component
+public class TransferExecutor {
+
+    @Autowired
+    private AccountLockTable lockTable;
+
+    /**
+     * @param sourceAccountId
+     * @param destinationAccountId
+     * @param work                 the balance change to run
+     * @return the result of work
+     */
+    public <T> T execute(Long sourceAccountId, Long destinationAccountId, Supplier<T> work) {
+        return execute(Arrays.asList(sourceAccountId, destinationAccountId), work);
+    }
+
+    /**
+     * @param accountIds
+     * @param work       the balance change to run
+     * @return the result of work
+     */
+    public <T> T execute(Collection<Long> accountIds, Supplier<T> work) {
+        final List<ReentrantLock> held = lockTable.lock(accountIds);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                return work.get();
+            } finally {
+                lockTable.unlock(held);
+            }
+        }
+
+        try {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCompletion(int status) {
+                    lockTable.unlock(held);
+                }
+
+            });
+        } catch (RuntimeException exception) {
+            lockTable.unlock(held);
+            throw exception;
+        }
+        return work.get();
+    }
+
+}
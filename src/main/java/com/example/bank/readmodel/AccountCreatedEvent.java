@@ -0,0 +1,20 @@
+package com.example.bank.readmodel;
+
+import com.example.bank.domain.Account;
+
+/**
+ * Published by the write model when an {@link Account} is created.
+ */
+public final class AccountCreatedEvent {
+
+    private final Account account;
+
+    public AccountCreatedEvent(Account account) {
+        this.account = account;
+    }
+
+    public Account getAccount() {
+        return account;
+    }
+
+}
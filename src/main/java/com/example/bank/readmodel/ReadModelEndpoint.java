@@ -0,0 +1,52 @@
+package com.example.bank.readmodel;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import com.example.bank.repository.AccountSummaryRepository;
+import com.example.bank.repository.TransactionSummaryRepository;
+
+/**
+ * Actuator endpoint to show the read model and rebuild it from the write model
+ * on demand, at {@code /actuator/readmodel}.
+ */
+@Component
+@Endpoint(id = "readmodel")
+@Profile("read-model")
+public class ReadModelEndpoint {
+
+    @Autowired
+    private AccountSummaryRepository accountSummaryRepository;
+
+    @Autowired
+    private ReadModelProjector projector;
+
+    @Autowired
+    private TransactionSummaryRepository transactionSummaryRepository;
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("accounts", accountSummaryRepository.count());
+        payload.put("consistencyToken", projector.getConsistencyToken());
+        payload.put("transactions", transactionSummaryRepository.count());
+        return payload;
+    }
+
+    /**
+     * Rebuild the read model and wait for it to commit.
+     */
+    @WriteOperation
+    public Map<String, Object> rebuild() {
+        projector.requestRebuild().join();
+        return status();
+    }
+
+}
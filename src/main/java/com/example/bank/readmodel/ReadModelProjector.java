@@ -0,0 +1,398 @@
+package com.example.bank.readmodel;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.bank.domain.Account;
+import com.example.bank.domain.AccountSummary;
+import com.example.bank.domain.Transaction;
+import com.example.bank.domain.TransactionSummary;
+import com.example.bank.repository.AccountRepository;
+import com.example.bank.repository.AccountSummaryRepository;
+import com.example.bank.repository.TransactionSummaryRepository;
+import com.example.bank.service.TransactionService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Feeds the read model from the write model events, active with the
+ * {@code read-model} profile.
+ *
+ * {@link AccountSummary} rows are inserted in the transaction creating the
+ * account, so every visible account has one. Committed transactions are
+ * queued as {@link TransactionSummary} rows and applied by a single projector
+ * thread, up to {@code bank.read-model.batch-size} per database transaction.
+ *
+ * The consistency token is the highest {@link Transaction} ID below which
+ * every queued transaction is applied. A writer gets its own transaction ID
+ * back only after the transaction is queued, so a read at or past that token
+ * sees the write.
+ *
+ * The queue is in memory, so the projector first rebuilds the read model from
+ * the write model at start-up, copying accounts that existed before the
+ * profile was enabled and transactions queued before a crash. The token stays
+ * below zero until then, so every consistent read falls back to the write
+ * model. A rebuild can also be requested at {@code /actuator/readmodel}, and
+ * is requested after a batch fails to apply.
+ */
+@Component
+@Profile("read-model")
+@Slf4j
+public class ReadModelProjector {
+
+    private static final long POLL_MILLIS = 100;
+
+    private final BlockingQueue<TransactionSummary> queue = new LinkedBlockingQueue<>();
+
+    /**
+     * IDs queued but not yet applied, the oldest bounds the consistency token.
+     */
+    private final ConcurrentSkipListSet<Long> pending = new ConcurrentSkipListSet<>();
+
+    private final ReentrantLock appliedLock = new ReentrantLock();
+
+    private final Condition applied = appliedLock.newCondition();
+
+    /**
+     * The requested rebuild, run by the projector thread between batches.
+     */
+    private final AtomicReference<CompletableFuture<Void>> rebuild = new AtomicReference<>();
+
+    @Value("${bank.read-model.batch-size}")
+    private int batchSize;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountSummaryRepository accountSummaryRepository;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionSummaryRepository transactionSummaryRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile long appliedId;
+
+    private volatile boolean rebuilt;
+
+    private volatile boolean running;
+
+    private Thread projector;
+
+    @PostConstruct
+    public void start() {
+        requestRebuild();
+        running = true;
+        projector = new Thread(this::project, "read-model-projector");
+        projector.setDaemon(true);
+        projector.start();
+    }
+
+    /**
+     * Stop the projector once every queued transaction is applied.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        projector.join();
+    }
+
+    /**
+     * Replace the read model with a copy of the write model, once the projector
+     * thread has applied its current batch.
+     *
+     * @return completed once the rebuild commits, or exceptionally if it fails
+     */
+    public CompletableFuture<Void> requestRebuild() {
+        CompletableFuture<Void> request = new CompletableFuture<>();
+        CompletableFuture<Void> requested = rebuild.compareAndExchange(null, request);
+        return requested != null ? requested : request;
+    }
+
+    /**
+     * Insert the {@link AccountSummary} of a new account before its transaction
+     * commits.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onAccountCreated(AccountCreatedEvent event) {
+        entityManager.persist(toSummary(event.getAccount()));
+    }
+
+    /**
+     * Queue committed transactions, or transactions written without a database
+     * transaction, i.e. by the journal.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionsCreated(TransactionsCreatedEvent event) {
+        for (Transaction transaction : event.getTransactions()) {
+            TransactionSummary summary = toSummary(transaction);
+            pending.add(summary.getId());
+            queue.add(summary);
+        }
+    }
+
+    /**
+     * @return the highest {@link Transaction} ID the read model is consistent
+     *         with, below zero before the start-up rebuild
+     */
+    public long getConsistencyToken() {
+        if (!rebuilt) {
+            return -1;
+        }
+        // Read applied before pending, a batch is applied before it leaves pending
+        long consistent = appliedId;
+        Long oldestPending = pending.ceiling(Long.MIN_VALUE);
+        return oldestPending != null ? Math.min(consistent, oldestPending - 1) : consistent;
+    }
+
+    /**
+     * Block until the read model is consistent with the given token.
+     *
+     * @param consistencyToken a {@link Transaction} ID
+     * @param timeoutMillis
+     * @return true if consistent, false if timed out or interrupted
+     */
+    public boolean awaitConsistency(long consistencyToken, long timeoutMillis) {
+        if (getConsistencyToken() >= consistencyToken) {
+            return true;
+        }
+        long remainingNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        appliedLock.lock();
+        try {
+            while (getConsistencyToken() < consistencyToken) {
+                if (remainingNanos <= 0) {
+                    return false;
+                }
+                remainingNanos = applied.awaitNanos(remainingNanos);
+            }
+            return true;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            appliedLock.unlock();
+        }
+    }
+
+    /**
+     * Apply queued transactions in batches until stopped and drained, and run
+     * requested rebuilds between batches.
+     */
+    private void project() {
+        List<TransactionSummary> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            CompletableFuture<Void> request = rebuild.getAndSet(null);
+            if (request != null) {
+                rebuild(request);
+                continue;
+            }
+
+            try {
+                TransactionSummary first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> apply(batch));
+            } catch (RuntimeException exception) {
+                // The batch stays pending, so the consistency token stops short of it and
+                // consistent reads fall back to the write model until a rebuild copies it
+                log.error("Read model failed to apply {} transaction(s) from {}", batch.size(),
+                        batch.get(0).getId(), exception);
+                batch.clear();
+                requestRebuild();
+                continue;
+            }
+
+            long maxId = appliedId;
+            for (TransactionSummary summary : batch) {
+                maxId = Math.max(maxId, summary.getId());
+            }
+            appliedId = maxId;
+            for (TransactionSummary summary : batch) {
+                pending.remove(summary.getId());
+            }
+            batch.clear();
+            signalApplied();
+        }
+
+        CompletableFuture<Void> request = rebuild.getAndSet(null);
+        if (request != null) {
+            request.completeExceptionally(new IllegalStateException("Read model projector stopped"));
+        }
+    }
+
+    /**
+     * Copy the write model and release the transactions it covers from
+     * pending.
+     */
+    private void rebuild(CompletableFuture<Void> request) {
+        // Transactions are queued after they commit, so the copy includes every one
+        // pending now
+        Set<Long> covered = new HashSet<>(pending);
+        long maxId;
+        try {
+            maxId = transactionTemplate.execute(status -> copyWriteModel());
+        } catch (RuntimeException exception) {
+            log.error("Read model failed to rebuild", exception);
+            request.completeExceptionally(exception);
+            return;
+        }
+
+        appliedId = Math.max(appliedId, maxId);
+        pending.removeAll(covered);
+        rebuilt = true;
+        signalApplied();
+        log.info("Read model rebuilt up to transaction {}", maxId);
+        request.complete(null);
+    }
+
+    /**
+     * Replace every summary row in one database transaction, so reads see the
+     * previous rows until it commits.
+     *
+     * @return the highest {@link Transaction} ID copied
+     */
+    private long copyWriteModel() {
+        transactionSummaryRepository.deleteAllInBatch();
+        accountSummaryRepository.deleteAllInBatch();
+
+        long maxId = 0;
+        int unflushed = 0;
+        for (Account account : accountRepository.findAll()) {
+            List<TransactionSummary> summaries = new ArrayList<>();
+            transactionService.exportTransactions(account.getId(), 0L,
+                    transaction -> summaries.add(toSummary(transaction)));
+
+            AccountSummary accountSummary = toSummary(account);
+            for (TransactionSummary summary : summaries) {
+                entityManager.persist(summary);
+            }
+            if (!summaries.isEmpty()) {
+                TransactionSummary latest = summaries.get(summaries.size() - 1);
+                accountSummary.setBalance(latest.getCurrentBalance());
+                accountSummary.setDateUpdated(latest.getDateCreated());
+                accountSummary.setLastTransactionId(latest.getId());
+                maxId = Math.max(maxId, latest.getId());
+            }
+            // An account created after the delete above already inserted its own summary
+            entityManager.merge(accountSummary);
+
+            unflushed += summaries.size() + 1;
+            if (unflushed >= batchSize) {
+                entityManager.flush();
+                entityManager.clear();
+                unflushed = 0;
+            }
+        }
+        return maxId;
+    }
+
+    private void signalApplied() {
+        appliedLock.lock();
+        try {
+            applied.signalAll();
+        } finally {
+            appliedLock.unlock();
+        }
+    }
+
+    /**
+     * Insert the transaction rows and move each account summary to its latest
+     * transaction of the batch.
+     */
+    private void apply(List<TransactionSummary> batch) {
+        // A rebuild may have copied transactions queued before it
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (TransactionSummary summary : batch) {
+            ids.add(summary.getId());
+        }
+        Set<Long> copied = new HashSet<>(transactionSummaryRepository.findIdsByIdIn(ids));
+
+        Map<Long, TransactionSummary> latest = new HashMap<>();
+        for (TransactionSummary summary : batch) {
+            if (copied.contains(summary.getId())) {
+                continue;
+            }
+            entityManager.persist(summary);
+            latest.merge(summary.getAccountId(), summary,
+                    (previous, next) -> next.getId() > previous.getId() ? next : previous);
+        }
+
+        // Transactions written outside a database transaction may be queued out of
+        // order, an older one never replaces a newer balance
+        for (AccountSummary account : accountSummaryRepository.findAllById(latest.keySet())) {
+            TransactionSummary summary = latest.get(account.getAccountId());
+            if (summary.getId() > account.getLastTransactionId()) {
+                account.setBalance(summary.getCurrentBalance());
+                account.setDateUpdated(summary.getDateCreated());
+                account.setLastTransactionId(summary.getId());
+            }
+        }
+    }
+
+    private static AccountSummary toSummary(Account account) {
+        return AccountSummary.builder()
+                .accountId(account.getId())
+                .customerId(account.getCustomer().getId())
+                .dateCreated(account.getDateCreated())
+                .dateUpdated(account.getDateUpdated())
+                .type(account.getType())
+                .build();
+    }
+
+    private static TransactionSummary toSummary(Transaction transaction) {
+        return TransactionSummary.builder()
+                .accountId(transaction.getAccount().getId())
+                .amount(transaction.getAmount())
+                .currentBalance(transaction.getCurrentBalance())
+                .customerId(transaction.getCustomer().getId())
+                .dateCreated(transaction.getDateCreated())
+                .description(transaction.getDescription())
+                .id(transaction.getId())
+                .isProvisional(transaction.getIsProvisional())
+                .transferType(transaction.getTransferType())
+                .type(transaction.getType())
+                .build();
+    }
+
+}
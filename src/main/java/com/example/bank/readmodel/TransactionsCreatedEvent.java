@@ -0,0 +1,23 @@
+package com.example.bank.readmodel;
+
+import java.util.List;
+
+import com.example.bank.domain.Transaction;
+
+/**
+ * Published by the write model with the {@link Transaction} objects written by
+ * one flush, delivered to listeners once they commit.
+ */
+public final class TransactionsCreatedEvent {
+
+    private final List<Transaction> transactions;
+
+    public TransactionsCreatedEvent(List<Transaction> transactions) {
+        this.transactions = transactions;
+    }
+
+    public List<Transaction> getTransactions() {
+        return transactions;
+    }
+
+}
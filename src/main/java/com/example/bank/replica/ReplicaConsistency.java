@@ -0,0 +1,39 @@
+package com.example.bank.replica;
+
+/**
+ * Writes the read-only database transactions of the current thread must see,
+ * as the epoch milliseconds by which they had committed. Reads are served by
+ * the replica only once it has replicated past that time, so a client reading
+ * after its own write is not sent to a replica lagging behind it.
+ */
+public final class ReplicaConsistency {
+
+    private static final ThreadLocal<Long> REQUIRED_MILLIS = new ThreadLocal<>();
+
+    private ReplicaConsistency() {
+    }
+
+    /**
+     * Require reads of the current thread to see the writes committed by the
+     * given time, {@link Long#MAX_VALUE} keeps them on the primary.
+     *
+     * @param committedMillis
+     */
+    public static void require(long committedMillis) {
+        REQUIRED_MILLIS.set(committedMillis);
+    }
+
+    /**
+     * @return the epoch milliseconds the replica must have replicated past to
+     *         serve reads of the current thread, zero for any
+     */
+    public static long getRequiredMillis() {
+        Long requiredMillis = REQUIRED_MILLIS.get();
+        return requiredMillis != null ? requiredMillis : 0L;
+    }
+
+    public static void clear() {
+        REQUIRED_MILLIS.remove();
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.example.bank.replica;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the {@value ReplicaConsistencyFilter#REPLICA_CONSISTENCY_TOKEN_HEADER}
+ * header to write responses, active with the {@code read-replica} profile.
+ *
+ * The token is the time the body is written, after the service methods of the
+ * request have committed, so a replica that has replicated past it has the
+ * write.
+ */
+@ControllerAdvice
+@Profile("read-replica")
+public class ReplicaConsistencyAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+            ServerHttpResponse response) {
+        if (!ReplicaConsistencyFilter.isRead(request.getMethod())) {
+            response.getHeaders().set(ReplicaConsistencyFilter.REPLICA_CONSISTENCY_TOKEN_HEADER,
+                    String.valueOf(System.currentTimeMillis()));
+        }
+        return body;
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.example.bank.replica;
+
+import java.io.IOException;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Applies the {@value #REPLICA_CONSISTENCY_TOKEN_HEADER} header of a request
+ * to its reads with {@link ReplicaConsistency}, active with the
+ * {@code read-replica} profile.
+ *
+ * Write responses carry the header, see {@link ReplicaConsistencyAdvice}, and a
+ * read sending it back is served by the primary until the replica has the
+ * write. Reads made while handling a write always use the primary.
+ */
+@Component
+@Profile("read-replica")
+public class ReplicaConsistencyFilter extends OncePerRequestFilter {
+
+    public static final String REPLICA_CONSISTENCY_TOKEN_HEADER = "Replica-Consistency-Token";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!isRead(HttpMethod.valueOf(request.getMethod()))) {
+            ReplicaConsistency.require(Long.MAX_VALUE);
+        } else {
+            String token = request.getHeader(REPLICA_CONSISTENCY_TOKEN_HEADER);
+            if (token != null) {
+                try {
+                    ReplicaConsistency.require(Long.parseLong(token));
+                } catch (NumberFormatException exception) {
+                    response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Invalid " + REPLICA_CONSISTENCY_TOKEN_HEADER);
+                    return;
+                }
+            }
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaConsistency.clear();
+        }
+    }
+
+    /**
+     * @param method
+     * @return true if requests with the given method do not write
+     */
+    static boolean isRead(HttpMethod method) {
+        return HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method);
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.example.bank.replica;
+
+/**
+ * Source of the replication lag of the read replica.
+ */
+public interface ReplicaLag {
+
+    /**
+     * @return how far the replica is behind the primary in milliseconds, or
+     *         {@link Long#MAX_VALUE} when it is unknown
+     */
+    long getLagMillis();
+
+    /**
+     * @return the epoch milliseconds before which every transaction committed
+     *         on the primary is on the replica, or -1 when it is unknown
+     */
+    long getReplicatedUntilMillis();
+
+}
@@ -0,0 +1,63 @@
+package com.example.bank.replica;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes connections of read-only database transactions to the replica and
+ * every other connection to the primary, active with the {@code read-replica}
+ * profile.
+ *
+ * A replica lagging more than the maximum lag is stale and its reads go to the
+ * primary until it catches up. So do reads required by
+ * {@link ReplicaConsistency} to see writes the replica does not have yet. The
+ * read-only flag is only set once the transaction has begun, so this must sit
+ * behind a {@link LazyConnectionDataSourceProxy}.
+ *
+ * Sessions reading from the replica only read the second-level cache, the
+ * rows they load would otherwise be cached past the lag and served to reads
+ * of the primary.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private final ReplicaLag replicaLag;
+
+    private final long maxLagMillis;
+
+    public ReplicaRoutingDataSource(ReplicaLag replicaLag, long maxLagMillis) {
+        this.replicaLag = replicaLag;
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && replicaLag.getLagMillis() <= maxLagMillis
+                && replicaLag.getReplicatedUntilMillis() > ReplicaConsistency.getRequiredMillis()) {
+            stopCachePuts();
+            return Target.REPLICA;
+        }
+        return Target.PRIMARY;
+    }
+
+    /**
+     * Let the sessions of the current transaction read the second-level cache
+     * without adding to it.
+     */
+    private static void stopCachePuts() {
+        for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+            if (resource instanceof EntityManagerHolder) {
+                ((EntityManagerHolder) resource).getEntityManager().unwrap(Session.class).setCacheMode(CacheMode.GET);
+            }
+        }
+    }
+
+}
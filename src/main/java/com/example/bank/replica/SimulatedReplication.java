@@ -0,0 +1,226 @@
+package com.example.bank.replica;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Replicates the primary H2 database to the replica H2 database with a
+ * simulated delay, active with the {@code read-replica} profile.
+ *
+ * Every {@code bank.read-replica.simulated.interval-millis} the primary is
+ * scripted, and each script is applied to the replica in one transaction
+ * {@code bank.read-replica.simulated.delay-millis} later, replacing every row.
+ * The lag is the age of the last script applied. Copying whole databases only
+ * suits local testing, a real replica would report its lag from a heartbeat
+ * row instead.
+ */
+@Component
+@Profile("read-replica")
+@Slf4j
+public class SimulatedReplication implements ReplicaLag {
+
+    @Value("${bank.read-replica.simulated.delay-millis}")
+    private long delayMillis;
+
+    @Value("${bank.read-replica.simulated.interval-millis}")
+    private long intervalMillis;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    /**
+     * Scripts waiting for their delay, oldest first, only used by the
+     * replication thread.
+     */
+    private final Deque<Script> scripts = new ArrayDeque<>();
+
+    private boolean schemaCreated;
+
+    private volatile long appliedAt = -1;
+
+    private volatile boolean paused;
+
+    private volatile boolean running;
+
+    private Thread replication;
+
+    /**
+     * Start replicating once the primary schema exists.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        replication = new Thread(this::replicate, "replica-replication");
+        replication.setDaemon(true);
+        replication.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (replication != null) {
+            replication.interrupt();
+            replication.join();
+        }
+    }
+
+    /**
+     * Stop applying scripts, simulating a stalled replica.
+     */
+    public void pause() {
+        paused = true;
+    }
+
+    public void resume() {
+        paused = false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLagMillis() {
+        long taken = appliedAt;
+        return taken < 0 ? Long.MAX_VALUE : System.currentTimeMillis() - taken;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getReplicatedUntilMillis() {
+        return appliedAt;
+    }
+
+    private void replicate() {
+        while (running) {
+            try {
+                if (!paused) {
+                    scripts.add(script());
+
+                    Script ready = null;
+                    while (!scripts.isEmpty() && scripts.peek().takenAt + delayMillis <= System.currentTimeMillis()) {
+                        ready = scripts.poll();
+                    }
+                    if (ready != null) {
+                        apply(ready);
+                    }
+                }
+                Thread.sleep(intervalMillis);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (SQLException | RuntimeException exception) {
+                log.warn("Replicating to the read replica failed", exception);
+            }
+        }
+    }
+
+    /**
+     * Script the primary, every transaction committed before it was taken is
+     * included.
+     */
+    private Script script() throws SQLException {
+        long takenAt = System.currentTimeMillis();
+        List<String> statements = new ArrayList<>();
+        try (Connection connection = primaryDataSource.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery("SCRIPT NOPASSWORDS NOSETTINGS")) {
+            while (resultSet.next()) {
+                String sql = resultSet.getString(1);
+                if (!sql.startsWith("--")) {
+                    statements.add(sql);
+                }
+            }
+        }
+        return new Script(takenAt, statements);
+    }
+
+    /**
+     * Create the schema until created once, without foreign keys so rows can be
+     * replaced in any order, then replace every row in one transaction.
+     */
+    private void apply(Script script) throws SQLException {
+        try (Connection connection = replicaDataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            if (!schemaCreated) {
+                statement.execute("DROP ALL OBJECTS");
+                for (String sql : script.statements) {
+                    if (!isInsert(sql) && !sql.contains(" FOREIGN KEY")) {
+                        statement.execute(sql);
+                    }
+                }
+                schemaCreated = true;
+            }
+
+            List<String> tables = new ArrayList<>();
+            try (ResultSet resultSet = statement.executeQuery(
+                    "select table_name from information_schema.tables where table_schema = 'PUBLIC' and table_type = 'BASE TABLE'")) {
+                while (resultSet.next()) {
+                    tables.add(resultSet.getString(1));
+                }
+            }
+
+            connection.setAutoCommit(false);
+            try {
+                for (String table : tables) {
+                    statement.execute("delete from \"PUBLIC\".\"" + table + "\"");
+                }
+                for (String sql : script.statements) {
+                    if (isInsert(sql)) {
+                        statement.execute(sql);
+                    }
+                }
+                connection.commit();
+            } catch (SQLException exception) {
+                connection.rollback();
+                throw exception;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+        appliedAt = script.takenAt;
+    }
+
+    private static boolean isInsert(String sql) {
+        return sql.startsWith("INSERT INTO");
+    }
+
+    private static final class Script {
+
+        private final long takenAt;
+
+        private final List<String> statements;
+
+        private Script(long takenAt, List<String> statements) {
+            this.takenAt = takenAt;
+            this.statements = statements;
+        }
+
+    }
+
+}
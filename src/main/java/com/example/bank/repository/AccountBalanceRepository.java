@@ -0,0 +1,94 @@
+package com.example.bank.repository;
+
+import java.math.BigDecimal;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.example.bank.domain.AccountBalance;
+
+import jakarta.persistence.QueryHint;
+
+/**
+ * {@link JpaRepository} for {@link AccountBalance} objects.
+ * 
+ * The native updates name the table they write, otherwise Hibernate evicts
+ * every second-level cache region after them. The versioned updates of a
+ * write batch also skip the auto flush, which would dirty check every entity
+ * of the batch once per account, they never read its pending changes.
+ */
+public interface AccountBalanceRepository extends JpaRepository<AccountBalance, Long> {
+
+    /**
+     * Add to the balance of the given accountId.
+     * 
+     * @param accountId
+     * @param amount
+     * @return the number of balances updated, zero if the account has no balance
+     */
+    @Modifying
+    @Query(value = "update account_balance set balance = balance + :amount, version = version + 1 where account_id = :accountId", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "account_balance"))
+    int credit(@Param("accountId") Long accountId, @Param("amount") BigDecimal amount);
+
+    /**
+     * Subtract from the balance of the given accountId only if the balance covers
+     * the amount, the insufficient funds check and the balance change in one
+     * statement.
+     * 
+     * @param accountId
+     * @param amount
+     * @return the number of balances updated, zero if funds are insufficient
+     */
+    @Modifying
+    @Query(value = "update account_balance set balance = balance - :amount, version = version + 1 where account_id = :accountId and balance >= :amount", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "account_balance"))
+    int debit(@Param("accountId") Long accountId, @Param("amount") BigDecimal amount);
+
+    /**
+     * Add to the balance of the given accountId only if it still has the given
+     * version, the optimistic check and the balance change in one statement.
+     * 
+     * @param accountId
+     * @param amount
+     * @param version   the version the balance was read with
+     * @return the number of balances updated, zero if the balance was changed
+     *         concurrently
+     */
+    @Modifying
+    @Query(value = "update account_balance set balance = balance + :amount, version = version + 1 where account_id = :accountId and version = :version", nativeQuery = true)
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "account_balance"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT") })
+    int creditAtVersion(@Param("accountId") Long accountId, @Param("amount") BigDecimal amount,
+            @Param("version") Long version);
+
+    /**
+     * Subtract from the balance of the given accountId only if it still has the
+     * given version and covers the amount.
+     * 
+     * @param accountId
+     * @param amount
+     * @param version   the version the balance was read with
+     * @return the number of balances updated, zero if funds are insufficient or
+     *         the balance was changed concurrently
+     */
+    @Modifying
+    @Query(value = "update account_balance set balance = balance - :amount, version = version + 1 where account_id = :accountId and version = :version and balance >= :amount", nativeQuery = true)
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "account_balance"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT") })
+    int debitAtVersion(@Param("accountId") Long accountId, @Param("amount") BigDecimal amount,
+            @Param("version") Long version);
+
+    /**
+     * @param accountId
+     * @param version
+     * @return true if the balance of the given accountId still has the given
+     *         version
+     */
+    boolean existsByAccountIdAndVersion(Long accountId, Long version);
+
+}
@@ -0,0 +1,86 @@
+package com.example.bank.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.example.bank.domain.AccountBalanceSlot;
+
+import jakarta.persistence.QueryHint;
+
+/**
+ * {@link JpaRepository} for {@link AccountBalanceSlot} objects.
+ * 
+ * The native updates name the table they write, otherwise Hibernate evicts
+ * every second-level cache region after them.
+ */
+public interface AccountBalanceSlotRepository extends JpaRepository<AccountBalanceSlot, AccountBalanceSlot.Key> {
+
+    /**
+     * Add to one slot of the given accountId.
+     * 
+     * @param accountId
+     * @param slot
+     * @param amount
+     * @return the number of slots updated, zero if the slot does not exist
+     */
+    @Modifying
+    @Query(value = "update account_balance_slot set balance = balance + :amount where account_id = :accountId and slot = :slot", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "account_balance_slot"))
+    int credit(@Param("accountId") Long accountId, @Param("slot") int slot, @Param("amount") BigDecimal amount);
+
+    /**
+     * Subtract from one slot of the given accountId only if the slot covers the
+     * amount.
+     * 
+     * @param accountId
+     * @param slot
+     * @param amount
+     * @return the number of slots updated, zero if the slot has insufficient
+     *         funds
+     */
+    @Modifying
+    @Query(value = "update account_balance_slot set balance = balance - :amount where account_id = :accountId and slot = :slot and balance >= :amount", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "account_balance_slot"))
+    int debit(@Param("accountId") Long accountId, @Param("slot") int slot, @Param("amount") BigDecimal amount);
+
+    /**
+     * Read and lock the slots of the given accountId until the database
+     * transaction completes, blocking debits from and credits to them.
+     * 
+     * @param accountId
+     * @return the balance of each slot of the account
+     */
+    @Query(value = "select balance from account_balance_slot where account_id = :accountId for update", nativeQuery = true)
+    List<BigDecimal> lockBalances(@Param("accountId") Long accountId);
+
+    /**
+     * Empty every slot of the given accountId.
+     * 
+     * @param accountId
+     * @return the number of slots updated
+     */
+    @Modifying
+    @Query(value = "update account_balance_slot set balance = 0 where account_id = :accountId", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "account_balance_slot"))
+    int clear(@Param("accountId") Long accountId);
+
+    /**
+     * @param accountId
+     * @return the number of slots of the given accountId
+     */
+    long countByAccountId(Long accountId);
+
+    /**
+     * @return the sum of the slots of every account with slots
+     */
+    @Query("select s.accountId as accountId, sum(s.balance) as currentBalance from AccountBalanceSlot s group by s.accountId")
+    List<CurrentBalanceView> sumByAccountId();
+
+}
@@ -0,0 +1,22 @@
+package com.example.bank.repository;
+
+import com.example.bank.domain.Account;
+import com.example.bank.domain.AccountBalance;
+import com.example.bank.domain.Customer;
+
+/**
+ * Projection of the {@link Account} columns a transaction write checks,
+ * without materializing the {@link Account} and {@link Customer} entities.
+ */
+public interface AccountOwnershipView {
+
+    Long getAccountId();
+
+    Long getCustomerId();
+
+    /**
+     * @return the version of the {@link AccountBalance} of the account
+     */
+    Long getVersion();
+
+}
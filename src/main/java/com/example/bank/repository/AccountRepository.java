@@ -1,10 +1,18 @@
 package com.example.bank.repository;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import jakarta.persistence.QueryHint;
 
 import com.example.bank.domain.Account;
+import com.example.bank.domain.AccountBalance;
 
 /**
  * {@link JpaRepository} for {@link Account} objects.
@@ -17,4 +25,23 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
      */
     List<Account> findByCustomerId(Long customerId);
 
+    /**
+     * @param accountIds
+     * @return the {@link AccountOwnershipView} of each account found for the
+     *         given accountIds, with the version of its {@link AccountBalance},
+     *         in one statement
+     */
+    @Query("select a.id as accountId, a.customer.id as customerId, b.version as version from Account a join AccountBalance b on b.accountId = a.id where a.id in :accountIds")
+    List<AccountOwnershipView> findOwnershipByIdIn(@Param("accountIds") Collection<Long> accountIds);
+
+    /**
+     * Cacheable in the query cache when the second-level cache is enabled.
+     * 
+     * @param id
+     * @return true if the {@link Account} with given id exists
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    boolean existsById(Long id);
+
 }
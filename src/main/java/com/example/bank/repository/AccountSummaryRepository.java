@@ -0,0 +1,21 @@
+package com.example.bank.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.example.bank.domain.AccountSummary;
+
+/**
+ * {@link JpaRepository} for {@link AccountSummary} objects.
+ */
+public interface AccountSummaryRepository extends JpaRepository<AccountSummary, Long> {
+
+    /**
+     * @param customerId
+     * @return the {@link AccountSummary} objects of the given customerId, by
+     *         account ID
+     */
+    List<AccountSummary> findByCustomerIdOrderByAccountId(Long customerId);
+
+}
@@ -0,0 +1,17 @@
+package com.example.bank.repository;
+
+import java.math.BigDecimal;
+
+import com.example.bank.domain.Transaction;
+
+/**
+ * Projection of the current balance for an account, read from the
+ * {@link Transaction} flagged with {@link Transaction#getIsCurrent()}.
+ */
+public interface CurrentBalanceView {
+
+    Long getAccountId();
+
+    BigDecimal getCurrentBalance();
+
+}
@@ -1,9 +1,13 @@
 package com.example.bank.repository;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.example.bank.domain.Customer;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * {@link JpaRepository} for {@link Customer} objects.
  */
@@ -15,4 +19,14 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
      */
     boolean existsCustomerBySsn(Long ssn);
 
+    /**
+     * Cacheable in the query cache when the second-level cache is enabled.
+     * 
+     * @param id
+     * @return true if the {@link Customer} with given id exists
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    boolean existsById(Long id);
+
 }
@@ -0,0 +1,25 @@
+package com.example.bank.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.bank.domain.IdempotencyRecord;
+
+/**
+ * {@link JpaRepository} for {@link IdempotencyRecord} objects.
+ */
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * @param dateCreated
+     * @return the number of records deleted, created before the given dateCreated
+     */
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.dateCreated < :dateCreated")
+    int deleteCreatedBefore(@Param("dateCreated") LocalDateTime dateCreated);
+
+}
@@ -0,0 +1,23 @@
+package com.example.bank.repository;
+
+import java.util.Map;
+
+import com.example.bank.domain.Transaction;
+
+/**
+ * Fragment of {@link TransactionRepository} maintaining the
+ * {@link Transaction#getIsCurrent()} flag.
+ */
+public interface TransactionCurrentFlags {
+
+    /**
+     * Clear the {@link Transaction#getIsCurrent()} flag of the given accounts
+     * without loading their current transactions.
+     * 
+     * @param currentTransactionIds the new current transaction to keep per
+     *                              account ID, which may already be flushed
+     * @return the number of transactions updated
+     */
+    int clearCurrentAccountIdTransactions(Map<Long, Long> currentTransactionIds);
+
+}
@@ -0,0 +1,60 @@
+package com.example.bank.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Map;
+
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * {@link TransactionCurrentFlags} as one JDBC batch of single account updates.
+ * 
+ * An update per account lets the account and flag index find the current row,
+ * where one update for every account with an IN list checks every transaction
+ * of those accounts. The batch is prepared through the session, so it is
+ * logged and counted like the other statements, and skips the auto flush, the
+ * pending transactions already carry the right flag.
+ */
+public class TransactionCurrentFlagsImpl implements TransactionCurrentFlags {
+
+    private static final String CLEAR_CURRENT_SQL = "update transaction set is_current = false where account_id = ? and is_current = true and id <> ?";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int clearCurrentAccountIdTransactions(Map<Long, Long> currentTransactionIds) {
+        if (currentTransactionIds.isEmpty()) {
+            return 0;
+        }
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        JdbcCoordinator jdbcCoordinator = session.getJdbcCoordinator();
+        PreparedStatement statement = jdbcCoordinator.getStatementPreparer().prepareStatement(CLEAR_CURRENT_SQL);
+        try {
+            for (Map.Entry<Long, Long> currentTransactionId : currentTransactionIds.entrySet()) {
+                statement.setLong(1, currentTransactionId.getKey());
+                statement.setLong(2, currentTransactionId.getValue());
+                statement.addBatch();
+            }
+            int updated = 0;
+            for (int count : statement.executeBatch()) {
+                // Drivers may report a batched update without its count
+                if (count > 0) {
+                    updated += count;
+                }
+            }
+            return updated;
+        } catch (SQLException e) {
+            throw session.getJdbcServices().getSqlExceptionHelper().convert(e, "Could not clear current transactions",
+                    CLEAR_CURRENT_SQL);
+        } finally {
+            jdbcCoordinator.getLogicalConnection().getResourceRegistry().release(statement);
+            jdbcCoordinator.afterStatementExecution();
+        }
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.example.bank.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+
+import com.example.bank.domain.Transaction;
+import com.example.bank.domain.TransactionTransferType;
+import com.example.bank.domain.TransactionType;
+
+/**
+ * Fragment of {@link TransactionRepository} reading keyset pages of an account
+ * {@link Transaction} history.
+ */
+public interface TransactionHistory {
+
+    /**
+     * Keyset page of transactions older than the cursor, newest first. Null
+     * filters and a null cursor match every transaction.
+     * 
+     * @param accountId
+     * @param type
+     * @param transferType
+     * @param from         inclusive lower bound of the creation date
+     * @param to           exclusive upper bound of the creation date
+     * @param cursorDate
+     * @param cursorId
+     * @param pageable     the page size, without a count query
+     * @return transactions for the given accountId ordered by creation date then
+     *         ID, descending
+     */
+    List<Transaction> findHistoryOlderThan(Long accountId, TransactionType type, TransactionTransferType transferType,
+            LocalDateTime from, LocalDateTime to, LocalDateTime cursorDate, Long cursorId, Pageable pageable);
+
+    /**
+     * Keyset page of transactions newer than the cursor, oldest first. Null
+     * filters match every transaction.
+     * 
+     * @see #findHistoryOlderThan
+     * @return transactions for the given accountId ordered by creation date then
+     *         ID, ascending
+     */
+    List<Transaction> findHistoryNewerThan(Long accountId, TransactionType type, TransactionTransferType transferType,
+            LocalDateTime from, LocalDateTime to, LocalDateTime cursorDate, Long cursorId, Pageable pageable);
+
+}
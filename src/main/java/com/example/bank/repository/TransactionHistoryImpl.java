@@ -0,0 +1,107 @@
+package com.example.bank.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+
+import com.example.bank.domain.Transaction;
+import com.example.bank.domain.TransactionTransferType;
+import com.example.bank.domain.TransactionType;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+/**
+ * {@link TransactionHistory} as a query holding only the given filters, so the
+ * history index of the filter is used.
+ * 
+ * A "filter is null or matches" condition keeps the database from using an
+ * index on the filtered column, and H2 only reads an index in order when the
+ * ORDER BY lists its columns from the first one, so every page read the whole
+ * account history and sorted it. Each query here orders by the columns of the
+ * (account, filter, creation date descending, ID descending) index its
+ * equality filters select, and always bounds the creation date, without which
+ * H2 picks the account foreign key index instead, so the newest first pages
+ * stop after the page size. Pages newer than a cursor are read oldest first
+ * and sort the transactions newer than the cursor.
+ */
+public class TransactionHistoryImpl implements TransactionHistory {
+
+    /**
+     * Lower bound of the creation date when none is given, before any
+     * transaction.
+     */
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Transaction> findHistoryOlderThan(Long accountId, TransactionType type,
+            TransactionTransferType transferType, LocalDateTime from, LocalDateTime to, LocalDateTime cursorDate,
+            Long cursorId, Pageable pageable) {
+        return findHistory(accountId, type, transferType, from, to, cursorDate, cursorId, false, pageable);
+    }
+
+    @Override
+    public List<Transaction> findHistoryNewerThan(Long accountId, TransactionType type,
+            TransactionTransferType transferType, LocalDateTime from, LocalDateTime to, LocalDateTime cursorDate,
+            Long cursorId, Pageable pageable) {
+        return findHistory(accountId, type, transferType, from, to, cursorDate, cursorId, true, pageable);
+    }
+
+    private List<Transaction> findHistory(Long accountId, TransactionType type, TransactionTransferType transferType,
+            LocalDateTime from, LocalDateTime to, LocalDateTime cursorDate, Long cursorId, boolean newer,
+            Pageable pageable) {
+        // Only transfers have a transfer type, the transfer type index covers them
+        if (transferType != null) {
+            if (type != null && type != TransactionType.TRANSFER) {
+                return Collections.emptyList();
+            }
+            type = null;
+        }
+
+        StringBuilder jpql = new StringBuilder(
+                "from Transaction t where t.account.id = :accountId and t.dateCreated >= :from");
+        StringBuilder orderBy = new StringBuilder(" order by t.account.id");
+        if (type != null) {
+            jpql.append(" and t.type = :type");
+            orderBy.append(", t.type");
+        }
+        if (transferType != null) {
+            jpql.append(" and t.transferType = :transferType");
+            orderBy.append(", t.transferType");
+        }
+        if (to != null) {
+            jpql.append(" and t.dateCreated < :to");
+        }
+        String direction = newer ? " asc" : " desc";
+        if (cursorDate != null) {
+            jpql.append(newer
+                    ? " and t.dateCreated >= :cursorDate and (t.dateCreated > :cursorDate or t.id > :cursorId)"
+                    : " and t.dateCreated <= :cursorDate and (t.dateCreated < :cursorDate or t.id < :cursorId)");
+        }
+        jpql.append(orderBy).append(", t.dateCreated").append(direction).append(", t.id").append(direction);
+
+        TypedQuery<Transaction> query = entityManager.createQuery(jpql.toString(), Transaction.class)
+                .setParameter("accountId", accountId)
+                .setParameter("from", from != null ? from : EPOCH);
+        if (type != null) {
+            query.setParameter("type", type);
+        }
+        if (transferType != null) {
+            query.setParameter("transferType", transferType);
+        }
+        if (to != null) {
+            query.setParameter("to", to);
+        }
+        if (cursorDate != null) {
+            query.setParameter("cursorDate", cursorDate).setParameter("cursorId", cursorId);
+        }
+        return query.setMaxResults(pageable.getPageSize()).getResultList();
+    }
+
+}
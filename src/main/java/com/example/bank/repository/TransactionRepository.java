@@ -1,18 +1,25 @@
 package com.example.bank.repository;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import com.example.bank.domain.Transaction;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * {@link JpaRepository} for {@link Customer} objects.
  */
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, TransactionCurrentFlags, TransactionHistory {
 
     /**
      * @param accountId
@@ -20,6 +27,23 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
      */
     List<Transaction> findByAccountId(Long accountId);
 
+    /**
+     * Stream transactions in ID order, fetched from the database in chunks and
+     * read-only. The caller must consume the stream inside a transaction and
+     * close it.
+     * 
+     * @param accountId
+     * @param afterTransactionId only stream transactions with a greater ID, zero
+     *                           for all
+     * @param toTransactionId    only stream transactions up to this ID
+     * @return transactions for the given accountId
+     */
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+    @Query("from Transaction t where t.account.id = :accountId and t.id > :afterTransactionId and t.id <= :toTransactionId order by t.id")
+    Stream<Transaction> streamByAccountId(@Param("accountId") Long accountId,
+            @Param("afterTransactionId") Long afterTransactionId, @Param("toTransactionId") Long toTransactionId);
+
     /**
      * @param accountId
      * @return the current transaction for the given accountId, which reflects the
@@ -28,4 +52,47 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     @Query("from Transaction t where t.account.id = :accountId and t.isCurrent = true")
     Optional<Transaction> findCurrentAccountIdTransaction(@Param("accountId") Long accountId);
 
+    /**
+     * @return the current balance of every account that has a current transaction
+     */
+    @Query("select t.account.id as accountId, t.currentBalance as currentBalance from Transaction t where t.isCurrent = true")
+    List<CurrentBalanceView> findCurrentBalances();
+
+    /**
+     * @param transactionId
+     * @return the current balance of every account with a transaction after the
+     *         given ID
+     */
+    @Query("select t.account.id as accountId, t.currentBalance as currentBalance from Transaction t where t.isCurrent = true"
+            + " and t.account.id in (select n.account.id from Transaction n where n.id > :transactionId)")
+    List<CurrentBalanceView> findCurrentBalancesChangedAfter(@Param("transactionId") Long transactionId);
+
+    /**
+     * @return the highest transaction ID, zero when there are none
+     */
+    @Query("select coalesce(max(t.id), 0) from Transaction t")
+    Long findMaxId();
+
+    /**
+     * @param accountId
+     * @return the highest transaction ID of the given accountId, zero when it
+     *         has none
+     */
+    @Query("select coalesce(max(t.id), 0) from Transaction t where t.account.id = :accountId")
+    Long findMaxIdByAccountId(@Param("accountId") Long accountId);
+
+    /**
+     * Flag a transaction as the current transaction of its account with the
+     * given balance, for accounts whose transactions are written without a
+     * running balance lock.
+     * 
+     * @param transactionId
+     * @param currentBalance
+     * @return the number of transactions updated
+     */
+    @Modifying
+    @Query("update Transaction t set t.currentBalance = :currentBalance, t.isCurrent = true, t.isProvisional = false"
+            + " where t.id = :transactionId")
+    int markCurrent(@Param("transactionId") Long transactionId, @Param("currentBalance") BigDecimal currentBalance);
+
 }
@@ -0,0 +1,31 @@
+package com.example.bank.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.bank.domain.TransactionSummary;
+
+/**
+ * {@link JpaRepository} for {@link TransactionSummary} objects.
+ */
+public interface TransactionSummaryRepository extends JpaRepository<TransactionSummary, Long> {
+
+    /**
+     * @param accountId
+     * @return the {@link TransactionSummary} objects of the given accountId,
+     *         oldest first
+     */
+    List<TransactionSummary> findByAccountIdOrderById(Long accountId);
+
+    /**
+     * @param ids
+     * @return the given IDs that have a {@link TransactionSummary}
+     */
+    @Query("select t.id from TransactionSummary t where t.id in :ids")
+    List<Long> findIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+}
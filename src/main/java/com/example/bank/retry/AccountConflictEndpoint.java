@@ -0,0 +1,36 @@
+package com.example.bank.retry;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint listing the accounts with the most optimistic version
+ * conflicts.
+ */
+@Component
+@Endpoint(id = "conflicts")
+public class AccountConflictEndpoint {
+
+    private static final int HOT_ACCOUNTS = 20;
+
+    @Autowired
+    private OptimisticRetryExecutor retryExecutor;
+
+    @ReadOperation
+    public Map<String, Object> hotAccounts() {
+        List<Map.Entry<Long, Long>> hotAccounts = retryExecutor.getHotAccounts(HOT_ACCOUNTS);
+
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("accounts", hotAccounts.stream()
+                .map(entry -> Map.of("accountId", entry.getKey(), "conflicts", entry.getValue()))
+                .toList());
+        return payload;
+    }
+
+}
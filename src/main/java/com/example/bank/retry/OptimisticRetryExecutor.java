@@ -0,0 +1,149 @@
+package com.example.bank.retry;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.bank.domain.Account;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Re-run calls that fail on an optimistic {@link Account} version conflict, in
+ * a new database transaction each time, with bounded jittered backoff.
+ *
+ * Conflicts are counted per operation in the {@value #CONFLICTS_METER} meter
+ * and per account for {@link #getHotAccounts(int)}.
+ */
+@Component
+@Slf4j
+public class OptimisticRetryExecutor {
+
+    public static final String CONFLICTS_METER = "bank.account.conflicts";
+
+    public static final int MAX_ATTEMPTS = 5;
+
+    private static final long INITIAL_BACKOFF_MILLIS = 2;
+
+    private static final long MAX_BACKOFF_MILLIS = 100;
+
+    /**
+     * Accounts tracked for {@link #getHotAccounts(int)}, conflicts on further
+     * accounts are only counted by the meter.
+     */
+    private static final int MAX_TRACKED_ACCOUNTS = 10_000;
+
+    private final Map<Long, LongAdder> accountConflicts = new ConcurrentHashMap<>();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Run the call, retrying version conflicts up to {@value #MAX_ATTEMPTS}
+     * attempts. A call joining a database transaction that is already active is
+     * run once, the conflict has doomed the outer transaction.
+     * 
+     * @param operation name of the call for the conflict meter
+     * @param call
+     * @return the result of the first attempt without a conflict
+     * @throws Throwable the exception of the call, the conflict of the last
+     *                   attempt when retries are exhausted
+     */
+    public <T> T execute(String operation, RetryableCall<T> call) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return call.call();
+        }
+
+        for (int attempt = 1;; attempt++) {
+            try {
+                return call.call();
+            } catch (Throwable exception) {
+                if (!isConflict(exception)) {
+                    throw exception;
+                }
+
+                Long accountId = getAccountId(exception);
+                boolean exhausted = attempt >= MAX_ATTEMPTS;
+                recordConflict(operation, accountId, exhausted);
+                if (exhausted) {
+                    log.warn("{} gave up on account {} after {} conflicting attempts", operation, accountId, attempt);
+                    throw exception;
+                }
+
+                // Full jitter spreads the retries of contending callers apart
+                long backoff = Math.min(MAX_BACKOFF_MILLIS, INITIAL_BACKOFF_MILLIS << attempt);
+                Thread.sleep(ThreadLocalRandom.current().nextLong(backoff + 1));
+            }
+        }
+    }
+
+    /**
+     * @param limit
+     * @return the account IDs with the most version conflicts, most conflicted
+     *         first, with their conflict counts
+     */
+    public List<Map.Entry<Long, Long>> getHotAccounts(int limit) {
+        List<Map.Entry<Long, Long>> hotAccounts = new ArrayList<>();
+        for (Map.Entry<Long, LongAdder> conflicts : accountConflicts.entrySet()) {
+            hotAccounts.add(Map.entry(conflicts.getKey(), conflicts.getValue().sum()));
+        }
+        hotAccounts.sort(Map.Entry.<Long, Long>comparingByValue(Comparator.reverseOrder()));
+        return hotAccounts.subList(0, Math.min(limit, hotAccounts.size()));
+    }
+
+    private void recordConflict(String operation, Long accountId, boolean exhausted) {
+        Counter.builder(CONFLICTS_METER)
+                .description("Optimistic account version conflicts")
+                .tag("operation", operation)
+                .tag("outcome", exhausted ? "exhausted" : "retried")
+                .register(meterRegistry)
+                .increment();
+
+        if (accountId != null
+                && (accountConflicts.size() < MAX_TRACKED_ACCOUNTS || accountConflicts.containsKey(accountId))) {
+            accountConflicts.computeIfAbsent(accountId, id -> new LongAdder()).increment();
+        }
+    }
+
+    private static boolean isConflict(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof OptimisticLockException || cause instanceof OptimisticLockingFailureException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the ID of the conflicting account, or null if the conflict was not
+     *         on an account
+     */
+    private static Long getAccountId(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof OptimisticLockException
+                    && ((OptimisticLockException) cause).getEntity() instanceof Account) {
+                return ((Account) ((OptimisticLockException) cause).getEntity()).getId();
+            }
+            if (cause instanceof ObjectOptimisticLockingFailureException
+                    && Account.class.equals(((ObjectOptimisticLockingFailureException) cause).getPersistentClass())
+                    && ((ObjectOptimisticLockingFailureException) cause).getIdentifier() instanceof Long) {
+                return (Long) ((ObjectOptimisticLockingFailureException) cause).getIdentifier();
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,12 @@
+package com.example.bank.retry;
+
+/**
+ * A call that {@link OptimisticRetryExecutor} may run more than once, such as
+ * an AOP join point.
+ */
+@FunctionalInterface
+public interface RetryableCall<T> {
+
+    T call() throws Throwable;
+
+}
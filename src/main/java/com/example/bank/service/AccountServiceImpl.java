@@ -1,17 +1,25 @@
 package com.example.bank.service;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
 import com.example.bank.domain.Account;
+import com.example.bank.domain.AccountBalance;
 import com.example.bank.domain.Customer;
 import com.example.bank.dto.CreateAccountDto;
 import com.example.bank.exception.AccountNotFoundException;
 import com.example.bank.exception.CustomerNotFoundException;
+import com.example.bank.ledger.HotAccounts;
+import com.example.bank.readmodel.AccountCreatedEvent;
+import com.example.bank.repository.AccountBalanceRepository;
 import com.example.bank.repository.AccountRepository;
 
 import jakarta.transaction.Transactional;
@@ -23,12 +31,21 @@ import jakarta.transaction.Transactional;
 @Transactional
 public class AccountServiceImpl implements AccountService {
 
+    @Autowired
+    private AccountBalanceRepository balanceRepository;
+
     @Autowired
     private AccountRepository repository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Autowired
     private CustomerService customerService;
 
+    @Autowired(required = false)
+    private HotAccounts hotAccounts;
+
     @Autowired
     @Lazy
     private TransactionService transactionService;
@@ -39,14 +56,21 @@ public class AccountServiceImpl implements AccountService {
     @Override
     public Account create(CreateAccountDto createAccountDto) {
         Customer customer = customerService.findById(createAccountDto.getCustomerId());
-        return repository.save(Account.builder().customer(customer)
+        Account account = repository.save(Account.builder().customer(customer)
                 .type(createAccountDto.getType()).build());
+        balanceRepository.save(AccountBalance.builder().accountId(account.getId()).build());
+        if (hotAccounts != null && hotAccounts.isHot(account.getId())) {
+            hotAccounts.createSlots(account.getId());
+        }
+        eventPublisher.publishEvent(new AccountCreatedEvent(account));
+        return account;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
+    @ReadOnlyTransactional
     public boolean exists(Long accountId) {
         return repository.existsById(accountId);
     }
@@ -55,6 +79,7 @@ public class AccountServiceImpl implements AccountService {
      * {@inheritDoc}
      */
     @Override
+    @ReadOnlyTransactional
     public List<Account> findAccountsByCustomerId(Long customerId) {
         if (!customerService.exists(customerId)) {
             throw new CustomerNotFoundException();
@@ -63,8 +88,13 @@ public class AccountServiceImpl implements AccountService {
         if (accounts == null || accounts.isEmpty()) {
             throw new AccountNotFoundException();
         }
+        List<Long> accountIds = new ArrayList<>(accounts.size());
+        for (Account account : accounts) {
+            accountIds.add(account.getId());
+        }
+        Map<Long, BigDecimal> balances = transactionService.getCurrentAccountBalances(accountIds);
         for (Account account : accounts) {
-            account.setBalance(transactionService.getCurrentAccountBalance(account.getId()));
+            account.setBalance(balances.get(account.getId()));
         }
         return accounts;
     }
@@ -73,6 +103,7 @@ public class AccountServiceImpl implements AccountService {
      * {@inheritDoc}
      */
     @Override
+    @ReadOnlyTransactional
     public Account findById(Long accountId) {
         Optional<Account> account = repository.findById(accountId);
         if (!account.isPresent()) {
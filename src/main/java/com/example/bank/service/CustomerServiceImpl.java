@@ -40,6 +40,7 @@ public class CustomerServiceImpl implements CustomerService {
      * {@inheritDoc}
      */
     @Override
+    @ReadOnlyTransactional
     public boolean exists(Long customerId) {
         return repository.existsById(customerId);
     }
@@ -48,6 +49,7 @@ public class CustomerServiceImpl implements CustomerService {
      * {@inheritDoc}
      */
     @Override
+    @ReadOnlyTransactional
     public List<Customer> findAll() {
         List<Customer> customers = repository.findAll();
         if (customers == null || customers.isEmpty()) {
@@ -60,6 +62,7 @@ public class CustomerServiceImpl implements CustomerService {
      * {@inheritDoc}
      */
     @Override
+    @ReadOnlyTransactional
     public Customer findById(Long customerId) {
         Optional<Customer> customer = repository.findById(customerId);
         if (!customer.isPresent()) {
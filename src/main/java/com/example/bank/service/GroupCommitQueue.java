@@ -0,0 +1,225 @@
+package com.example.bank.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import com.example.bank.domain.Transaction;
+import com.example.bank.dto.AbstractCreateTransactionDto;
+import com.example.bank.dto.CreateDepositDto;
+import com.example.bank.dto.CreateWithdrawlDto;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Single writer queue for deposits and withdrawls, active with the
+ * {@code group-commit} profile.
+ *
+ * The writer takes up to {@code bank.group-commit.batch-size} requests, waiting
+ * at most {@code bank.group-commit.window-micros} after the first for more, and
+ * applies them in one database transaction. A group failing as a whole, i.e.
+ * on a conditional debit or a version conflict, is applied again one request
+ * per transaction so only the failing requests fail.
+ *
+ * Requests are only accepted while the writer runs, a request accepted before
+ * {@link #stop()} is always applied, and the requests left when the writer
+ * dies on an {@link Error} fail with it.
+ */
+@Component
+@Profile("group-commit & !journal")
+@Slf4j
+public class GroupCommitQueue {
+
+    private static final long POLL_MILLIS = 100;
+
+    private final BlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+
+    /**
+     * Held to check running and enqueue, and to clear running, so no request
+     * is enqueued after the writer saw it cleared.
+     */
+    private final ReentrantLock submitLock = new ReentrantLock();
+
+    @Value("${bank.group-commit.batch-size}")
+    private int batchSize;
+
+    @Value("${bank.group-commit.timeout-millis}")
+    private long timeoutMillis;
+
+    @Value("${bank.group-commit.window-micros}")
+    private long windowMicros;
+
+    @Autowired
+    @Lazy
+    private TransactionServiceImpl transactionService;
+
+    private volatile boolean running;
+
+    private Thread writer;
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::write, "group-commit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Stop the writer once every queued request is applied.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        submitLock.lock();
+        try {
+            running = false;
+        } finally {
+            submitLock.unlock();
+        }
+        writer.join();
+    }
+
+    /**
+     * @return the time a caller waits for its request, in milliseconds
+     */
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /**
+     * @param createTransactionDto a validated {@link CreateDepositDto} or
+     *                             {@link CreateWithdrawlDto}
+     * @return completed with the {@link Transaction} or its rejection once its
+     *         group commits, or exceptionally if it failed on its own
+     * @throws IllegalStateException if the queue is stopped
+     */
+    public CompletableFuture<TransactionResult<Transaction>> submit(
+            AbstractCreateTransactionDto createTransactionDto) {
+        Request request = new Request(createTransactionDto);
+        submitLock.lock();
+        try {
+            if (!running) {
+                throw new IllegalStateException("Group commit queue stopped");
+            }
+            queue.add(request);
+        } finally {
+            submitLock.unlock();
+        }
+        return request.result;
+    }
+
+    /**
+     * Apply queued requests in groups until stopped and drained, then fail any
+     * request left by a writer dying early.
+     */
+    private void write() {
+        try {
+            writeGroups();
+        } finally {
+            submitLock.lock();
+            try {
+                running = false;
+            } finally {
+                submitLock.unlock();
+            }
+            Request request;
+            while ((request = queue.poll()) != null) {
+                request.result.completeExceptionally(new IllegalStateException("Group commit writer stopped"));
+            }
+        }
+    }
+
+    private void writeGroups() {
+        long windowNanos = TimeUnit.MICROSECONDS.toNanos(windowMicros);
+        List<Request> group = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Request first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+
+                long deadline = System.nanoTime() + windowNanos;
+                while (group.size() < batchSize) {
+                    queue.drainTo(group, batchSize - group.size());
+                    long remainingNanos = deadline - System.nanoTime();
+                    if (group.size() >= batchSize || remainingNanos <= 0) {
+                        break;
+                    }
+                    Request next = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    group.add(next);
+                }
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                for (Request request : group) {
+                    request.result.completeExceptionally(exception);
+                }
+                return;
+            }
+
+            apply(group);
+            group.clear();
+        }
+    }
+
+    private void apply(List<Request> group) {
+        List<AbstractCreateTransactionDto> createTransactionDtos = new ArrayList<>(group.size());
+        for (Request request : group) {
+            createTransactionDtos.add(request.createTransactionDto);
+        }
+
+        List<TransactionResult<Transaction>> results;
+        try {
+            results = transactionService.applyGroup(createTransactionDtos);
+        } catch (Error error) {
+            for (Request request : group) {
+                request.result.completeExceptionally(error);
+            }
+            throw error;
+        } catch (RuntimeException exception) {
+            if (group.size() == 1) {
+                group.get(0).result.completeExceptionally(exception);
+                return;
+            }
+            log.debug("Group of {} request(s) failed, applying one by one", group.size(), exception);
+            for (Request request : group) {
+                apply(Collections.singletonList(request));
+            }
+            return;
+        }
+
+        for (int i = 0; i < group.size(); i++) {
+            group.get(i).result.complete(results.get(i));
+        }
+    }
+
+    private static final class Request {
+
+        private final AbstractCreateTransactionDto createTransactionDto;
+
+        private final CompletableFuture<TransactionResult<Transaction>> result = new CompletableFuture<>();
+
+        private Request(AbstractCreateTransactionDto createTransactionDto) {
+            this.createTransactionDto = createTransactionDto;
+        }
+
+    }
+
+}
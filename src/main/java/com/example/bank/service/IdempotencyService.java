@@ -0,0 +1,49 @@
+package com.example.bank.service;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.springframework.validation.annotation.Validated;
+
+import com.example.bank.domain.IdempotencyRecord;
+import com.example.bank.domain.Transaction;
+import com.example.bank.dto.AbstractCreateTransactionDto;
+import com.example.bank.exception.IdempotencyKeyInProgressException;
+import com.example.bank.exception.IdempotencyKeyReusedException;
+
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Service layer to run transaction requests at most once per idempotency key.
+ */
+@Validated
+public interface IdempotencyService {
+
+        /**
+         * Run the operation once for the given idempotencyKey. A repeated key
+         * returns the {@link Transaction} object(s) of the first request without
+         * running the operation again, a request still running with the key is
+         * waited for.
+         * 
+         * @param idempotencyKey               the client supplied key
+         * @param createTransactionDto         the request, a repeated key must
+         *                                     repeat it
+         * @param operation                    the service call creating the
+         *                                     {@link Transaction} object(s)
+         * @return the {@link Transaction} object(s) created for the key
+         * @throws ConstraintViolationException     validation failure
+         * @throws IdempotencyKeyInProgressException the first request with the
+         *                                           key did not finish in time
+         * @throws IdempotencyKeyReusedException     the key was used for a
+         *                                           different request
+         */
+        List<Transaction> execute(
+                        @NotBlank(message = "Missing idempotency key") @Size(max = IdempotencyRecord.KEY_LENGTH, message = "Idempotency key too long") String idempotencyKey,
+                        @NotNull(message = "Missing create transaction DTO") @Valid AbstractCreateTransactionDto createTransactionDto,
+                        @NotNull(message = "Missing operation") Supplier<List<Transaction>> operation);
+
+}
@@ -0,0 +1,278 @@
+package com.example.bank.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.bank.domain.IdempotencyRecord;
+import com.example.bank.domain.Transaction;
+import com.example.bank.dto.AbstractCreateTransactionDto;
+import com.example.bank.dto.CreateTransferDto;
+import com.example.bank.exception.IdempotencyKeyInProgressException;
+import com.example.bank.exception.IdempotencyKeyReusedException;
+import com.example.bank.journal.Journal;
+import com.example.bank.repository.IdempotencyRecordRepository;
+import com.example.bank.retry.OptimisticRetryExecutor;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Business logic for idempotency keys.
+ * 
+ * Keys are indexed in memory while in use, bounded in size and evicted after
+ * {@value IdempotencyRecord#TTL_HOURS} hours, and persisted as
+ * {@link IdempotencyRecord} rows inserted in the database transaction of the
+ * operation. The row is written first, so a duplicate on another instance
+ * blocks on the key until the first request commits.
+ * 
+ * With the {@code journal} profile the operation writes no database
+ * transaction, so the key is appended in the {@link Journal} group of the
+ * transactions instead, durable exactly when they are.
+ * 
+ * Not {@link jakarta.transaction.Transactional}, each key runs its own
+ * {@link TransactionTemplate} so the record commits or rolls back with the
+ * operation, retried on version conflicts like the transaction service writes.
+ */
+@Service
+@Slf4j
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final int MAX_INDEXED_KEYS = 100_000;
+
+    /**
+     * Time a duplicate waits for the first request with its key.
+     */
+    private static final long WAIT_SECONDS = 30;
+
+    private final Map<String, IndexEntry> index = new ConcurrentHashMap<>();
+
+    @Autowired(required = false)
+    private Journal journal;
+
+    @Autowired
+    private IdempotencyRecordRepository recordRepository;
+
+    @Autowired
+    private OptimisticRetryExecutor retryExecutor;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Transaction> execute(String idempotencyKey, AbstractCreateTransactionDto createTransactionDto,
+            Supplier<List<Transaction>> operation) {
+        String fingerprint = fingerprint(createTransactionDto);
+
+        IndexEntry entry = new IndexEntry(fingerprint);
+        IndexEntry existing = index.putIfAbsent(idempotencyKey, entry);
+        if (existing != null) {
+            if (!existing.fingerprint.equals(fingerprint)) {
+                throw new IdempotencyKeyReusedException();
+            }
+            return findTransactions(await(existing));
+        }
+
+        try {
+            List<Long> transactionIds = run(idempotencyKey, fingerprint, operation);
+            entry.result.complete(transactionIds);
+            return findTransactions(transactionIds);
+        } catch (RuntimeException exception) {
+            // Failed requests are not recorded, the waiting duplicates fail alike and
+            // later retries run again
+            entry.result.completeExceptionally(exception);
+            index.remove(idempotencyKey, entry);
+            throw exception;
+        }
+    }
+
+    /**
+     * Evict expired keys from the index, the database, and the journal index,
+     * and the oldest keys of an index over {@value #MAX_INDEXED_KEYS} keys.
+     */
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.MINUTES)
+    public void evict() {
+        LocalDateTime expired = LocalDateTime.now().minusHours(IdempotencyRecord.TTL_HOURS);
+        index.values().removeIf(entry -> entry.result.isDone() && entry.dateCreated.isBefore(expired));
+
+        int excess = index.size() - MAX_INDEXED_KEYS;
+        if (excess > 0) {
+            index.entrySet().stream()
+                    .filter(key -> key.getValue().result.isDone())
+                    .sorted(Comparator.comparing(key -> key.getValue().dateCreated))
+                    .limit(excess)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList())
+                    .forEach(index::remove);
+        }
+
+        if (journal != null) {
+            journal.evictIdempotencyKeys(expired);
+        }
+        Integer deleted = transactionTemplate.execute(status -> recordRepository.deleteCreatedBefore(expired));
+        if (deleted != null && deleted > 0) {
+            log.debug("Evicted {} expired idempotency record(s)", deleted);
+        }
+    }
+
+    /**
+     * @return the IDs of the transactions recorded for the key, running the
+     *         operation if the key has no record
+     */
+    private List<Long> run(String idempotencyKey, String fingerprint, Supplier<List<Transaction>> operation) {
+        if (journal != null) {
+            return runJournaled(idempotencyKey, fingerprint, operation);
+        }
+
+        Optional<IdempotencyRecord> recorded = recordRepository.findById(idempotencyKey);
+        if (recorded.isPresent()) {
+            return getTransactionIds(recorded.get(), fingerprint);
+        }
+
+        try {
+            return retryExecutor.execute("idempotent", () -> transactionTemplate.execute(status -> {
+                IdempotencyRecord record = recordRepository.saveAndFlush(IdempotencyRecord.builder()
+                        .idempotencyKey(idempotencyKey).fingerprint(fingerprint).build());
+
+                List<Long> transactionIds = new ArrayList<>();
+                for (Transaction transaction : operation.get()) {
+                    transactionIds.add(transaction.getId());
+                }
+                record.setTransactionIds(transactionIds.stream().map(String::valueOf)
+                        .collect(Collectors.joining(",")));
+                return transactionIds;
+            }));
+
+        } catch (DataIntegrityViolationException exception) {
+            // Another instance committed the key first
+            return getTransactionIds(recordRepository.findById(idempotencyKey)
+                    .orElseThrow(() -> exception), fingerprint);
+        } catch (RuntimeException | Error exception) {
+            throw exception;
+        } catch (Throwable exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    /**
+     * @return the IDs of the transactions appended for the key, running the
+     *         operation with the key if none are
+     */
+    private List<Long> runJournaled(String idempotencyKey, String fingerprint,
+            Supplier<List<Transaction>> operation) {
+        Journal.KeyedGroup recorded = journal.findIdempotencyKey(idempotencyKey);
+        if (recorded != null) {
+            if (!recorded.matches(fingerprint)) {
+                throw new IdempotencyKeyReusedException();
+            }
+            return recorded.getTransactionIds();
+        }
+
+        return journal.withIdempotencyKey(idempotencyKey, fingerprint, () -> {
+            List<Long> transactionIds = new ArrayList<>();
+            for (Transaction transaction : operation.get()) {
+                transactionIds.add(transaction.getId());
+            }
+            return transactionIds;
+        });
+    }
+
+    private List<Long> await(IndexEntry entry) {
+        try {
+            return entry.result.get(WAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) exception.getCause();
+            }
+            throw new IllegalStateException(exception.getCause());
+        } catch (TimeoutException exception) {
+            throw new IdempotencyKeyInProgressException();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInProgressException();
+        }
+    }
+
+    /**
+     * @return the transactions in the order of the given IDs, read through the
+     *         {@link TransactionService} so any storage engine can answer
+     */
+    private List<Transaction> findTransactions(List<Long> transactionIds) {
+        List<Transaction> ordered = new ArrayList<>(transactionIds.size());
+        for (Long transactionId : transactionIds) {
+            ordered.add(transactionService.findById(transactionId));
+        }
+        return ordered;
+    }
+
+    private static List<Long> getTransactionIds(IdempotencyRecord record, String fingerprint) {
+        if (!record.getFingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyReusedException();
+        }
+        if (record.getTransactionIds() == null) {
+            throw new IdempotencyKeyInProgressException();
+        }
+
+        List<Long> transactionIds = new ArrayList<>();
+        for (String transactionId : record.getTransactionIds().split(",")) {
+            transactionIds.add(Long.valueOf(transactionId));
+        }
+        return transactionIds;
+    }
+
+    /**
+     * @return the request fields a repeated key must match
+     */
+    private static String fingerprint(AbstractCreateTransactionDto createTransactionDto) {
+        StringBuilder fingerprint = new StringBuilder()
+                .append(createTransactionDto.getType()).append('|')
+                .append(createTransactionDto.getCustomerId()).append('|')
+                .append(createTransactionDto.getAccountId()).append('|');
+        if (createTransactionDto instanceof CreateTransferDto) {
+            fingerprint.append(((CreateTransferDto) createTransactionDto).getDestinationAccountId());
+        }
+        fingerprint.append('|').append(createTransactionDto.getAmount().stripTrailingZeros().toPlainString())
+                .append('|').append(createTransactionDto.getDescription());
+        return fingerprint.toString();
+    }
+
+    /**
+     * In-memory state of a key, completed with the transaction IDs once the
+     * first request with the key commits.
+     */
+    private static class IndexEntry {
+
+        private final LocalDateTime dateCreated = LocalDateTime.now();
+
+        private final String fingerprint;
+
+        private final CompletableFuture<List<Long>> result = new CompletableFuture<>();
+
+        IndexEntry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+    }
+
+}
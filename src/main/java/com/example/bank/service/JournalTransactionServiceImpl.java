@@ -0,0 +1,503 @@
+package com.example.bank.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+
+import com.example.bank.domain.Account;
+import com.example.bank.domain.Customer;
+import com.example.bank.domain.Transaction;
+import com.example.bank.domain.TransactionTransferType;
+import com.example.bank.domain.TransactionType;
+import com.example.bank.dto.BatchTransferResultDto;
+import com.example.bank.dto.CreateDepositDto;
+import com.example.bank.dto.CreateTransferDto;
+import com.example.bank.dto.CreateWithdrawlDto;
+import com.example.bank.dto.TransactionCursor;
+import com.example.bank.dto.TransactionHistoryQueryDto;
+import com.example.bank.exception.AccountDoesNotBelongToCustomerException;
+import com.example.bank.exception.AccountNotFoundException;
+import com.example.bank.exception.DepositMustBeGreaterThanZeroException;
+import com.example.bank.exception.TransactionHasInsufficientFundsException;
+import com.example.bank.exception.TransactionNotFoundException;
+import com.example.bank.exception.TransactionSourceCannotEqualDestination;
+import com.example.bank.exception.TransferMustBeGreaterThanZeroException;
+import com.example.bank.journal.Journal;
+import com.example.bank.ledger.TransferExecutor;
+import com.example.bank.readmodel.TransactionsCreatedEvent;
+import com.example.bank.repository.AccountOwnershipView;
+import com.example.bank.repository.AccountRepository;
+
+/**
+ * Business logic for transactions stored in the {@link Journal} instead of the
+ * database, active with the {@code journal} profile.
+ *
+ * Customers and accounts stay in the database. Writes are appended while
+ * holding the account locks and return once the journal has forced them to
+ * disk, so concurrent writers share one force. Appends are not part of any
+ * database transaction, and each transfer of a batch is appended, and
+ * replayed, on its own.
+ */
+@Profile("journal")
+@Service
+public class JournalTransactionServiceImpl implements TransactionService {
+
+    // Preallocated rejections, stackless and holding only their message
+    private static final AccountDoesNotBelongToCustomerException ACCOUNT_DOES_NOT_BELONG_TO_CUSTOMER =
+            new AccountDoesNotBelongToCustomerException();
+
+    private static final AccountNotFoundException ACCOUNT_NOT_FOUND = new AccountNotFoundException();
+
+    private static final DepositMustBeGreaterThanZeroException DEPOSIT_MUST_BE_GREATER_THAN_ZERO =
+            new DepositMustBeGreaterThanZeroException();
+
+    private static final TransactionHasInsufficientFundsException TRANSACTION_HAS_INSUFFICIENT_FUNDS =
+            new TransactionHasInsufficientFundsException();
+
+    private static final TransactionSourceCannotEqualDestination TRANSACTION_SOURCE_CANNOT_EQUAL_DESTINATION =
+            new TransactionSourceCannotEqualDestination();
+
+    private static final TransferMustBeGreaterThanZeroException TRANSFER_MUST_BE_GREATER_THAN_ZERO =
+            new TransferMustBeGreaterThanZeroException();
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private Journal journal;
+
+    @Autowired
+    private TransferExecutor transferExecutor;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Transaction findById(Long transactionId) {
+        Transaction transaction = journal.findById(transactionId);
+        if (transaction == null) {
+            throw new TransactionNotFoundException();
+        }
+        return transaction;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BigDecimal getCurrentAccountBalance(Long accountId) {
+        return journal.getBalance(accountId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<Long, BigDecimal> getCurrentAccountBalances(Collection<Long> accountIds) {
+        return journal.getBalances(accountIds);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Transaction> findTransactionsByAccountId(Long accountId) {
+        if (!accountService.exists(accountId)) {
+            throw new AccountNotFoundException();
+        }
+        List<Transaction> transactions = new ArrayList<>();
+        journal.forEachNewestFirst(accountId, transactions::add);
+        if (transactions.isEmpty()) {
+            throw new TransactionNotFoundException();
+        }
+        Collections.reverse(transactions);
+        return transactions;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Journal IDs are taken and indexed in order under the append lock, so the
+     * account chain read at the start never gains a lower ID later.
+     */
+    @Override
+    public void exportTransactions(Long accountId, Long afterTransactionId, Consumer<Transaction> consumer) {
+        for (long transactionId : journal.findTransactionIds(accountId, afterTransactionId)) {
+            consumer.accept(journal.findById(transactionId));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Journal dates never go backwards, so the account chain is already in
+     * creation date then ID order and the walk stops at the page end.
+     */
+    @Override
+    public Slice<Transaction> findTransactionHistory(TransactionHistoryQueryDto transactionHistoryQueryDto) {
+        Account account = accountService.findById(transactionHistoryQueryDto.getAccountId());
+
+        if (!transactionHistoryQueryDto.getCustomerId().equals(account.getCustomer().getId())) {
+            throw new AccountDoesNotBelongToCustomerException();
+        }
+
+        // Read one extra transaction to tell whether another page follows
+        int size = transactionHistoryQueryDto.getSize();
+        LocalDateTime from = transactionHistoryQueryDto.getFrom();
+
+        List<Transaction> transactions;
+        if (transactionHistoryQueryDto.getBefore() != null) {
+            TransactionCursor cursor = TransactionCursor.decode(transactionHistoryQueryDto.getBefore());
+
+            // Keep the size + 1 matches nearest the cursor
+            Deque<Transaction> newer = new ArrayDeque<>(size + 1);
+            journal.forEachNewestFirst(account.getId(), transaction -> {
+                if (!isNewer(transaction, cursor) || isBefore(transaction, from)) {
+                    return false;
+                }
+                if (matches(transaction, transactionHistoryQueryDto)) {
+                    if (newer.size() == size + 1) {
+                        newer.removeFirst();
+                    }
+                    newer.addLast(transaction);
+                }
+                return true;
+            });
+            transactions = new ArrayList<>(newer);
+        } else {
+            TransactionCursor cursor = transactionHistoryQueryDto.getAfter() != null
+                    ? TransactionCursor.decode(transactionHistoryQueryDto.getAfter())
+                    : null;
+
+            List<Transaction> older = new ArrayList<>(size + 1);
+            journal.forEachNewestFirst(account.getId(), transaction -> {
+                if (isBefore(transaction, from)) {
+                    return false;
+                }
+                if ((cursor == null || !isNewer(transaction, cursor) && !isCursor(transaction, cursor))
+                        && matches(transaction, transactionHistoryQueryDto)) {
+                    older.add(transaction);
+                }
+                return older.size() <= size;
+            });
+            transactions = older;
+        }
+
+        boolean hasMore = transactions.size() > size;
+        if (hasMore) {
+            transactions = transactionHistoryQueryDto.getBefore() != null
+                    ? new ArrayList<>(transactions.subList(1, size + 1))
+                    : new ArrayList<>(transactions.subList(0, size));
+        }
+
+        return new SliceImpl<>(transactions, PageRequest.of(0, size), hasMore);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Transaction process(CreateDepositDto createDepositDto) {
+        return tryProcess(createDepositDto).getOrThrow();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TransactionResult<Transaction> tryProcess(CreateDepositDto createDepositDto) {
+        if (createDepositDto.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            return TransactionResult.rejected(DEPOSIT_MUST_BE_GREATER_THAN_ZERO);
+        }
+
+        TransactionResult<Transaction> result = transferExecutor.execute(
+                Collections.singleton(createDepositDto.getAccountId()), () -> deposit(createDepositDto));
+        if (!result.isRejected()) {
+            journal.awaitDurable(result.getValue().getId());
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Transaction> process(CreateTransferDto createTransferDto) {
+        return tryProcess(createTransferDto).getOrThrow();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TransactionResult<List<Transaction>> tryProcess(CreateTransferDto createTransferDto) {
+        if (createTransferDto.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            return TransactionResult.rejected(TRANSFER_MUST_BE_GREATER_THAN_ZERO);
+        }
+
+        TransactionResult<List<Transaction>> result = transferExecutor.execute(createTransferDto.getAccountId(),
+                createTransferDto.getDestinationAccountId(), () -> transfer(createTransferDto,
+                        findOwnership(Arrays.asList(createTransferDto.getAccountId(),
+                                createTransferDto.getDestinationAccountId()))));
+        if (!result.isRejected()) {
+            journal.awaitDurable(result.getValue().get(1).getId());
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<BatchTransferResultDto> processTransfers(List<CreateTransferDto> createTransferDtos) {
+        Set<Long> accountIds = new HashSet<>();
+        for (CreateTransferDto createTransferDto : createTransferDtos) {
+            accountIds.add(createTransferDto.getAccountId());
+            accountIds.add(createTransferDto.getDestinationAccountId());
+        }
+
+        // Read every account once, a missing account is a rejected transfer instead
+        // of an exception
+        Map<Long, AccountOwnershipView> accounts = findOwnership(accountIds);
+
+        List<BatchTransferResultDto> results = transferExecutor.execute(accountIds, () -> {
+            List<BatchTransferResultDto> processed = new ArrayList<>(createTransferDtos.size());
+            for (int index = 0; index < createTransferDtos.size(); index++) {
+                processed.add(processTransfer(index, createTransferDtos.get(index), accounts));
+            }
+            return processed;
+        });
+
+        journal.awaitDurable(journal.getAppendedId());
+        return results;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Transaction process(CreateWithdrawlDto createWithdrawlDto) {
+        return tryProcess(createWithdrawlDto).getOrThrow();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TransactionResult<Transaction> tryProcess(CreateWithdrawlDto createWithdrawlDto) {
+        if (createWithdrawlDto.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            return TransactionResult.rejected(TRANSFER_MUST_BE_GREATER_THAN_ZERO);
+        }
+
+        TransactionResult<Transaction> result = transferExecutor.execute(
+                Collections.singleton(createWithdrawlDto.getAccountId()), () -> withdrawl(createWithdrawlDto));
+        if (!result.isRejected()) {
+            journal.awaitDurable(result.getValue().getId());
+        }
+        return result;
+    }
+
+    /**
+     * Deposit while holding the account lock.
+     */
+    private TransactionResult<Transaction> deposit(CreateDepositDto createDepositDto) {
+        AccountOwnershipView account = findOwnership(Collections.singleton(createDepositDto.getAccountId()))
+                .get(createDepositDto.getAccountId());
+        if (account == null) {
+            return TransactionResult.rejected(ACCOUNT_NOT_FOUND);
+        }
+
+        if (!createDepositDto.getCustomerId().equals(account.getCustomerId())) {
+            return TransactionResult.rejected(ACCOUNT_DOES_NOT_BELONG_TO_CUSTOMER);
+        }
+
+        Transaction deposit = new Transaction();
+        deposit.setAccount(getAccountReference(account));
+        deposit.setAmount(createDepositDto.getAmount());
+        deposit.setCustomer(deposit.getAccount().getCustomer());
+        deposit.setDescription(createDepositDto.getDescription());
+        deposit.setType(TransactionType.DEPOSIT);
+        append(Collections.singletonList(deposit));
+
+        return TransactionResult.of(deposit);
+    }
+
+    /**
+     * Process one transfer of a batch, reporting rejections in the result.
+     */
+    private BatchTransferResultDto processTransfer(int index, CreateTransferDto createTransferDto,
+            Map<Long, AccountOwnershipView> accounts) {
+        TransactionResult<List<Transaction>> result = createTransferDto.getAmount().compareTo(BigDecimal.ZERO) <= 0
+                ? TransactionResult.rejected(TRANSFER_MUST_BE_GREATER_THAN_ZERO)
+                : transfer(createTransferDto, accounts);
+
+        if (result.isRejected()) {
+            return BatchTransferResultDto.builder().index(index).success(false)
+                    .error(result.getRejection().getClass().getSimpleName())
+                    .message(result.getRejection().getMessage()).build();
+        }
+
+        return BatchTransferResultDto.builder().index(index).success(true)
+                .sourceTransactionId(result.getValue().get(0).getId())
+                .destinationTransactionId(result.getValue().get(1).getId()).build();
+    }
+
+    /**
+     * Transfer between read accounts while holding both account locks, both
+     * transactions appended as one group.
+     */
+    private TransactionResult<List<Transaction>> transfer(CreateTransferDto createTransferDto,
+            Map<Long, AccountOwnershipView> accounts) {
+        AccountOwnershipView sourceAccount = accounts.get(createTransferDto.getAccountId());
+        if (sourceAccount == null) {
+            return TransactionResult.rejected(ACCOUNT_NOT_FOUND);
+        }
+
+        if (!createTransferDto.getCustomerId().equals(sourceAccount.getCustomerId())) {
+            return TransactionResult.rejected(ACCOUNT_DOES_NOT_BELONG_TO_CUSTOMER);
+        }
+
+        AccountOwnershipView destinationAccount = accounts.get(createTransferDto.getDestinationAccountId());
+        if (destinationAccount == null) {
+            return TransactionResult.rejected(ACCOUNT_NOT_FOUND);
+        }
+
+        if (destinationAccount.getAccountId().equals(sourceAccount.getAccountId())) {
+            return TransactionResult.rejected(TRANSACTION_SOURCE_CANNOT_EQUAL_DESTINATION);
+        }
+
+        if (journal.getBalance(sourceAccount.getAccountId()).compareTo(createTransferDto.getAmount()) < 0) {
+            return TransactionResult.rejected(TRANSACTION_HAS_INSUFFICIENT_FUNDS);
+        }
+
+        // Build the source account transaction
+        Transaction newSourceTransaction = new Transaction();
+        newSourceTransaction.setAccount(getAccountReference(sourceAccount));
+        newSourceTransaction.setAmount(createTransferDto.getAmount().negate());
+        newSourceTransaction.setCustomer(newSourceTransaction.getAccount().getCustomer());
+        newSourceTransaction.setDescription(createTransferDto.getDescription());
+        newSourceTransaction.setTransferType(TransactionTransferType.SOURCE);
+        newSourceTransaction.setType(TransactionType.TRANSFER);
+
+        // Build the destination account transaction
+        Transaction newDestinationTransaction = new Transaction();
+        newDestinationTransaction.setAccount(getAccountReference(destinationAccount));
+        newDestinationTransaction.setAmount(createTransferDto.getAmount());
+        newDestinationTransaction.setCustomer(newDestinationTransaction.getAccount().getCustomer());
+        newDestinationTransaction.setDescription(createTransferDto.getDescription());
+        newDestinationTransaction.setTransferType(TransactionTransferType.DESTINATION);
+        newDestinationTransaction.setType(TransactionType.TRANSFER);
+
+        return TransactionResult.of(append(Arrays.asList(newSourceTransaction, newDestinationTransaction)));
+    }
+
+    /**
+     * Withdraw while holding the account lock.
+     */
+    private TransactionResult<Transaction> withdrawl(CreateWithdrawlDto createWithdrawlDto) {
+        AccountOwnershipView account = findOwnership(Collections.singleton(createWithdrawlDto.getAccountId()))
+                .get(createWithdrawlDto.getAccountId());
+        if (account == null) {
+            return TransactionResult.rejected(ACCOUNT_NOT_FOUND);
+        }
+
+        if (!createWithdrawlDto.getCustomerId().equals(account.getCustomerId())) {
+            return TransactionResult.rejected(ACCOUNT_DOES_NOT_BELONG_TO_CUSTOMER);
+        }
+
+        if (journal.getBalance(account.getAccountId()).compareTo(createWithdrawlDto.getAmount()) < 0) {
+            return TransactionResult.rejected(TRANSACTION_HAS_INSUFFICIENT_FUNDS);
+        }
+
+        // Build the account withdrawl transaction
+        Transaction withdrawl = new Transaction();
+        withdrawl.setAccount(getAccountReference(account));
+        withdrawl.setAmount(createWithdrawlDto.getAmount().negate());
+        withdrawl.setCustomer(withdrawl.getAccount().getCustomer());
+        withdrawl.setDescription(createWithdrawlDto.getDescription());
+        withdrawl.setType(TransactionType.TRANSFER);
+        append(Collections.singletonList(withdrawl));
+
+        return TransactionResult.of(withdrawl);
+    }
+
+    /**
+     * Append while holding the account locks and publish the transactions, to
+     * listeners at once unless a database transaction is active.
+     */
+    private List<Transaction> append(List<Transaction> transactions) {
+        journal.append(transactions);
+        eventPublisher.publishEvent(new TransactionsCreatedEvent(transactions));
+        return transactions;
+    }
+
+    /**
+     * @return the {@link AccountOwnershipView} of each account found, by account
+     *         ID
+     */
+    private Map<Long, AccountOwnershipView> findOwnership(Collection<Long> accountIds) {
+        Map<Long, AccountOwnershipView> accounts = new HashMap<>();
+        for (AccountOwnershipView view : accountRepository.findOwnershipByIdIn(accountIds)) {
+            accounts.put(view.getAccountId(), view);
+        }
+        return accounts;
+    }
+
+    /**
+     * @return a detached {@link Account}, and {@link Customer}, holding only
+     *         their IDs
+     */
+    private static Account getAccountReference(AccountOwnershipView view) {
+        return Account.builder().id(view.getAccountId())
+                .customer(Customer.builder().id(view.getCustomerId()).build()).build();
+    }
+
+    private static boolean isBefore(Transaction transaction, LocalDateTime from) {
+        return from != null && transaction.getDateCreated().isBefore(from);
+    }
+
+    private static boolean isCursor(Transaction transaction, TransactionCursor cursor) {
+        return transaction.getDateCreated().equals(cursor.getDateCreated())
+                && transaction.getId().equals(cursor.getId());
+    }
+
+    private static boolean isNewer(Transaction transaction, TransactionCursor cursor) {
+        int compare = transaction.getDateCreated().compareTo(cursor.getDateCreated());
+        return compare > 0 || compare == 0 && transaction.getId() > cursor.getId();
+    }
+
+    private static boolean matches(Transaction transaction, TransactionHistoryQueryDto transactionHistoryQueryDto) {
+        return (transactionHistoryQueryDto.getType() == null
+                || transactionHistoryQueryDto.getType() == transaction.getType())
+                && (transactionHistoryQueryDto.getTransferType() == null
+                        || transactionHistoryQueryDto.getTransferType() == transaction.getTransferType())
+                && (transactionHistoryQueryDto.getTo() == null
+                        || transaction.getDateCreated().isBefore(transactionHistoryQueryDto.getTo()));
+    }
+
+}
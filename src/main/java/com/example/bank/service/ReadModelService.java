@@ -0,0 +1,78 @@
+package com.example.bank.service;
+
+import java.util.List;
+
+import org.springframework.validation.annotation.Validated;
+
+import com.example.bank.domain.Account;
+import com.example.bank.domain.AccountSummary;
+import com.example.bank.domain.Transaction;
+import com.example.bank.domain.TransactionSummary;
+import com.example.bank.exception.AccountNotFoundException;
+import com.example.bank.exception.CustomerNotFoundException;
+import com.example.bank.exception.TransactionNotFoundException;
+
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Interface for queries served by the read model, {@link AccountSummary} and
+ * {@link TransactionSummary} rows updated asynchronously behind the write
+ * model, active with the {@code read-model} profile.
+ *
+ * Results are returned as {@link Account} and {@link Transaction} objects
+ * holding only IDs of their associations.
+ *
+ * Basic DTO validation occurs on service layer via {@link Validated} and
+ * {@link Valid} annotations.
+ */
+@Validated
+public interface ReadModelService {
+
+        /**
+         * Wait a bounded time for the read model to catch up with a token.
+         *
+         * @param consistencyToken a token returned by a write or an earlier read,
+         *                         or null for no wait
+         * @return true if the read model is consistent with the token, false if
+         *         the caller should read the write model instead
+         */
+        boolean awaitConsistency(Long consistencyToken);
+
+        /**
+         * @return the highest {@link Transaction} ID the read model is consistent
+         *         with
+         */
+        long getConsistencyToken();
+
+        /**
+         * @param customerId
+         * @return the {@link Account} object(s) for the given customerId
+         * @throws AccountNotFoundException     if {@link Account} object(s) not found
+         * @throws ConstraintViolationException validation failure
+         * @throws CustomerNotFoundException    given customerId is not found
+         */
+        List<Account> findAccountsByCustomerId(
+                        @Min(value = 1L, message = "Invalid customer ID") @NotNull(message = "Missing customer ID") Long customerId);
+
+        /**
+         * @param transactionId
+         * @return the {@link Transaction} for the given transactionId
+         * @throws TransactionNotFoundException if {@link Transaction} does not exist
+         */
+        Transaction findById(
+                        @Min(value = 1L, message = "Invalid transaction ID") @NotNull(message = "Missing transaction ID") Long transactionId);
+
+        /**
+         * @param accountId
+         * @return the {@link Transaction} object(s) for the given accountId
+         * @throws AccountNotFoundException     if {@link Account} does not exist
+         * @throws TransactionNotFoundException if the {@link Account} has no
+         *                                      {@link Transaction} objects
+         */
+        List<Transaction> findTransactionsByAccountId(
+                        @Min(value = 1L, message = "Invalid account ID") @NotNull(message = "Missing account ID") Long accountId);
+
+}
@@ -0,0 +1,150 @@
+package com.example.bank.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import com.example.bank.domain.Account;
+import com.example.bank.domain.AccountSummary;
+import com.example.bank.domain.Customer;
+import com.example.bank.domain.Transaction;
+import com.example.bank.domain.TransactionSummary;
+import com.example.bank.exception.AccountNotFoundException;
+import com.example.bank.exception.CustomerNotFoundException;
+import com.example.bank.exception.TransactionNotFoundException;
+import com.example.bank.readmodel.ReadModelProjector;
+import com.example.bank.repository.AccountSummaryRepository;
+import com.example.bank.repository.TransactionSummaryRepository;
+
+import jakarta.transaction.Transactional;
+
+/**
+ * Business logic for read model queries.
+ */
+@Profile("read-model")
+@Service
+@Transactional
+public class ReadModelServiceImpl implements ReadModelService {
+
+    @Value("${bank.read-model.consistency-wait-millis}")
+    private long consistencyWaitMillis;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountSummaryRepository accountSummaryRepository;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private ReadModelProjector projector;
+
+    @Autowired
+    private TransactionSummaryRepository transactionSummaryRepository;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean awaitConsistency(Long consistencyToken) {
+        return consistencyToken == null || projector.awaitConsistency(consistencyToken, consistencyWaitMillis);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getConsistencyToken() {
+        return projector.getConsistencyToken();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Account> findAccountsByCustomerId(Long customerId) {
+        List<AccountSummary> summaries = accountSummaryRepository.findByCustomerIdOrderByAccountId(customerId);
+        if (summaries.isEmpty()) {
+            // Account summaries commit with their accounts, and the start-up rebuild
+            // copied older accounts before the consistency token let reads here, so
+            // none means none exist
+            if (!customerService.exists(customerId)) {
+                throw new CustomerNotFoundException();
+            }
+            throw new AccountNotFoundException();
+        }
+
+        List<Account> accounts = new ArrayList<>(summaries.size());
+        for (AccountSummary summary : summaries) {
+            accounts.add(Account.builder()
+                    .balance(summary.getBalance())
+                    .customer(Customer.builder().id(summary.getCustomerId()).build())
+                    .dateCreated(summary.getDateCreated())
+                    .dateUpdated(summary.getDateUpdated())
+                    .id(summary.getAccountId())
+                    .type(summary.getType())
+                    .build());
+        }
+        return accounts;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Transaction findById(Long transactionId) {
+        Optional<TransactionSummary> summary = transactionSummaryRepository.findById(transactionId);
+        if (!summary.isPresent()) {
+            throw new TransactionNotFoundException();
+        }
+        Optional<AccountSummary> account = accountSummaryRepository.findById(summary.get().getAccountId());
+        return toTransaction(summary.get(), account.isPresent() ? account.get().getLastTransactionId() : 0L);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Transaction> findTransactionsByAccountId(Long accountId) {
+        List<TransactionSummary> summaries = transactionSummaryRepository.findByAccountIdOrderById(accountId);
+        if (summaries.isEmpty()) {
+            if (!accountService.exists(accountId)) {
+                throw new AccountNotFoundException();
+            }
+            throw new TransactionNotFoundException();
+        }
+
+        // Rows are oldest first, the last is the current transaction as of this read
+        Long currentId = summaries.get(summaries.size() - 1).getId();
+        List<Transaction> transactions = new ArrayList<>(summaries.size());
+        for (TransactionSummary summary : summaries) {
+            transactions.add(toTransaction(summary, currentId));
+        }
+        return transactions;
+    }
+
+    private static Transaction toTransaction(TransactionSummary summary, Long currentId) {
+        Customer customer = Customer.builder().id(summary.getCustomerId()).build();
+        return Transaction.builder()
+                .account(Account.builder().customer(customer).id(summary.getAccountId()).build())
+                .amount(summary.getAmount())
+                .currentBalance(summary.getCurrentBalance())
+                .customer(customer)
+                .dateCreated(summary.getDateCreated())
+                .description(summary.getDescription())
+                .id(summary.getId())
+                .isCurrent(summary.getId().equals(currentId))
+                .isProvisional(summary.getIsProvisional())
+                .transferType(summary.getTransferType())
+                .type(summary.getType())
+                .build();
+    }
+
+}
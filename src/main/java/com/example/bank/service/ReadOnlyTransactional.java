@@ -0,0 +1,23 @@
+package com.example.bank.service;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Marks a service method as a read-only database transaction, overriding the
+ * class level {@link jakarta.transaction.Transactional} which cannot express
+ * it. Joining an active transaction keeps that transaction as it is.
+ *
+ * With the {@code read-replica} profile read-only transactions are served by
+ * the replica.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Transactional(readOnly = true)
+public @interface ReadOnlyTransactional {
+
+}
@@ -0,0 +1,55 @@
+package com.example.bank.service;
+
+import com.example.bank.exception.BusinessRejectionException;
+
+import lombok.Getter;
+
+/**
+ * Outcome of a {@link TransactionService} write, either the written value or
+ * the {@link BusinessRejectionException} rejecting it, so callers expecting
+ * rejections handle them without an exception being thrown.
+ *
+ * @param <T> the written value
+ */
+@Getter
+public final class TransactionResult<T> {
+
+    /**
+     * The written value, null when rejected.
+     */
+    private final T value;
+
+    /**
+     * The reason the write was rejected, null when written.
+     */
+    private final BusinessRejectionException rejection;
+
+    private TransactionResult(T value, BusinessRejectionException rejection) {
+        this.value = value;
+        this.rejection = rejection;
+    }
+
+    public static <T> TransactionResult<T> of(T value) {
+        return new TransactionResult<>(value, null);
+    }
+
+    public static <T> TransactionResult<T> rejected(BusinessRejectionException rejection) {
+        return new TransactionResult<>(null, rejection);
+    }
+
+    public boolean isRejected() {
+        return rejection != null;
+    }
+
+    /**
+     * @return the written value
+     * @throws BusinessRejectionException the rejection, if rejected
+     */
+    public T getOrThrow() {
+        if (rejection != null) {
+            throw rejection;
+        }
+        return value;
+    }
+
+}
@@ -1,19 +1,28 @@
 package com.example.bank.service;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
+import org.springframework.data.domain.Slice;
 import org.springframework.validation.annotation.Validated;
 
 import com.example.bank.domain.Account;
 import com.example.bank.domain.Transaction;
 import com.example.bank.domain.TransactionTransferType;
+import com.example.bank.dto.BatchTransferResultDto;
 import com.example.bank.dto.CreateDepositDto;
 import com.example.bank.dto.CreateTransferDto;
 import com.example.bank.dto.CreateWithdrawlDto;
+import com.example.bank.dto.TransactionCursor;
+import com.example.bank.dto.TransactionHistoryQueryDto;
 import com.example.bank.exception.AccountDoesNotBelongToCustomerException;
 import com.example.bank.exception.AccountNotFoundException;
+import com.example.bank.exception.BusinessRejectionException;
 import com.example.bank.exception.DepositMustBeGreaterThanZeroException;
+import com.example.bank.exception.InvalidTransactionCursorException;
 import com.example.bank.exception.TransactionHasInsufficientFundsException;
 import com.example.bank.exception.TransactionNotFoundException;
 import com.example.bank.exception.TransactionSourceCannotEqualDestination;
@@ -22,7 +31,9 @@ import com.example.bank.exception.TransferMustBeGreaterThanZeroException;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 
 /**
  * Interface for {@link Transaction} banking operations.
@@ -33,6 +44,12 @@ import jakarta.validation.constraints.NotNull;
 @Validated
 public interface TransactionService {
 
+        /**
+         * Maximum number of transfers accepted by
+         * {@link #processTransfers(List)}.
+         */
+        int MAX_BATCH_SIZE = 10_000;
+
         /**
          * @param transactionId
          * @return the {@link Transaction} for the given transactionId
@@ -52,6 +69,17 @@ public interface TransactionService {
         BigDecimal getCurrentAccountBalance(
                         @Min(value = 1L, message = "Invalid account ID") @NotNull(message = "Missing account ID") Long accountId);
 
+        /**
+         * Current balances of several {@link Account} objects in one lookup, for
+         * views listing many accounts.
+         * 
+         * @param accountIds
+         * @return the current balance per account ID, zero for accounts without
+         *         transactions
+         */
+        Map<Long, BigDecimal> getCurrentAccountBalances(
+                        @NotNull(message = "Missing account IDs") Collection<@NotNull(message = "Missing account ID") Long> accountIds);
+
         /**
          * @param accountId
          * @return {@link Transaction} object(s) for the given accountId
@@ -59,6 +87,47 @@ public interface TransactionService {
         List<Transaction> findTransactionsByAccountId(
                         @Min(value = 1L, message = "Invalid account ID") @NotNull(message = "Missing account ID") Long accountId);
 
+        /**
+         * Stream every {@link Transaction} of an account in ID order, detaching each
+         * one after the consumer accepts it so memory use stays constant.
+         * 
+         * The export ends at the newest transaction committed when it starts, later
+         * ones follow on resume. Resuming after the last ID received is exact for
+         * the writes of a single instance, see the implementations for the
+         * exceptions.
+         * 
+         * @param accountId
+         * @param afterTransactionId resume after this {@link Transaction} ID, zero
+         *                           for all
+         * @param consumer           accepts each {@link Transaction}
+         */
+        void exportTransactions(
+                        @Min(value = 1L, message = "Invalid account ID") @NotNull(message = "Missing account ID") Long accountId,
+                        @Min(value = 0L, message = "Invalid transaction ID") @NotNull(message = "Missing transaction ID") Long afterTransactionId,
+                        @NotNull(message = "Missing transaction consumer") Consumer<Transaction> consumer);
+
+        /**
+         * Find one keyset page of an account transaction history, newest first.
+         * 
+         * @param transactionHistoryQueryDto the {@link TransactionHistoryQueryDto}
+         *                                   cursor, page size, and filters
+         * @return the page of {@link Transaction} objects, newest first, where
+         *         {@link Slice#hasNext()} tells whether more transactions follow in
+         *         the requested direction
+         * @throws AccountDoesNotBelongToCustomerException validation failure where
+         *                                                 {@link TransactionHistoryQueryDto#getAccountId()}
+         *                                                 does not align with
+         *                                                 {@link TransactionHistoryQueryDto#getCustomerId()}
+         * @throws AccountNotFoundException                if {@link Account} not
+         *                                                 found
+         * @throws ConstraintViolationException            validation failure on
+         *                                                 {@link TransactionHistoryQueryDto}
+         * @throws InvalidTransactionCursorException       a {@link TransactionCursor}
+         *                                                 cannot be decoded
+         */
+        Slice<Transaction> findTransactionHistory(
+                        @NotNull(message = "Missing transaction history query DTO") @Valid TransactionHistoryQueryDto transactionHistoryQueryDto);
+
         /**
          * Process a {@link CreateDepositDto}.
          * 
@@ -107,6 +176,24 @@ public interface TransactionService {
         List<Transaction> process(
                         @NotNull(message = "Missing create transfer DTO") @Valid CreateTransferDto createTransferDto);
 
+        /**
+         * Process a batch of {@link CreateTransferDto} objects in one database
+         * transaction, in the given order and flushed in chunks.
+         * 
+         * A transfer rejected by a domain exception, such as
+         * {@link TransactionHasInsufficientFundsException}, is reported in its
+         * {@link BatchTransferResultDto} and does not affect the other transfers.
+         * 
+         * @param createTransferDtos the {@link CreateTransferDto} objects to process
+         * @return a {@link BatchTransferResultDto} for each transfer, in the given
+         *         order
+         * @throws ConstraintViolationException validation failure on any
+         *                                      {@link CreateTransferDto}, nothing is
+         *                                      processed
+         */
+        List<BatchTransferResultDto> processTransfers(
+                        @NotEmpty(message = "Missing create transfer DTOs") @Size(max = MAX_BATCH_SIZE, message = "Too many transfers in batch") List<@NotNull(message = "Missing create transfer DTO") @Valid CreateTransferDto> createTransferDtos);
+
         /**
          * Process a {@link CreateWithdrawlDto}.
          * 
@@ -128,4 +215,54 @@ public interface TransactionService {
         Transaction process(
                         @NotNull(message = "Missing create withdrawl DTO") @Valid CreateWithdrawlDto createWithdrawlDto);
 
+        /**
+         * {@link #process(CreateDepositDto)} returning a business rejection instead
+         * of throwing it, for callers where rejections are frequent.
+         * 
+         * @param createDepositDto the {@link CreateDepositDto} to process
+         * @return the {@link TransactionResult} holding the new {@link Transaction}
+         *         or the {@link BusinessRejectionException} thrown by
+         *         {@link #process(CreateDepositDto)}
+         * @throws ConstraintViolationException validation failure on
+         *                                      {@link CreateDepositDto}
+         */
+        TransactionResult<Transaction> tryProcess(
+                        @NotNull(message = "Missing create deposit DTO") @Valid CreateDepositDto createDepositDto);
+
+        /**
+         * {@link #process(CreateTransferDto)} returning a business rejection instead
+         * of throwing it, for callers where rejections are frequent.
+         * 
+         * @param createTransferDto the {@link CreateTransferDto} to process
+         * @return the {@link TransactionResult} holding the new {@link Transaction}
+         *         objects or the {@link BusinessRejectionException} thrown by
+         *         {@link #process(CreateTransferDto)}
+         * @throws ConstraintViolationException             validation failure on
+         *                                                  {@link CreateTransferDto}
+         * @throws TransactionHasInsufficientFundsException only if the conditional
+         *                                                  debit fails after the
+         *                                                  ledger check passed, the
+         *                                                  write is rolled back
+         */
+        TransactionResult<List<Transaction>> tryProcess(
+                        @NotNull(message = "Missing create transfer DTO") @Valid CreateTransferDto createTransferDto);
+
+        /**
+         * {@link #process(CreateWithdrawlDto)} returning a business rejection instead
+         * of throwing it, for callers where rejections are frequent.
+         * 
+         * @param createWithdrawlDto the {@link CreateWithdrawlDto} to process
+         * @return the {@link TransactionResult} holding the new {@link Transaction}
+         *         or the {@link BusinessRejectionException} thrown by
+         *         {@link #process(CreateWithdrawlDto)}
+         * @throws ConstraintViolationException             validation failure on
+         *                                                  {@link CreateWithdrawlDto}
+         * @throws TransactionHasInsufficientFundsException only if the conditional
+         *                                                  debit fails after the
+         *                                                  ledger check passed, the
+         *                                                  write is rolled back
+         */
+        TransactionResult<Transaction> tryProcess(
+                        @NotNull(message = "Missing create withdrawl DTO") @Valid CreateWithdrawlDto createWithdrawlDto);
+
 }
@@ -2,47 +2,146 @@ package com.example.bank.service;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.example.bank.domain.Account;
+import com.example.bank.domain.AccountBalance;
+import com.example.bank.domain.Customer;
 import com.example.bank.domain.Transaction;
 import com.example.bank.domain.TransactionTransferType;
 import com.example.bank.domain.TransactionType;
+import com.example.bank.dto.AbstractCreateTransactionDto;
+import com.example.bank.dto.BatchTransferResultDto;
 import com.example.bank.dto.CreateDepositDto;
 import com.example.bank.dto.CreateTransferDto;
 import com.example.bank.dto.CreateWithdrawlDto;
+import com.example.bank.dto.TransactionCursor;
+import com.example.bank.dto.TransactionHistoryQueryDto;
 import com.example.bank.exception.AccountDoesNotBelongToCustomerException;
 import com.example.bank.exception.AccountNotFoundException;
+import com.example.bank.exception.BusinessRejectionException;
 import com.example.bank.exception.DepositMustBeGreaterThanZeroException;
+import com.example.bank.exception.GroupCommitTimeoutException;
 import com.example.bank.exception.TransactionHasInsufficientFundsException;
 import com.example.bank.exception.TransactionNotFoundException;
 import com.example.bank.exception.TransactionSourceCannotEqualDestination;
 import com.example.bank.exception.TransferMustBeGreaterThanZeroException;
+import com.example.bank.ledger.BalanceLedger;
+import com.example.bank.ledger.HotAccounts;
+import com.example.bank.ledger.TransferExecutor;
+import com.example.bank.readmodel.TransactionsCreatedEvent;
+import com.example.bank.repository.AccountBalanceRepository;
+import com.example.bank.repository.AccountOwnershipView;
+import com.example.bank.repository.AccountRepository;
 import com.example.bank.repository.TransactionRepository;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
+import jakarta.transaction.Transactional.TxType;
 
 /**
  * Business logic for customers.
+ *
+ * With the {@code group-commit} profile deposits and withdrawls made outside
+ * a database transaction are queued to the {@link GroupCommitQueue}, the
+ * caller holds no connection while its group is written.
+ *
+ * With the {@code hot-accounts} profile credits to a hot account run without
+ * its account lock and go to one of its {@link HotAccounts} slots.
  */
+@Profile("!journal")
 @Service
 @Transactional
 public class TransactionServiceImpl implements TransactionService {
 
+    /**
+     * Number of batch transfers flushed to the database together.
+     */
+    private static final int BATCH_CHUNK_SIZE = 500;
+
+    // Preallocated rejections, stackless and holding only their message
+    private static final AccountDoesNotBelongToCustomerException ACCOUNT_DOES_NOT_BELONG_TO_CUSTOMER =
+            new AccountDoesNotBelongToCustomerException();
+
+    private static final AccountNotFoundException ACCOUNT_NOT_FOUND = new AccountNotFoundException();
+
+    private static final DepositMustBeGreaterThanZeroException DEPOSIT_MUST_BE_GREATER_THAN_ZERO =
+            new DepositMustBeGreaterThanZeroException();
+
+    private static final TransactionHasInsufficientFundsException TRANSACTION_HAS_INSUFFICIENT_FUNDS =
+            new TransactionHasInsufficientFundsException();
+
+    private static final TransactionSourceCannotEqualDestination TRANSACTION_SOURCE_CANNOT_EQUAL_DESTINATION =
+            new TransactionSourceCannotEqualDestination();
+
+    private static final TransferMustBeGreaterThanZeroException TRANSFER_MUST_BE_GREATER_THAN_ZERO =
+            new TransferMustBeGreaterThanZeroException();
+
+    @Autowired
+    private AccountRepository accountRepository;
+
     @Autowired
     private AccountService accountService;
 
+    @Autowired
+    private AccountBalanceRepository balanceRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired(required = false)
+    private GroupCommitQueue groupCommitQueue;
+
+    @Autowired(required = false)
+    private HotAccounts hotAccounts;
+
+    @Autowired
+    private BalanceLedger ledger;
+
     @Autowired
     private TransactionRepository repository;
 
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TransferExecutor transferExecutor;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     /**
      * {@inheritDoc}
      */
     @Override
+    @ReadOnlyTransactional
     public Transaction findById(Long transactionId) {
         Optional<Transaction> transaction = repository.findById(transactionId);
         if (!transaction.isPresent()) {
@@ -56,17 +155,22 @@ public class TransactionServiceImpl implements TransactionService {
      */
     @Override
     public BigDecimal getCurrentAccountBalance(Long accountId) {
-        Optional<Transaction> transaction = repository.findCurrentAccountIdTransaction(accountId);
-        if (!transaction.isPresent()) {
-            return BigDecimal.ZERO;
-        }
-        return transaction.get().getCurrentBalance();
+        return ledger.getBalance(accountId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<Long, BigDecimal> getCurrentAccountBalances(Collection<Long> accountIds) {
+        return ledger.getBalances(accountIds);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
+    @ReadOnlyTransactional
     public List<Transaction> findTransactionsByAccountId(Long accountId) {
         if (!accountService.exists(accountId)) {
             throw new AccountNotFoundException();
@@ -80,163 +184,656 @@ public class TransactionServiceImpl implements TransactionService {
 
     /**
      * {@inheritDoc}
+     *
+     * The export stops at the newest transaction committed when it starts. The
+     * writers of an account hold its lock from taking their IDs until they
+     * commit, and this instance hands IDs out in order, so no lower ID can
+     * commit after it. Credits to hot accounts take no lock, and other
+     * instances take IDs from their own pooled blocks, so their transactions
+     * may commit behind a higher ID and be missed by a resumed export.
      */
     @Override
-    public Transaction process(CreateDepositDto createDepositDto) {
-        if (createDepositDto.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
-            throw new DepositMustBeGreaterThanZeroException();
+    @ReadOnlyTransactional
+    public void exportTransactions(Long accountId, Long afterTransactionId, Consumer<Transaction> consumer) {
+        Long watermark = repository.findMaxIdByAccountId(accountId);
+        try (Stream<Transaction> transactions = repository.streamByAccountId(accountId, afterTransactionId,
+                watermark)) {
+            transactions.forEach(transaction -> {
+                consumer.accept(transaction);
+                entityManager.detach(transaction);
+            });
         }
+    }
 
-        Account account = accountService.findById(createDepositDto.getAccountId());
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @ReadOnlyTransactional
+    public Slice<Transaction> findTransactionHistory(TransactionHistoryQueryDto transactionHistoryQueryDto) {
+        Account account = accountService.findById(transactionHistoryQueryDto.getAccountId());
 
-        if (!createDepositDto.getCustomerId().equals(account.getCustomer().getId())) {
+        if (!transactionHistoryQueryDto.getCustomerId().equals(account.getCustomer().getId())) {
             throw new AccountDoesNotBelongToCustomerException();
         }
 
-        Transaction deposit = new Transaction();
-        deposit.setAccount(account);
-        deposit.setAmount(createDepositDto.getAmount());
+        // Read one extra transaction to tell whether another page follows
+        int size = transactionHistoryQueryDto.getSize();
+        PageRequest pageable = PageRequest.of(0, size + 1);
+
+        List<Transaction> transactions;
+        if (transactionHistoryQueryDto.getBefore() != null) {
+            TransactionCursor cursor = TransactionCursor.decode(transactionHistoryQueryDto.getBefore());
+            transactions = new ArrayList<>(repository.findHistoryNewerThan(account.getId(),
+                    transactionHistoryQueryDto.getType(), transactionHistoryQueryDto.getTransferType(),
+                    transactionHistoryQueryDto.getFrom(), transactionHistoryQueryDto.getTo(),
+                    cursor.getDateCreated(), cursor.getId(), pageable));
+        } else {
+            TransactionCursor cursor = transactionHistoryQueryDto.getAfter() != null
+                    ? TransactionCursor.decode(transactionHistoryQueryDto.getAfter())
+                    : null;
+            transactions = new ArrayList<>(repository.findHistoryOlderThan(account.getId(),
+                    transactionHistoryQueryDto.getType(), transactionHistoryQueryDto.getTransferType(),
+                    transactionHistoryQueryDto.getFrom(), transactionHistoryQueryDto.getTo(),
+                    cursor != null ? cursor.getDateCreated() : null, cursor != null ? cursor.getId() : null,
+                    pageable));
+        }
 
-        Optional<Transaction> currentTransaction = repository.findCurrentAccountIdTransaction(account.getId());
-        if (currentTransaction.isPresent()) {
-            deposit.setCurrentBalance(currentTransaction.get().getCurrentBalance().add(createDepositDto.getAmount()));
+        boolean hasMore = transactions.size() > size;
+        if (hasMore) {
+            transactions = new ArrayList<>(transactions.subList(0, size));
+        }
+        if (transactionHistoryQueryDto.getBefore() != null) {
+            Collections.reverse(transactions);
+        }
 
-            currentTransaction.get().setIsCurrent(false);
-            repository.save(currentTransaction.get());
-        } else {
-            deposit.setCurrentBalance(deposit.getAmount());
+        return new SliceImpl<>(transactions, PageRequest.of(0, size), hasMore);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(TxType.SUPPORTS)
+    public Transaction process(CreateDepositDto createDepositDto) {
+        return tryProcess(createDepositDto).getOrThrow();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(TxType.SUPPORTS)
+    public TransactionResult<Transaction> tryProcess(CreateDepositDto createDepositDto) {
+        if (createDepositDto.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            return TransactionResult.rejected(DEPOSIT_MUST_BE_GREATER_THAN_ZERO);
         }
 
-        deposit.setCustomer(account.getCustomer());
-        deposit.setDescription(createDepositDto.getDescription());
-        deposit.setIsCurrent(true);
-        deposit.setType(TransactionType.DEPOSIT);
+        if (isGroupCommit()) {
+            return await(groupCommitQueue.submit(createDepositDto));
+        }
 
-        return repository.save(deposit);
+        return transactionTemplate.execute(status -> transferExecutor.execute(
+                getLockedAccountIds(Collections.emptySet(), Collections.singleton(createDepositDto.getAccountId())),
+                () -> deposit(createDepositDto)));
     }
 
     @Override
     public List<Transaction> process(CreateTransferDto createTransferDto) {
+        return tryProcess(createTransferDto).getOrThrow();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TransactionResult<List<Transaction>> tryProcess(CreateTransferDto createTransferDto) {
         if (createTransferDto.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
-            throw new TransferMustBeGreaterThanZeroException();
+            return TransactionResult.rejected(TRANSFER_MUST_BE_GREATER_THAN_ZERO);
         }
 
-        Account sourceAccount = accountService.findById(createTransferDto.getAccountId());
+        return transferExecutor.execute(getLockedAccountIds(Collections.singleton(createTransferDto.getAccountId()),
+                Collections.singleton(createTransferDto.getDestinationAccountId())), () -> transfer(createTransferDto));
+    }
 
-        if (!createTransferDto.getCustomerId().equals(sourceAccount.getCustomer().getId())) {
-            throw new AccountDoesNotBelongToCustomerException();
+    /**
+     * {@inheritDoc}
+     *
+     * The lock of every account in the batch is held until the database
+     * transaction commits, so other writes to those accounts wait for the whole
+     * batch, up to {@value TransactionService#MAX_BATCH_SIZE} transfers, rather
+     * than one chunk. Locking per chunk would need a database transaction per
+     * chunk, and the batch would no longer settle all or nothing.
+     */
+    @Override
+    public List<BatchTransferResultDto> processTransfers(List<CreateTransferDto> createTransferDtos) {
+        Set<Long> accountIds = new HashSet<>();
+        Set<Long> debitedAccountIds = new HashSet<>();
+        for (CreateTransferDto createTransferDto : createTransferDtos) {
+            accountIds.add(createTransferDto.getAccountId());
+            accountIds.add(createTransferDto.getDestinationAccountId());
+            debitedAccountIds.add(createTransferDto.getAccountId());
         }
 
-        Account destinationAccount = accountService.findById(createTransferDto.getDestinationAccountId());
+        // Read every account once, a missing account is a rejected transfer instead
+        // of an exception
+        Map<Long, AccountOwnershipView> accounts = findOwnership(accountIds);
+        Map<Long, Long> versions = getVersions(accounts);
+
+        // Apply in request order, so a transfer only sees the balance changes of
+        // the transfers before it
+        List<BatchTransferResultDto> results = new ArrayList<>(createTransferDtos.size());
+
+        transferExecutor.execute(getLockedAccountIds(debitedAccountIds, accountIds), () -> {
+            for (int start = 0; start < createTransferDtos.size(); start += BATCH_CHUNK_SIZE) {
+                int end = Math.min(start + BATCH_CHUNK_SIZE, createTransferDtos.size());
+                WriteBatch batch = new WriteBatch(versions);
+                for (int index = start; index < end; index++) {
+                    results.add(processTransfer(index, createTransferDtos.get(index), accounts, batch));
+                }
+                batch.flush();
+                batch.detach();
+            }
+            return null;
+        });
+
+        return results;
+    }
+
+    @Override
+    @Transactional(TxType.SUPPORTS)
+    public Transaction process(CreateWithdrawlDto createWithdrawlDto) {
+        return tryProcess(createWithdrawlDto).getOrThrow();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(TxType.SUPPORTS)
+    public TransactionResult<Transaction> tryProcess(CreateWithdrawlDto createWithdrawlDto) {
+        if (createWithdrawlDto.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            return TransactionResult.rejected(TRANSFER_MUST_BE_GREATER_THAN_ZERO);
+        }
 
-        if (destinationAccount.getId().equals(sourceAccount.getId())) {
-            throw new TransactionSourceCannotEqualDestination();
+        if (isGroupCommit()) {
+            return await(groupCommitQueue.submit(createWithdrawlDto));
         }
 
-        // Check the source account for sufficient transfer funds
-        BigDecimal sourceAccountBalanceAfterTransfer;
-        Optional<Transaction> currentSourceTransaction = repository
-                .findCurrentAccountIdTransaction(sourceAccount.getId());
-        if (currentSourceTransaction.isPresent()) {
+        return transactionTemplate.execute(status -> transferExecutor.execute(
+                Collections.singleton(createWithdrawlDto.getAccountId()), () -> withdrawl(createWithdrawlDto)));
+    }
 
-            sourceAccountBalanceAfterTransfer = currentSourceTransaction.get().getCurrentBalance()
-                    .subtract(createTransferDto.getAmount());
+    /**
+     * Apply the deposits and withdrawls of a {@link GroupCommitQueue} group as
+     * one write batch, holding the lock of every account involved until the
+     * database transaction completes.
+     *
+     * @param createTransactionDtos validated {@link CreateDepositDto} and
+     *                              {@link CreateWithdrawlDto} objects
+     * @return the result of each, in order
+     * @throws OptimisticLockException                  if an account changed
+     *                                                  since it was read
+     * @throws TransactionHasInsufficientFundsException if a conditional debit
+     *                                                  fails
+     */
+    public List<TransactionResult<Transaction>> applyGroup(List<AbstractCreateTransactionDto> createTransactionDtos) {
+        Set<Long> accountIds = new HashSet<>();
+        Set<Long> debitedAccountIds = new HashSet<>();
+        for (AbstractCreateTransactionDto createTransactionDto : createTransactionDtos) {
+            accountIds.add(createTransactionDto.getAccountId());
+            if (createTransactionDto instanceof CreateWithdrawlDto) {
+                debitedAccountIds.add(createTransactionDto.getAccountId());
+            }
+        }
 
-            currentSourceTransaction.get().setIsCurrent(false);
+        return transferExecutor.execute(getLockedAccountIds(debitedAccountIds, accountIds), () -> {
+            Map<Long, AccountOwnershipView> accounts = findOwnership(accountIds);
+            WriteBatch batch = new WriteBatch(getVersions(accounts));
 
-            if (sourceAccountBalanceAfterTransfer.compareTo(BigDecimal.ZERO) <= 0) {
-                throw new TransactionHasInsufficientFundsException();
+            List<TransactionResult<Transaction>> results = new ArrayList<>(createTransactionDtos.size());
+            for (AbstractCreateTransactionDto createTransactionDto : createTransactionDtos) {
+                results.add(createTransactionDto instanceof CreateDepositDto
+                        ? deposit((CreateDepositDto) createTransactionDto, accounts, batch)
+                        : withdrawl((CreateWithdrawlDto) createTransactionDto, accounts, batch));
             }
+            batch.flush();
 
-        } else {
-            throw new TransactionHasInsufficientFundsException();
+            return results;
+        });
+    }
+
+    /**
+     * Queue to the {@link GroupCommitQueue} unless it is disabled or the caller
+     * runs a database transaction of its own, i.e. an idempotency record.
+     */
+    private boolean isGroupCommit() {
+        return groupCommitQueue != null && !TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    /**
+     * @return true if the given accountId is one of the {@link HotAccounts}
+     */
+    private boolean isHot(Long accountId) {
+        return hotAccounts != null && hotAccounts.isHot(accountId);
+    }
+
+    /**
+     * @return the accounts to lock, every debited account and every other
+     *         account that is not hot
+     */
+    private Set<Long> getLockedAccountIds(Collection<Long> debitedAccountIds, Collection<Long> accountIds) {
+        Set<Long> lockedAccountIds = new HashSet<>(debitedAccountIds);
+        for (Long accountId : accountIds) {
+            if (!isHot(accountId)) {
+                lockedAccountIds.add(accountId);
+            }
         }
+        return lockedAccountIds;
+    }
 
-        // Disable the destination account
-        Optional<Transaction> currentDestinationTransaction = repository
-                .findCurrentAccountIdTransaction(destinationAccount.getId());
-        if (currentDestinationTransaction.isPresent()) {
-            currentDestinationTransaction.get().setIsCurrent(false);
+    /**
+     * Wait for a request queued for group commit, rethrowing its failure.
+     *
+     * @throws GroupCommitTimeoutException if the request is not applied within
+     *                                     the queue timeout
+     */
+    private TransactionResult<Transaction> await(CompletableFuture<TransactionResult<Transaction>> result) {
+        try {
+            return result.get(groupCommitQueue.getTimeoutMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof BusinessRejectionException) {
+                return TransactionResult.rejected((BusinessRejectionException) exception.getCause());
+            }
+            if (exception.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) exception.getCause();
+            }
+            if (exception.getCause() instanceof Error) {
+                throw (Error) exception.getCause();
+            }
+            throw new IllegalStateException(exception.getCause());
+        } catch (TimeoutException exception) {
+            throw new GroupCommitTimeoutException();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new GroupCommitTimeoutException();
+        }
+    }
+
+    /**
+     * Deposit while holding the account lock, unless the account is hot.
+     */
+    private TransactionResult<Transaction> deposit(CreateDepositDto createDepositDto) {
+        Map<Long, AccountOwnershipView> accounts = findOwnership(
+                Collections.singleton(createDepositDto.getAccountId()));
+
+        WriteBatch batch = new WriteBatch(getVersions(accounts));
+        TransactionResult<Transaction> result = deposit(createDepositDto, accounts, batch);
+        batch.flush();
+
+        return result;
+    }
+
+    /**
+     * Deposit to a read account, appending to the batch unless rejected.
+     */
+    private TransactionResult<Transaction> deposit(CreateDepositDto createDepositDto,
+            Map<Long, AccountOwnershipView> accounts, WriteBatch batch) {
+        AccountOwnershipView account = accounts.get(createDepositDto.getAccountId());
+        if (account == null) {
+            return TransactionResult.rejected(ACCOUNT_NOT_FOUND);
+        }
+
+        if (!createDepositDto.getCustomerId().equals(account.getCustomerId())) {
+            return TransactionResult.rejected(ACCOUNT_DOES_NOT_BELONG_TO_CUSTOMER);
+        }
+
+        Transaction deposit = new Transaction();
+        deposit.setAccount(getAccountReference(account));
+        deposit.setAmount(createDepositDto.getAmount());
+        deposit.setCustomer(getCustomerReference(account));
+        deposit.setDescription(createDepositDto.getDescription());
+        deposit.setType(TransactionType.DEPOSIT);
+        batch.append(deposit);
+
+        return TransactionResult.of(deposit);
+    }
+
+    /**
+     * Transfer while holding both account locks, or only the source account
+     * lock if the destination account is hot.
+     */
+    private TransactionResult<List<Transaction>> transfer(CreateTransferDto createTransferDto) {
+        // Read both accounts in one statement
+        Map<Long, AccountOwnershipView> accounts = findOwnership(
+                Arrays.asList(createTransferDto.getAccountId(), createTransferDto.getDestinationAccountId()));
+
+        WriteBatch batch = new WriteBatch(getVersions(accounts));
+        TransactionResult<List<Transaction>> result = transfer(createTransferDto, accounts, batch);
+        batch.flush();
+
+        return result;
+    }
+
+    /**
+     * Process one transfer of a batch, reporting rejections in the result.
+     */
+    private BatchTransferResultDto processTransfer(int index, CreateTransferDto createTransferDto,
+            Map<Long, AccountOwnershipView> accounts, WriteBatch batch) {
+        TransactionResult<List<Transaction>> result = createTransferDto.getAmount().compareTo(BigDecimal.ZERO) <= 0
+                ? TransactionResult.rejected(TRANSFER_MUST_BE_GREATER_THAN_ZERO)
+                : transfer(createTransferDto, accounts, batch);
+
+        if (result.isRejected()) {
+            return BatchTransferResultDto.builder().index(index).success(false)
+                    .error(result.getRejection().getClass().getSimpleName())
+                    .message(result.getRejection().getMessage()).build();
+        }
+
+        return BatchTransferResultDto.builder().index(index).success(true)
+                .sourceTransactionId(result.getValue().get(0).getId())
+                .destinationTransactionId(result.getValue().get(1).getId()).build();
+    }
+
+    /**
+     * Transfer between read accounts, appending to the batch unless rejected.
+     */
+    private TransactionResult<List<Transaction>> transfer(CreateTransferDto createTransferDto,
+            Map<Long, AccountOwnershipView> accounts, WriteBatch batch) {
+        AccountOwnershipView sourceAccount = accounts.get(createTransferDto.getAccountId());
+        if (sourceAccount == null) {
+            return TransactionResult.rejected(ACCOUNT_NOT_FOUND);
+        }
+
+        if (!createTransferDto.getCustomerId().equals(sourceAccount.getCustomerId())) {
+            return TransactionResult.rejected(ACCOUNT_DOES_NOT_BELONG_TO_CUSTOMER);
+        }
+
+        AccountOwnershipView destinationAccount = accounts.get(createTransferDto.getDestinationAccountId());
+        if (destinationAccount == null) {
+            return TransactionResult.rejected(ACCOUNT_NOT_FOUND);
+        }
+
+        if (destinationAccount.getAccountId().equals(sourceAccount.getAccountId())) {
+            return TransactionResult.rejected(TRANSACTION_SOURCE_CANNOT_EQUAL_DESTINATION);
+        }
+
+        // Check the source account for sufficient transfer funds, the ledger rejects
+        // without a database round-trip and the conditional debit is authoritative
+        if (ledger.getBalance(sourceAccount.getAccountId()).compareTo(createTransferDto.getAmount()) < 0) {
+            return TransactionResult.rejected(TRANSACTION_HAS_INSUFFICIENT_FUNDS);
         }
 
         List<Transaction> transactions = new ArrayList<>(2);
 
         // Build the source account transaction
         Transaction newSourceTransaction = new Transaction();
-        newSourceTransaction.setAccount(sourceAccount);
+        newSourceTransaction.setAccount(getAccountReference(sourceAccount));
         newSourceTransaction.setAmount(createTransferDto.getAmount().multiply(new BigDecimal(-1)));
-        newSourceTransaction.setCurrentBalance(sourceAccountBalanceAfterTransfer);
-        newSourceTransaction.setCustomer(sourceAccount.getCustomer());
+        newSourceTransaction.setCustomer(getCustomerReference(sourceAccount));
         newSourceTransaction.setDescription(createTransferDto.getDescription());
-        newSourceTransaction.setIsCurrent(true);
         newSourceTransaction.setTransferType(TransactionTransferType.SOURCE);
         newSourceTransaction.setType(TransactionType.TRANSFER);
-        transactions.add(repository.save(newSourceTransaction));
+        transactions.add(batch.append(newSourceTransaction));
 
         // Build the destination account transaction
         Transaction newDestinationTransaction = new Transaction();
-        newDestinationTransaction.setAccount(destinationAccount);
+        newDestinationTransaction.setAccount(getAccountReference(destinationAccount));
         newDestinationTransaction.setAmount(createTransferDto.getAmount());
-
-        if (currentDestinationTransaction.isPresent()) {
-            newDestinationTransaction
-                    .setCurrentBalance(
-                            currentDestinationTransaction.get().getCurrentBalance().add(createTransferDto.getAmount()));
-        } else {
-            newDestinationTransaction.setCurrentBalance(createTransferDto.getAmount());
-        }
-        newDestinationTransaction.setCustomer(destinationAccount.getCustomer());
+        newDestinationTransaction.setCustomer(getCustomerReference(destinationAccount));
         newDestinationTransaction.setDescription(createTransferDto.getDescription());
-        newDestinationTransaction.setIsCurrent(true);
         newDestinationTransaction.setTransferType(TransactionTransferType.DESTINATION);
         newDestinationTransaction.setType(TransactionType.TRANSFER);
-        transactions.add(repository.save(newDestinationTransaction));
+        transactions.add(batch.append(newDestinationTransaction));
 
-        return transactions;
+        return TransactionResult.of(transactions);
     }
 
-    @Override
-    public Transaction process(CreateWithdrawlDto createWithdrawlDto) {
-        if (createWithdrawlDto.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
-            throw new TransferMustBeGreaterThanZeroException();
-        }
-
-        Account account = accountService.findById(createWithdrawlDto.getAccountId());
-
-        if (!createWithdrawlDto.getCustomerId().equals(account.getCustomer().getId())) {
-            throw new AccountDoesNotBelongToCustomerException();
-        }
+    /**
+     * Withdraw while holding the account lock.
+     */
+    private TransactionResult<Transaction> withdrawl(CreateWithdrawlDto createWithdrawlDto) {
+        Map<Long, AccountOwnershipView> accounts = findOwnership(
+                Collections.singleton(createWithdrawlDto.getAccountId()));
 
-        // Check the account for sufficient withdrawl funds
-        BigDecimal accountBalanceAfterWithdrawl;
-        Optional<Transaction> currentTransaction = repository
-                .findCurrentAccountIdTransaction(account.getId());
-        if (currentTransaction.isPresent()) {
+        WriteBatch batch = new WriteBatch(getVersions(accounts));
+        TransactionResult<Transaction> result = withdrawl(createWithdrawlDto, accounts, batch);
+        batch.flush();
 
-            accountBalanceAfterWithdrawl = currentTransaction.get().getCurrentBalance()
-                    .subtract(createWithdrawlDto.getAmount());
+        return result;
+    }
 
-            if (accountBalanceAfterWithdrawl.compareTo(BigDecimal.ZERO) <= 0) {
-                throw new TransactionHasInsufficientFundsException();
-            }
+    /**
+     * Withdraw from a read account, appending to the batch unless rejected.
+     */
+    private TransactionResult<Transaction> withdrawl(CreateWithdrawlDto createWithdrawlDto,
+            Map<Long, AccountOwnershipView> accounts, WriteBatch batch) {
+        AccountOwnershipView account = accounts.get(createWithdrawlDto.getAccountId());
+        if (account == null) {
+            return TransactionResult.rejected(ACCOUNT_NOT_FOUND);
+        }
 
-            currentTransaction.get().setIsCurrent(false);
+        if (!createWithdrawlDto.getCustomerId().equals(account.getCustomerId())) {
+            return TransactionResult.rejected(ACCOUNT_DOES_NOT_BELONG_TO_CUSTOMER);
+        }
 
-        } else {
-            throw new TransactionHasInsufficientFundsException();
+        // Check the account for sufficient withdrawl funds, the ledger rejects without
+        // a database round-trip and the conditional debit is authoritative
+        if (ledger.getBalance(account.getAccountId()).compareTo(createWithdrawlDto.getAmount()) < 0) {
+            return TransactionResult.rejected(TRANSACTION_HAS_INSUFFICIENT_FUNDS);
         }
 
         // Build the account withdrawl transaction
         Transaction withdrawl = new Transaction();
-        withdrawl.setAccount(account);
+        withdrawl.setAccount(getAccountReference(account));
         withdrawl.setAmount(createWithdrawlDto.getAmount().multiply(new BigDecimal(-1)));
-        withdrawl.setCurrentBalance(accountBalanceAfterWithdrawl);
-        withdrawl.setCustomer(account.getCustomer());
+        withdrawl.setCustomer(getCustomerReference(account));
         withdrawl.setDescription(createWithdrawlDto.getDescription());
-        withdrawl.setIsCurrent(true);
         withdrawl.setType(TransactionType.TRANSFER);
+        batch.append(withdrawl);
+
+        return TransactionResult.of(withdrawl);
+    }
+
+    /**
+     * Read the ownership and version of the given accounts in one statement,
+     * without loading the {@link Account} or {@link Customer} entities. Balances
+     * come from the ledger.
+     * 
+     * @return the {@link AccountOwnershipView} of each account found, by account
+     *         ID
+     */
+    private Map<Long, AccountOwnershipView> findOwnership(Collection<Long> accountIds) {
+        Map<Long, AccountOwnershipView> accounts = new HashMap<>();
+        for (AccountOwnershipView view : accountRepository.findOwnershipByIdIn(accountIds)) {
+            accounts.put(view.getAccountId(), view);
+        }
+        return accounts;
+    }
+
+    /**
+     * @return the version the balance of each account was read with, by account
+     *         ID
+     */
+    private Map<Long, Long> getVersions(Map<Long, AccountOwnershipView> accounts) {
+        Map<Long, Long> versions = new HashMap<>();
+        for (AccountOwnershipView view : accounts.values()) {
+            versions.put(view.getAccountId(), view.getVersion());
+        }
+        return versions;
+    }
+
+    private Account getAccountReference(AccountOwnershipView view) {
+        return entityManager.getReference(Account.class, view.getAccountId());
+    }
 
-        return repository.save(withdrawl);
+    private Customer getCustomerReference(AccountOwnershipView view) {
+        return entityManager.getReference(Customer.class, view.getCustomerId());
+    }
+
+    /**
+     * Coalesces the journal writes of one business operation, or of one chunk of
+     * a batch. New {@link Transaction} objects are only inserted on
+     * {@link #flush()}, after a single update clears the previous current
+     * transactions, so the inserts go out as one JDBC batch followed by one
+     * {@link AccountBalance} update per account, conditional on the version the
+     * balance was read with.
+     *
+     * Transactions of hot accounts are written without being flagged as current
+     * and their balance changes go through {@link HotAccounts} without a version
+     * check.
+     */
+    private class WriteBatch {
+
+        /**
+         * Version the balance of each account was read with, advanced on every
+         * flush so the chunks of a batch share it.
+         */
+        private final Map<Long, Long> versions;
+
+        /**
+         * Every appended transaction, until detached.
+         */
+        private final List<Transaction> appended = new ArrayList<>();
+
+        /**
+         * Number of appended transactions already published on flush.
+         */
+        private int published;
+
+        /**
+         * Latest appended transaction per account ID.
+         */
+        private final Map<Long, Transaction> current = new HashMap<>();
+
+        /**
+         * Net balance change per account ID, sorted so balance rows are always
+         * updated in the same order.
+         */
+        private final Map<Long, BigDecimal> deltas = new TreeMap<>();
+
+        WriteBatch(Map<Long, Long> versions) {
+            this.versions = versions;
+        }
+
+        /**
+         * Append a transaction as the current transaction of its account, computing
+         * the running balance from the ledger.
+         */
+        Transaction append(Transaction transaction) {
+            Long accountId = transaction.getAccount().getId();
+            boolean hot = isHot(accountId);
+
+            transaction.setCurrentBalance(ledger.getBalance(accountId).add(transaction.getAmount()));
+            transaction.setIsCurrent(!hot);
+            transaction.setIsProvisional(hot);
+
+            appended.add(transaction);
+
+            // Hot accounts get their current transaction on consolidation
+            if (!hot) {
+                Transaction previous = current.put(accountId, transaction);
+                if (previous != null) {
+                    previous.setIsCurrent(false);
+                }
+            }
+            deltas.merge(accountId, transaction.getAmount(), BigDecimal::add);
+
+            if (transaction.getAmount().signum() < 0) {
+                ledger.debit(accountId, transaction.getAmount().negate());
+            } else {
+                ledger.credit(accountId, transaction.getAmount());
+            }
+
+            return repository.save(transaction);
+        }
+
+        /**
+         * Write the appended transactions and balance changes.
+         * 
+         * @throws OptimisticLockException                  if an account changed
+         *                                                  since it was read
+         * @throws TransactionHasInsufficientFundsException if a conditional debit
+         *                                                  fails
+         */
+        void flush() {
+            if (deltas.isEmpty()) {
+                return;
+            }
+
+            if (!current.isEmpty()) {
+                Map<Long, Long> currentTransactionIds = new HashMap<>(current.size());
+                for (Map.Entry<Long, Transaction> transaction : current.entrySet()) {
+                    currentTransactionIds.put(transaction.getKey(), transaction.getValue().getId());
+                }
+                repository.clearCurrentAccountIdTransactions(currentTransactionIds);
+            }
+
+            for (Map.Entry<Long, BigDecimal> delta : deltas.entrySet()) {
+                if (delta.getValue().signum() == 0) {
+                    continue;
+                }
+                if (isHot(delta.getKey())) {
+                    applyHot(delta.getKey(), delta.getValue());
+                } else {
+                    apply(delta.getKey(), delta.getValue());
+                }
+            }
+
+            entityManager.flush();
+
+            // Delivered to listeners once the database transaction commits
+            eventPublisher.publishEvent(
+                    new TransactionsCreatedEvent(new ArrayList<>(appended.subList(published, appended.size()))));
+            published = appended.size();
+
+            current.clear();
+            deltas.clear();
+        }
+
+        /**
+         * Change the balance of an account, checking it against the version it was
+         * read with in the same update.
+         */
+        private void apply(Long accountId, BigDecimal delta) {
+            Long version = versions.get(accountId);
+            int updated = delta.signum() < 0
+                    ? balanceRepository.debitAtVersion(accountId, delta.negate(), version)
+                    : balanceRepository.creditAtVersion(accountId, delta, version);
+            if (updated == 0) {
+                // A failed debit lacked funds unless the balance changed since it was read
+                if (delta.signum() < 0 && balanceRepository.existsByAccountIdAndVersion(accountId, version)) {
+                    throw TRANSACTION_HAS_INSUFFICIENT_FUNDS;
+                }
+                throw new OptimisticLockException("Account modified concurrently", null,
+                        entityManager.getReference(Account.class, accountId));
+            }
+            versions.put(accountId, version + 1);
+        }
+
+        /**
+         * Change the balance of a hot account through its slots, unversioned so
+         * credits do not serialize on the balance row again.
+         */
+        private void applyHot(Long accountId, BigDecimal delta) {
+            if (delta.signum() > 0) {
+                hotAccounts.credit(accountId, delta);
+            } else if (!hotAccounts.debit(accountId, delta.negate())) {
+                throw TRANSACTION_HAS_INSUFFICIENT_FUNDS;
+            }
+        }
+
+        /**
+         * Detach the flushed transactions to bound the persistence context of a
+         * batch.
+         */
+        void detach() {
+            for (Transaction transaction : appended) {
+                entityManager.detach(transaction);
+            }
+            appended.clear();
+            published = 0;
+        }
 
     }
 
@@ -1,7 +1,5 @@
 package com.example.bank.web.controller;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
-
 import java.util.ArrayList;
 import java.util.List;
 
@@ -14,6 +12,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
@@ -22,7 +21,9 @@ import com.example.bank.domain.Account;
 import com.example.bank.dto.CreateAccountDto;
 import com.example.bank.exception.AccountDoesNotBelongToCustomerException;
 import com.example.bank.service.AccountService;
+import com.example.bank.service.ReadModelService;
 import com.example.bank.web.exception.GlobalExceptionHandling;
+import com.example.bank.web.link.ResourceLinks;
 import com.example.bank.web.resource.AccountResource;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -40,6 +41,12 @@ public class AccountController {
     @Autowired
     private AccountService accountService;
 
+    @Autowired
+    private ResourceLinks links;
+
+    @Autowired(required = false)
+    private ReadModelService readModelService;
+
     @Operation(summary = "Create a new account for an existing customer")
     @PostMapping(path = "customers/{customerId}/accounts", produces = MediaType.APPLICATION_JSON_VALUE)
     @ResponseStatus(HttpStatus.CREATED)
@@ -49,8 +56,7 @@ public class AccountController {
 
         AccountResource resource = new AccountResource(account);
 
-        Link selfRelLink = linkTo(methodOn(AccountController.class).getAccount(account.getId(), customerId))
-                .withSelfRel();
+        Link selfRelLink = links.account(account.getId(), customerId, IanaLinkRelations.SELF);
         resource.add(selfRelLink);
         resource.add(getCommonLinks(account.getId(), account.getCustomer().getId()));
 
@@ -69,8 +75,7 @@ public class AccountController {
 
         AccountResource resource = new AccountResource(account);
 
-        resource.add(linkTo(methodOn(AccountController.class).getAccount(account.getId(), customerId))
-                .withSelfRel());
+        resource.add(links.account(account.getId(), customerId, IanaLinkRelations.SELF));
         resource.add(getCommonLinks(account.getId(), account.getCustomer().getId()));
 
         return ResponseEntity.ok().body(resource);
@@ -79,36 +84,41 @@ public class AccountController {
     @Operation(summary = "Get all accounts for customer ID")
     @GetMapping("customers/{customerId}/accounts")
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<List<AccountResource>> getAccounts(@PathVariable Long customerId) {
-        List<Account> accounts = accountService.findAccountsByCustomerId(customerId);
+    public ResponseEntity<List<AccountResource>> getAccounts(@PathVariable Long customerId,
+            @RequestHeader(name = TransactionController.CONSISTENCY_TOKEN_HEADER, required = false) Long consistencyToken) {
+
+        // Served by the read model if the client sent a token, the read model is
+        // enabled, and it is consistent with the token
+        boolean fromReadModel = consistencyToken != null && readModelService != null
+                && readModelService.awaitConsistency(consistencyToken);
+        Long readModelToken = fromReadModel ? readModelService.getConsistencyToken() : null;
+        List<Account> accounts = fromReadModel ? readModelService.findAccountsByCustomerId(customerId)
+                : accountService.findAccountsByCustomerId(customerId);
 
         List<AccountResource> resources = new ArrayList<>();
 
         for (Account account : accounts) {
             AccountResource resource = new AccountResource(account);
 
-            resource.add(
-                    linkTo(methodOn(AccountController.class).getAccount(account.getId(), account.getCustomer().getId()))
-                            .withSelfRel());
+            resource.add(links.account(account.getId(), account.getCustomer().getId(), IanaLinkRelations.SELF));
             resource.add(getCommonLinks(account.getId(), account.getCustomer().getId()));
 
             resources.add(resource);
         }
 
+        if (fromReadModel) {
+            return ResponseEntity.ok()
+                    .header(TransactionController.CONSISTENCY_TOKEN_HEADER, readModelToken.toString())
+                    .body(resources);
+        }
         return ResponseEntity.ok().body(resources);
     }
 
     private List<Link> getCommonLinks(Long accountId, Long customerId) {
         List<Link> transactionLinks = new ArrayList<>();
-        transactionLinks.add(
-                linkTo(methodOn(AccountController.class).getAccounts(customerId))
-                        .withRel(IanaLinkRelations.COLLECTION));
-        transactionLinks.add(
-                linkTo(methodOn(CustomerController.class).getCustomer(customerId))
-                        .withRel(IanaLinkRelations.ORIGINAL));
-        transactionLinks.add(
-                linkTo(methodOn(TransactionController.class).getAllTransactions(accountId, customerId))
-                        .withRel(IanaLinkRelations.RELATED));
+        transactionLinks.add(links.accounts(customerId, IanaLinkRelations.COLLECTION));
+        transactionLinks.add(links.customer(customerId, IanaLinkRelations.ORIGINAL));
+        transactionLinks.add(links.transactions(accountId, customerId, IanaLinkRelations.RELATED));
         return transactionLinks;
     }
 
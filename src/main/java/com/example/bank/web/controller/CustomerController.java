@@ -1,7 +1,5 @@
 package com.example.bank.web.controller;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
-
 import java.util.ArrayList;
 import java.util.List;
 
@@ -22,6 +20,7 @@ import com.example.bank.domain.Customer;
 import com.example.bank.dto.CreateCustomerDto;
 import com.example.bank.service.CustomerService;
 import com.example.bank.web.exception.GlobalExceptionHandling;
+import com.example.bank.web.link.ResourceLinks;
 import com.example.bank.web.resource.CustomerResource;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -39,13 +38,16 @@ public class CustomerController {
     @Autowired
     private CustomerService customerService;
 
+    @Autowired
+    private ResourceLinks links;
+
     @Operation(summary = "Create a new customer")
     @PostMapping(path = "customers", produces = MediaType.APPLICATION_JSON_VALUE)
     @ResponseStatus(HttpStatus.CREATED)
     public ResponseEntity<CustomerResource> createCustomer(CreateCustomerDto createCustomerDto) {
         CustomerResource customer = new CustomerResource(customerService.create(createCustomerDto));
 
-        Link selfRelLink = linkTo(methodOn(CustomerController.class).getCustomer(customer.getId())).withSelfRel();
+        Link selfRelLink = links.customer(customer.getId(), IanaLinkRelations.SELF);
         customer.add(selfRelLink);
         customer.add(getCommonLinks(customer.getId()));
 
@@ -62,7 +64,7 @@ public class CustomerController {
         for (Customer customer : customers) {
             CustomerResource resource = new CustomerResource(customer);
 
-            resource.add(linkTo(methodOn(CustomerController.class).getCustomer(customer.getId())).withSelfRel());
+            resource.add(links.customer(customer.getId(), IanaLinkRelations.SELF));
             resource.add(getCommonLinks(customer.getId()));
 
             resources.add(resource);
@@ -77,7 +79,7 @@ public class CustomerController {
     public ResponseEntity<CustomerResource> getCustomer(@PathVariable Long customerId) {
         CustomerResource customer = new CustomerResource(customerService.findById(customerId));
 
-        customer.add(linkTo(methodOn(CustomerController.class).getCustomer(customer.getId())).withSelfRel());
+        customer.add(links.customer(customer.getId(), IanaLinkRelations.SELF));
         customer.add(getCommonLinks(customer.getId()));
 
         return ResponseEntity.ok().body(customer);
@@ -85,8 +87,7 @@ public class CustomerController {
 
     private List<Link> getCommonLinks(Long customerId) {
         List<Link> accountLinks = new ArrayList<>();
-        accountLinks.add(
-                linkTo(methodOn(AccountController.class).getAccounts(customerId)).withRel(IanaLinkRelations.RELATED));
+        accountLinks.add(links.accounts(customerId, IanaLinkRelations.RELATED));
         return accountLinks;
     }
 
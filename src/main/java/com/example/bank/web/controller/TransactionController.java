@@ -1,31 +1,48 @@
 package com.example.bank.web.controller;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
-
 import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.Link;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.example.bank.domain.Account;
 import com.example.bank.domain.Transaction;
 import com.example.bank.domain.TransactionTransferType;
+import com.example.bank.dto.BatchTransferResultDto;
 import com.example.bank.dto.CreateDepositDto;
 import com.example.bank.dto.CreateTransferDto;
 import com.example.bank.dto.CreateWithdrawlDto;
+import com.example.bank.dto.TransactionCursor;
+import com.example.bank.dto.TransactionHistoryQueryDto;
+import com.example.bank.exception.AccountDoesNotBelongToCustomerException;
 import com.example.bank.exception.TransactionDoesNotBelongToAccountException;
 import com.example.bank.exception.TransactionDoesNotBelongToCustomerException;
+import com.example.bank.service.AccountService;
+import com.example.bank.service.IdempotencyService;
+import com.example.bank.service.ReadModelService;
 import com.example.bank.service.TransactionService;
 import com.example.bank.web.exception.GlobalExceptionHandling;
+import com.example.bank.web.export.TransactionExportFormat;
+import com.example.bank.web.export.TransactionExportWriter;
+import com.example.bank.web.link.ResourceLinks;
 import com.example.bank.web.resource.TransactionResource;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -40,6 +57,31 @@ import io.swagger.v3.oas.annotations.Operation;
 @RequestMapping("api")
 public class TransactionController {
 
+    /**
+     * Request header making a POST safe to retry, a repeated key returns the
+     * transaction(s) of the first request.
+     */
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    /**
+     * Request and response header of the highest transaction ID the read model
+     * is consistent with. Writes return their own ID, and a read sending it
+     * opts into the read model once it has caught up, zero for any staleness.
+     */
+    public static final String CONSISTENCY_TOKEN_HEADER = "Consistency-Token";
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private ResourceLinks links;
+
+    @Autowired(required = false)
+    private ReadModelService readModelService;
+
     @Autowired
     private TransactionService service;
 
@@ -48,9 +90,12 @@ public class TransactionController {
     @ResponseStatus(HttpStatus.OK)
     public ResponseEntity<TransactionResource> getTransaction(@PathVariable Long accountId,
             @PathVariable Long customerId,
-            @PathVariable Long transactionId) {
+            @PathVariable Long transactionId,
+            @RequestHeader(name = CONSISTENCY_TOKEN_HEADER, required = false) Long consistencyToken) {
 
-        Transaction transaction = service.findById(transactionId);
+        Long readModelToken = getReadModelToken(consistencyToken);
+        Transaction transaction = readModelToken != null ? readModelService.findById(transactionId)
+                : service.findById(transactionId);
 
         if (!accountId.equals(transaction.getAccount().getId())) {
             throw new TransactionDoesNotBelongToAccountException();
@@ -62,18 +107,22 @@ public class TransactionController {
 
         TransactionResource resource = new TransactionResource(transaction);
 
-        resource.add(linkTo(methodOn(TransactionController.class).getTransaction(accountId, customerId, transactionId))
-                .withSelfRel());
+        resource.add(links.transaction(accountId, customerId, transactionId, IanaLinkRelations.SELF));
 
-        return ResponseEntity.ok().body(resource);
+        return withConsistencyToken(ResponseEntity.ok(), readModelToken).body(resource);
     }
 
     @Operation(summary = "Get all transactions for account ID")
     @GetMapping("customers/{customerId}/accounts/{accountId}/transactions")
     @ResponseStatus(HttpStatus.OK)
     public ResponseEntity<List<TransactionResource>> getAllTransactions(@PathVariable Long accountId,
-            @PathVariable Long customerId) {
-        List<Transaction> transactions = service.findTransactionsByAccountId(accountId);
+            @PathVariable Long customerId,
+            @RequestHeader(name = CONSISTENCY_TOKEN_HEADER, required = false) Long consistencyToken) {
+
+        Long readModelToken = getReadModelToken(consistencyToken);
+        List<Transaction> transactions = readModelToken != null
+                ? readModelService.findTransactionsByAccountId(accountId)
+                : service.findTransactionsByAccountId(accountId);
 
         List<TransactionResource> resources = new ArrayList<>();
 
@@ -88,14 +137,78 @@ public class TransactionController {
 
             TransactionResource resource = new TransactionResource(transaction);
 
-            resource.add(linkTo(
-                    methodOn(TransactionController.class).getTransaction(accountId, customerId, transaction.getId()))
-                    .withSelfRel());
+            resource.add(links.transaction(accountId, customerId, transaction.getId(), IanaLinkRelations.SELF));
 
             resources.add(resource);
         }
 
-        return ResponseEntity.ok().body(resources);
+        return withConsistencyToken(ResponseEntity.ok(), readModelToken).body(resources);
+    }
+
+    @Operation(summary = "Stream all transactions for account ID as NDJSON or CSV, resumable after a transaction ID")
+    @GetMapping("customers/{customerId}/accounts/{accountId}/transactions/export")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<StreamingResponseBody> exportTransactions(@PathVariable Long accountId,
+            @PathVariable Long customerId,
+            @RequestParam(defaultValue = "NDJSON") TransactionExportFormat format,
+            @RequestParam(defaultValue = "0") Long after) {
+
+        // Check before streaming starts, so failures still get an error status
+        Account account = accountService.findById(accountId);
+
+        if (!customerId.equals(account.getCustomer().getId())) {
+            throw new AccountDoesNotBelongToCustomerException();
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            TransactionExportWriter writer = new TransactionExportWriter(format, outputStream);
+            service.exportTransactions(accountId, after, writer::write);
+            writer.flush();
+        };
+
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(format.getMediaType())).body(body);
+    }
+
+    @Operation(summary = "Get one page of transaction history for account ID, newest first")
+    @GetMapping("customers/{customerId}/accounts/{accountId}/transactions/history")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<CollectionModel<TransactionResource>> getTransactionHistory(@PathVariable Long accountId,
+            @PathVariable Long customerId,
+            TransactionHistoryQueryDto transactionHistoryQueryDto) {
+
+        transactionHistoryQueryDto.setAccountId(accountId);
+        transactionHistoryQueryDto.setCustomerId(customerId);
+
+        Slice<Transaction> transactions = service.findTransactionHistory(transactionHistoryQueryDto);
+
+        List<TransactionResource> resources = new ArrayList<>();
+        for (Transaction transaction : transactions) {
+            TransactionResource resource = new TransactionResource(transaction);
+
+            resource.add(links.transaction(accountId, customerId, transaction.getId(), IanaLinkRelations.SELF));
+
+            resources.add(resource);
+        }
+
+        CollectionModel<TransactionResource> page = CollectionModel.of(resources);
+        page.add(Link.of(ServletUriComponentsBuilder.fromCurrentRequest().build().toUriString(),
+                IanaLinkRelations.SELF));
+
+        // Slice has next tells if more transactions follow in the requested direction
+        boolean backwards = transactionHistoryQueryDto.getBefore() != null;
+        boolean hasOlder = backwards ? transactions.hasContent() : transactions.hasNext();
+        boolean hasNewer = backwards ? transactions.hasNext()
+                : transactionHistoryQueryDto.getAfter() != null && transactions.hasContent();
+
+        List<Transaction> content = transactions.getContent();
+        if (hasOlder) {
+            page.add(Link.of(getHistoryPageUri("after", content.get(content.size() - 1)), IanaLinkRelations.NEXT));
+        }
+        if (hasNewer) {
+            page.add(Link.of(getHistoryPageUri("before", content.get(0)), IanaLinkRelations.PREV));
+        }
+
+        return ResponseEntity.ok().body(page);
     }
 
     @Operation(summary = "Process an account deposit")
@@ -103,22 +216,26 @@ public class TransactionController {
     @ResponseStatus(HttpStatus.CREATED)
     public ResponseEntity<TransactionResource> processDeposit(@PathVariable Long accountId,
             @PathVariable Long customerId,
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             CreateDepositDto createDepositDto) {
 
         createDepositDto.setAccountId(accountId);
         createDepositDto.setCustomerId(customerId);
 
-        Transaction transaction = service.process(createDepositDto);
+        Transaction transaction = idempotencyKey != null
+                ? idempotencyService.execute(idempotencyKey, createDepositDto,
+                        () -> List.of(service.process(createDepositDto))).get(0)
+                : service.process(createDepositDto);
 
         TransactionResource resource = new TransactionResource(transaction);
 
-        Link selfRelLink = linkTo(methodOn(TransactionController.class).getTransaction(accountId, customerId,
-                transaction.getId())).withSelfRel();
+        Link selfRelLink = links.transaction(accountId, customerId, transaction.getId(), IanaLinkRelations.SELF);
         resource.add(selfRelLink);
         resource.add(getCommonLinks(transaction.getCustomer().getId(),
                 transaction.getId()));
 
-        return ResponseEntity.created(selfRelLink.toUri()).body(resource);
+        return withConsistencyToken(ResponseEntity.created(selfRelLink.toUri()), getWriteToken(transaction.getId()))
+                .body(resource);
     }
 
     @Operation(summary = "Process a transfer from one account to another")
@@ -127,36 +244,31 @@ public class TransactionController {
     public ResponseEntity<List<TransactionResource>> processTransfer(@PathVariable Long accountId,
             @PathVariable Long customerId,
             @PathVariable Long destinationAccountId,
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             CreateTransferDto createTransferDto) {
 
         createTransferDto.setAccountId(accountId);
         createTransferDto.setCustomerId(customerId);
         createTransferDto.setDestinationAccountId(destinationAccountId);
 
-        List<Transaction> transactions = service.process(createTransferDto);
+        List<Transaction> transactions = idempotencyKey != null
+                ? idempotencyService.execute(idempotencyKey, createTransferDto,
+                        () -> service.process(createTransferDto))
+                : service.process(createTransferDto);
 
         List<TransactionResource> resources = new ArrayList<>();
         for (Transaction transaction : transactions) {
             TransactionResource resource = new TransactionResource(transaction);
 
-            resource.add(linkTo(
-                    methodOn(TransactionController.class).getTransaction(transaction.getId(),
-                            transaction.getCustomer().getId(),
-                            transaction.getId()))
-                    .withSelfRel());
+            resource.add(links.transaction(transaction.getId(), transaction.getCustomer().getId(),
+                    transaction.getId(), IanaLinkRelations.SELF));
 
             if (TransactionTransferType.DESTINATION.equals(transaction.getTransferType())) {
-                resource.add(linkTo(
-                        methodOn(TransactionController.class).getTransaction(transaction.getId(),
-                                transaction.getCustomer().getId(),
-                                transaction.getId()))
-                        .withRel(IanaLinkRelations.ORIGINAL));
+                resource.add(links.transaction(transaction.getId(), transaction.getCustomer().getId(),
+                        transaction.getId(), IanaLinkRelations.ORIGINAL));
             } else if (TransactionTransferType.SOURCE.equals(transaction.getTransferType())) {
-                resource.add(linkTo(
-                        methodOn(TransactionController.class).getTransaction(transaction.getId(),
-                                transaction.getCustomer().getId(),
-                                transaction.getId()))
-                        .withRel(IanaLinkRelations.PAYMENT));
+                resource.add(links.transaction(transaction.getId(), transaction.getCustomer().getId(),
+                        transaction.getId(), IanaLinkRelations.PAYMENT));
             }
 
             resource.add(getCommonLinks(transaction.getCustomer().getId(),
@@ -165,7 +277,33 @@ public class TransactionController {
             resources.add(resource);
         }
 
-        return ResponseEntity.ok().body(resources);
+        Long transactionId = transactions.get(transactions.size() - 1).getId();
+        return withConsistencyToken(ResponseEntity.ok(), getWriteToken(transactionId)).body(resources);
+    }
+
+    @Operation(summary = "Process a batch of transfers from one account to others in one database transaction")
+    @PostMapping(path = "customers/{customerId}/accounts/{accountId}/transactions/transfers", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<List<BatchTransferResultDto>> processTransfers(@PathVariable Long accountId,
+            @PathVariable Long customerId,
+            @RequestBody List<CreateTransferDto> createTransferDtos) {
+
+        for (CreateTransferDto createTransferDto : createTransferDtos) {
+            if (createTransferDto != null) {
+                createTransferDto.setAccountId(accountId);
+                createTransferDto.setCustomerId(customerId);
+            }
+        }
+
+        List<BatchTransferResultDto> results = service.processTransfers(createTransferDtos);
+
+        Long transactionId = 0L;
+        for (BatchTransferResultDto result : results) {
+            if (result.isSuccess()) {
+                transactionId = Math.max(transactionId, result.getDestinationTransactionId());
+            }
+        }
+        return withConsistencyToken(ResponseEntity.ok(), getWriteToken(transactionId)).body(results);
     }
 
     @Operation(summary = "Process a withdrawl for an account")
@@ -173,38 +311,74 @@ public class TransactionController {
     @ResponseStatus(HttpStatus.CREATED)
     public ResponseEntity<TransactionResource> processWithdrawl(@PathVariable Long accountId,
             @PathVariable Long customerId,
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             CreateWithdrawlDto createWithdrawlDto) {
 
         createWithdrawlDto.setAccountId(accountId);
         createWithdrawlDto.setCustomerId(customerId);
 
-        Transaction transaction = service.process(createWithdrawlDto);
+        Transaction transaction = idempotencyKey != null
+                ? idempotencyService.execute(idempotencyKey, createWithdrawlDto,
+                        () -> List.of(service.process(createWithdrawlDto))).get(0)
+                : service.process(createWithdrawlDto);
 
         TransactionResource resource = new TransactionResource(transaction);
 
-        Link selfRelLink = linkTo(
-                methodOn(TransactionController.class).getTransaction(transaction.getAccount().getId(),
-                        transaction.getCustomer().getId(),
-                        transaction.getId()))
-                .withSelfRel();
+        Link selfRelLink = links.transaction(transaction.getAccount().getId(), transaction.getCustomer().getId(),
+                transaction.getId(), IanaLinkRelations.SELF);
         resource.add(selfRelLink);
         resource.add(getCommonLinks(transaction.getCustomer().getId(),
                 transaction.getId()));
 
-        return ResponseEntity.created(selfRelLink.toUri()).body(resource);
+        return withConsistencyToken(ResponseEntity.created(selfRelLink.toUri()), getWriteToken(transaction.getId()))
+                .body(resource);
+    }
+
+    /**
+     * Serve a read from the read model if the client sent a token, the read
+     * model is enabled, and it is consistent with the token, otherwise from the
+     * write model.
+     *
+     * @return the consistency token of a read model read, or null to read the
+     *         write model
+     */
+    private Long getReadModelToken(Long consistencyToken) {
+        if (consistencyToken == null || readModelService == null
+                || !readModelService.awaitConsistency(consistencyToken)) {
+            return null;
+        }
+        return readModelService.getConsistencyToken();
+    }
+
+    /**
+     * @return the consistency token of a write, or null without a read model
+     */
+    private Long getWriteToken(Long transactionId) {
+        return readModelService != null ? transactionId : null;
+    }
+
+    private static ResponseEntity.BodyBuilder withConsistencyToken(ResponseEntity.BodyBuilder builder,
+            Long consistencyToken) {
+        return consistencyToken != null ? builder.header(CONSISTENCY_TOKEN_HEADER, consistencyToken.toString())
+                : builder;
+    }
+
+    /**
+     * @return the current history request URI with the page cursor replaced
+     */
+    private String getHistoryPageUri(String cursorParameter, Transaction transaction) {
+        return ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("after")
+                .replaceQueryParam("before")
+                .replaceQueryParam(cursorParameter, TransactionCursor.of(transaction).encode())
+                .build().toUriString();
     }
 
     private List<Link> getCommonLinks(Long accountId, Long customerId) {
         List<Link> transactionLinks = new ArrayList<>();
-        transactionLinks.add(
-                linkTo(methodOn(AccountController.class).getAccount(customerId, accountId))
-                        .withRel(IanaLinkRelations.ORIGINAL));
-        transactionLinks.add(
-                linkTo(methodOn(CustomerController.class).getCustomer(customerId))
-                        .withRel(IanaLinkRelations.ORIGINAL));
-        transactionLinks.add(
-                linkTo(methodOn(TransactionController.class).getAllTransactions(accountId, customerId))
-                        .withRel(IanaLinkRelations.COLLECTION));
+        transactionLinks.add(links.account(customerId, accountId, IanaLinkRelations.ORIGINAL));
+        transactionLinks.add(links.customer(customerId, IanaLinkRelations.ORIGINAL));
+        transactionLinks.add(links.transactions(accountId, customerId, IanaLinkRelations.COLLECTION));
         return transactionLinks;
     }
 
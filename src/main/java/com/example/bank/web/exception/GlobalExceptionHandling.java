@@ -3,6 +3,7 @@ package com.example.bank.web.exception;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -18,6 +19,10 @@ import com.example.bank.exception.AccountNotFoundException;
 import com.example.bank.exception.CustomerExistsWithSsnException;
 import com.example.bank.exception.CustomerNotFoundException;
 import com.example.bank.exception.DepositMustBeGreaterThanZeroException;
+import com.example.bank.exception.GroupCommitTimeoutException;
+import com.example.bank.exception.IdempotencyKeyInProgressException;
+import com.example.bank.exception.IdempotencyKeyReusedException;
+import com.example.bank.exception.InvalidTransactionCursorException;
 import com.example.bank.exception.NoAccountsForCustomer;
 import com.example.bank.exception.TransactionDoesNotBelongToAccountException;
 import com.example.bank.exception.TransactionDoesNotBelongToCustomerException;
@@ -27,6 +32,7 @@ import com.example.bank.exception.TransactionSourceCannotEqualDestination;
 import com.example.bank.exception.TransferMustBeGreaterThanZeroException;
 import com.example.bank.exception.WithdrawlMustBeGreaterThanZeroException;
 
+import jakarta.persistence.OptimisticLockException;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Path.Node;
@@ -104,6 +110,7 @@ public class GlobalExceptionHandling extends ResponseEntityExceptionHandler {
                 || exception instanceof TransactionDoesNotBelongToAccountException
                 || exception instanceof TransactionDoesNotBelongToCustomerException
                 || exception instanceof DepositMustBeGreaterThanZeroException
+                || exception instanceof InvalidTransactionCursorException
                 || exception instanceof TransactionHasInsufficientFundsException
                 || exception instanceof TransferMustBeGreaterThanZeroException
                 || exception instanceof TransactionSourceCannotEqualDestination
@@ -111,7 +118,11 @@ public class GlobalExceptionHandling extends ResponseEntityExceptionHandler {
 
             return HttpStatus.BAD_REQUEST;
 
-        } else if (exception instanceof CustomerExistsWithSsnException) {
+        } else if (exception instanceof CustomerExistsWithSsnException
+                || exception instanceof IdempotencyKeyInProgressException
+                || exception instanceof IdempotencyKeyReusedException
+                || exception instanceof OptimisticLockException
+                || exception instanceof OptimisticLockingFailureException) {
 
             return HttpStatus.CONFLICT;
 
@@ -123,6 +134,10 @@ public class GlobalExceptionHandling extends ResponseEntityExceptionHandler {
 
             return HttpStatus.NOT_FOUND;
 
+        } else if (exception instanceof GroupCommitTimeoutException) {
+
+            return HttpStatus.SERVICE_UNAVAILABLE;
+
         } else {
 
             return HttpStatus.INTERNAL_SERVER_ERROR;
@@ -0,0 +1,21 @@
+package com.example.bank.web.export;
+
+/**
+ * Formats of a streamed account statement export.
+ */
+public enum TransactionExportFormat {
+
+    CSV("text/csv"),
+    NDJSON("application/x-ndjson");
+
+    private final String mediaType;
+
+    TransactionExportFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+}
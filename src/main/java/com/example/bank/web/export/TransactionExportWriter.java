@@ -0,0 +1,133 @@
+package com.example.bank.web.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+
+import com.example.bank.domain.Transaction;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Writes {@link Transaction} objects one at a time to an export stream, one
+ * NDJSON line or CSV record each, so memory use does not depend on the number
+ * of transactions.
+ * 
+ * Each line carries the transaction ID, the cursor to resume an interrupted
+ * export from.
+ */
+public class TransactionExportWriter {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final String CSV_HEADER = "id,dateCreated,type,transferType,amount,currentBalance,description,isCurrent,isProvisional";
+
+    /**
+     * Number of transactions written between flushes to the client.
+     */
+    private static final int FLUSH_INTERVAL = 500;
+
+    private final TransactionExportFormat format;
+
+    private final Writer writer;
+
+    private final JsonGenerator generator;
+
+    private long written;
+
+    public TransactionExportWriter(TransactionExportFormat format, OutputStream outputStream) throws IOException {
+        this.format = format;
+        this.writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+        if (format == TransactionExportFormat.NDJSON) {
+            this.generator = JSON_FACTORY.createGenerator(writer);
+            this.generator.setRootValueSeparator(null);
+        } else {
+            this.generator = null;
+            this.writer.write(CSV_HEADER);
+            this.writer.write('\n');
+        }
+    }
+
+    /**
+     * @param transaction the {@link Transaction} to write
+     * @throws UncheckedIOException if the client disconnected
+     */
+    public void write(Transaction transaction) {
+        try {
+            if (format == TransactionExportFormat.NDJSON) {
+                writeJson(transaction);
+            } else {
+                writeCsv(transaction);
+            }
+            if (++written % FLUSH_INTERVAL == 0) {
+                flush();
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * Flush the remaining transactions to the client.
+     */
+    public void flush() throws IOException {
+        if (generator != null) {
+            generator.flush();
+        }
+        writer.flush();
+    }
+
+    private void writeJson(Transaction transaction) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", transaction.getId());
+        generator.writeStringField("dateCreated",
+                DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(transaction.getDateCreated()));
+        generator.writeStringField("type", transaction.getType().name());
+        generator.writeStringField("transferType",
+                transaction.getTransferType() != null ? transaction.getTransferType().name() : null);
+        generator.writeNumberField("amount", transaction.getAmount());
+        generator.writeNumberField("currentBalance", transaction.getCurrentBalance());
+        generator.writeStringField("description", transaction.getDescription());
+        generator.writeBooleanField("isCurrent", transaction.getIsCurrent());
+        generator.writeBooleanField("isProvisional", transaction.getIsProvisional());
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private void writeCsv(Transaction transaction) throws IOException {
+        writer.write(String.valueOf(transaction.getId()));
+        writer.write(',');
+        writer.write(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(transaction.getDateCreated()));
+        writer.write(',');
+        writer.write(transaction.getType().name());
+        writer.write(',');
+        writer.write(transaction.getTransferType() != null ? transaction.getTransferType().name() : "");
+        writer.write(',');
+        writer.write(transaction.getAmount().toPlainString());
+        writer.write(',');
+        writer.write(transaction.getCurrentBalance().toPlainString());
+        writer.write(',');
+        writer.write(escapeCsv(transaction.getDescription()));
+        writer.write(',');
+        writer.write(String.valueOf(transaction.getIsCurrent()));
+        writer.write(',');
+        writer.write(String.valueOf(transaction.getIsProvisional()));
+        writer.write('\n');
+    }
+
+    private static String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+}
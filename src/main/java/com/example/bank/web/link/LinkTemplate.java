@@ -0,0 +1,105 @@
+package com.example.bank.web.link;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+/**
+ * URI template of a controller route, split once into literal text and
+ * variables so expanding it is string concatenation. Public for the reactive
+ * module, whose controllers carry the same mappings.
+ */
+public final class LinkTemplate {
+
+    private static final Pattern VARIABLE = Pattern.compile("\\{([^}]+)\\}");
+
+    /**
+     * Literal text around the variables, one more than the variables.
+     */
+    private final String[] literals;
+
+    /**
+     * Index into the expand arguments of each variable.
+     */
+    private final int[] arguments;
+
+    private LinkTemplate(String[] literals, int[] arguments) {
+        this.literals = literals;
+        this.arguments = arguments;
+    }
+
+    /**
+     * Compile the template of a controller handler method from its
+     * {@link RequestMapping} paths, the way Spring HATEOAS joins them.
+     * 
+     * @param controller
+     * @param methodName     the handler method, unique in the controller
+     * @param parameterNames the variable names, in the order their values are
+     *                       passed to {@link #expand(String, Object...)}
+     * @throws IllegalStateException if the route has no mapping or uses a
+     *                               variable not in parameterNames
+     */
+    public static LinkTemplate of(Class<?> controller, String methodName, String... parameterNames) {
+        Method method = Arrays.stream(controller.getMethods()).filter(m -> m.getName().equals(methodName)).findFirst()
+                .orElseThrow(() -> new IllegalStateException(controller.getSimpleName() + "." + methodName
+                        + " not found"));
+
+        String path = join(getPath(controller), getPath(method));
+
+        List<String> literals = new ArrayList<>();
+        List<Integer> arguments = new ArrayList<>();
+        List<String> names = Arrays.asList(parameterNames);
+
+        Matcher matcher = VARIABLE.matcher(path);
+        int start = 0;
+        while (matcher.find()) {
+            int argument = names.indexOf(matcher.group(1));
+            if (argument < 0) {
+                throw new IllegalStateException("Variable " + matcher.group(1) + " of " + path + " not in "
+                        + names);
+            }
+            literals.add(path.substring(start, matcher.start()));
+            arguments.add(argument);
+            start = matcher.end();
+        }
+        literals.add(path.substring(start));
+
+        return new LinkTemplate(literals.toArray(new String[0]),
+                arguments.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * @param baseUri the scheme, host, and context path, without a trailing slash
+     * @param values  the variable values, in parameterNames order
+     * @return the expanded URI
+     */
+    public String expand(String baseUri, Object... values) {
+        StringBuilder uri = new StringBuilder(baseUri.length() + 64).append(baseUri);
+        for (int i = 0; i < arguments.length; i++) {
+            uri.append(literals[i]).append(values[arguments[i]]);
+        }
+        return uri.append(literals[arguments.length]).toString();
+    }
+
+    private static String getPath(AnnotatedElement element) {
+        RequestMapping mapping = AnnotatedElementUtils.findMergedAnnotation(element, RequestMapping.class);
+        if (mapping == null || mapping.path().length == 0) {
+            return "";
+        }
+        return mapping.path()[0];
+    }
+
+    private static String join(String typePath, String methodPath) {
+        String path = "/" + typePath + "/" + methodPath;
+        path = path.replaceAll("/+", "/");
+        return path.length() > 1 && path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+
+}
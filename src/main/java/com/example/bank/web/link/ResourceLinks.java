@@ -0,0 +1,105 @@
+package com.example.bank.web.link;
+
+import static org.springframework.web.context.request.RequestAttributes.SCOPE_REQUEST;
+
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.example.bank.web.controller.AccountController;
+import com.example.bank.web.controller.CustomerController;
+import com.example.bank.web.controller.TransactionController;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Builds the HATEOAS links of the REST API from {@link LinkTemplate} objects
+ * compiled on start-up, instead of a {@code linkTo(methodOn(...))} proxy and
+ * reflective URI building per link.
+ * 
+ * Each method takes the arguments of the controller route it links to, in the
+ * same order, and produces the same href as {@code linkTo(methodOn(...))}
+ * against the current request.
+ */
+@Component
+public class ResourceLinks {
+
+    private static final String BASE_URI_ATTRIBUTE = ResourceLinks.class.getName() + ".baseUri";
+
+    private LinkTemplate account;
+
+    private LinkTemplate accounts;
+
+    private LinkTemplate customer;
+
+    private LinkTemplate transaction;
+
+    private LinkTemplate transactions;
+
+    @PostConstruct
+    public void compile() {
+        account = LinkTemplate.of(AccountController.class, "getAccount", "accountId", "customerId");
+        accounts = LinkTemplate.of(AccountController.class, "getAccounts", "customerId");
+        customer = LinkTemplate.of(CustomerController.class, "getCustomer", "customerId");
+        transaction = LinkTemplate.of(TransactionController.class, "getTransaction", "accountId", "customerId",
+                "transactionId");
+        transactions = LinkTemplate.of(TransactionController.class, "getAllTransactions", "accountId",
+                "customerId");
+    }
+
+    /**
+     * @see AccountController#getAccount(Long, Long)
+     */
+    public Link account(Long accountId, Long customerId, LinkRelation relation) {
+        return Link.of(account.expand(getBaseUri(), accountId, customerId), relation);
+    }
+
+    /**
+     * @see AccountController#getAccounts(Long)
+     */
+    public Link accounts(Long customerId, LinkRelation relation) {
+        return Link.of(accounts.expand(getBaseUri(), customerId), relation);
+    }
+
+    /**
+     * @see CustomerController#getCustomer(Long)
+     */
+    public Link customer(Long customerId, LinkRelation relation) {
+        return Link.of(customer.expand(getBaseUri(), customerId), relation);
+    }
+
+    /**
+     * @see TransactionController#getTransaction(Long, Long, Long)
+     */
+    public Link transaction(Long accountId, Long customerId, Long transactionId, LinkRelation relation) {
+        return Link.of(transaction.expand(getBaseUri(), accountId, customerId, transactionId), relation);
+    }
+
+    /**
+     * @see TransactionController#getAllTransactions(Long, Long)
+     */
+    public Link transactions(Long accountId, Long customerId, LinkRelation relation) {
+        return Link.of(transactions.expand(getBaseUri(), accountId, customerId), relation);
+    }
+
+    /**
+     * @return the scheme, host, port, and context path of the current request,
+     *         resolved once per request
+     */
+    private String getBaseUri() {
+        RequestAttributes attributes = RequestContextHolder.currentRequestAttributes();
+        String baseUri = (String) attributes.getAttribute(BASE_URI_ATTRIBUTE, SCOPE_REQUEST);
+        if (baseUri == null) {
+            baseUri = ServletUriComponentsBuilder.fromCurrentServletMapping().build().toUriString();
+            if (baseUri.endsWith("/")) {
+                baseUri = baseUri.substring(0, baseUri.length() - 1);
+            }
+            attributes.setAttribute(BASE_URI_ATTRIBUTE, baseUri, SCOPE_REQUEST);
+        }
+        return baseUri;
+    }
+
+}
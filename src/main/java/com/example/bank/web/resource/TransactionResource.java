@@ -50,6 +50,10 @@ public class TransactionResource extends RepresentationModel<TransactionResource
         return this.transaction.getIsCurrent();
     }
 
+    public Boolean getIsProvisional() {
+        return this.transaction.getIsProvisional();
+    }
+
     public TransactionTransferType getTransferType() {
         return this.transaction.getTransferType();
     }
@@ -0,0 +1,76 @@
+package com.example.bank;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.example.bank.domain.Account;
+import com.example.bank.domain.AccountType;
+import com.example.bank.domain.Customer;
+import com.example.bank.dto.CreateAccountDto;
+import com.example.bank.dto.CreateCustomerDto;
+import com.example.bank.dto.CreateDepositDto;
+import com.example.bank.dto.CreateTransferDto;
+import com.example.bank.dto.CreateWithdrawlDto;
+import com.example.bank.service.AccountService;
+import com.example.bank.service.CustomerService;
+
+/**
+ * Customers, accounts, and transaction DTOs for the Spring Boot tests.
+ *
+ * SSNs are unique across every test of the JVM, so tests sharing a database
+ * do not collide.
+ */
+@Component
+public class BankTestFixture {
+
+    private static final AtomicLong SSN = new AtomicLong(123400000L);
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    public Customer createCustomer(String name) {
+        CreateCustomerDto createCustomerDto = new CreateCustomerDto();
+        createCustomerDto.setName(name);
+        createCustomerDto.setSsn(SSN.incrementAndGet());
+        return customerService.create(createCustomerDto);
+    }
+
+    public Account createAccount(Customer customer, AccountType type) {
+        return accountService.create(CreateAccountDto.builder().customerId(customer.getId()).type(type).build());
+    }
+
+    public CreateDepositDto deposit(Account account, BigDecimal amount) {
+        CreateDepositDto createDepositDto = new CreateDepositDto();
+        createDepositDto.setAccountId(account.getId());
+        createDepositDto.setCustomerId(account.getCustomer().getId());
+        createDepositDto.setAmount(amount);
+        createDepositDto.setDescription("Test deposit");
+        return createDepositDto;
+    }
+
+    public CreateTransferDto transfer(Account source, Account destination, BigDecimal amount) {
+        CreateTransferDto createTransferDto = new CreateTransferDto();
+        createTransferDto.setAccountId(source.getId());
+        createTransferDto.setCustomerId(source.getCustomer().getId());
+        createTransferDto.setDestinationAccountId(destination.getId());
+        createTransferDto.setAmount(amount);
+        createTransferDto.setDescription("Test transfer");
+        return createTransferDto;
+    }
+
+    public CreateWithdrawlDto withdrawl(Account account, BigDecimal amount) {
+        CreateWithdrawlDto createWithdrawlDto = new CreateWithdrawlDto();
+        createWithdrawlDto.setAccountId(account.getId());
+        createWithdrawlDto.setCustomerId(account.getCustomer().getId());
+        createWithdrawlDto.setAmount(amount);
+        createWithdrawlDto.setDescription("Test withdrawl");
+        return createWithdrawlDto;
+    }
+
+}
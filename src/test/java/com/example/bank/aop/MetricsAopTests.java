@@ -0,0 +1,79 @@
+package com.example.bank.aop;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.bank.exception.AccountNotFoundException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Timers recorded by {@link MetricsAop} around a proxied {@link Service}.
+ */
+class MetricsAopTests {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TimedService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+
+        MetricsAop metricsAop = new MetricsAop();
+        ReflectionTestUtils.setField(metricsAop, "meterRegistry", meterRegistry);
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(new TimedService());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(metricsAop);
+        service = factory.getProxy();
+    }
+
+    @Test
+    void timesSuccess() {
+        service.find(false);
+        service.find(false);
+
+        assertEquals(2, meterRegistry.get(MetricsAop.SERVICE_METER).tag("class", "TimedService")
+                .tag("method", "find").tag("outcome", "success").tag("exception", "none").timer().count());
+    }
+
+    @Test
+    void timesRejectionsByException() {
+        assertThrows(AccountNotFoundException.class, () -> service.find(true));
+
+        assertEquals(1, meterRegistry.get(MetricsAop.SERVICE_METER).tag("method", "find")
+                .tag("outcome", "rejected").tag("exception", "AccountNotFoundException").timer().count());
+    }
+
+    @Test
+    void timesErrors() {
+        assertThrows(IllegalStateException.class, () -> service.fail());
+
+        assertEquals(1, meterRegistry.get(MetricsAop.SERVICE_METER).tag("method", "fail")
+                .tag("outcome", "error").tag("exception", "IllegalStateException").timer().count());
+    }
+
+    @Service
+    static class TimedService {
+
+        public String find(boolean missing) {
+            if (missing) {
+                throw new AccountNotFoundException();
+            }
+            return "found";
+        }
+
+        public void fail() {
+            throw new IllegalStateException();
+        }
+
+    }
+
+}
@@ -0,0 +1,247 @@
+package com.example.bank.journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.bank.domain.Account;
+import com.example.bank.domain.Customer;
+import com.example.bank.domain.Transaction;
+import com.example.bank.domain.TransactionTransferType;
+import com.example.bank.domain.TransactionType;
+import com.example.bank.ledger.BalanceSnapshotStore;
+
+/**
+ * Append, replay, and crash recovery of the {@link Journal} segment files.
+ */
+class JournalTests {
+
+    /**
+     * Small segments so the tests cross segment files.
+     */
+    private static final int SEGMENT_RECORDS = 4;
+
+    @TempDir
+    Path directory;
+
+    private Journal journal;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        journal.close();
+    }
+
+    @Test
+    void replayRestoresIndex() throws Exception {
+        journal = open();
+        append(deposit(1L, "100.00"));
+        append(deposit(2L, "50.00"));
+        for (int i = 0; i < 3; i++) {
+            append(transfer(1L, 2L, "10.25"));
+        }
+        journal.awaitDurable(journal.getAppendedId());
+        journal.close();
+
+        journal = open();
+
+        assertEquals(8, journal.getAppendedId());
+        assertEquals(0, new BigDecimal("69.25").compareTo(journal.getBalance(1L)));
+        assertEquals(0, new BigDecimal("80.75").compareTo(journal.getBalance(2L)));
+        assertEquals(8, journal.getLatestId(2L));
+        assertEquals(4, journal.findTransactionIds(1L, 0L).length);
+
+        Transaction transaction = journal.findById(7L);
+        assertEquals(1L, transaction.getAccount().getId());
+        assertEquals(0, new BigDecimal("-10.25").compareTo(transaction.getAmount()));
+        assertEquals("Journal test", transaction.getDescription());
+        assertEquals(TransactionTransferType.SOURCE, transaction.getTransferType());
+        assertTrue(transaction.getIsCurrent());
+        assertFalse(journal.findById(5L).getIsCurrent());
+        assertNull(journal.findById(9L));
+    }
+
+    @Test
+    void replayDropsTornGroup() throws Exception {
+        journal = open();
+        append(deposit(1L, "100.00"));
+        append(transfer(1L, 2L, "40.00"));
+        journal.awaitDurable(journal.getAppendedId());
+        journal.close();
+
+        // Tear the destination record of the transfer
+        corrupt(3L);
+
+        journal = open();
+
+        assertEquals(1, journal.getAppendedId());
+        assertEquals(0, new BigDecimal("100.00").compareTo(journal.getBalance(1L)));
+        assertEquals(0, journal.getBalance(2L).signum());
+
+        // The next transfer reuses the torn IDs
+        append(transfer(1L, 2L, "30.00"));
+        assertEquals(3, journal.getAppendedId());
+        assertEquals(0, new BigDecimal("70.00").compareTo(journal.getBalance(1L)));
+    }
+
+    @Test
+    void replayStartsAfterSnapshot() throws Exception {
+        BalanceSnapshotStore snapshotStore = new BalanceSnapshotStore();
+        ReflectionTestUtils.setField(snapshotStore, "directory", directory.resolve("snapshots").toString());
+        ReflectionTestUtils.setField(snapshotStore, "retained", 2);
+
+        journal = open();
+        ReflectionTestUtils.setField(journal, "snapshotStore", snapshotStore);
+        append(deposit(1L, "100.00"));
+        append(transfer(1L, 2L, "40.00"));
+        journal.snapshot();
+        append(transfer(2L, 1L, "15.00"));
+        journal.awaitDurable(journal.getAppendedId());
+        journal.close();
+
+        // Only the records after the snapshot are read again
+        corrupt(1L);
+
+        journal = open(snapshotStore);
+
+        assertEquals(5, journal.getAppendedId());
+        assertEquals(0, new BigDecimal("75.00").compareTo(journal.getBalance(1L)));
+        assertEquals(0, new BigDecimal("25.00").compareTo(journal.getBalance(2L)));
+        assertEquals(2, journal.findTransactionIds(2L, 0L).length);
+    }
+
+    @Test
+    void idempotencyKeyReplaysWithItsGroup() throws Exception {
+        journal = open();
+        append(deposit(1L, "100.00"));
+        journal.withIdempotencyKey("key", "request", () -> journal.append(Arrays.asList(transfer(1L, 2L, "40.00"))));
+        journal.awaitDurable(journal.getAppendedId());
+        journal.close();
+
+        journal = open();
+
+        assertEquals(4, journal.getAppendedId());
+        assertEquals(List.of(2L, 3L), journal.findIdempotencyKey("key").getTransactionIds());
+        assertTrue(journal.findIdempotencyKey("key").matches("request"));
+        assertFalse(journal.findIdempotencyKey("key").matches("other request"));
+        assertNull(journal.findById(4L));
+        assertEquals(3, journal.getLatestId(2L));
+
+        // The key record takes an ID, the next group follows it
+        append(deposit(2L, "5.00"));
+        assertEquals(5, journal.getLatestId(2L));
+        assertEquals(0, new BigDecimal("45.00").compareTo(journal.getBalance(2L)));
+    }
+
+    @Test
+    void replayDropsGroupWithTornKey() throws Exception {
+        journal = open();
+        append(deposit(1L, "100.00"));
+        journal.withIdempotencyKey("key", "request", () -> journal.append(Arrays.asList(transfer(1L, 2L, "40.00"))));
+        journal.awaitDurable(journal.getAppendedId());
+        journal.close();
+
+        corrupt(4L);
+
+        journal = open();
+
+        assertEquals(1, journal.getAppendedId());
+        assertNull(journal.findIdempotencyKey("key"));
+        assertEquals(0, journal.getBalance(2L).signum());
+    }
+
+    @Test
+    void snapshotKeepsRecentKeys() throws Exception {
+        BalanceSnapshotStore snapshotStore = new BalanceSnapshotStore();
+        ReflectionTestUtils.setField(snapshotStore, "directory", directory.resolve("snapshots").toString());
+        ReflectionTestUtils.setField(snapshotStore, "retained", 2);
+
+        journal = open();
+        ReflectionTestUtils.setField(journal, "snapshotStore", snapshotStore);
+        append(deposit(1L, "100.00"));
+        journal.withIdempotencyKey("key", "request", () -> journal.append(Arrays.asList(transfer(1L, 2L, "40.00"))));
+        append(deposit(2L, "5.00"));
+        journal.snapshot();
+        journal.close();
+
+        journal = open(snapshotStore);
+
+        assertEquals(List.of(2L, 3L), journal.findIdempotencyKey("key").getTransactionIds());
+    }
+
+    @Test
+    void keyNeedsAppend() throws Exception {
+        journal = open();
+
+        assertThrows(IllegalStateException.class, () -> journal.withIdempotencyKey("key", "request", () -> null));
+        assertNull(journal.findIdempotencyKey("key"));
+    }
+
+    private Journal open() throws Exception {
+        return open(null);
+    }
+
+    private Journal open(BalanceSnapshotStore snapshotStore) throws Exception {
+        Journal opened = new Journal();
+        ReflectionTestUtils.setField(opened, "snapshotStore", snapshotStore);
+        ReflectionTestUtils.setField(opened, "directory", directory.toString());
+        ReflectionTestUtils.setField(opened, "fsync", true);
+        ReflectionTestUtils.setField(opened, "groupCommitMicros", 0L);
+        ReflectionTestUtils.setField(opened, "segmentRecords", SEGMENT_RECORDS);
+        opened.open();
+        return opened;
+    }
+
+    private void append(Transaction... transactions) {
+        journal.append(Arrays.asList(transactions));
+    }
+
+    private void corrupt(long transactionId) throws Exception {
+        long index = transactionId - 1;
+        Path segment = directory.resolve(String.format("%010d.segment", index / SEGMENT_RECORDS));
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 1, 2, 3 }),
+                    (index % SEGMENT_RECORDS) * JournalRecord.SIZE + 40);
+        }
+    }
+
+    private static Transaction deposit(Long accountId, String amount) {
+        return transaction(accountId, new BigDecimal(amount), TransactionType.DEPOSIT, null);
+    }
+
+    private static Transaction[] transfer(Long sourceAccountId, Long destinationAccountId, String amount) {
+        return new Transaction[] {
+                transaction(sourceAccountId, new BigDecimal(amount).negate(), TransactionType.TRANSFER,
+                        TransactionTransferType.SOURCE),
+                transaction(destinationAccountId, new BigDecimal(amount), TransactionType.TRANSFER,
+                        TransactionTransferType.DESTINATION) };
+    }
+
+    private static Transaction transaction(Long accountId, BigDecimal amount, TransactionType type,
+            TransactionTransferType transferType) {
+        Customer customer = Customer.builder().id(accountId).build();
+        return Transaction.builder()
+                .account(Account.builder().id(accountId).customer(customer).build())
+                .amount(amount)
+                .customer(customer)
+                .description("Journal test")
+                .transferType(transferType)
+                .type(type)
+                .build();
+    }
+
+}
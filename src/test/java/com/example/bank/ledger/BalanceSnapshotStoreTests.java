@@ -0,0 +1,90 @@
+package com.example.bank.ledger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Round trip, retention, and corruption handling of {@link BalanceSnapshot}
+ * files.
+ */
+class BalanceSnapshotStoreTests {
+
+    private static final int ACCOUNTS = 10_000;
+
+    @TempDir
+    Path directory;
+
+    private BalanceSnapshotStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new BalanceSnapshotStore();
+        ReflectionTestUtils.setField(store, "directory", directory.toString());
+        ReflectionTestUtils.setField(store, "retained", 2);
+    }
+
+    @Test
+    void readsLatestSnapshot() {
+        store.write("ledger", snapshot(100L));
+        store.write("ledger", snapshot(200L));
+        store.write("journal", snapshot(300L));
+
+        BalanceSnapshot snapshot = store.readLatest("ledger", transactionId -> true);
+
+        assertEquals(200L, snapshot.getTransactionId());
+        assertEquals(ACCOUNTS, snapshot.size());
+        assertEquals(ACCOUNTS, snapshot.getAccountId(ACCOUNTS - 1));
+        assertEquals(200L + ACCOUNTS - 1, snapshot.getUnscaledBalance(ACCOUNTS - 1));
+        assertEquals(0, snapshot.getLatestTransactionId(0));
+    }
+
+    @Test
+    void skipsRejectedAndCorruptSnapshots() throws Exception {
+        store.write("ledger", snapshot(100L));
+        store.write("ledger", snapshot(200L));
+
+        assertEquals(100L, store.readLatest("ledger", transactionId -> transactionId <= 150L).getTransactionId());
+
+        try (FileChannel channel = FileChannel.open(directory.resolve(String.format("ledger-%020d.snapshot", 200L)),
+                StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 1, 2, 3 }), 1_000);
+        }
+        assertEquals(100L, store.readLatest("ledger", transactionId -> true).getTransactionId());
+        assertNull(store.readLatest("ledger", transactionId -> transactionId < 100L));
+    }
+
+    @Test
+    void keepsRetainedSnapshots() throws Exception {
+        for (long transactionId = 1; transactionId <= 5; transactionId++) {
+            store.write("ledger", snapshot(transactionId));
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(2, files.count());
+        }
+        assertEquals(5L, store.readLatest("ledger", transactionId -> true).getTransactionId());
+    }
+
+    private static BalanceSnapshot snapshot(long transactionId) {
+        long[] accountIds = new long[ACCOUNTS];
+        long[] balances = new long[ACCOUNTS];
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountIds[i] = i + 1;
+            balances[i] = transactionId + i;
+        }
+        return new BalanceSnapshot(transactionId, accountIds, new long[ACCOUNTS], balances);
+    }
+
+}
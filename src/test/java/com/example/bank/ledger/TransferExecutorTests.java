@@ -0,0 +1,98 @@
+package com.example.bank.ledger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Stress {@link TransferExecutor} and {@link BalanceLedger} with concurrent
+ * random transfers, outside of any database transaction.
+ */
+class TransferExecutorTests {
+
+    private static final int ACCOUNTS = 1000;
+
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000.00");
+
+    private static final int THREADS = 16;
+
+    private static final int TRANSFERS = 100_000;
+
+    private BalanceLedger ledger;
+
+    private TransferExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        AccountLockTable lockTable = new AccountLockTable();
+
+        ledger = new BalanceLedger();
+        ReflectionTestUtils.setField(ledger, "lockTable", lockTable);
+
+        executor = new TransferExecutor();
+        ReflectionTestUtils.setField(executor, "lockTable", lockTable);
+
+        for (long accountId = 1; accountId <= ACCOUNTS; accountId++) {
+            ledger.credit(accountId, OPENING_BALANCE);
+        }
+    }
+
+    @Test
+    void concurrentTransfersConserveMoney() throws InterruptedException {
+        AtomicLong completed = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        for (int i = 0; i < TRANSFERS; i++) {
+            pool.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long sourceAccountId = random.nextLong(1, ACCOUNTS + 1);
+                long destinationAccountId = random.nextLong(1, ACCOUNTS + 1);
+                if (sourceAccountId == destinationAccountId) {
+                    destinationAccountId = sourceAccountId % ACCOUNTS + 1;
+                }
+                BigDecimal amount = BigDecimal.valueOf(random.nextLong(1, 50_000), 2);
+
+                final long source = sourceAccountId;
+                final long destination = destinationAccountId;
+                boolean transferred = executor.execute(source, destination, () -> {
+                    if (ledger.getBalance(source).compareTo(amount) < 0) {
+                        return false;
+                    }
+                    ledger.debit(source, amount);
+                    ledger.credit(destination, amount);
+                    return true;
+                });
+
+                if (transferred) {
+                    completed.incrementAndGet();
+                } else {
+                    rejected.incrementAndGet();
+                }
+            });
+        }
+        pool.shutdown();
+
+        assertTrue(pool.awaitTermination(2, TimeUnit.MINUTES), "Transfers did not finish, possible deadlock");
+        assertEquals(TRANSFERS, completed.get() + rejected.get());
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (long accountId = 1; accountId <= ACCOUNTS; accountId++) {
+            BigDecimal balance = ledger.getBalance(accountId);
+            assertTrue(balance.signum() >= 0, "Negative balance for account " + accountId);
+            total = total.add(balance);
+        }
+        assertEquals(0, OPENING_BALANCE.multiply(BigDecimal.valueOf(ACCOUNTS)).compareTo(total));
+    }
+
+}
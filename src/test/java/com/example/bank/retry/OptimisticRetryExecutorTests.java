@@ -0,0 +1,82 @@
+package com.example.bank.retry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.bank.domain.Account;
+import com.example.bank.exception.TransactionHasInsufficientFundsException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+
+/**
+ * Retry behaviour of {@link OptimisticRetryExecutor}, outside of any database
+ * transaction.
+ */
+class OptimisticRetryExecutorTests {
+
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    private OptimisticRetryExecutor executor;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new OptimisticRetryExecutor();
+        ReflectionTestUtils.setField(executor, "meterRegistry", meterRegistry);
+    }
+
+    @Test
+    void retriesConflicts() throws Throwable {
+        String result = executor.execute("deposit", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw conflict(7L);
+            }
+            return "committed";
+        });
+
+        assertEquals("committed", result);
+        assertEquals(3, attempts.get());
+        assertEquals(2.0, meterRegistry.get(OptimisticRetryExecutor.CONFLICTS_METER)
+                .tag("operation", "deposit").tag("outcome", "retried").counter().count());
+        assertEquals(7L, executor.getHotAccounts(1).get(0).getKey());
+        assertEquals(2L, executor.getHotAccounts(1).get(0).getValue());
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        assertThrows(OptimisticLockException.class, () -> executor.execute("withdrawl", () -> {
+            attempts.incrementAndGet();
+            throw conflict(9L);
+        }));
+
+        assertEquals(OptimisticRetryExecutor.MAX_ATTEMPTS, attempts.get());
+        assertEquals(1.0, meterRegistry.get(OptimisticRetryExecutor.CONFLICTS_METER)
+                .tag("outcome", "exhausted").counter().count());
+    }
+
+    @Test
+    void doesNotRetryOtherExceptions() {
+        assertThrows(TransactionHasInsufficientFundsException.class, () -> executor.execute("transfer", () -> {
+            attempts.incrementAndGet();
+            throw new TransactionHasInsufficientFundsException();
+        }));
+
+        assertEquals(1, attempts.get());
+    }
+
+    private static OptimisticLockException conflict(Long accountId) {
+        Account account = new Account();
+        account.setId(accountId);
+        return new OptimisticLockException("Account modified concurrently", null, account);
+    }
+
+}
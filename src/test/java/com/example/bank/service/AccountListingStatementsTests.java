@@ -0,0 +1,85 @@
+package com.example.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.bank.BankTestFixture;
+import com.example.bank.domain.Account;
+import com.example.bank.domain.AccountType;
+import com.example.bank.domain.Customer;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Listing the accounts of a customer costs the same SQL statements whatever
+ * the number of accounts.
+ */
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:listingstatements",
+        "spring.jpa.properties.hibernate.generate_statistics=true" })
+class AccountListingStatementsTests {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BankTestFixture fixture;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void listingCostsConstantStatements() {
+        long single = measure(createCustomerWithAccounts(1));
+        long many = measure(createCustomerWithAccounts(200));
+
+        assertEquals(single, many, "Statements for 1 account " + single + ", for 200 accounts " + many);
+    }
+
+    /**
+     * @return the prepared statements of one listing
+     */
+    private long measure(Customer customer) {
+        statistics.clear();
+        List<Account> accounts = accountService.findAccountsByCustomerId(customer.getId());
+        long statements = statistics.getPrepareStatementCount();
+
+        for (Account account : accounts) {
+            assertEquals(0, BigDecimal.valueOf(account.getId()).compareTo(account.getBalance()),
+                    "Balance of account " + account.getId());
+        }
+        return statements;
+    }
+
+    /**
+     * @return a customer whose accounts each hold their own ID as balance
+     */
+    private Customer createCustomerWithAccounts(int count) {
+        Customer customer = fixture.createCustomer("Listing");
+
+        for (int i = 0; i < count; i++) {
+            Account account = fixture.createAccount(customer, AccountType.CHECKING);
+            transactionService.process(fixture.deposit(account, BigDecimal.valueOf(account.getId())));
+        }
+        return customer;
+    }
+
+}
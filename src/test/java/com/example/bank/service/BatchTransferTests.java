@@ -0,0 +1,102 @@
+package com.example.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.bank.BankTestFixture;
+import com.example.bank.domain.Account;
+import com.example.bank.domain.AccountType;
+import com.example.bank.dto.BatchTransferResultDto;
+import com.example.bank.dto.CreateTransferDto;
+import com.example.bank.exception.AccountNotFoundException;
+import com.example.bank.exception.TransactionHasInsufficientFundsException;
+import com.example.bank.exception.TransactionSourceCannotEqualDestination;
+
+/**
+ * Batches of transfers applied in request order, each rejection reported for
+ * its own transfer only.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:batchtransfers")
+class BatchTransferTests {
+
+    @Autowired
+    private BankTestFixture fixture;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    private Account source;
+
+    private Account destination;
+
+    @BeforeEach
+    void setUp() {
+        source = fixture.createAccount(fixture.createCustomer("Batch Transfers"), AccountType.CHECKING);
+        destination = fixture.createAccount(source.getCustomer(), AccountType.SAVINGS);
+        transactionService.process(fixture.deposit(source, BigDecimal.TEN));
+    }
+
+    @Test
+    void rejectionsFailOnlyTheirOwnTransfer() {
+        CreateTransferDto unknownDestination = transfer(BigDecimal.ONE);
+        unknownDestination.setDestinationAccountId(Long.MAX_VALUE);
+        CreateTransferDto sameAccount = transfer(BigDecimal.ONE);
+        sameAccount.setDestinationAccountId(source.getId());
+
+        List<BatchTransferResultDto> results = transactionService.processTransfers(List.of(transfer(BigDecimal.ONE),
+                unknownDestination, sameAccount, transfer(new BigDecimal(100)), transfer(BigDecimal.ONE)));
+
+        assertEquals(5, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertRejected(results.get(1), AccountNotFoundException.class);
+        assertRejected(results.get(2), TransactionSourceCannotEqualDestination.class);
+        assertRejected(results.get(3), TransactionHasInsufficientFundsException.class);
+        assertTrue(results.get(4).isSuccess());
+
+        assertEquals(0, new BigDecimal(8).compareTo(transactionService.getCurrentAccountBalance(source.getId())));
+        assertEquals(0, new BigDecimal(2).compareTo(transactionService.getCurrentAccountBalance(destination.getId())));
+    }
+
+    @Test
+    void transfersApplyInRequestOrder() {
+        // The second transfer only fits the balance left by the first if the first
+        // is applied first
+        List<CreateTransferDto> createTransferDtos = new ArrayList<>();
+        createTransferDtos.add(transfer(new BigDecimal(8)));
+        createTransferDtos.add(transfer(new BigDecimal(5)));
+        createTransferDtos.add(transfer(new BigDecimal(2)));
+
+        List<BatchTransferResultDto> results = transactionService.processTransfers(createTransferDtos);
+
+        assertTrue(results.get(0).isSuccess());
+        assertRejected(results.get(1), TransactionHasInsufficientFundsException.class);
+        assertTrue(results.get(2).isSuccess());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).getIndex());
+        }
+        assertTrue(results.get(0).getDestinationTransactionId() < results.get(2).getSourceTransactionId());
+        assertEquals(0, transactionService.getCurrentAccountBalance(source.getId()).signum());
+    }
+
+    private CreateTransferDto transfer(BigDecimal amount) {
+        return fixture.transfer(source, destination, amount);
+    }
+
+    private static void assertRejected(BatchTransferResultDto result, Class<? extends RuntimeException> rejection) {
+        assertFalse(result.isSuccess());
+        assertEquals(rejection.getSimpleName(), result.getError());
+        assertNull(result.getSourceTransactionId());
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.example.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.bank.BankTestFixture;
+import com.example.bank.domain.Account;
+import com.example.bank.domain.AccountType;
+import com.example.bank.domain.Customer;
+import com.example.bank.domain.Transaction;
+import com.example.bank.exception.TransactionHasInsufficientFundsException;
+import com.example.bank.ledger.BalanceLedger;
+
+/**
+ * Concurrent {@link TransactionService#process} transfers between a few
+ * accounts, in both directions of every pair, so the account locks are taken
+ * in crossing orders.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:concurrenttransfers")
+class ConcurrentTransferTests {
+
+    private static final int ACCOUNTS = 6;
+
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("500.00");
+
+    private static final int THREADS = 8;
+
+    private static final int TRANSFERS = 200;
+
+    @Autowired
+    private BankTestFixture fixture;
+
+    @Autowired
+    private BalanceLedger ledger;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Test
+    void crossingTransfersConserveMoney() throws Exception {
+        Customer customer = fixture.createCustomer("Concurrent transfers");
+        List<Account> accounts = new ArrayList<>();
+        List<Long> accountIds = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            Account account = fixture.createAccount(customer, AccountType.CHECKING);
+            transactionService.process(fixture.deposit(account, OPENING_BALANCE));
+            accounts.add(account);
+            accountIds.add(account.getId());
+        }
+
+        AtomicLong completed = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < TRANSFERS; i++) {
+            futures.add(pool.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int source = random.nextInt(ACCOUNTS);
+                int destination = (source + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+                BigDecimal amount = BigDecimal.valueOf(random.nextLong(1, 200));
+                try {
+                    transactionService.process(fixture.transfer(accounts.get(source), accounts.get(destination), amount));
+                    completed.incrementAndGet();
+                } catch (TransactionHasInsufficientFundsException e) {
+                    rejected.incrementAndGet();
+                }
+            }));
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(2, TimeUnit.MINUTES), "Transfers did not finish, possible deadlock");
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        assertEquals(TRANSFERS, completed.get() + rejected.get());
+
+        Map<Long, BigDecimal> balances = transactionService.getCurrentAccountBalances(accountIds);
+        BigDecimal total = BigDecimal.ZERO;
+        for (Long accountId : accountIds) {
+            BigDecimal balance = balances.get(accountId);
+            assertTrue(balance.signum() >= 0, "Negative balance for account " + accountId);
+            total = total.add(balance);
+
+            BigDecimal posted = BigDecimal.ZERO;
+            for (Transaction transaction : transactionService.findTransactionsByAccountId(accountId)) {
+                posted = posted.add(transaction.getAmount());
+            }
+            assertEquals(0, balance.compareTo(posted), "Balance differs from the transactions of " + accountId);
+        }
+        assertEquals(0, OPENING_BALANCE.multiply(BigDecimal.valueOf(ACCOUNTS)).compareTo(total));
+        assertTrue(ledger.verify().isEmpty(), "Ledger differs from the database");
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.example.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.bank.BankTestFixture;
+import com.example.bank.domain.Account;
+import com.example.bank.domain.AccountType;
+import com.example.bank.domain.Transaction;
+
+/**
+ * {@link TransactionService#exportTransactions} across more transactions than
+ * one fetch, resumed after the last ID received.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:exporttransactions")
+class ExportTransactionsTests {
+
+    // More than the 500 rows of one fetch
+    private static final int TRANSACTIONS = 1_201;
+
+    @Autowired
+    private BankTestFixture fixture;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    private Account account;
+
+    private List<Long> transactionIds;
+
+    @BeforeEach
+    void setUp() {
+        account = fixture.createAccount(fixture.createCustomer("Export"), AccountType.CHECKING);
+        transactionIds = new ArrayList<>(TRANSACTIONS);
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            transactionIds.add(transactionService.process(fixture.deposit(account, BigDecimal.ONE)).getId());
+        }
+    }
+
+    @Test
+    void exportsEveryTransactionInIdOrder() {
+        assertEquals(transactionIds, export(0L));
+    }
+
+    @Test
+    void resumesAfterLastIdReceived() {
+        List<Long> received = new ArrayList<>();
+        assertThrows(InterruptedExport.class, () -> transactionService.exportTransactions(account.getId(), 0L,
+                transaction -> {
+                    if (received.size() == 700) {
+                        throw new InterruptedExport();
+                    }
+                    received.add(transaction.getId());
+                }));
+
+        received.addAll(export(received.get(received.size() - 1)));
+
+        assertEquals(transactionIds, received);
+    }
+
+    @Test
+    void transactionsCommittedDuringExportFollowOnResume() {
+        List<Transaction> committed = new ArrayList<>();
+        List<Long> received = new ArrayList<>();
+        transactionService.exportTransactions(account.getId(), 0L, transaction -> {
+            if (committed.isEmpty()) {
+                // Committed by another thread, in its own database transaction
+                committed.add(CompletableFuture
+                        .supplyAsync(() -> transactionService.process(fixture.deposit(account, BigDecimal.ONE)))
+                        .join());
+            }
+            received.add(transaction.getId());
+        });
+        assertEquals(transactionIds, received);
+
+        List<Long> resumed = export(received.get(received.size() - 1));
+        assertEquals(List.of(committed.get(0).getId()), resumed);
+        assertTrue(resumed.get(0) > received.get(received.size() - 1));
+    }
+
+    private List<Long> export(Long afterTransactionId) {
+        List<Long> received = new ArrayList<>();
+        transactionService.exportTransactions(account.getId(), afterTransactionId,
+                transaction -> received.add(transaction.getId()));
+        return received;
+    }
+
+    /**
+     * A client going away part way through the export.
+     */
+    private static class InterruptedExport extends RuntimeException {
+    }
+
+}
@@ -0,0 +1,160 @@
+package com.example.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.bank.BankTestFixture;
+import com.example.bank.domain.Account;
+import com.example.bank.domain.AccountType;
+import com.example.bank.domain.Transaction;
+import com.example.bank.dto.CreateDepositDto;
+import com.example.bank.dto.CreateWithdrawlDto;
+import com.example.bank.exception.AccountDoesNotBelongToCustomerException;
+import com.example.bank.exception.TransactionHasInsufficientFundsException;
+import com.example.bank.repository.AccountBalanceRepository;
+
+/**
+ * Deposits and withdrawls written through the {@link GroupCommitQueue}, each
+ * caller getting its own transaction or rejection. Runs on its own database.
+ */
+@ActiveProfiles("group-commit")
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:groupcommit",
+        "bank.group-commit.window-micros=5000" })
+class GroupCommitTests {
+
+    private static final int THREADS = 16;
+
+    private static final int WRITES_PER_THREAD = 25;
+
+    @Autowired
+    private AccountBalanceRepository balanceRepository;
+
+    @Autowired
+    private BankTestFixture fixture;
+
+    @Autowired
+    private GroupCommitQueue groupCommitQueue;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        account = fixture.createAccount(fixture.createCustomer("Group Commit"), AccountType.CHECKING);
+    }
+
+    @Test
+    void concurrentWritesGetOwnTransactions() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<List<Long>>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                futures.add(executor.submit(() -> {
+                    List<Long> transactionIds = new ArrayList<>();
+                    for (int i = 0; i < WRITES_PER_THREAD; i++) {
+                        transactionIds.add(transactionService.process(deposit(new BigDecimal("2.00"))).getId());
+                        transactionIds.add(transactionService.process(withdrawl(new BigDecimal("1.00"))).getId());
+                    }
+                    return transactionIds;
+                }));
+            }
+
+            Set<Long> transactionIds = new HashSet<>();
+            for (Future<List<Long>> future : futures) {
+                transactionIds.addAll(future.get());
+            }
+            assertEquals(THREADS * WRITES_PER_THREAD * 2, transactionIds.size());
+        } finally {
+            executor.shutdown();
+        }
+
+        BigDecimal expected = new BigDecimal(THREADS * WRITES_PER_THREAD);
+        assertEquals(0, expected.compareTo(transactionService.getCurrentAccountBalance(account.getId())));
+
+        long current = transactionService.findTransactionsByAccountId(account.getId()).stream()
+                .filter(Transaction::getIsCurrent).count();
+        assertEquals(1, current);
+    }
+
+    @Test
+    void rejectionsFailOnlyTheirOwnRequest() {
+        transactionService.process(deposit(BigDecimal.TEN));
+
+        assertThrows(TransactionHasInsufficientFundsException.class,
+                () -> transactionService.process(withdrawl(new BigDecimal("10.01"))));
+
+        CreateDepositDto createDepositDto = deposit(BigDecimal.ONE);
+        createDepositDto.setCustomerId(Long.MAX_VALUE);
+        assertInstanceOf(AccountDoesNotBelongToCustomerException.class,
+                transactionService.tryProcess(createDepositDto).getRejection());
+
+        assertEquals(0, BigDecimal.TEN.compareTo(transactionService.getCurrentAccountBalance(account.getId())));
+    }
+
+    @Test
+    void failedConditionalDebitFailsOnlyItsRequest() throws Exception {
+        Account other = fixture.createAccount(account.getCustomer(), AccountType.SAVINGS);
+        transactionService.process(deposit(BigDecimal.TEN));
+
+        // Empty the balance row behind the ledger, only the conditional debit sees it
+        transactionTemplate.execute(status -> balanceRepository.debit(account.getId(), BigDecimal.TEN));
+
+        CompletableFuture<TransactionResult<Transaction>> failing = groupCommitQueue.submit(withdrawl(BigDecimal.ONE));
+        List<CompletableFuture<TransactionResult<Transaction>>> deposits = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            deposits.add(groupCommitQueue.submit(fixture.deposit(other, BigDecimal.ONE)));
+        }
+
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> failing.get(1, TimeUnit.MINUTES));
+        assertInstanceOf(TransactionHasInsufficientFundsException.class, exception.getCause());
+        for (CompletableFuture<TransactionResult<Transaction>> deposit : deposits) {
+            assertFalse(deposit.get(1, TimeUnit.MINUTES).isRejected());
+        }
+        assertEquals(0, new BigDecimal(3).compareTo(transactionService.getCurrentAccountBalance(other.getId())));
+    }
+
+    @Test
+    void stoppedQueueRejectsRequests() throws Exception {
+        GroupCommitQueue stopped = new GroupCommitQueue();
+        stopped.start();
+        stopped.stop();
+
+        assertThrows(IllegalStateException.class, () -> stopped.submit(deposit(BigDecimal.ONE)));
+    }
+
+    private CreateDepositDto deposit(BigDecimal amount) {
+        return fixture.deposit(account, amount);
+    }
+
+    private CreateWithdrawlDto withdrawl(BigDecimal amount) {
+        return fixture.withdrawl(account, amount);
+    }
+
+}
@@ -0,0 +1,145 @@
+package com.example.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.bank.BankTestFixture;
+import com.example.bank.domain.Account;
+import com.example.bank.domain.AccountType;
+import com.example.bank.domain.Customer;
+import com.example.bank.domain.Transaction;
+import com.example.bank.dto.CreateDepositDto;
+import com.example.bank.dto.CreateWithdrawlDto;
+import com.example.bank.exception.TransactionHasInsufficientFundsException;
+import com.example.bank.ledger.BalanceLedger;
+import com.example.bank.ledger.HotAccounts;
+
+/**
+ * Deposits, transfers, and withdrawls on a hot account split across slots,
+ * the balance always the sum of the slots and exact on its current transaction
+ * once consolidated. Runs on its own database.
+ */
+@ActiveProfiles("hot-accounts")
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:hotaccounts",
+        "bank.hot-accounts.consolidate-seconds=3600" })
+class HotAccountTests {
+
+    private static final int THREADS = 16;
+
+    private static final int DEPOSITS_PER_THREAD = 25;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private BankTestFixture fixture;
+
+    @Autowired
+    private HotAccounts hotAccounts;
+
+    @Autowired
+    private BalanceLedger ledger;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    private Customer customer;
+
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        customer = fixture.createCustomer("Hot Account");
+        account = fixture.createAccount(customer, AccountType.CHECKING);
+        hotAccounts.add(account.getId());
+    }
+
+    @Test
+    void concurrentDepositsConsolidate() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < DEPOSITS_PER_THREAD; i++) {
+                        transactionService.process(deposit(BigDecimal.ONE));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        BigDecimal expected = new BigDecimal(THREADS * DEPOSITS_PER_THREAD);
+        assertEquals(0, expected.compareTo(accountService.findById(account.getId()).getBalance()));
+        assertTrue(ledger.verify().isEmpty());
+        // Running balances written without the lock are flagged until consolidated
+        assertTrue(transactionService.findTransactionsByAccountId(account.getId()).stream()
+                .allMatch(Transaction::getIsProvisional));
+
+        hotAccounts.consolidateAll();
+
+        List<Transaction> current = transactionService.findTransactionsByAccountId(account.getId()).stream()
+                .filter(Transaction::getIsCurrent).toList();
+        assertEquals(1, current.size());
+        assertEquals(0, expected.compareTo(current.get(0).getCurrentBalance()));
+        assertFalse(current.get(0).getIsProvisional());
+        assertTrue(ledger.verify().isEmpty());
+    }
+
+    @Test
+    void withdrawlDrawsAcrossSlots() {
+        for (int i = 0; i < 10; i++) {
+            transactionService.process(deposit(BigDecimal.ONE));
+        }
+
+        transactionService.process(withdrawl(BigDecimal.TEN));
+        assertEquals(0, BigDecimal.ZERO.compareTo(transactionService.getCurrentAccountBalance(account.getId())));
+
+        assertThrows(TransactionHasInsufficientFundsException.class,
+                () -> transactionService.process(withdrawl(BigDecimal.ONE)));
+        assertTrue(ledger.verify().isEmpty());
+    }
+
+    @Test
+    void transferCreditsSlot() {
+        Account source = fixture.createAccount(customer, AccountType.SAVINGS);
+        transactionService.process(fixture.deposit(source, new BigDecimal("50.00")));
+
+        transactionService.process(fixture.transfer(source, account, new BigDecimal("20.00")));
+
+        assertEquals(0, new BigDecimal("30.00").compareTo(transactionService.getCurrentAccountBalance(source.getId())));
+        assertEquals(0, new BigDecimal("20.00").compareTo(transactionService.getCurrentAccountBalance(account.getId())));
+        assertTrue(transactionService.findTransactionsByAccountId(account.getId()).get(0).getIsProvisional());
+        assertFalse(transactionService.findTransactionsByAccountId(source.getId()).stream()
+                .anyMatch(Transaction::getIsProvisional));
+        assertTrue(ledger.verify().isEmpty());
+    }
+
+    private CreateDepositDto deposit(BigDecimal amount) {
+        return fixture.deposit(account, amount);
+    }
+
+    private CreateWithdrawlDto withdrawl(BigDecimal amount) {
+        return fixture.withdrawl(account, amount);
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.example.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.bank.BankTestFixture;
+import com.example.bank.domain.Account;
+import com.example.bank.domain.AccountType;
+import com.example.bank.domain.Transaction;
+import com.example.bank.dto.CreateDepositDto;
+import com.example.bank.exception.IdempotencyKeyReusedException;
+
+/**
+ * Deposits repeated with one idempotency key move money once.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:idempotency")
+class IdempotencyServiceTests {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private BankTestFixture fixture;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    private final AtomicInteger runs = new AtomicInteger();
+
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        account = fixture.createAccount(fixture.createCustomer("Idempotency"), AccountType.CHECKING);
+    }
+
+    @Test
+    void repeatedKeyReturnsFirstTransaction() {
+        String key = UUID.randomUUID().toString();
+
+        Transaction first = deposit(key, BigDecimal.TEN);
+        Transaction repeated = deposit(key, BigDecimal.TEN);
+
+        assertEquals(first.getId(), repeated.getId());
+        assertEquals(1, runs.get());
+        assertEquals(0, BigDecimal.TEN.compareTo(transactionService.getCurrentAccountBalance(account.getId())));
+    }
+
+    @Test
+    void concurrentDuplicatesWaitForFirstRequest() throws Exception {
+        String key = UUID.randomUUID().toString();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        List<Future<Transaction>> futures = new ArrayList<>();
+        Callable<Transaction> duplicate = () -> deposit(key, BigDecimal.TEN);
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executorService.submit(duplicate));
+        }
+
+        Set<Long> transactionIds = new HashSet<>();
+        for (Future<Transaction> future : futures) {
+            transactionIds.add(future.get().getId());
+        }
+        executorService.shutdown();
+
+        assertEquals(1, transactionIds.size());
+        assertEquals(1, runs.get());
+        assertEquals(0, BigDecimal.TEN.compareTo(transactionService.getCurrentAccountBalance(account.getId())));
+    }
+
+    @Test
+    void reusedKeyForDifferentRequestIsRejected() {
+        String key = UUID.randomUUID().toString();
+
+        deposit(key, BigDecimal.TEN);
+
+        assertThrows(IdempotencyKeyReusedException.class, () -> deposit(key, BigDecimal.ONE));
+    }
+
+    private Transaction deposit(String key, BigDecimal amount) {
+        CreateDepositDto createDepositDto = fixture.deposit(account, amount);
+
+        return idempotencyService.execute(key, createDepositDto, () -> {
+            runs.incrementAndGet();
+            return List.of(transactionService.process(createDepositDto));
+        }).get(0);
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.example.bank.service;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.bank.journal.Journal;
+
+/**
+ * {@link ReadModelServiceTests} against the {@link Journal} storage engine.
+ */
+@ActiveProfiles("journal")
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:journal-readmodel",
+        "bank.journal.directory=build/journal-test/${random.uuid}" })
+class JournalReadModelServiceTests extends ReadModelServiceTests {
+
+}
@@ -0,0 +1,151 @@
+package com.example.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.bank.BankTestFixture;
+import com.example.bank.domain.Account;
+import com.example.bank.domain.AccountType;
+import com.example.bank.domain.Customer;
+import com.example.bank.domain.Transaction;
+import com.example.bank.dto.CreateTransferDto;
+import com.example.bank.exception.AccountNotFoundException;
+import com.example.bank.exception.CustomerNotFoundException;
+import com.example.bank.exception.TransactionNotFoundException;
+import com.example.bank.readmodel.ReadModelProjector;
+import com.example.bank.repository.AccountSummaryRepository;
+import com.example.bank.repository.TransactionSummaryRepository;
+
+/**
+ * Reads from the read model match the write model once it has caught up with
+ * the consistency token of the writes. Runs on its own database.
+ */
+@ActiveProfiles("read-model")
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:readmodel")
+class ReadModelServiceTests {
+
+    @Autowired
+    private AccountSummaryRepository accountSummaryRepository;
+
+    @Autowired
+    private BankTestFixture fixture;
+
+    @Autowired
+    private ReadModelProjector projector;
+
+    @Autowired
+    private ReadModelService readModelService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionSummaryRepository transactionSummaryRepository;
+
+    private Customer customer;
+
+    private Account source;
+
+    private Account destination;
+
+    @BeforeEach
+    void setUp() {
+        customer = fixture.createCustomer("Read Model");
+        source = fixture.createAccount(customer, AccountType.CHECKING);
+        destination = fixture.createAccount(customer, AccountType.SAVINGS);
+    }
+
+    @Test
+    void readsOwnWrites() {
+        transactionService.process(fixture.deposit(source, new BigDecimal("100.00")));
+
+        CreateTransferDto createTransferDto = fixture.transfer(source, destination, new BigDecimal("40.00"));
+        createTransferDto.setDescription("Read model transfer");
+        List<Transaction> transfer = transactionService.process(createTransferDto);
+
+        assertTrue(readModelService.awaitConsistency(transfer.get(1).getId()));
+        assertTrue(readModelService.getConsistencyToken() >= transfer.get(1).getId());
+
+        List<Transaction> expected = new ArrayList<>(transactionService.findTransactionsByAccountId(source.getId()));
+        expected.sort(Comparator.comparing(Transaction::getId));
+        List<Transaction> actual = readModelService.findTransactionsByAccountId(source.getId());
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getId(), actual.get(i).getId());
+            assertEquals(0, expected.get(i).getCurrentBalance().compareTo(actual.get(i).getCurrentBalance()));
+            assertEquals(expected.get(i).getIsCurrent(), actual.get(i).getIsCurrent());
+            assertEquals(customer.getId(), actual.get(i).getCustomer().getId());
+        }
+
+        Transaction credit = readModelService.findById(transfer.get(1).getId());
+        assertEquals(destination.getId(), credit.getAccount().getId());
+        assertEquals("Read model transfer", credit.getDescription());
+        assertTrue(credit.getIsCurrent());
+
+        List<Account> accounts = readModelService.findAccountsByCustomerId(customer.getId());
+        assertEquals(2, accounts.size());
+        assertEquals(0, new BigDecimal("60.00").compareTo(accounts.get(0).getBalance()));
+        assertEquals(0, new BigDecimal("40.00").compareTo(accounts.get(1).getBalance()));
+        assertEquals(AccountType.SAVINGS, accounts.get(1).getType());
+    }
+
+    @Test
+    void rebuildCopiesWriteModel() {
+        transactionService.process(fixture.deposit(source, new BigDecimal("100.00")));
+        List<Transaction> transfer = transactionService
+                .process(fixture.transfer(source, destination, new BigDecimal("40.00")));
+        assertTrue(readModelService.awaitConsistency(transfer.get(1).getId()));
+
+        // As if the accounts and transactions predate the read model profile
+        transactionSummaryRepository.deleteAllInBatch();
+        accountSummaryRepository.deleteAllInBatch();
+        assertThrows(AccountNotFoundException.class, () -> readModelService.findAccountsByCustomerId(customer.getId()));
+
+        projector.requestRebuild().join();
+
+        assertTrue(readModelService.getConsistencyToken() >= transfer.get(1).getId());
+        List<Account> accounts = readModelService.findAccountsByCustomerId(customer.getId());
+        assertEquals(2, accounts.size());
+        assertEquals(0, new BigDecimal("60.00").compareTo(accounts.get(0).getBalance()));
+        assertEquals(0, new BigDecimal("40.00").compareTo(accounts.get(1).getBalance()));
+
+        List<Transaction> transactions = readModelService.findTransactionsByAccountId(source.getId());
+        assertEquals(2, transactions.size());
+        assertEquals(transfer.get(0).getId(), transactions.get(1).getId());
+        assertTrue(transactions.get(1).getIsCurrent());
+
+        // Writes after the rebuild are applied on top of it
+        Transaction deposit = transactionService.process(fixture.deposit(destination, new BigDecimal("5.00")));
+        assertTrue(readModelService.awaitConsistency(deposit.getId()));
+        assertEquals(0, new BigDecimal("45.00")
+                .compareTo(readModelService.findAccountsByCustomerId(customer.getId()).get(1).getBalance()));
+    }
+
+    @Test
+    void timesOutAheadOfWrites() {
+        assertFalse(readModelService.awaitConsistency(Long.MAX_VALUE));
+    }
+
+    @Test
+    void rejectsLikeWriteModel() {
+        assertEquals(2, readModelService.findAccountsByCustomerId(customer.getId()).size());
+        assertThrows(TransactionNotFoundException.class,
+                () -> readModelService.findTransactionsByAccountId(source.getId()));
+        assertThrows(CustomerNotFoundException.class,
+                () -> readModelService.findAccountsByCustomerId(Long.MAX_VALUE));
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.example.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.bank.BankTestFixture;
+import com.example.bank.domain.Customer;
+import com.example.bank.replica.SimulatedReplication;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Rows read from the replica kept out of the second-level cache, which the
+ * primary reads share. Runs on its own primary and replica databases.
+ */
+@ActiveProfiles({ "read-replica", "second-level-cache" })
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:readreplicacache-primary",
+        "bank.read-replica.datasource.url=jdbc:h2:mem:readreplicacache-replica",
+        "bank.read-replica.max-lag-millis=3000",
+        "bank.read-replica.simulated.delay-millis=100",
+        "bank.read-replica.simulated.interval-millis=50" })
+class ReadReplicaCacheTests {
+
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BankTestFixture fixture;
+
+    @Autowired
+    private SimulatedReplication replication;
+
+    @Test
+    void replicaReadsDoNotFillCache() throws InterruptedException {
+        Customer customer = fixture.createCustomer("Read Replica Cache");
+        long committedMillis = System.currentTimeMillis();
+
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (replication.getReplicatedUntilMillis() <= committedMillis && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(replication.getReplicatedUntilMillis() > committedMillis);
+
+        Cache cache = entityManagerFactory.getCache();
+        cache.evict(Customer.class, customer.getId());
+
+        customerService.findById(customer.getId());
+        assertFalse(cache.contains(Customer.class, customer.getId()));
+    }
+
+}
@@ -0,0 +1,135 @@
+package com.example.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.function.LongPredicate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.example.bank.BankTestFixture;
+import com.example.bank.domain.Account;
+import com.example.bank.domain.AccountType;
+import com.example.bank.domain.Customer;
+import com.example.bank.replica.ReplicaConsistency;
+import com.example.bank.replica.ReplicaConsistencyFilter;
+import com.example.bank.replica.SimulatedReplication;
+
+/**
+ * Read-only service methods served by the replica within the maximum lag, and
+ * by the primary once the replica is stale or lacks a write the read must see.
+ * Runs on its own primary and replica databases.
+ */
+@ActiveProfiles("read-replica")
+@AutoConfigureMockMvc
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:readreplica-primary",
+        "bank.read-replica.datasource.url=jdbc:h2:mem:readreplica-replica",
+        "bank.read-replica.max-lag-millis=3000",
+        "bank.read-replica.simulated.delay-millis=1000",
+        "bank.read-replica.simulated.interval-millis=50" })
+class ReadReplicaTests {
+
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private BankTestFixture fixture;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SimulatedReplication replication;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        replication.resume();
+        awaitLag(lag -> lag <= 3000);
+    }
+
+    @Test
+    void readsRequiringWriteUsePrimaryUntilReplicated() throws InterruptedException {
+        Customer customer = create();
+        long committedMillis = System.currentTimeMillis();
+
+        ReplicaConsistency.require(committedMillis);
+        try {
+            // Committed less than the simulated delay ago, only the primary has it
+            assertTrue(customerService.exists(customer.getId()));
+
+            long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+            while (replication.getReplicatedUntilMillis() <= committedMillis
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertTrue(replication.getReplicatedUntilMillis() > committedMillis);
+            assertTrue(customerService.exists(customer.getId()));
+        } finally {
+            ReplicaConsistency.clear();
+        }
+    }
+
+    @Test
+    void clientReadsOwnWrite() throws Exception {
+        MvcResult created = mockMvc
+                .perform(post("/api/customers").param("name", "Read Replica").param("ssn", "223450001"))
+                .andExpect(status().isCreated())
+                .andExpect(header().exists(ReplicaConsistencyFilter.REPLICA_CONSISTENCY_TOKEN_HEADER))
+                .andReturn();
+
+        mockMvc.perform(get(created.getResponse().getHeader(HttpHeaders.LOCATION))
+                .header(ReplicaConsistencyFilter.REPLICA_CONSISTENCY_TOKEN_HEADER,
+                        created.getResponse().getHeader(ReplicaConsistencyFilter.REPLICA_CONSISTENCY_TOKEN_HEADER)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void writesReadFromPrimary() {
+        Customer customer = create();
+
+        // Reads the customer inside the write transaction
+        Account account = fixture.createAccount(customer, AccountType.CHECKING);
+        assertEquals(customer.getId(), account.getCustomer().getId());
+    }
+
+    @Test
+    void staleReplicaFallsBackToPrimary() throws InterruptedException {
+        replication.pause();
+        try {
+            awaitLag(lag -> lag > 3000);
+
+            Customer customer = create();
+            assertTrue(customerService.exists(customer.getId()));
+            assertEquals(customer.getName(), customerService.findById(customer.getId()).getName());
+        } finally {
+            replication.resume();
+        }
+    }
+
+    private Customer create() {
+        return fixture.createCustomer("Read Replica");
+    }
+
+    private void awaitLag(LongPredicate condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.test(replication.getLagMillis()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(condition.test(replication.getLagMillis()));
+    }
+
+}
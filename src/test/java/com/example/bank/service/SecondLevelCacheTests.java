@@ -0,0 +1,90 @@
+package com.example.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.bank.BankTestFixture;
+import com.example.bank.domain.Account;
+import com.example.bank.domain.AccountType;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Account and customer reads served by the second-level cache, and accounts
+ * staying cached across balance changes. Runs on its own database, the
+ * cached context is not shared with the other tests.
+ */
+@ActiveProfiles("second-level-cache")
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:cache")
+class SecondLevelCacheTests {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BankTestFixture fixture;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    private Account account;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        account = fixture.createAccount(fixture.createCustomer("Cached"), AccountType.CHECKING);
+    }
+
+    @Test
+    void readsHitCache() {
+        accountService.findById(account.getId());
+        customerService.exists(account.getCustomer().getId());
+
+        statistics.clear();
+        accountService.findById(account.getId());
+        customerService.exists(account.getCustomer().getId());
+
+        assertTrue(statistics.getSecondLevelCacheHitCount() > 0, "Entity cache hits");
+        assertTrue(statistics.getQueryCacheHitCount() > 0, "Query cache hits");
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void balanceChangesKeepAccountCached() {
+        Long version = accountService.findById(account.getId()).getVersion();
+
+        // Balance changes are versioned on the balance row, not the cached account
+        deposit();
+        deposit();
+
+        statistics.clear();
+        Account cached = accountService.findById(account.getId());
+        assertEquals(version, cached.getVersion());
+        assertEquals(0, new BigDecimal("20").compareTo(cached.getBalance()));
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    private void deposit() {
+        transactionService.process(fixture.deposit(account, BigDecimal.TEN));
+    }
+
+}
@@ -0,0 +1,180 @@
+package com.example.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Slice;
+
+import com.example.bank.BankTestFixture;
+import com.example.bank.domain.Account;
+import com.example.bank.domain.AccountType;
+import com.example.bank.domain.Transaction;
+import com.example.bank.domain.TransactionTransferType;
+import com.example.bank.domain.TransactionType;
+import com.example.bank.dto.TransactionCursor;
+import com.example.bank.dto.TransactionHistoryQueryDto;
+
+/**
+ * Keyset pages of an account history, walked both ways with each filter, match
+ * the filtered full history without gaps or duplicates.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:transactionhistory")
+class TransactionHistoryTests {
+
+    private static final int PAGE_SIZE = 4;
+
+    private static final Comparator<Transaction> NEWEST_FIRST = Comparator
+            .comparing(Transaction::getDateCreated).thenComparing(Transaction::getId).reversed();
+
+    @Autowired
+    private BankTestFixture fixture;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    private Account source;
+
+    private Account destination;
+
+    @BeforeEach
+    void setUp() {
+        source = fixture.createAccount(fixture.createCustomer("Transaction History"), AccountType.CHECKING);
+        destination = fixture.createAccount(source.getCustomer(), AccountType.SAVINGS);
+        transactionService.process(fixture.deposit(source, new BigDecimal(100)));
+        for (int i = 0; i < 6; i++) {
+            transactionService.process(fixture.transfer(source, destination, BigDecimal.ONE));
+            transactionService.process(fixture.deposit(source, BigDecimal.ONE));
+            transactionService.process(fixture.transfer(destination, source, BigDecimal.ONE));
+        }
+        transactionService.process(fixture.withdrawl(source, BigDecimal.TEN));
+    }
+
+    @Test
+    void pagesWholeHistory() {
+        assertPages(source, query -> {
+        }, transaction -> true);
+    }
+
+    @Test
+    void filtersByType() {
+        assertPages(source, query -> query.setType(TransactionType.DEPOSIT),
+                transaction -> transaction.getType() == TransactionType.DEPOSIT);
+        assertPages(source, query -> query.setType(TransactionType.TRANSFER),
+                transaction -> transaction.getType() == TransactionType.TRANSFER);
+    }
+
+    @Test
+    void filtersByTransferType() {
+        assertPages(source, query -> query.setTransferType(TransactionTransferType.SOURCE),
+                transaction -> transaction.getTransferType() == TransactionTransferType.SOURCE);
+        assertPages(destination, query -> query.setTransferType(TransactionTransferType.DESTINATION),
+                transaction -> transaction.getTransferType() == TransactionTransferType.DESTINATION);
+        assertPages(source, query -> {
+            query.setType(TransactionType.TRANSFER);
+            query.setTransferType(TransactionTransferType.DESTINATION);
+        }, transaction -> transaction.getTransferType() == TransactionTransferType.DESTINATION);
+
+        // Only transfers have a transfer type
+        assertPages(source, query -> {
+            query.setType(TransactionType.DEPOSIT);
+            query.setTransferType(TransactionTransferType.SOURCE);
+        }, transaction -> false);
+    }
+
+    @Test
+    void filtersByDateRange() {
+        List<Transaction> history = history(source, transaction -> true);
+        LocalDateTime from = history.get(history.size() - 5).getDateCreated();
+        LocalDateTime to = history.get(4).getDateCreated();
+
+        assertPages(source, query -> {
+            query.setFrom(from);
+            query.setTo(to);
+        }, transaction -> !transaction.getDateCreated().isBefore(from) && transaction.getDateCreated().isBefore(to));
+        assertPages(source, query -> {
+            query.setFrom(from);
+            query.setType(TransactionType.TRANSFER);
+        }, transaction -> !transaction.getDateCreated().isBefore(from)
+                && transaction.getType() == TransactionType.TRANSFER);
+    }
+
+    /**
+     * Walk the pages older than each cursor to the end, then back through the
+     * pages newer than each cursor to the start, and compare both walks with the
+     * matching transactions.
+     */
+    private void assertPages(Account account, Consumer<TransactionHistoryQueryDto> filters,
+            Predicate<Transaction> matches) {
+        List<Transaction> expected = history(account, matches);
+
+        List<List<Transaction>> pages = new ArrayList<>();
+        List<Long> older = new ArrayList<>();
+        Slice<Transaction> page = findPage(account, filters, null, null);
+        pages.add(page.getContent());
+        older.addAll(ids(page.getContent()));
+        while (page.hasNext()) {
+            assertEquals(PAGE_SIZE, page.getNumberOfElements());
+            String after = TransactionCursor.of(page.getContent().get(PAGE_SIZE - 1)).encode();
+            page = findPage(account, filters, after, null);
+            pages.add(page.getContent());
+            older.addAll(ids(page.getContent()));
+        }
+        assertEquals(ids(expected), older);
+        assertEquals(Math.max(1, (expected.size() + PAGE_SIZE - 1) / PAGE_SIZE), pages.size());
+
+        // Pages newer than the first transaction of each page repeat the previous page
+        for (int i = pages.size() - 1; i > 0; i--) {
+            String before = TransactionCursor.of(pages.get(i).get(0)).encode();
+            Slice<Transaction> newer = findPage(account, filters, null, before);
+            assertEquals(ids(pages.get(i - 1)), ids(newer.getContent()));
+            assertEquals(i > 1, newer.hasNext());
+        }
+        if (!expected.isEmpty()) {
+            String before = TransactionCursor.of(expected.get(0)).encode();
+            Slice<Transaction> newest = findPage(account, filters, null, before);
+            assertTrue(newest.getContent().isEmpty());
+            assertFalse(newest.hasNext());
+        }
+    }
+
+    private Slice<Transaction> findPage(Account account, Consumer<TransactionHistoryQueryDto> filters, String after,
+            String before) {
+        TransactionHistoryQueryDto query = new TransactionHistoryQueryDto();
+        query.setAccountId(account.getId());
+        query.setCustomerId(account.getCustomer().getId());
+        query.setSize(PAGE_SIZE);
+        query.setAfter(after);
+        query.setBefore(before);
+        filters.accept(query);
+        return transactionService.findTransactionHistory(query);
+    }
+
+    private List<Transaction> history(Account account, Predicate<Transaction> matches) {
+        List<Transaction> history = new ArrayList<>(transactionService.findTransactionsByAccountId(account.getId()));
+        history.removeIf(matches.negate());
+        history.sort(NEWEST_FIRST);
+        return history;
+    }
+
+    private static List<Long> ids(List<Transaction> transactions) {
+        List<Long> ids = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            ids.add(transaction.getId());
+        }
+        return ids;
+    }
+
+}
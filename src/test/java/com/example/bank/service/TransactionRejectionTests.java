@@ -0,0 +1,90 @@
+package com.example.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.bank.BankTestFixture;
+import com.example.bank.domain.Account;
+import com.example.bank.domain.AccountType;
+import com.example.bank.domain.Transaction;
+import com.example.bank.dto.CreateTransferDto;
+import com.example.bank.dto.CreateWithdrawlDto;
+import com.example.bank.exception.AccountDoesNotBelongToCustomerException;
+import com.example.bank.exception.TransactionHasInsufficientFundsException;
+
+/**
+ * Business rejections returned by tryProcess and thrown by process, without a
+ * stack trace and without writing anything.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:rejections")
+class TransactionRejectionTests {
+
+    @Autowired
+    private BankTestFixture fixture;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        account = fixture.createAccount(fixture.createCustomer("Rejections"), AccountType.CHECKING);
+    }
+
+    @Test
+    void tryProcessReturnsRejection() {
+        TransactionResult<Transaction> result = transactionService.tryProcess(withdrawl(account.getCustomer().getId()));
+
+        assertTrue(result.isRejected());
+        assertInstanceOf(TransactionHasInsufficientFundsException.class, result.getRejection());
+        assertEquals(0, result.getRejection().getStackTrace().length);
+        assertEquals(0, transactionService.getCurrentAccountBalance(account.getId()).signum());
+    }
+
+    @Test
+    void processThrowsSameRejection() {
+        TransactionResult<Transaction> result = transactionService.tryProcess(withdrawl(account.getCustomer().getId() + 1));
+        AccountDoesNotBelongToCustomerException exception = assertThrows(
+                AccountDoesNotBelongToCustomerException.class,
+                () -> transactionService.process(withdrawl(account.getCustomer().getId() + 1)));
+
+        assertSame(result.getRejection(), exception);
+    }
+
+    @Test
+    void tryProcessReturnsTransfer() {
+        Account destination = fixture.createAccount(account.getCustomer(), AccountType.SAVINGS);
+
+        CreateTransferDto createTransferDto = fixture.transfer(account, destination, BigDecimal.ONE);
+        assertTrue(transactionService.tryProcess(createTransferDto).isRejected());
+
+        createTransferDto.setAccountId(destination.getId());
+        createTransferDto.setDestinationAccountId(account.getId());
+        transactionService.process(fixture.deposit(destination, BigDecimal.TEN));
+
+        TransactionResult<List<Transaction>> result = transactionService.tryProcess(createTransferDto);
+        assertFalse(result.isRejected());
+        assertEquals(2, result.getValue().size());
+        assertEquals(0, transactionService.getCurrentAccountBalance(account.getId()).compareTo(BigDecimal.ONE));
+    }
+
+    private CreateWithdrawlDto withdrawl(Long customerId) {
+        CreateWithdrawlDto createWithdrawlDto = fixture.withdrawl(account, BigDecimal.TEN);
+        createWithdrawlDto.setCustomerId(customerId);
+        return createWithdrawlDto;
+    }
+
+}
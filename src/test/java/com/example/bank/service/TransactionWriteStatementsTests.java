@@ -0,0 +1,115 @@
+package com.example.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.bank.BankTestFixture;
+import com.example.bank.domain.Account;
+import com.example.bank.domain.AccountType;
+import com.example.bank.domain.Customer;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Measure the SQL statements and latency of each write operation.
+ *
+ * Statement counts are prepared statements, so inserts sent as one JDBC batch
+ * count once. The measurements are logged so they can be compared between
+ * commits, without the session metrics Hibernate would log after every
+ * operation.
+ */
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:writestatements",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN" })
+@Slf4j
+class TransactionWriteStatementsTests {
+
+    private static final int ITERATIONS = 200;
+
+    // Statements per operation measured before the ownership projection, with an
+    // account and customer select and an account version update per account
+    private static final double BASELINE_DEPOSIT = 5.02;
+
+    private static final double BASELINE_TRANSFER = 7.04;
+
+    private static final double BASELINE_WITHDRAWL = 5.02;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BankTestFixture fixture;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    private Account source;
+
+    private Account destination;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Customer customer = fixture.createCustomer("Statements");
+        source = fixture.createAccount(customer, AccountType.CHECKING);
+        destination = fixture.createAccount(customer, AccountType.SAVINGS);
+
+        transactionService.process(fixture.deposit(source, new BigDecimal("1000000.00")));
+    }
+
+    @Test
+    void deposit() {
+        double statements = measure("deposit",
+                () -> transactionService.process(fixture.deposit(destination, BigDecimal.TEN)));
+        assertTrue(statements <= BASELINE_DEPOSIT - 1, "Deposit statements " + statements);
+    }
+
+    @Test
+    void transfer() {
+        double statements = measure("transfer",
+                () -> transactionService.process(fixture.transfer(source, destination, BigDecimal.TEN)));
+        assertTrue(statements <= BASELINE_TRANSFER - 2, "Transfer statements " + statements);
+    }
+
+    @Test
+    void withdrawl() {
+        double statements = measure("withdrawl",
+                () -> transactionService.process(fixture.withdrawl(source, BigDecimal.TEN)));
+        assertTrue(statements <= BASELINE_WITHDRAWL - 1, "Withdrawl statements " + statements);
+    }
+
+    /**
+     * @return the mean prepared statements per operation
+     */
+    private double measure(String operation, Runnable write) {
+        // Warm up the sequence allocation and the JIT before measuring
+        for (int i = 0; i < ITERATIONS; i++) {
+            write.run();
+        }
+
+        statistics.clear();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            write.run();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        double statements = (double) statistics.getPrepareStatementCount() / ITERATIONS;
+        log.info("{}: {} statements, {} inserts, {} us per operation", operation, statements,
+                (double) statistics.getEntityInsertCount() / ITERATIONS, elapsed / ITERATIONS / 1000);
+        return statements;
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.example.bank.web.link;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.example.bank.web.controller.AccountController;
+import com.example.bank.web.controller.CustomerController;
+import com.example.bank.web.controller.TransactionController;
+
+/**
+ * {@link ResourceLinks} must produce the same links as
+ * {@code linkTo(methodOn(...))}.
+ */
+class ResourceLinksTests {
+
+    private ResourceLinks links;
+
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        links = new ResourceLinks();
+        links.compile();
+
+        request = new MockHttpServletRequest("GET", "/api/customers");
+        request.setServerName("localhost");
+        request.setServerPort(8080);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void matchesLinkTo() {
+        assertLinks();
+    }
+
+    @Test
+    void keepsContextPathAndScheme() {
+        request.setContextPath("/bank");
+        request.setRequestURI("/bank/api/customers");
+        request.setScheme("https");
+        request.setServerPort(8443);
+
+        // linkTo appends the relative "api" mapping to the context path without
+        // a slash, so under a context path the links are asserted directly
+        assertEquals("https://localhost:8443/bank/api/customers/1/accounts/2",
+                links.account(2L, 1L, IanaLinkRelations.SELF).getHref());
+        assertEquals("https://localhost:8443/bank/api/customers/1/accounts/2/transactions/3",
+                links.transaction(2L, 1L, 3L, IanaLinkRelations.SELF).getHref());
+        assertEquals("https://localhost:8443/bank/api/customers/1",
+                links.customer(1L, IanaLinkRelations.ORIGINAL).getHref());
+    }
+
+    private void assertLinks() {
+        assertLink(linkTo(methodOn(AccountController.class).getAccount(2L, 1L)).withSelfRel(),
+                links.account(2L, 1L, IanaLinkRelations.SELF));
+        assertLink(linkTo(methodOn(AccountController.class).getAccounts(1L, null))
+                .withRel(IanaLinkRelations.COLLECTION),
+                links.accounts(1L, IanaLinkRelations.COLLECTION));
+        assertLink(linkTo(methodOn(CustomerController.class).getCustomer(1L)).withRel(IanaLinkRelations.ORIGINAL),
+                links.customer(1L, IanaLinkRelations.ORIGINAL));
+        assertLink(linkTo(methodOn(TransactionController.class).getTransaction(2L, 1L, 3L, null)).withSelfRel(),
+                links.transaction(2L, 1L, 3L, IanaLinkRelations.SELF));
+        assertLink(linkTo(methodOn(TransactionController.class).getAllTransactions(2L, 1L, null))
+                .withRel(IanaLinkRelations.RELATED), links.transactions(2L, 1L, IanaLinkRelations.RELATED));
+    }
+
+    private void assertLink(Link expected, Link actual) {
+        assertEquals(expected.getHref(), actual.getHref());
+        assertEquals(expected.getRel(), actual.getRel());
+    }
+
+}